@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the cost of {@link LatencyRecord#addLatency} on the heap and with samples spilled to
+ * memory-mapped segments. A new record is started for every iteration so that the heap variant
+ * does not run out of memory over a long measurement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LatencyRecordBenchmark {
+
+  @Param({"false", "true"})
+  public boolean spill;
+
+  private Path spillDirectory;
+  private LatencyRecord record;
+  private long now;
+
+  @Setup(Level.Trial)
+  public void setupTrial() throws IOException {
+    if (spill) {
+      spillDirectory = Files.createTempDirectory("latency-record-benchmark");
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setupIteration() {
+    now = System.nanoTime();
+    record = spill ? new LatencyRecord(now, spillDirectory, "benchmark") : new LatencyRecord(now);
+  }
+
+  @Benchmark
+  public void addLatency() {
+    now += 1000;
+    record.addLatency(1, now, now + 250000, 0, 1);
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how long {@link Phase#chooseTransaction(java.util.random.RandomGenerator)} takes to pick the next transaction type for a
+ * varying number of weighted transaction types. The default thread count shows the uncontended
+ * cost; run with {@code -t} to see what sharing a phase between many workers costs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhaseBenchmark {
+
+  @Param({"1", "5", "20"})
+  public int types;
+
+  private Phase phase;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    List<Double> weights = new ArrayList<>(types);
+    for (int i = 0; i < types; i++) {
+      weights.add(100.0 / types);
+    }
+    phase =
+        new Phase(
+            "benchmark",
+            1,
+            60,
+            0,
+            1,
+            weights,
+            false,
+            false,
+            false,
+            true,
+            1,
+            Phase.Arrival.REGULAR);
+  }
+
+  @Benchmark
+  public int chooseTransaction() {
+    return phase.chooseTransaction(ThreadLocalRandom.current());
+  }
+}
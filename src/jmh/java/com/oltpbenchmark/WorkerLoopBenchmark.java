@@ -0,0 +1,90 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import com.oltpbenchmark.types.State;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the per-transaction overhead of the Worker.run control loop: the state, phase and work
+ * lookups it does around every transaction. The phase mirrors the {@code noop} benchmark run at an
+ * unlimited rate, and the transaction itself is left out, so the reported throughput is what the
+ * loop alone allows. Run with more threads (e.g. {@code -t 256}) to see contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+public class WorkerLoopBenchmark {
+  private static final int TERMINALS = 1024;
+
+  private BenchmarkState benchmarkState;
+  private WorkloadState workloadState;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    benchmarkState = new BenchmarkState(1);
+    Phase phase =
+        new Phase(
+            "noop",
+            1,
+            60,
+            0,
+            Double.MAX_VALUE,
+            List.of(100.0),
+            false,
+            false,
+            false,
+            true,
+            TERMINALS,
+            Phase.Arrival.REGULAR);
+    workloadState = new WorkloadState(benchmarkState, List.of(phase), TERMINALS);
+    workloadState.switchToNextPhase();
+    benchmarkState.startMeasure();
+  }
+
+  @Benchmark
+  public boolean loop() {
+    State preState = workloadState.getGlobalState();
+    if (preState == State.DONE) {
+      return false;
+    }
+
+    workloadState.stayAwake();
+    if (workloadState.getCurrentPhase() == null) {
+      return false;
+    }
+
+    SubmittedProcedure pieceOfWork = workloadState.fetchWork(ThreadLocalRandom.current());
+    WorkloadState.Epoch preEpoch = workloadState.getEpoch();
+    preState = workloadState.getGlobalState();
+
+    State postState = workloadState.getGlobalState();
+    WorkloadState.Epoch postEpoch = workloadState.getEpoch();
+    return pieceOfWork.getType() > 0
+        && preState == State.MEASURE
+        && postState == State.MEASURE
+        && postEpoch == preEpoch;
+  }
+}
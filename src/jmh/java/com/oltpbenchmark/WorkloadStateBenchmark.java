@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how fast rate-limited work is dispatched from the {@link WorkloadState} queue to a
+ * varying number of terminals. Each invocation queues a batch of procedures and waits until the
+ * terminals have fetched all of them, so the reported throughput is the end-to-end dispatch rate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorkloadStateBenchmark {
+  private static final int BATCH = 1000;
+
+  @Param({"1", "16", "64", "256", "512"})
+  public int terminals;
+
+  private BenchmarkState benchmarkState;
+  private WorkloadState workloadState;
+  private final LongAdder fetched = new LongAdder();
+  private final List<Thread> threads = new ArrayList<>();
+  private final long[] scheduledNs = new long[BATCH];
+  private long expected;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    benchmarkState = new BenchmarkState(terminals + 1);
+    Phase phase =
+        new Phase(
+            "benchmark",
+            1,
+            60,
+            0,
+            Double.MAX_VALUE,
+            List.of(50.0, 50.0),
+            true,
+            false,
+            false,
+            true,
+            terminals,
+            Phase.Arrival.REGULAR);
+    workloadState = new WorkloadState(benchmarkState, List.of(phase), terminals);
+    workloadState.switchToNextPhase();
+    benchmarkState.startMeasure();
+
+    for (int i = 0; i < terminals; i++) {
+      Thread t =
+          new Thread(
+              () -> {
+                while (workloadState.fetchWork(ThreadLocalRandom.current()) != null) {
+                  fetched.increment();
+                }
+              });
+      t.setDaemon(true);
+      t.start();
+      threads.add(t);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    benchmarkState.startCoolDown();
+    workloadState.switchToNextPhase();
+    for (Thread t : threads) {
+      t.join(1000);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void dispatch() {
+    expected += BATCH;
+    long now = System.nanoTime();
+    Arrays.fill(scheduledNs, now);
+    workloadState.addArrivals(
+        workloadState.getEpoch(), scheduledNs, BATCH, now, ThreadLocalRandom.current());
+    while (fetched.sum() < expected) {
+      Thread.onSpinWait();
+    }
+  }
+}
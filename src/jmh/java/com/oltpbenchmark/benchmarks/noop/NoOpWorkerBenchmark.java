@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.noop;
+
+import com.oltpbenchmark.Phase;
+import com.oltpbenchmark.Results;
+import com.oltpbenchmark.ThreadBench;
+import com.oltpbenchmark.WorkloadConfiguration;
+import com.oltpbenchmark.api.BenchmarkModule;
+import com.oltpbenchmark.api.TransactionType;
+import com.oltpbenchmark.api.TransactionTypes;
+import com.oltpbenchmark.api.Worker;
+import com.oltpbenchmark.types.DatabaseType;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Runs a single {@link NoOpWorker} through the full Worker.run loop against an embedded, in-memory
+ * HSQLDB database at an unlimited rate. The NoOp query is answered without touching any table, so
+ * the reported {@code requestsPerSecond} is the throughput ceiling of the client itself.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoOpWorkerBenchmark {
+
+  /** Length of each measured run in seconds */
+  @Param({"10"})
+  public int seconds;
+
+  private WorkloadConfiguration workConf;
+  private NoOpBenchmark benchmark;
+  private List<Worker<? extends BenchmarkModule>> workers;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Counters {
+    public double requestsPerSecond;
+  }
+
+  @Setup(Level.Trial)
+  public void setupTrial() {
+    workConf = new WorkloadConfiguration();
+    workConf.setBenchmarkName("noop");
+    workConf.setDatabaseType(DatabaseType.HSQLDB);
+    workConf.setUrl("jdbc:hsqldb:mem:noop;sql.syntax_mys=true");
+    workConf.setTerminals(1);
+    benchmark = new NoOpBenchmark(workConf);
+    List<TransactionType> txnTypes = new ArrayList<>();
+    txnTypes.add(TransactionType.INVALID);
+    txnTypes.add(benchmark.initTransactionType("NoOp", 1, 0, 0));
+    workConf.setTransTypes(new TransactionTypes(txnTypes));
+    workConf.addPhase(
+        1, seconds, 0, 1, List.of(100.0), false, false, false, true, 1, Phase.Arrival.REGULAR);
+  }
+
+  @Setup(Level.Invocation)
+  public void setupInvocation() throws IOException {
+    workers = benchmark.makeWorkers();
+  }
+
+  @Benchmark
+  public Results run(Counters counters) {
+    Results results = ThreadBench.runRateLimitedBenchmark(workers, List.of(workConf), 0);
+    counters.requestsPerSecond = results.requestsPerSecondThroughput();
+    return results;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.distributions;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures drawing from a {@link ZipfianGenerator} over a fixed item count ({@code nextInt()}) and
+ * over a growing item count ({@code nextIntGrowing}), which makes the generator update its zeta.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ZipfianGeneratorBenchmark {
+
+  @Param({"1000", "1000000"})
+  public int items;
+
+  private ZipfianGenerator zipf;
+  private int itemcount;
+
+  @Setup(Level.Iteration)
+  public void setup() {
+    zipf = new ZipfianGenerator(new Random(0), items);
+    itemcount = items;
+  }
+
+  @Benchmark
+  public int nextInt() {
+    return zipf.nextInt();
+  }
+
+  @Benchmark
+  public int nextIntGrowing() {
+    return zipf.nextInt(++itemcount);
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import com.oltpbenchmark.util.RandomDistribution.FlatHistogram;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures counting values with {@link Histogram#put} and drawing values weighted by a histogram
+ * with {@link FlatHistogram#nextValue()}, for histograms with a varying number of distinct keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HistogramBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int keys;
+
+  private final Random rng = new Random(0);
+  private Histogram<Integer> histogram;
+  private FlatHistogram<Integer> flat;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Histogram<Integer> weights = new Histogram<>();
+    for (int i = 0; i < keys; i++) {
+      weights.put(i, 1 + rng.nextInt(100));
+    }
+    flat = new FlatHistogram<>(rng, weights);
+    histogram = new Histogram<>();
+  }
+
+  @Benchmark
+  public void put() {
+    histogram.put(next);
+    if (++next == keys) {
+      next = 0;
+    }
+  }
+
+  @Benchmark
+  public Integer nextValue() {
+    return flat.nextValue();
+  }
+}
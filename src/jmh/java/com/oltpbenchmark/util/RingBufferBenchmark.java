@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.oltpbenchmark.util;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the caches that the SEATS and AuctionMark workers keep with the JDK collections they
+ * replaced: drawing a random element and then evicting the oldest one, as {@code
+ * SEATSProfile.addFlightId} and {@code AuctionMarkProfile.getRandomItem} do, and looking up a key
+ * as {@code SEATSWorker.getSeatsBitSet} does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RingBufferBenchmark {
+
+  @Param({"1000", "10000"})
+  public int size;
+
+  private final Random rng = new Random(0);
+  private List<Long> linkedList;
+  private RingBuffer<Long> ringBuffer;
+  private Map<Long, Long> hashMap;
+  private OpenHashMap<Long, Long> openHashMap;
+  private long next;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    linkedList = new LinkedList<>();
+    ringBuffer = new RingBuffer<>();
+    hashMap = new HashMap<>();
+    openHashMap = new OpenHashMap<>();
+    for (long i = 0; i < size; i++) {
+      linkedList.add(i);
+      ringBuffer.addLast(i);
+      hashMap.put(i, i);
+      openHashMap.put(i, i);
+    }
+    next = size;
+  }
+
+  @Benchmark
+  public Long linkedListRandomAndEvict() {
+    Long value = linkedList.get(rng.nextInt(size));
+    linkedList.remove(0);
+    linkedList.add(next++);
+    return value;
+  }
+
+  @Benchmark
+  public Long ringBufferRandomAndEvict() {
+    Long value = ringBuffer.get(rng.nextInt(size));
+    ringBuffer.removeFirst();
+    ringBuffer.addLast(next++);
+    return value;
+  }
+
+  @Benchmark
+  public Long hashMapGet() {
+    return hashMap.get((long) rng.nextInt(size));
+  }
+
+  @Benchmark
+  public Long openHashMapGet() {
+    return openHashMap.get((long) rng.nextInt(size));
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures filling a reused buffer with random text through {@link TextGenerator#randomFastChars}
+ * and, for comparison, through the one-draw-per-character {@link TextGenerator#randomChars}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TextGeneratorBenchmark {
+
+  @Param({"16", "100", "500"})
+  public int length;
+
+  private final Random rng = new Random(0);
+  private char[] chars;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    chars = new char[length];
+  }
+
+  @Benchmark
+  public char[] randomFastChars() {
+    return TextGenerator.randomFastChars(rng, chars);
+  }
+
+  @Benchmark
+  public char[] randomChars() {
+    return TextGenerator.randomChars(rng, chars);
+  }
+}
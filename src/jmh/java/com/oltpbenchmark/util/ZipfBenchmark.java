@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import com.oltpbenchmark.util.RandomDistribution.Flat;
+import com.oltpbenchmark.util.RandomDistribution.Zipf;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares drawing the Wikipedia user and page ids from generators that are built for every
+ * transaction ({@code rebuild}, the old WikipediaWorker behavior) with drawing them from generators
+ * that are built once ({@code cached}). The page counts match scale factors 1, 100 and 10000.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ZipfBenchmark {
+  private static final double SIGMA = 1.0001d;
+
+  @Param({"1000", "100000", "10000000"})
+  public int pages;
+
+  private final Random rng = new Random(0);
+  private Flat users;
+  private Zipf zipf;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    users = new Flat(rng, 1, pages * 2L);
+    zipf = new Zipf(rng, 1, pages, SIGMA);
+  }
+
+  @Benchmark
+  public long rebuild() {
+    Flat users = new Flat(rng, 1, pages * 2L);
+    Zipf zipf = new Zipf(rng, 1, pages, SIGMA);
+    return users.nextLong() + zipf.nextLong();
+  }
+
+  @Benchmark
+  public long cached() {
+    return users.nextLong() + zipf.nextLong();
+  }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import com.oltpbenchmark.types.State;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates the arrivals of the rate-limited phases of one workload and queues each of them at its
+ * scheduled time. Arrivals are computed as offsets from the start of the phase, so rounding never
+ * accumulates and the achieved rate matches the configured one over any run length. Between
+ * arrivals the scheduler parks; all arrivals that are due when it wakes up are queued as one batch
+ * and handed to idle workers directly.
+ *
+ * <p>Each workload has its own scheduler, driven by the rate of its own phase, so workloads with
+ * different rates do not interfere. The scheduler also applies phases whose rate or number of
+ * active terminals follows a {@link LoadProfile}, and runs their {@link SaturationSearch}.
+ */
+final class ArrivalScheduler implements Runnable {
+  /** Longest time to park, so that phase switches and the end of the run are noticed quickly */
+  private static final long MAX_PARK_NS = 1000000L;
+
+  /** Arrivals queued more than this long after their scheduled time are counted as late */
+  static final long LATE_NS = 1000000L;
+
+  /** Most arrivals to queue in one batch */
+  private static final int MAX_BATCH = 1024;
+
+  private final WorkloadState workState;
+  private final OfferedLoad offeredLoad;
+  private final List<LiveRecorder> recorders;
+  private final RandomGenerator rng;
+  private final List<SaturationSearch> searches = new ArrayList<>();
+  private final long[] batch = new long[MAX_BATCH];
+
+  /**
+   * @param workState The workload to queue arrivals for
+   * @param originNs Start of the run, from which offered arrivals are counted
+   * @param recorders The live recorders of the workload's workers, which searches evaluate
+   * @param rng The generator with which the transaction of each arrival is picked
+   */
+  ArrivalScheduler(
+      WorkloadState workState, long originNs, List<LiveRecorder> recorders, RandomGenerator rng) {
+    this.workState = workState;
+    this.offeredLoad = new OfferedLoad(originNs);
+    this.recorders = recorders;
+    this.rng = rng;
+  }
+
+  /** Returns the arrivals this scheduler queued over time. Only read it once it has stopped. */
+  OfferedLoad getOfferedLoad() {
+    return offeredLoad;
+  }
+
+  /** Returns the searches this scheduler ran. Only read them once it has stopped. */
+  List<SaturationSearch> getSearches() {
+    return searches;
+  }
+
+  @Override
+  public void run() {
+    WorkloadState.Epoch epoch = null;
+    Schedule schedule = null;
+    long phaseStart = 0;
+    long scheduleStart = 0;
+    long next = 0;
+    LoadProfile terminalProfile = null;
+    int terminals = 0;
+    SaturationSearch search = null;
+
+    while (!Thread.currentThread().isInterrupted()) {
+      WorkloadState.Epoch current = workState.getEpoch();
+      if (current != epoch) {
+        epoch = current;
+        Phase phase = epoch.getPhase();
+        if (phase == null && epoch.getNumber() > 0) {
+          // The last phase is over
+          return;
+        }
+        boolean enabled = phase != null && !phase.isDisabled();
+        search =
+            enabled && phase.getSearch() != null
+                ? new SaturationSearch(
+                    phase.getSearch(), phase.getId(), !phase.isRateLimited(), recorders)
+                : null;
+        schedule = null;
+        if (isScheduled(phase)) {
+          schedule =
+              search != null
+                  ? Schedule.forRate(phase.getArrival(), search.getTarget())
+                  : Schedule.forPhase(phase);
+        }
+        phaseStart = System.nanoTime();
+        scheduleStart = phaseStart;
+        next = schedule != null ? scheduleStart + schedule.nextOffsetNs() : 0;
+        terminalProfile = enabled && search == null ? phase.getTerminalProfile() : null;
+        terminals = phase != null ? phase.getActiveTerminals() : 0;
+        if (search != null) {
+          searches.add(search);
+          if (!phase.isRateLimited()) {
+            terminals = (int) search.getTarget();
+            workState.setActiveTerminals(epoch, terminals);
+          }
+        }
+      }
+
+      if (search != null
+          && workState.getGlobalState() == State.MEASURE
+          && search.poll(System.nanoTime())) {
+        if (search.isFinished()) {
+          workState.finishPhaseEarly(epoch);
+        } else if (schedule == null) {
+          terminals = (int) search.getTarget();
+          workState.setActiveTerminals(epoch, terminals);
+        } else {
+          schedule = Schedule.forRate(epoch.getPhase().getArrival(), search.getTarget());
+          scheduleStart = System.nanoTime();
+          next = scheduleStart + schedule.nextOffsetNs();
+        }
+      }
+
+      if (terminalProfile != null) {
+        double elapsed = (System.nanoTime() - phaseStart) / 1e9;
+        int target = (int) Math.round(terminalProfile.valueAt(elapsed));
+        if (target != terminals) {
+          terminals = target;
+          workState.setActiveTerminals(epoch, target);
+        }
+      }
+
+      if (schedule == null) {
+        LockSupport.parkNanos(MAX_PARK_NS);
+        continue;
+      }
+
+      long now = System.nanoTime();
+      int count = 0;
+      while (next <= now && count < MAX_BATCH) {
+        offeredLoad.record(next);
+        batch[count++] = next;
+        next = scheduleStart + schedule.nextOffsetNs();
+      }
+      if (count > 0) {
+        workState.addArrivals(epoch, batch, count, now, rng);
+      }
+
+      long wait = next - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(Math.min(wait, MAX_PARK_NS));
+      }
+    }
+  }
+
+  private static boolean isScheduled(Phase phase) {
+    return phase != null && phase.isRateLimited() && !phase.isDisabled() && !phase.isSerial();
+  }
+
+  /** Reads an arrival trace: one arrival per line, in microseconds since the start of the trace. */
+  static long[] readTrace(Path file) throws IOException {
+    List<String> lines = Files.readAllLines(file);
+    long[] offsets = new long[lines.size()];
+    int count = 0;
+    for (String line : lines) {
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      offsets[count++] = Math.round(Double.parseDouble(line) * 1000);
+    }
+    if (count == 0) {
+      throw new IOException("Arrival trace " + file + " has no arrivals");
+    }
+    offsets = Arrays.copyOf(offsets, count);
+    Arrays.sort(offsets);
+    return offsets;
+  }
+
+  /** Offsets of the arrivals of a phase, relative to its start */
+  abstract static class Schedule {
+    private long arrivals;
+
+    /** Returns the offset of the next arrival in nanoseconds. Offsets never decrease. */
+    final long nextOffsetNs() {
+      return offsetNs(arrivals++);
+    }
+
+    /** Returns the offset of the given arrival, counting from 0. */
+    abstract long offsetNs(long arrival);
+
+    static Schedule forPhase(Phase phase) {
+      LoadProfile profile = phase.getRateProfile();
+      return switch (phase.getArrival()) {
+        case REGULAR ->
+            profile != null ? new Profiled(profile, false) : new Regular(phase.getRate());
+        case POISSON ->
+            profile != null ? new Profiled(profile, true) : new Poisson(phase.getRate());
+        case TRACE -> new Trace(phase.getArrivalTrace());
+      };
+    }
+
+    /** Returns a schedule at a fixed rate, such as the current target of a search. */
+    static Schedule forRate(Phase.Arrival arrival, double rate) {
+      return arrival == Phase.Arrival.POISSON ? new Poisson(rate) : new Regular(rate);
+    }
+  }
+
+  /** Arrivals evenly spaced at the given rate */
+  static final class Regular extends Schedule {
+    private final double gapNs;
+
+    Regular(double rate) {
+      this.gapNs = 1e9 / rate;
+    }
+
+    @Override
+    long offsetNs(long arrival) {
+      return (long) (arrival * gapNs);
+    }
+  }
+
+  /** Arrivals of a Poisson process with the given rate */
+  static final class Poisson extends Schedule {
+    private final SplittableRandom rng = new SplittableRandom();
+    private final double meanGapNs;
+    private double offsetNs;
+
+    Poisson(double rate) {
+      this.meanGapNs = 1e9 / rate;
+    }
+
+    @Override
+    long offsetNs(long arrival) {
+      long offset = (long) offsetNs;
+      offsetNs += -Math.log(1 - rng.nextDouble()) * meanGapNs;
+      return offset;
+    }
+  }
+
+  /**
+   * Arrivals at a rate that follows a profile. The n-th arrival happens when the integral of the
+   * rate reaches n; for Poisson arrivals, when it reaches the n-th arrival of a unit-rate Poisson
+   * process.
+   */
+  static final class Profiled extends Schedule {
+    private final LoadProfile profile;
+    private final SplittableRandom rng;
+    private double events;
+
+    Profiled(LoadProfile profile, boolean poisson) {
+      this.profile = profile;
+      this.rng = poisson ? new SplittableRandom() : null;
+    }
+
+    @Override
+    long offsetNs(long arrival) {
+      if (rng == null) {
+        return (long) (profile.timeOfEvents(arrival) * 1e9);
+      }
+      long offset = (long) (profile.timeOfEvents(events) * 1e9);
+      events += -Math.log(1 - rng.nextDouble());
+      return offset;
+    }
+  }
+
+  /**
+   * Arrivals replayed from a trace. After its last arrival the trace starts over, one average
+   * inter-arrival gap later.
+   */
+  static final class Trace extends Schedule {
+    private final long[] offsets;
+    private final long periodNs;
+
+    Trace(long[] offsets) {
+      this.offsets = offsets;
+      long last = offsets[offsets.length - 1];
+      long gap = offsets.length > 1 ? Math.max(1, (last - offsets[0]) / (offsets.length - 1)) : 1;
+      this.periodNs = last + gap;
+    }
+
+    @Override
+    long offsetNs(long arrival) {
+      long round = arrival / offsets.length;
+      return round * periodNs + offsets[(int) (arrival % offsets.length)];
+    }
+  }
+}
@@ -42,16 +42,13 @@ public final class BenchmarkState {
     testStartNs = System.nanoTime();
   }
 
-  // Protected by this
-
   public long getTestStartNs() {
     return testStartNs;
   }
 
+  /** Returns the current state. This is a plain volatile read, so workers may call it freely. */
   public State getState() {
-    synchronized (this) {
-      return state;
-    }
+    return state;
   }
 
   /** Wait for all threads to call this. Returns once all the threads have entered. */
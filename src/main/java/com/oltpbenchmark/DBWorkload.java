@@ -27,6 +27,8 @@ import com.oltpbenchmark.util.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
 import java.util.*;
 import org.apache.commons.cli.*;
@@ -85,6 +87,13 @@ public class DBWorkload {
       intervalMonitor = Integer.parseInt(argsLine.getOptionValue("im"));
     }
 
+    // Live metrics, computed every interval-monitor milliseconds or every second
+    int metricsPort = 0;
+    if (argsLine.hasOption("metrics-port")) {
+      metricsPort = Integer.parseInt(argsLine.getOptionValue("metrics-port"));
+    }
+    String metricsFile = argsLine.getOptionValue("metrics-file");
+
     // -------------------------------------------------------------------
     // GET PLUGIN LIST
     // -------------------------------------------------------------------
@@ -126,6 +135,10 @@ public class DBWorkload {
       wrkld.setNewConnectionPerTxn(xmlConfig.getBoolean("newConnectionPerTxn", false));
       wrkld.setReconnectOnConnectionFailure(
           xmlConfig.getBoolean("reconnectOnConnectionFailure", false));
+      wrkld.setVirtualThreads(xmlConfig.getBoolean("virtualThreads", false));
+      wrkld.setMaxConnections(xmlConfig.getInt("maxConnections", 0));
+      wrkld.setStatementCache(xmlConfig.getBoolean("statementCache", false));
+      wrkld.setBulkLoad(xmlConfig.getBoolean("bulkLoad", false));
 
       int terminals = xmlConfig.getInt("terminals[not(@bench)]", 0);
       terminals = xmlConfig.getInt("terminals" + pluginTest, terminals);
@@ -142,6 +155,7 @@ public class DBWorkload {
       wrkld.setScaleFactor(xmlConfig.getDouble("scalefactor", 1.0));
       wrkld.setDataDir(xmlConfig.getString("datadir", "."));
       wrkld.setDDLPath(xmlConfig.getString("ddlpath", null));
+      wrkld.setSampleSpillDirectory(xmlConfig.getString("sampleSpillDirectory", null));
 
       double selectivity = -1;
       try {
@@ -176,6 +190,15 @@ public class DBWorkload {
       initDebug.put("Terminals", wrkld.getTerminals());
       initDebug.put("New Connection Per Txn", wrkld.getNewConnectionPerTxn());
       initDebug.put("Reconnect on Connection Failure", wrkld.getReconnectOnConnectionFailure());
+      initDebug.put("Virtual Threads", wrkld.getVirtualThreads());
+      initDebug.put("Statement Cache", wrkld.getStatementCache());
+      initDebug.put("Bulk Load", wrkld.getBulkLoad());
+      if (wrkld.getMaxConnections() > 0) {
+        initDebug.put("Max Connections", wrkld.getMaxConnections());
+      }
+      if (wrkld.getSampleSpillDirectory() != null) {
+        initDebug.put("Sample Spill Directory", wrkld.getSampleSpillDirectory());
+      }
 
       if (selectivity != -1) {
         initDebug.put("Selectivity", selectivity);
@@ -308,7 +331,8 @@ public class DBWorkload {
         boolean disabled = false;
         boolean timed;
 
-        // can be "disabled", "unlimited" or a number
+        // can be "disabled", "unlimited", a number or a load profile such as ramp(...)
+        LoadProfile rateProfile = null;
         String rate_string;
         rate_string = work.getString("rate[not(@bench)]", "");
         rate_string = work.getString("rate" + pluginTest, rate_string);
@@ -316,6 +340,14 @@ public class DBWorkload {
           disabled = true;
         } else if (rate_string.equals(RATE_UNLIMITED)) {
           rateLimited = false;
+        } else if (LoadProfile.isProfile(rate_string)) {
+          try {
+            rateProfile = LoadProfile.parse(rate_string);
+          } catch (IllegalArgumentException e) {
+            LOG.error(String.format("Invalid rate for phase %d: %s", i, e.getMessage()));
+            System.exit(-1);
+          }
+          rate = rateProfile.initialValue();
         } else if (rate_string.isEmpty()) {
           LOG.error(
               String.format("Please specify the rate for phase %d and workload %s", i, plugin));
@@ -338,21 +370,56 @@ public class DBWorkload {
         String arrive = work.getString("@arrival", "regular");
         if (arrive.equalsIgnoreCase("POISSON")) {
           arrival = Phase.Arrival.POISSON;
+        } else if (arrive.equalsIgnoreCase("TRACE")) {
+          arrival = Phase.Arrival.TRACE;
+        }
+
+        // Trace-driven arrivals are read from a file of arrival times in microseconds
+        long[] arrivalTrace = null;
+        if (arrival == Phase.Arrival.TRACE) {
+          String traceFile = work.getString("@trace", null);
+          if (traceFile == null) {
+            LOG.error(String.format("Please specify the arrival trace for phase %d", i));
+            System.exit(-1);
+          }
+          arrivalTrace = ArrivalScheduler.readTrace(Paths.get(traceFile));
+          // The trace sets the rate
+          rateLimited = !disabled;
         }
 
         // We now have the option to run all queries exactly once in
         // a serial (rather than random) order.
         boolean serial = Boolean.parseBoolean(work.getString("serial", Boolean.FALSE.toString()));
 
+        // can be a number or a load profile such as ramp(...)
         int activeTerminals;
-        activeTerminals = work.getInt("active_terminals[not(@bench)]", terminals);
-        activeTerminals = work.getInt("active_terminals" + pluginTest, activeTerminals);
+        LoadProfile terminalProfile = null;
+        String terminals_string;
+        terminals_string = work.getString("active_terminals[not(@bench)]", "");
+        terminals_string = work.getString("active_terminals" + pluginTest, terminals_string);
+        if (terminals_string.isEmpty()) {
+          activeTerminals = terminals;
+        } else if (LoadProfile.isProfile(terminals_string)) {
+          try {
+            terminalProfile = LoadProfile.parse(terminals_string);
+          } catch (IllegalArgumentException e) {
+            LOG.error(
+                String.format("Invalid active terminals for phase %d: %s", i, e.getMessage()));
+            System.exit(-1);
+          }
+          activeTerminals = (int) Math.round(terminalProfile.initialValue());
+        } else {
+          activeTerminals = work.getInt("active_terminals[not(@bench)]", terminals);
+          activeTerminals = work.getInt("active_terminals" + pluginTest, activeTerminals);
+        }
         // If using serial, we should have only one terminal
-        if (serial && activeTerminals != 1) {
+        if (serial && (activeTerminals != 1 || terminalProfile != null)) {
           LOG.warn("Serial ordering is enabled, so # of active terminals is clamped to 1.");
           activeTerminals = 1;
+          terminalProfile = null;
         }
-        if (activeTerminals > terminals) {
+        if (activeTerminals > terminals
+            || (terminalProfile != null && terminalProfile.maxValue() > terminals)) {
           LOG.error(
               String.format(
                   "Configuration error in work %d: "
@@ -384,6 +451,54 @@ public class DBWorkload {
           System.exit(-1);
         }
 
+        // A search looks for the highest rate (or number of active terminals, if the rate is
+        // unlimited) that meets a latency SLO. The phase time bounds how long it may take.
+        SaturationSearch.Settings search = null;
+        String slo = work.getString("search/slo", null);
+        if (slo != null) {
+          if (disabled
+              || serial
+              || !timed
+              || arrival == Phase.Arrival.TRACE
+              || rateProfile != null
+              || terminalProfile != null) {
+            LOG.error(
+                String.format(
+                    "Phase %d cannot search: it must be timed, enabled, non-serial, and use a"
+                        + " fixed rate and number of terminals",
+                    i));
+            System.exit(-1);
+          }
+          double min = work.getDouble("search/min", rateLimited ? rate : 1);
+          double max;
+          if (rateLimited) {
+            if (!work.containsKey("search/max")) {
+              LOG.error(String.format("Please specify the highest rate to search in phase %d", i));
+              System.exit(-1);
+            }
+            max = work.getDouble("search/max");
+          } else {
+            max = work.getDouble("search/max", terminals);
+            if (max > terminals) {
+              LOG.error(
+                  String.format(
+                      "Configuration error in work %d: cannot search beyond %d terminals",
+                      i, terminals));
+              System.exit(-1);
+            }
+          }
+          double percentile = work.getDouble("search/percentile", 99);
+          int step = work.getInt("search/step", 30);
+          double tolerance = work.getDouble("search/tolerance", 0.05);
+          if (min <= 0 || max < min || percentile <= 0 || percentile > 100 || step <= 0) {
+            LOG.error(String.format("Invalid search settings in phase %d", i));
+            System.exit(-1);
+          }
+          // The SLO is given in milliseconds
+          long sloMicros = Math.round(Double.parseDouble(slo) * 1000);
+          search = new SaturationSearch.Settings(sloMicros, percentile, min, max, step, tolerance);
+        }
+
         ArrayList<Double> weights = new ArrayList<>();
 
         double totalWeight = 0;
@@ -414,7 +529,11 @@ public class DBWorkload {
             serial,
             timed,
             activeTerminals,
-            arrival);
+            arrival,
+            arrivalTrace,
+            rateProfile,
+            terminalProfile,
+            search);
       }
 
       // CHECKING INPUT PHASES
@@ -497,10 +616,16 @@ public class DBWorkload {
 
     // Execute Loader
     if (isBooleanOptionSet(argsLine, "load")) {
+      boolean resume = isBooleanOptionSet(argsLine, "resume");
       try {
         for (BenchmarkModule benchmark : benchList) {
           LOG.info("Loading data into {} database...", benchmark.getBenchmarkName().toUpperCase());
-          runLoader(benchmark);
+          // The manifest records the finished load tasks, so that an interrupted load can resume
+          Path manifestFile =
+              Paths.get(
+                  argsLine.getOptionValue("d", "results"),
+                  benchmark.getBenchmarkName() + ".load.manifest");
+          runLoader(benchmark, manifestFile, resume);
           LOG.info(
               "Finished loading data into {} database...",
               benchmark.getBenchmarkName().toUpperCase());
@@ -518,7 +643,7 @@ public class DBWorkload {
     if (isBooleanOptionSet(argsLine, "execute")) {
       // Bombs away!
       try {
-        Results r = runWorkload(benchList, intervalMonitor);
+        Results r = runWorkload(benchList, intervalMonitor, metricsPort, metricsFile);
         writeOutputs(r, activeTXTypes, argsLine, xmlConfig);
         writeHistograms(r);
 
@@ -555,6 +680,8 @@ public class DBWorkload {
     options.addOption(null, "create", true, "Initialize the database for this benchmark");
     options.addOption(null, "clear", true, "Clear all records in the database for this benchmark");
     options.addOption(null, "load", true, "Load data using the benchmark's data loader");
+    options.addOption(
+        null, "resume", true, "Resume an interrupted load, skipping the tasks that finished");
     options.addOption(null, "execute", true, "Execute the benchmark workload");
     options.addOption("h", "help", false, "Print this help");
     options.addOption("s", "sample", true, "Sampling window");
@@ -567,6 +694,10 @@ public class DBWorkload {
         "Base directory for the result files, default is current directory");
     options.addOption(null, "dialects-export", true, "Export benchmark SQL to a dialects file");
     options.addOption("jh", "json-histograms", true, "Export histograms to JSON file");
+    options.addOption(
+        null, "metrics-port", true, "Serve live metrics in Prometheus format on this port");
+    options.addOption(
+        null, "metrics-file", true, "Append live metrics to this file as one JSON object per line");
     return options;
   }
 
@@ -702,6 +833,14 @@ public class DBWorkload {
       }
     }
 
+    if (rw.hasSearchSteps()) {
+      String capacityFileName = baseFileName + ".capacity.csv";
+      try (PrintStream ps = new PrintStream(FileUtil.joinPath(outputDirectory, capacityFileName))) {
+        LOG.info("Output capacity curve into file: {}", capacityFileName);
+        rw.writeCapacityCurve(ps);
+      }
+    }
+
     String configFileName = baseFileName + ".config.xml";
     try (PrintStream ps = new PrintStream(FileUtil.joinPath(outputDirectory, configFileName))) {
       LOG.info("Output benchmark config into file: {}", configFileName);
@@ -727,13 +866,14 @@ public class DBWorkload {
     bench.createDatabase();
   }
 
-  private static void runLoader(BenchmarkModule bench)
+  private static void runLoader(BenchmarkModule bench, Path manifestFile, boolean resume)
       throws IOException, SQLException, InterruptedException {
     LOG.debug(String.format("Loading %s Database", bench));
-    bench.loadDatabase();
+    bench.loadDatabase(manifestFile, resume);
   }
 
-  private static Results runWorkload(List<BenchmarkModule> benchList, int intervalMonitor)
+  private static Results runWorkload(
+      List<BenchmarkModule> benchList, int intervalMonitor, int metricsPort, String metricsFile)
       throws IOException {
     List<Worker<?>> workers = new ArrayList<>();
     List<WorkloadConfiguration> workConfs = new ArrayList<>();
@@ -748,7 +888,19 @@ public class DBWorkload {
               bench.getBenchmarkName().toUpperCase(), num_phases, (num_phases > 1 ? "s" : "")));
       workConfs.add(bench.getWorkloadConfiguration());
     }
-    Results r = ThreadBench.runRateLimitedBenchmark(workers, workConfs, intervalMonitor);
+    LiveMetrics metrics = null;
+    if (metricsPort > 0 || metricsFile != null) {
+      int interval = intervalMonitor > 0 ? intervalMonitor : 1000;
+      metrics = new LiveMetrics(workers, interval, metricsPort, metricsFile);
+    }
+    Results r;
+    try {
+      r = ThreadBench.runRateLimitedBenchmark(workers, workConfs, intervalMonitor);
+    } finally {
+      if (metrics != null) {
+        metrics.close();
+      }
+    }
     LOG.info(SINGLE_LINE);
     LOG.info("Rate limited reqs/s: {}", r);
     return r;
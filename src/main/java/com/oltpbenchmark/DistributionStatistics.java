@@ -94,6 +94,31 @@ public class DistributionStatistics {
         valuesAsMicroseconds.length, percentiles, average, standardDeviation);
   }
 
+  /**
+   * Computes distribution statistics from a latency histogram. Percentiles carry the histogram's
+   * bucket precision; count, minimum, maximum, average and standard deviation are exact.
+   */
+  public static DistributionStatistics computeStatistics(LatencyHistogram histogram) {
+    if (histogram.getTotalCount() == 0) {
+      long[] percentiles = new long[PERCENTILES.length];
+      Arrays.fill(percentiles, -1);
+      return new DistributionStatistics(0, percentiles, -1, -1);
+    }
+
+    long[] percentiles = new long[PERCENTILES.length];
+    for (int i = 0; i < percentiles.length; ++i) {
+      percentiles[i] = histogram.getValueAtPercentile(PERCENTILES[i]);
+    }
+    percentiles[MINIMUM] = histogram.getMinValue();
+    percentiles[MAXIMUM] = histogram.getMaxValue();
+
+    return new DistributionStatistics(
+        (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE),
+        percentiles,
+        histogram.getMean(),
+        histogram.getStandardDeviation());
+  }
+
   public int getCount() {
     return count;
   }
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable, log-bucketed histogram of latencies in microseconds, in the style of HdrHistogram.
+ *
+ * <p>Values below {@link #SUB_BUCKET_COUNT} are counted exactly. Above that, every power-of-two
+ * range is split into {@link #SUB_BUCKET_COUNT}/2 linear sub-buckets, so that any percentile is
+ * reported with a relative error of less than 1%. Minimum, maximum, average and standard deviation
+ * are tracked exactly. Recording is O(1) and never allocates once the bucket array has grown to
+ * cover the largest value seen.
+ *
+ * <p>Instances are not thread-safe: each worker records into its own histograms and they are merged
+ * once the workers are done.
+ */
+public final class LatencyHistogram {
+  /** Number of bits of precision kept for each value */
+  static final int SUB_BUCKET_BITS = 8;
+
+  static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_BITS = SUB_BUCKET_BITS - 1;
+  private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_BITS;
+
+  private long[] counts = new long[SUB_BUCKET_COUNT];
+  private long totalCount;
+  private long minValue = Long.MAX_VALUE;
+  private long maxValue = 0;
+  private double sum;
+  private double sumOfSquares;
+
+  /** Records a single latency. Negative values are clamped to zero. */
+  public void recordValue(long valueAsMicroseconds) {
+    long value = Math.max(valueAsMicroseconds, 0);
+    int index = bucketIndex(value);
+    if (index >= counts.length) {
+      counts = Arrays.copyOf(counts, index + SUB_BUCKET_HALF_COUNT);
+    }
+    counts[index]++;
+    totalCount++;
+    if (value < minValue) {
+      minValue = value;
+    }
+    if (value > maxValue) {
+      maxValue = value;
+    }
+    sum += value;
+    sumOfSquares += (double) value * value;
+  }
+
+  /** Adds all of the values recorded in other to this histogram. */
+  public void add(LatencyHistogram other) {
+    if (other.totalCount == 0) {
+      return;
+    }
+    if (other.counts.length > counts.length) {
+      counts = Arrays.copyOf(counts, other.counts.length);
+    }
+    for (int i = 0; i < other.counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    totalCount += other.totalCount;
+    minValue = Math.min(minValue, other.minValue);
+    maxValue = Math.max(maxValue, other.maxValue);
+    sum += other.sum;
+    sumOfSquares += other.sumOfSquares;
+  }
+
+  /** Clears all recorded values, keeping the bucket array for reuse. */
+  public void reset() {
+    Arrays.fill(counts, 0);
+    totalCount = 0;
+    minValue = Long.MAX_VALUE;
+    maxValue = 0;
+    sum = 0;
+    sumOfSquares = 0;
+  }
+
+  public long getTotalCount() {
+    return totalCount;
+  }
+
+  public long getMinValue() {
+    return totalCount == 0 ? 0 : minValue;
+  }
+
+  public long getMaxValue() {
+    return maxValue;
+  }
+
+  public double getMean() {
+    return totalCount == 0 ? 0 : sum / totalCount;
+  }
+
+  /** Returns the sample standard deviation, matching {@link DistributionStatistics}. */
+  public double getStandardDeviation() {
+    if (totalCount < 2) {
+      return 0;
+    }
+    double mean = getMean();
+    double variance = (sumOfSquares - totalCount * mean * mean) / (totalCount - 1);
+    return Math.sqrt(Math.max(variance, 0));
+  }
+
+  /**
+   * Returns the value at the given percentile, expressed as a fraction in [0, 1]. Like {@link
+   * DistributionStatistics#computeStatistics(int[])}, this selects the value at rank
+   * floor(percentile * count) rather than interpolating.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (totalCount == 0) {
+      return 0;
+    }
+    long rank = Math.min((long) (percentile * totalCount), totalCount - 1);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen > rank) {
+        long value = highestEquivalentValue(i);
+        return Math.max(minValue, Math.min(value, maxValue));
+      }
+    }
+    return maxValue;
+  }
+
+  static int bucketIndex(long value) {
+    int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_HALF_BITS);
+    int subBucket = (int) (value >>> shift);
+    return (shift << SUB_BUCKET_HALF_BITS) + subBucket;
+  }
+
+  static long lowestEquivalentValue(int index) {
+    int shift = Math.max(0, (index >> SUB_BUCKET_HALF_BITS) - 1);
+    long subBucket = index - ((long) shift << SUB_BUCKET_HALF_BITS);
+    return subBucket << shift;
+  }
+
+  static long highestEquivalentValue(int index) {
+    return lowestEquivalentValue(index + 1) - 1;
+  }
+}
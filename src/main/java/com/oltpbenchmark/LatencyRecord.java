@@ -17,164 +17,307 @@
 
 package com.oltpbenchmark;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Efficiently stores a record of (start time, latency, response time, transaction type, worker id,
+ * phase id) samples. The latency is the service time, measured from when the worker started the
+ * transaction. The response time is measured from when the transaction was scheduled to start, so
+ * it also includes the time the request waited for a worker in rate-limited phases. Samples are
+ * kept column-wise in parallel primitive arrays, so recording a sample never allocates an object.
+ * Samples are read back through a {@link Cursor}.
+ *
+ * <p>If a spill directory is given, the samples are instead appended to memory-mapped segment
+ * files, which keeps the heap flat regardless of how long the run is.
+ */
+public class LatencyRecord {
+  /** Allocate space for at most 16k samples at a time */
+  static final int ALLOC_SIZE = 16384;
 
-/** Efficiently stores a record of (start time, latency) pairs. */
-public class LatencyRecord implements Iterable<LatencyRecord.Sample> {
-  /** Allocate space for 500k samples at a time */
-  static final int ALLOC_SIZE = 500000;
+  /**
+   * Size of the first chunk. Chunks double in size up to {@link #ALLOC_SIZE}, so that workers which
+   * record few samples, such as terminals that mostly sleep, stay small.
+   */
+  static final int INITIAL_ALLOC_SIZE = 256;
 
   /**
-   * Contains (start time, latency, transactionType, workerid, phaseid) pentiplets in microsecond
-   * form. The start times are "compressed" by encoding them as increments, starting from startNs. A
-   * 32-bit integer provides sufficient resolution for an interval of 2146 seconds, or 35 minutes.
+   * Contains the samples in chunks. Start times are stored as nanosecond offsets from
+   * startNanosecond, which gives a range of several centuries.
    */
-  private final ArrayList<Sample[]> values = new ArrayList<>();
+  private final ArrayList<Chunk> chunks = new ArrayList<>();
 
+  private Chunk current;
   private int nextIndex;
 
+  /** Number of samples stored in the chunks before the current one */
+  private int fullChunkSamples;
+
   private final long startNanosecond;
-  private long lastNanosecond;
+
+  private final MappedSampleLog spill;
 
   public LatencyRecord(long startNanosecond) {
     this.startNanosecond = startNanosecond;
-    this.lastNanosecond = startNanosecond;
-    allocateChunk();
+    this.spill = null;
+  }
+
+  /**
+   * @param startNanosecond
+   * @param spillDirectory Directory in which the segment files are created
+   * @param name Prefix of the segment file names, unique per worker
+   */
+  public LatencyRecord(long startNanosecond, Path spillDirectory, String name) {
+    this.startNanosecond = startNanosecond;
+    this.spill = new MappedSampleLog(spillDirectory, name);
   }
 
   public void addLatency(
       int transType, long startNanosecond, long endNanosecond, int workerId, int phaseId) {
+    addLatency(transType, startNanosecond, startNanosecond, endNanosecond, workerId, phaseId);
+  }
 
-    if (nextIndex == ALLOC_SIZE) {
-      allocateChunk();
+  /**
+   * @param transType
+   * @param scheduledNanosecond When the transaction was scheduled to start
+   * @param startNanosecond When the worker started the transaction
+   * @param endNanosecond
+   * @param workerId
+   * @param phaseId
+   */
+  public void addLatency(
+      int transType,
+      long scheduledNanosecond,
+      long startNanosecond,
+      long endNanosecond,
+      int workerId,
+      int phaseId) {
+    int latency = (int) ((endNanosecond - startNanosecond + 500) / 1000);
+    int responseTime = (int) ((endNanosecond - scheduledNanosecond + 500) / 1000);
+
+    if (spill != null) {
+      spill.append(
+          startNanosecond - this.startNanosecond,
+          latency,
+          responseTime,
+          transType,
+          workerId,
+          phaseId);
+      return;
     }
-    Sample[] chunk = values.get(values.size() - 1);
-
-    long startOffsetNanosecond = (startNanosecond - lastNanosecond + 500);
-
-    int latencyMicroseconds = (int) ((endNanosecond - startNanosecond + 500) / 1000);
 
-    chunk[nextIndex] =
-        new Sample(transType, startOffsetNanosecond, latencyMicroseconds, workerId, phaseId);
+    if (current == null || nextIndex == current.capacity) {
+      allocateChunk();
+    }
+    Chunk chunk = current;
+
+    chunk.startOffsets[nextIndex] = startNanosecond - this.startNanosecond;
+    chunk.latencies[nextIndex] = latency;
+    chunk.responseTimes[nextIndex] = responseTime;
+    chunk.transactionTypes[nextIndex] = (short) transType;
+    chunk.workerIds[nextIndex] = workerId;
+    chunk.phaseIds[nextIndex] = (short) phaseId;
     ++nextIndex;
-
-    lastNanosecond += startOffsetNanosecond;
   }
 
   private void allocateChunk() {
-    values.add(new Sample[ALLOC_SIZE]);
+    int capacity = INITIAL_ALLOC_SIZE;
+    if (current != null) {
+      fullChunkSamples += current.capacity;
+      capacity = Math.min(current.capacity * 2, ALLOC_SIZE);
+    }
+    current = new Chunk(capacity);
+    chunks.add(current);
     nextIndex = 0;
   }
 
   /** Returns the number of recorded samples. */
   public int size() {
-    // Samples stored in full chunks
-    int samples = (values.size() - 1) * ALLOC_SIZE;
+    if (spill != null) {
+      return (int) spill.size();
+    }
 
-    // Samples stored in the last not full chunk
-    samples += nextIndex;
-    return samples;
+    // Samples stored in full chunks, plus those in the last not full chunk
+    return fullChunkSamples + nextIndex;
   }
 
-  /** Stores the start time and latency for a single sample. Immutable. */
-  public static final class Sample implements Comparable<Sample> {
-    private final int transactionType;
-    private long startNanosecond;
-    private final int latencyMicrosecond;
-    private final int workerId;
-    private final int phaseId;
-
-    public Sample(
-        int transactionType,
-        long startNanosecond,
-        int latencyMicrosecond,
-        int workerId,
-        int phaseId) {
-      this.transactionType = transactionType;
-      this.startNanosecond = startNanosecond;
-      this.latencyMicrosecond = latencyMicrosecond;
-      this.workerId = workerId;
-      this.phaseId = phaseId;
+  /** Returns a cursor over the samples of this record, in the order they were added. */
+  public Cursor cursor() {
+    if (spill != null) {
+      return spill.cursor(startNanosecond);
     }
+    return new RecordCursor();
+  }
+
+  /**
+   * Returns a cursor over the samples of all of the given records, ordered by start time. Each
+   * record must itself be ordered by start time, which is the case for a record filled by a single
+   * worker.
+   */
+  public static Cursor mergedCursor(List<LatencyRecord> records) {
+    List<Cursor> cursors = new ArrayList<>(records.size());
+    for (LatencyRecord record : records) {
+      cursors.add(record.cursor());
+    }
+    return new MergedCursor(cursors);
+  }
+
+  /**
+   * Reads samples one at a time without allocating. Call {@link #advance()} to move to the next
+   * sample before reading its fields.
+   */
+  public interface Cursor {
+    /** Moves to the next sample. Returns false if there are no more samples. */
+    boolean advance();
+
+    int getTransactionType();
+
+    long getStartNanosecond();
 
+    int getLatencyMicrosecond();
+
+    int getResponseTimeMicrosecond();
+
+    int getWorkerId();
+
+    int getPhaseId();
+  }
+
+  private static final class Chunk {
+    private final int capacity;
+    private final long[] startOffsets;
+    private final int[] latencies;
+    private final int[] responseTimes;
+    private final short[] transactionTypes;
+    private final int[] workerIds;
+    private final short[] phaseIds;
+
+    Chunk(int capacity) {
+      this.capacity = capacity;
+      this.startOffsets = new long[capacity];
+      this.latencies = new int[capacity];
+      this.responseTimes = new int[capacity];
+      this.transactionTypes = new short[capacity];
+      this.workerIds = new int[capacity];
+      this.phaseIds = new short[capacity];
+    }
+  }
+
+  private final class RecordCursor implements Cursor {
+    private int chunkIndex = 0;
+    private int subIndex = -1;
+    private Chunk chunk = chunks.isEmpty() ? null : chunks.get(0);
+
+    @Override
+    public boolean advance() {
+      if (chunk == null) {
+        return false;
+      }
+      // Iterate in chunk, and wrap to next one
+      ++subIndex;
+      if (subIndex == chunk.capacity) {
+        if (chunkIndex == chunks.size() - 1) {
+          subIndex = chunk.capacity - 1;
+          return false;
+        }
+        chunkIndex += 1;
+        chunk = chunks.get(chunkIndex);
+        subIndex = 0;
+      }
+      if (chunkIndex == chunks.size() - 1 && subIndex >= nextIndex) {
+        subIndex = nextIndex - 1;
+        return false;
+      }
+      return true;
+    }
+
+    @Override
     public int getTransactionType() {
-      return transactionType;
+      return chunk.transactionTypes[subIndex];
     }
 
+    @Override
     public long getStartNanosecond() {
-      return startNanosecond;
+      return startNanosecond + chunk.startOffsets[subIndex];
     }
 
+    @Override
     public int getLatencyMicrosecond() {
-      return latencyMicrosecond;
+      return chunk.latencies[subIndex];
     }
 
-    public int getWorkerId() {
-      return workerId;
+    @Override
+    public int getResponseTimeMicrosecond() {
+      return chunk.responseTimes[subIndex];
     }
 
-    public int getPhaseId() {
-      return phaseId;
+    @Override
+    public int getWorkerId() {
+      return chunk.workerIds[subIndex];
     }
 
     @Override
-    public int compareTo(Sample other) {
-      long diff = this.startNanosecond - other.startNanosecond;
-
-      // explicit comparison to avoid long to int overflow
-      if (diff > 0) {
-        return 1;
-      } else if (diff < 0) {
-        return -1;
-      } else {
-
-        return 0;
-      }
+    public int getPhaseId() {
+      return chunk.phaseIds[subIndex];
     }
   }
 
-  private final class LatencyRecordIterator implements Iterator<Sample> {
-    private int chunkIndex = 0;
-    private int subIndex = 0;
-    private long lastIteratorNanosecond = startNanosecond;
+  /** K-way merge of cursors that are each ordered by start time. */
+  private static final class MergedCursor implements Cursor {
+    private final PriorityQueue<Cursor> queue;
+    private Cursor head;
+
+    MergedCursor(List<Cursor> cursors) {
+      this.queue =
+          new PriorityQueue<>(
+              Math.max(1, cursors.size()), Comparator.comparingLong(Cursor::getStartNanosecond));
+      for (Cursor c : cursors) {
+        if (c.advance()) {
+          queue.add(c);
+        }
+      }
+    }
 
     @Override
-    public boolean hasNext() {
-      if (chunkIndex < values.size() - 1) {
-        return true;
+    public boolean advance() {
+      if (head != null && head.advance()) {
+        queue.add(head);
       }
-      return subIndex < nextIndex;
+      head = queue.poll();
+      return head != null;
     }
 
     @Override
-    public Sample next() {
-      Sample[] chunk = values.get(chunkIndex);
-      Sample s = chunk[subIndex];
-
-      // Iterate in chunk, and wrap to next one
-      ++subIndex;
+    public int getTransactionType() {
+      return head.getTransactionType();
+    }
 
-      if (subIndex == ALLOC_SIZE) {
-        chunkIndex += 1;
-        subIndex = 0;
-      }
+    @Override
+    public long getStartNanosecond() {
+      return head.getStartNanosecond();
+    }
 
-      // Previously, s.startNs was just an offset from the previous
-      // value.  Now we make it an absolute.
-      s.startNanosecond += lastIteratorNanosecond;
-      lastIteratorNanosecond = s.startNanosecond;
+    @Override
+    public int getLatencyMicrosecond() {
+      return head.getLatencyMicrosecond();
+    }
 
-      return s;
+    @Override
+    public int getResponseTimeMicrosecond() {
+      return head.getResponseTimeMicrosecond();
     }
 
     @Override
-    public void remove() {
-      throw new UnsupportedOperationException("remove is not supported");
+    public int getWorkerId() {
+      return head.getWorkerId();
     }
-  }
 
-  public Iterator<Sample> iterator() {
-    return new LatencyRecordIterator();
+    @Override
+    public int getPhaseId() {
+      return head.getPhaseId();
+    }
   }
 }
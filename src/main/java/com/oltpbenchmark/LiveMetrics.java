@@ -0,0 +1,363 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import com.oltpbenchmark.LiveRecorder.TypeCounters;
+import com.oltpbenchmark.api.TransactionType;
+import com.oltpbenchmark.api.Worker;
+import com.oltpbenchmark.types.TransactionStatus;
+import com.sun.net.httpserver.HttpServer;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes live statistics while a benchmark runs. Every interval it reads the {@link
+ * LiveRecorder} of each worker and computes, per benchmark and transaction type, the throughput,
+ * the latency percentiles and the abort, retry and error rates of that interval. The latest
+ * interval is served in Prometheus text format over HTTP, with a benchmark and a type label, and
+ * every interval can be appended to a file as one JSON object per line, with the statistics nested
+ * by benchmark and then by type.
+ *
+ * <p>Unlike the final results, the live statistics include transactions outside of the measured
+ * window, such as those of the warmup.
+ */
+public final class LiveMetrics implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(LiveMetrics.class);
+
+  private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+  private final Map<String, BenchmarkCounters> benchmarks = new TreeMap<>();
+  private final int intervalMillis;
+  private final HttpServer server;
+  private final PrintStream file;
+  private final SamplerThread sampler;
+
+  // Only the sampler thread touches this
+  private long previousNanos = System.nanoTime();
+
+  private volatile String prometheusText = "";
+
+  /**
+   * @param workers The workers to read
+   * @param intervalMillis How often to compute new statistics
+   * @param port The port to serve Prometheus metrics on at /metrics, or 0 for none
+   * @param fileName The file to append each interval to, or null for none
+   */
+  public LiveMetrics(
+      List<? extends Worker<?>> workers, int intervalMillis, int port, String fileName)
+      throws IOException {
+    this.intervalMillis = intervalMillis;
+    // Every benchmark numbers its transaction types from 1, so they are kept apart by benchmark
+    for (Worker<?> w : workers) {
+      WorkloadConfiguration workConf = w.getWorkloadConfiguration();
+      BenchmarkCounters counters =
+          benchmarks.computeIfAbsent(workConf.getBenchmarkName(), k -> new BenchmarkCounters());
+      counters.workers.add(w);
+      for (TransactionType t : workConf.getTransTypes()) {
+        if (t.getId() != TransactionType.INVALID_ID) {
+          counters.typeNames.put(t.getId(), t.getName());
+        }
+      }
+    }
+
+    file = fileName != null ? new PrintStream(new FileOutputStream(fileName, true), true) : null;
+
+    if (port > 0) {
+      server = HttpServer.create(new InetSocketAddress(port), 0);
+      server.createContext(
+          "/metrics",
+          exchange -> {
+            byte[] body = prometheusText.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          });
+      server.start();
+      LOG.info("Serving live metrics on http://localhost:{}/metrics", port);
+    } else {
+      server = null;
+    }
+
+    sampler = new SamplerThread();
+    sampler.start();
+  }
+
+  @Override
+  public void close() {
+    sampler.interrupt();
+    try {
+      sampler.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    // Publish what happened since the last interval
+    sample();
+    if (server != null) {
+      server.stop(0);
+    }
+    if (file != null) {
+      file.close();
+    }
+  }
+
+  /** Returns the statistics of the latest interval in Prometheus text format. */
+  public String getPrometheusText() {
+    return prometheusText;
+  }
+
+  private void sample() {
+    long now = System.nanoTime();
+    double seconds = Math.max(now - previousNanos, 1) / 1e9;
+    previousNanos = now;
+
+    StringBuilder totals = new StringBuilder();
+    StringBuilder rates = new StringBuilder();
+    StringBuilder latencies = new StringBuilder();
+    StringBuilder maxima = new StringBuilder();
+    Map<String, Object> lineBenchmarks = new LinkedHashMap<>();
+    for (Map.Entry<String, BenchmarkCounters> b : benchmarks.entrySet()) {
+      String benchmark = b.getKey();
+      BenchmarkCounters counters = b.getValue();
+      long[][] statuses = counters.sumStatuses();
+      long[][] buckets = counters.sumBuckets();
+
+      Map<String, Object> lineTypes = new LinkedHashMap<>();
+      for (Map.Entry<Integer, String> e : counters.typeNames.entrySet()) {
+        int id = e.getKey();
+        String name = e.getValue();
+        for (TransactionStatus status : TransactionStatus.values()) {
+          appendSample(
+              totals,
+              "benchbase_transactions_total",
+              benchmark,
+              name,
+              "status",
+              status.name().toLowerCase(Locale.ROOT),
+              statuses[id][status.ordinal()]);
+        }
+
+        long[] intervalStatuses = subtract(statuses[id], previous(counters.previousStatuses, id));
+        long[] intervalBuckets = subtract(buckets[id], previous(counters.previousBuckets, id));
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        double throughput = intervalStatuses[TransactionStatus.SUCCESS.ordinal()] / seconds;
+        double aborts = intervalStatuses[TransactionStatus.USER_ABORTED.ordinal()] / seconds;
+        double retries =
+            (intervalStatuses[TransactionStatus.RETRY.ordinal()]
+                    + intervalStatuses[TransactionStatus.RETRY_DIFFERENT.ordinal()])
+                / seconds;
+        double errors = intervalStatuses[TransactionStatus.ERROR.ordinal()] / seconds;
+        stats.put("throughput", throughput);
+        stats.put("aborts_per_second", aborts);
+        stats.put("retries_per_second", retries);
+        stats.put("errors_per_second", errors);
+        appendSample(rates, "benchbase_rate", benchmark, name, "outcome", "success", throughput);
+        appendSample(rates, "benchbase_rate", benchmark, name, "outcome", "abort", aborts);
+        appendSample(rates, "benchbase_rate", benchmark, name, "outcome", "retry", retries);
+        appendSample(rates, "benchbase_rate", benchmark, name, "outcome", "error", errors);
+
+        for (double p : PERCENTILES) {
+          long value = valueAtPercentile(intervalBuckets, p);
+          stats.put("p" + Math.round(p * 100), value);
+          appendSample(
+              latencies,
+              "benchbase_latency_microseconds",
+              benchmark,
+              name,
+              "quantile",
+              Double.toString(p),
+              value);
+        }
+        long max = valueAtPercentile(intervalBuckets, 1.0);
+        stats.put("max", max);
+        appendSample(
+            maxima, "benchbase_latency_max_microseconds", benchmark, name, null, null, max);
+        lineTypes.put(name, stats);
+      }
+      lineBenchmarks.put(benchmark, lineTypes);
+
+      counters.previousStatuses = statuses;
+      counters.previousBuckets = buckets;
+    }
+
+    StringBuilder text = new StringBuilder();
+    text.append("# HELP benchbase_transactions_total Transaction attempts by outcome\n");
+    text.append("# TYPE benchbase_transactions_total counter\n");
+    text.append(totals);
+    text.append("# HELP benchbase_rate Transactions per second in the last interval by outcome\n");
+    text.append("# TYPE benchbase_rate gauge\n");
+    text.append(rates);
+    text.append("# HELP benchbase_latency_microseconds Latency percentiles in the last interval\n");
+    text.append("# TYPE benchbase_latency_microseconds gauge\n");
+    text.append(latencies);
+    text.append("# HELP benchbase_latency_max_microseconds Maximum latency in the last interval\n");
+    text.append("# TYPE benchbase_latency_max_microseconds gauge\n");
+    text.append(maxima);
+    prometheusText = text.toString();
+
+    if (file != null) {
+      Map<String, Object> line = new LinkedHashMap<>();
+      line.put("time", System.currentTimeMillis());
+      line.put("interval_seconds", seconds);
+      line.put("benchmarks", lineBenchmarks);
+      file.println(new JSONObject(line));
+    }
+  }
+
+  private static long[] previous(long[][] counts, int id) {
+    return id < counts.length ? counts[id] : null;
+  }
+
+  private static long[] subtract(long[] current, long[] previous) {
+    long[] delta = current.clone();
+    if (previous != null) {
+      for (int i = 0; i < delta.length; i++) {
+        delta[i] -= previous[i];
+      }
+    }
+    return delta;
+  }
+
+  /** Returns the upper bound of the bucket holding the given percentile, or 0 if empty. */
+  static long valueAtPercentile(long[] buckets, double percentile) {
+    long total = 0;
+    for (long count : buckets) {
+      total += count;
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.min((long) (percentile * total), total - 1);
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen > rank) {
+        return LiveRecorder.highestEquivalentValue(i);
+      }
+    }
+    return LiveRecorder.MAX_VALUE;
+  }
+
+  private static void appendSample(
+      StringBuilder text,
+      String metric,
+      String benchmark,
+      String type,
+      String labelName,
+      String labelValue,
+      double value) {
+    text.append(metric).append("{benchmark=\"").append(escape(benchmark)).append('"');
+    text.append(",type=\"").append(escape(type)).append('"');
+    if (labelName != null) {
+      text.append(',').append(labelName).append("=\"").append(escape(labelValue)).append('"');
+    }
+    text.append("} ");
+    if (value == Math.rint(value) && !Double.isInfinite(value)) {
+      text.append((long) value);
+    } else {
+      text.append(value);
+    }
+    text.append('\n');
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  /** The workers of one benchmark and its counters of the previous interval */
+  private static final class BenchmarkCounters {
+    private final List<Worker<?>> workers = new ArrayList<>();
+    private final TreeMap<Integer, String> typeNames = new TreeMap<>();
+
+    // Cumulative counters of the previous interval, indexed by transaction type id
+    private long[][] previousStatuses = new long[0][];
+    private long[][] previousBuckets = new long[0][];
+
+    private int typeCount() {
+      return typeNames.isEmpty() ? 0 : typeNames.lastKey() + 1;
+    }
+
+    private long[][] sumStatuses() {
+      long[][] sums = new long[typeCount()][LiveRecorder.STATUS_COUNT];
+      for (Worker<?> w : workers) {
+        TypeCounters[] types = w.getLiveRecorder().getTypes();
+        for (int id = 0; id < Math.min(types.length, sums.length); id++) {
+          if (types[id] != null) {
+            for (int s = 0; s < LiveRecorder.STATUS_COUNT; s++) {
+              sums[id][s] += types[id].statuses.getAcquire(s);
+            }
+          }
+        }
+      }
+      return sums;
+    }
+
+    private long[][] sumBuckets() {
+      long[][] sums = new long[typeCount()][LiveRecorder.BUCKET_COUNT];
+      for (Worker<?> w : workers) {
+        TypeCounters[] types = w.getLiveRecorder().getTypes();
+        for (int id = 0; id < Math.min(types.length, sums.length); id++) {
+          if (types[id] != null) {
+            for (int b = 0; b < LiveRecorder.BUCKET_COUNT; b++) {
+              sums[id][b] += types[id].buckets.getAcquire(b);
+            }
+          }
+        }
+      }
+      return sums;
+    }
+  }
+
+  private class SamplerThread extends Thread {
+    {
+      this.setDaemon(true);
+      this.setName("LiveMetrics");
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        try {
+          Thread.sleep(intervalMillis);
+        } catch (InterruptedException ex) {
+          return;
+        }
+        try {
+          sample();
+        } catch (RuntimeException ex) {
+          LOG.warn("Failed to compute live metrics", ex);
+        }
+      }
+    }
+  }
+}
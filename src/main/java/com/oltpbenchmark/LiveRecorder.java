@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import com.oltpbenchmark.types.TransactionStatus;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cumulative per-worker counters and latency buckets that other threads can read while the worker
+ * is running. Only the owning worker writes, so every update is a plain release store rather than
+ * an atomic read-modify-write, and readers use acquire loads. Readers compute interval statistics
+ * by subtracting an earlier reading.
+ *
+ * <p>The latency buckets use the layout of {@link LatencyHistogram} with fewer sub-buckets, so that
+ * percentiles are within about 6% and every worker can afford a fixed bucket array per transaction
+ * type.
+ */
+public final class LiveRecorder {
+  static final int SUB_BUCKET_HALF_BITS = 4;
+
+  /** Latencies above this many microseconds (about 19 hours) are counted in the last bucket */
+  static final long MAX_VALUE = (1L << 36) - 1;
+
+  static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  static final int STATUS_COUNT = TransactionStatus.values().length;
+
+  /** Counters of one transaction type, indexed by transaction type id */
+  private volatile TypeCounters[] types = new TypeCounters[0];
+
+  /**
+   * Records the latency of a completed transaction. For rate-limited work this is the response
+   * time, measured from when the transaction was scheduled rather than when it started.
+   */
+  public void recordLatency(int transactionTypeId, long microseconds) {
+    TypeCounters counters = counters(transactionTypeId);
+    increment(counters.buckets, bucketIndex(Math.max(0, Math.min(microseconds, MAX_VALUE))));
+  }
+
+  /** Records the outcome of a transaction attempt. */
+  public void recordStatus(int transactionTypeId, TransactionStatus status) {
+    increment(counters(transactionTypeId).statuses, status.ordinal());
+  }
+
+  private static void increment(AtomicLongArray array, int index) {
+    array.setRelease(index, array.getPlain(index) + 1);
+  }
+
+  private TypeCounters counters(int transactionTypeId) {
+    TypeCounters[] current = types;
+    if (transactionTypeId >= current.length) {
+      current = Arrays.copyOf(current, transactionTypeId + 1);
+      types = current;
+    }
+    TypeCounters counters = current[transactionTypeId];
+    if (counters == null) {
+      counters = new TypeCounters();
+      current[transactionTypeId] = counters;
+      // Publish the new entry to readers
+      types = current;
+    }
+    return counters;
+  }
+
+  /** Returns the counters indexed by transaction type id. Entries may be null. */
+  TypeCounters[] getTypes() {
+    return types;
+  }
+
+  static final class TypeCounters {
+    /** Attempts, indexed by {@link TransactionStatus#ordinal()} */
+    final AtomicLongArray statuses = new AtomicLongArray(STATUS_COUNT);
+
+    /** Completed transactions, indexed by latency bucket */
+    final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  }
+
+  static int bucketIndex(long value) {
+    int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_HALF_BITS);
+    int subBucket = (int) (value >>> shift);
+    return (shift << SUB_BUCKET_HALF_BITS) + subBucket;
+  }
+
+  static long highestEquivalentValue(int index) {
+    int next = index + 1;
+    int shift = Math.max(0, (next >> SUB_BUCKET_HALF_BITS) - 1);
+    long subBucket = next - ((long) shift << SUB_BUCKET_HALF_BITS);
+    return (subBucket << shift) - 1;
+  }
+}
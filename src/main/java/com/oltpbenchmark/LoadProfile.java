@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A value that changes over the course of a phase, such as its rate or its number of active
+ * terminals. Profiles are written as
+ *
+ * <ul>
+ *   <li>{@code ramp(from,to,duration)}: changes linearly from {@code from} to {@code to} over the
+ *       duration, then stays at {@code to}
+ *   <li>{@code ramp(from,to,duration,exp)}: the same, but changes exponentially
+ *   <li>{@code step(v1,v2,...,duration)}: holds each value for the duration, then stays at the last
+ *       one
+ * </ul>
+ *
+ * <p>Durations are in seconds unless they end in {@code s}, {@code m} or {@code h}. Times are
+ * counted from the start of the phase, including its warmup.
+ */
+public final class LoadProfile {
+  private static final Pattern FUNCTION = Pattern.compile("(\\w+)\\s*\\((.*)\\)");
+
+  private final String spec;
+  private final List<Segment> segments;
+
+  private LoadProfile(String spec, List<Segment> segments) {
+    this.spec = spec;
+    this.segments = segments;
+  }
+
+  /** Returns whether the string is a profile rather than a plain value. */
+  public static boolean isProfile(String value) {
+    return FUNCTION.matcher(value.trim()).matches();
+  }
+
+  /**
+   * Parses a profile.
+   *
+   * @throws IllegalArgumentException if the string is not a valid profile
+   */
+  public static LoadProfile parse(String value) {
+    String spec = value.trim();
+    Matcher m = FUNCTION.matcher(spec);
+    if (!m.matches()) {
+      throw new IllegalArgumentException("Not a load profile: " + spec);
+    }
+    String function = m.group(1).toLowerCase();
+    String[] args = m.group(2).split("\\s*,\\s*");
+
+    List<Segment> segments = new ArrayList<>();
+    switch (function) {
+      case "ramp" -> {
+        if (args.length != 3 && !(args.length == 4 && args[3].equalsIgnoreCase("exp"))) {
+          throw new IllegalArgumentException(
+              "Expected ramp(from,to,duration) or ramp(from,to,duration,exp): " + spec);
+        }
+        double from = parseValue(args[0], spec);
+        double to = parseValue(args[1], spec);
+        double duration = parseDuration(args[2], spec);
+        boolean exponential = args.length == 4;
+        if (to <= 0 || (exponential && from <= 0)) {
+          throw new IllegalArgumentException("Ramp values must be positive: " + spec);
+        }
+        segments.add(
+            exponential
+                ? new Segment(Shape.EXPONENTIAL, from, to, duration)
+                : new Segment(Shape.LINEAR, from, to, duration));
+        segments.add(new Segment(Shape.CONSTANT, to, to, Double.POSITIVE_INFINITY));
+      }
+      case "step" -> {
+        if (args.length < 2) {
+          throw new IllegalArgumentException("Expected step(v1,v2,...,duration): " + spec);
+        }
+        double duration = parseDuration(args[args.length - 1], spec);
+        for (int i = 0; i < args.length - 1; i++) {
+          double v = parseValue(args[i], spec);
+          if (v <= 0) {
+            throw new IllegalArgumentException("Step values must be positive: " + spec);
+          }
+          boolean last = i == args.length - 2;
+          segments.add(
+              new Segment(Shape.CONSTANT, v, v, last ? Double.POSITIVE_INFINITY : duration));
+        }
+      }
+      default -> throw new IllegalArgumentException("Unknown load profile '" + function + "'");
+    }
+    return new LoadProfile(spec, Collections.unmodifiableList(segments));
+  }
+
+  private static double parseValue(String value, String spec) {
+    try {
+      double v = Double.parseDouble(value);
+      if (v < 0 || Double.isNaN(v) || Double.isInfinite(v)) {
+        throw new IllegalArgumentException("Negative or invalid value in " + spec);
+      }
+      return v;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid number '" + value + "' in " + spec, e);
+    }
+  }
+
+  private static double parseDuration(String value, String spec) {
+    double unit = 1;
+    String number = value;
+    if (value.endsWith("s")) {
+      number = value.substring(0, value.length() - 1);
+    } else if (value.endsWith("m")) {
+      number = value.substring(0, value.length() - 1);
+      unit = 60;
+    } else if (value.endsWith("h")) {
+      number = value.substring(0, value.length() - 1);
+      unit = 3600;
+    }
+    double duration = parseValue(number.trim(), spec) * unit;
+    if (duration <= 0) {
+      throw new IllegalArgumentException("Duration must be positive in " + spec);
+    }
+    return duration;
+  }
+
+  /** Returns the value at the given time since the start of the phase. */
+  public double valueAt(double seconds) {
+    double start = 0;
+    for (Segment segment : segments) {
+      if (seconds < start + segment.duration) {
+        return segment.valueAt(Math.max(seconds - start, 0));
+      }
+      start += segment.duration;
+    }
+    // Unreachable, the last segment never ends
+    return segments.get(segments.size() - 1).to;
+  }
+
+  /** Returns the value at the start of the phase. */
+  public double initialValue() {
+    return segments.get(0).from;
+  }
+
+  /** Returns the largest value the profile ever takes. */
+  public double maxValue() {
+    double max = 0;
+    for (Segment segment : segments) {
+      max = Math.max(max, Math.max(segment.from, segment.to));
+    }
+    return max;
+  }
+
+  /**
+   * Treating the profile as a rate, returns the time at which the given number of events have
+   * happened since the start of the phase. This is the inverse of the integral of the rate.
+   */
+  public double timeOfEvents(double events) {
+    double start = 0;
+    for (Segment segment : segments) {
+      double total = segment.events();
+      if (events < total) {
+        return start + segment.timeOfEvents(events);
+      }
+      events -= total;
+      start += segment.duration;
+    }
+    // Unreachable, the last segment never ends
+    return Double.POSITIVE_INFINITY;
+  }
+
+  @Override
+  public String toString() {
+    return spec;
+  }
+
+  private enum Shape {
+    CONSTANT,
+    LINEAR,
+    EXPONENTIAL
+  }
+
+  private static final class Segment {
+    private final Shape shape;
+    private final double from;
+    private final double to;
+    private final double duration;
+
+    /** Slope of a linear segment, or growth constant of an exponential one */
+    private final double slope;
+
+    Segment(Shape shape, double from, double to, double duration) {
+      this.shape = shape;
+      this.from = from;
+      this.to = to;
+      this.duration = duration;
+      this.slope =
+          switch (shape) {
+            case CONSTANT -> 0;
+            case LINEAR -> (to - from) / duration;
+            case EXPONENTIAL -> Math.log(to / from) / duration;
+          };
+    }
+
+    double valueAt(double t) {
+      return switch (shape) {
+        case CONSTANT -> from;
+        case LINEAR -> from + slope * t;
+        case EXPONENTIAL -> from * Math.exp(slope * t);
+      };
+    }
+
+    /** Integral of the value over the whole segment */
+    double events() {
+      return switch (shape) {
+        case CONSTANT -> from * duration;
+        case LINEAR -> (from + to) / 2 * duration;
+        case EXPONENTIAL -> slope == 0 ? from * duration : (to - from) / slope;
+      };
+    }
+
+    /** Time into the segment at which the integral reaches the given number of events */
+    double timeOfEvents(double events) {
+      if (events <= 0) {
+        return 0;
+      }
+      if (slope == 0) {
+        return events / from;
+      }
+      return switch (shape) {
+        case CONSTANT -> events / from;
+          // Root of from * t + slope / 2 * t^2 = events, in a form that is stable when from is 0
+        case LINEAR ->
+            2 * events / (from + Math.sqrt(Math.max(from * from + 2 * slope * events, 0)));
+        case EXPONENTIAL -> Math.log1p(slope * events / from) / slope;
+      };
+    }
+  }
+}
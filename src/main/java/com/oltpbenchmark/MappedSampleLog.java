@@ -0,0 +1,182 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends the latency samples of a single worker as fixed-width binary records to a sequence of
+ * memory-mapped segment files, so that raw samples do not have to stay on the heap for the whole
+ * run. The segment files are deleted when the JVM exits.
+ */
+final class MappedSampleLog {
+  /**
+   * start offset (8) + latency (4) + worker id (4) + transaction type (2) + phase id (2) + response
+   * time (4)
+   */
+  static final int RECORD_BYTES = 24;
+
+  /** Number of records stored in each segment file */
+  static final int SEGMENT_RECORDS = 1 << 22;
+
+  private final Path directory;
+  private final String prefix;
+  private final List<Path> segments = new ArrayList<>();
+
+  private MappedByteBuffer current;
+  private int nextIndex = SEGMENT_RECORDS;
+  private long size;
+
+  MappedSampleLog(Path directory, String prefix) {
+    this.directory = directory;
+    this.prefix = prefix;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException ex) {
+      throw new RuntimeException("Failed to create sample spill directory " + directory, ex);
+    }
+  }
+
+  void append(
+      long startOffsetNanosecond,
+      int latencyMicrosecond,
+      int responseTimeMicrosecond,
+      int transactionType,
+      int workerId,
+      int phaseId) {
+    if (nextIndex == SEGMENT_RECORDS) {
+      allocateSegment();
+    }
+    int position = nextIndex * RECORD_BYTES;
+    current.putLong(position, startOffsetNanosecond);
+    current.putInt(position + 8, latencyMicrosecond);
+    current.putInt(position + 12, workerId);
+    current.putShort(position + 16, (short) transactionType);
+    current.putShort(position + 18, (short) phaseId);
+    current.putInt(position + 20, responseTimeMicrosecond);
+    ++nextIndex;
+    ++size;
+  }
+
+  private void allocateSegment() {
+    try {
+      Path segment = Files.createTempFile(directory, prefix + "-", ".samples");
+      segment.toFile().deleteOnExit();
+      try (FileChannel channel =
+          FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        current = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes(SEGMENT_RECORDS));
+      }
+      segments.add(segment);
+      nextIndex = 0;
+    } catch (IOException ex) {
+      throw new RuntimeException("Failed to allocate sample segment in " + directory, ex);
+    }
+  }
+
+  long size() {
+    return size;
+  }
+
+  /** Returns a cursor over the records, in the order they were appended. */
+  LatencyRecord.Cursor cursor(long startNanosecond) {
+    return new SegmentCursor(startNanosecond);
+  }
+
+  private static long segmentBytes(long records) {
+    return records * RECORD_BYTES;
+  }
+
+  private final class SegmentCursor implements LatencyRecord.Cursor {
+    private final long startNanosecond;
+    private int segmentIndex = -1;
+    private MappedByteBuffer segment;
+    private int segmentRecords;
+    private int subIndex;
+    private int position;
+
+    SegmentCursor(long startNanosecond) {
+      this.startNanosecond = startNanosecond;
+    }
+
+    @Override
+    public boolean advance() {
+      ++subIndex;
+      if (segment == null || subIndex >= segmentRecords) {
+        if (segmentIndex + 1 >= segments.size()) {
+          return false;
+        }
+        ++segmentIndex;
+        mapSegment();
+        subIndex = 0;
+        if (segmentRecords == 0) {
+          return false;
+        }
+      }
+      position = subIndex * RECORD_BYTES;
+      return true;
+    }
+
+    private void mapSegment() {
+      boolean last = segmentIndex == segments.size() - 1;
+      segmentRecords = last ? nextIndex : SEGMENT_RECORDS;
+      Path path = segments.get(segmentIndex);
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, segmentBytes(segmentRecords));
+      } catch (IOException ex) {
+        throw new RuntimeException("Failed to read sample segment " + path, ex);
+      }
+    }
+
+    @Override
+    public int getTransactionType() {
+      return segment.getShort(position + 16);
+    }
+
+    @Override
+    public long getStartNanosecond() {
+      return startNanosecond + segment.getLong(position);
+    }
+
+    @Override
+    public int getLatencyMicrosecond() {
+      return segment.getInt(position + 8);
+    }
+
+    @Override
+    public int getResponseTimeMicrosecond() {
+      return segment.getInt(position + 20);
+    }
+
+    @Override
+    public int getWorkerId() {
+      return segment.getInt(position + 12);
+    }
+
+    @Override
+    public int getPhaseId() {
+      return segment.getShort(position + 18);
+    }
+  }
+}
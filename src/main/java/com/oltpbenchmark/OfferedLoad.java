@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.Arrays;
+
+/**
+ * Counts the arrivals that rate-limited phases scheduled over time, so that the offered rate can be
+ * reported next to the achieved throughput. Arrivals are counted in bins of {@link #BIN_NS} since a
+ * common origin. Not thread-safe: each scheduler fills its own instance, and they are merged once
+ * the run is over.
+ */
+final class OfferedLoad {
+  static final long BIN_NS = 10000000L;
+
+  private final long originNs;
+  private long[] bins = new long[1024];
+  private int binCount;
+
+  OfferedLoad(long originNs) {
+    this.originNs = originNs;
+  }
+
+  /** Counts an arrival scheduled at the given {@link System#nanoTime()}. */
+  void record(long scheduledNs) {
+    long bin = (scheduledNs - originNs) / BIN_NS;
+    if (bin < 0 || bin > Integer.MAX_VALUE - 8) {
+      return;
+    }
+    grow((int) bin + 1);
+    bins[(int) bin]++;
+  }
+
+  /** Adds the arrivals counted by another instance with the same origin. */
+  void addAll(OfferedLoad other) {
+    assert other.originNs == originNs;
+    grow(other.binCount);
+    for (int i = 0; i < other.binCount; i++) {
+      bins[i] += other.bins[i];
+    }
+  }
+
+  private void grow(int count) {
+    if (count > bins.length) {
+      bins = Arrays.copyOf(bins, Math.max(count, bins.length * 2));
+    }
+    binCount = Math.max(binCount, count);
+  }
+
+  /** Returns the number of arrivals scheduled between the two times, to the nearest bin. */
+  long count(long fromNs, long toNs) {
+    long from = Math.max(Math.floorDiv(fromNs - originNs, BIN_NS), 0);
+    long to = Math.min(Math.floorDiv(toNs - originNs, BIN_NS), binCount);
+    long count = 0;
+    for (long i = from; i < to; i++) {
+      count += bins[(int) i];
+    }
+    return count;
+  }
+}
@@ -20,21 +20,26 @@ package com.oltpbenchmark;
 import com.oltpbenchmark.util.StringUtil;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
 public class Phase {
   public enum Arrival {
     REGULAR,
     POISSON,
+    /** Arrivals are replayed from a trace file */
+    TRACE,
   }
 
-  private final Random gen = new Random();
   private final String benchmarkName;
   private final int id;
   private final int time;
   private final int warmupTime;
   private final double rate;
   private final Arrival arrival;
+  private final long[] arrivalTrace;
+  private final LoadProfile rateProfile;
+  private final LoadProfile terminalProfile;
+  private final SaturationSearch.Settings search;
 
   private final boolean rateLimited;
   private final boolean disabled;
@@ -42,6 +47,12 @@ public class Phase {
   private final boolean timed;
   private final List<Double> weights;
   private final int weightCount;
+
+  // Alias table (Walker's method) over the weights, so that a weighted
+  // transaction can be drawn in constant time. Entry i is kept with
+  // probability aliasProbabilities[i] and otherwise replaced by aliases[i].
+  private final double[] aliasProbabilities;
+  private final int[] aliases;
   private final int activeTerminals;
   private int nextSerial;
 
@@ -58,6 +69,51 @@ public class Phase {
       boolean timed,
       int activeTerminals,
       Arrival a) {
+    this(
+        benchmarkName,
+        id,
+        t,
+        wt,
+        r,
+        weights,
+        rateLimited,
+        disabled,
+        serial,
+        timed,
+        activeTerminals,
+        a,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  /**
+   * @param arrivalTrace Offsets of the arrivals in nanoseconds since the start of the trace,
+   *     sorted. Only used if the arrival is {@link Arrival#TRACE}.
+   * @param rateProfile How the rate changes during the phase, or null if it stays at the given rate
+   * @param terminalProfile How the number of active terminals changes during the phase, or null if
+   *     it stays at the given number
+   * @param search How to search for the highest rate, or number of active terminals if the phase is
+   *     not rate limited, that meets an SLO. Null if the phase runs at the given load.
+   */
+  Phase(
+      String benchmarkName,
+      int id,
+      int t,
+      int wt,
+      double r,
+      List<Double> weights,
+      boolean rateLimited,
+      boolean disabled,
+      boolean serial,
+      boolean timed,
+      int activeTerminals,
+      Arrival a,
+      long[] arrivalTrace,
+      LoadProfile rateProfile,
+      LoadProfile terminalProfile,
+      SaturationSearch.Settings search) {
     this.benchmarkName = benchmarkName;
     this.id = id;
     this.time = t;
@@ -65,6 +121,11 @@ public class Phase {
     this.rate = r;
     this.weights = weights;
     this.weightCount = this.weights.size();
+    // No transaction can be drawn if no weight is positive
+    int tableSize = positiveWeightTotal() > 0.0 ? this.weightCount : 0;
+    this.aliasProbabilities = new double[tableSize];
+    this.aliases = new int[tableSize];
+    this.buildAliasTable();
     this.rateLimited = rateLimited;
     this.disabled = disabled;
     this.serial = serial;
@@ -72,6 +133,10 @@ public class Phase {
     this.nextSerial = 1;
     this.activeTerminals = activeTerminals;
     this.arrival = a;
+    this.arrivalTrace = arrivalTrace;
+    this.rateProfile = rateProfile;
+    this.terminalProfile = terminalProfile;
+    this.search = search;
   }
 
   public boolean isRateLimited() {
@@ -130,6 +195,22 @@ public class Phase {
     return arrival;
   }
 
+  long[] getArrivalTrace() {
+    return arrivalTrace;
+  }
+
+  LoadProfile getRateProfile() {
+    return rateProfile;
+  }
+
+  LoadProfile getTerminalProfile() {
+    return terminalProfile;
+  }
+
+  SaturationSearch.Settings getSearch() {
+    return search;
+  }
+
   public List<Double> getWeights() {
     return (this.weights);
   }
@@ -147,17 +228,74 @@ public class Phase {
     return total;
   }
 
+  private double positiveWeightTotal() {
+    double total = 0.0;
+    for (Double d : weights) {
+      total += Math.max(d, 0.0);
+    }
+    return total;
+  }
+
+  /** Builds the alias table with Vose's algorithm. Non-positive weights are never drawn. */
+  private void buildAliasTable() {
+    int n = aliasProbabilities.length;
+    if (n == 0) {
+      return;
+    }
+    double total = positiveWeightTotal();
+
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = Math.max(weights.get(i), 0.0) * n / total;
+      if (scaled[i] < 1.0) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+
+    while (smallCount > 0 && largeCount > 0) {
+      int s = small[--smallCount];
+      int l = large[--largeCount];
+      aliasProbabilities[s] = scaled[s];
+      aliases[s] = l;
+      scaled[l] = (scaled[l] + scaled[s]) - 1.0;
+      if (scaled[l] < 1.0) {
+        small[smallCount++] = l;
+      } else {
+        large[largeCount++] = l;
+      }
+    }
+    // Whatever is left is only off from 1.0 by rounding errors
+    while (largeCount > 0) {
+      int l = large[--largeCount];
+      aliasProbabilities[l] = 1.0;
+      aliases[l] = l;
+    }
+    while (smallCount > 0) {
+      int s = small[--smallCount];
+      aliasProbabilities[s] = 1.0;
+      aliases[s] = s;
+    }
+  }
+
   /**
    * This simply computes the next transaction by randomly selecting one based on the weights of
    * this phase.
    *
+   * @param rng The generator to draw with. It must not be shared with other threads, and it makes
+   *     the sequence of transactions reproducible when it is seeded.
    * @return
    */
-  public int chooseTransaction() {
-    return chooseTransaction(false);
+  public int chooseTransaction(RandomGenerator rng) {
+    return chooseTransaction(false, rng);
   }
 
-  public int chooseTransaction(boolean isColdQuery) {
+  public int chooseTransaction(boolean isColdQuery, RandomGenerator rng) {
     if (isDisabled()) {
       return -1;
     }
@@ -190,17 +328,25 @@ public class Phase {
       }
       return ret;
     } else {
-      int randomPercentage = gen.nextInt((int) totalWeight()) + 1;
-      double weight = 0.0;
-      for (int i = 0; i < this.weightCount; i++) {
-        weight += weights.get(i);
-        if (randomPercentage <= weight) {
-          return i + 1;
-        }
-      }
+      return chooseWeightedTransaction(rng);
     }
+  }
 
-    return -1;
+  /**
+   * Draws a transaction from the alias table. Callers pass a generator that is not shared with
+   * other threads, so that drawing does not contend.
+   *
+   * @return The transaction, numbered from 1, or -1 if no weight is positive
+   */
+  int chooseWeightedTransaction(RandomGenerator rng) {
+    if (this.aliasProbabilities.length == 0) {
+      return -1;
+    }
+    int i = rng.nextInt(this.aliasProbabilities.length);
+    if (rng.nextDouble() >= this.aliasProbabilities[i]) {
+      i = this.aliases[i];
+    }
+    return i + 1;
   }
 
   /** Returns a string for logging purposes when entering the phase */
@@ -218,10 +364,19 @@ public class Phase {
         inner.add("[Time=" + time + "]");
       }
       inner.add("[WarmupTime=" + warmupTime + "]");
-      inner.add("[Rate=" + (isRateLimited() ? rate : "unlimited") + "]");
+      inner.add(
+          "[Rate="
+              + (isRateLimited() ? (rateProfile != null ? rateProfile : rate) : "unlimited")
+              + "]");
       inner.add("[Arrival=" + arrival + "]");
+      if (search != null) {
+        inner.add("[Search=" + search + "]");
+      }
       inner.add("[Ratios=" + getWeights() + "]");
-      inner.add("[ActiveWorkers=" + getActiveTerminals() + "]");
+      inner.add(
+          "[ActiveWorkers="
+              + (terminalProfile != null ? terminalProfile : getActiveTerminals())
+              + "]");
     }
 
     return StringUtil.bold("PHASE START") + " :: " + StringUtil.join(" ", inner);
@@ -17,13 +17,14 @@
 
 package com.oltpbenchmark;
 
-import com.oltpbenchmark.LatencyRecord.Sample;
 import com.oltpbenchmark.api.TransactionType;
 import com.oltpbenchmark.types.State;
 import com.oltpbenchmark.util.Histogram;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 public final class Results {
 
@@ -32,7 +33,7 @@ public final class Results {
   private final long nanoseconds;
   private final int measuredRequests;
   private final DistributionStatistics distributionStatistics;
-  private final List<LatencyRecord.Sample> latencySamples;
+  private final List<LatencyRecord> latencyRecords;
   private final Histogram<TransactionType> unknown = new Histogram<>(false);
   private final Histogram<TransactionType> success = new Histogram<>(true);
   private final Histogram<TransactionType> abort = new Histogram<>(false);
@@ -40,6 +41,16 @@ public final class Results {
   private final Histogram<TransactionType> error = new Histogram<>(false);
   private final Histogram<TransactionType> retryDifferent = new Histogram<>(false);
   private final Map<TransactionType, Histogram<String>> abortMessages = new HashMap<>();
+  private final Map<TransactionType, LatencyHistogram> transactionLatencies = new TreeMap<>();
+  private final Map<Integer, LatencyHistogram> phaseLatencies = new TreeMap<>();
+  private final LatencyHistogram responseTimes = new LatencyHistogram();
+  private final Map<TransactionType, LatencyHistogram> transactionResponseTimes = new TreeMap<>();
+  private long droppedRequests;
+  private long lateRequests;
+  private OfferedLoad offeredLoad;
+  private final List<SaturationSearch.Step> searchSteps = new ArrayList<>();
+  private long statementCacheHits;
+  private long statementCacheMisses;
 
   public Results(
       State state,
@@ -47,7 +58,7 @@ public final class Results {
       long elapsedNanoseconds,
       int measuredRequests,
       DistributionStatistics distributionStatistics,
-      final List<LatencyRecord.Sample> latencySamples) {
+      final List<LatencyRecord> latencyRecords) {
     this.startTimestampMs = startTimestampMs;
     this.nanoseconds = elapsedNanoseconds;
     this.measuredRequests = measuredRequests;
@@ -55,10 +66,10 @@ public final class Results {
     this.state = state;
 
     if (distributionStatistics == null) {
-      this.latencySamples = null;
+      this.latencyRecords = null;
     } else {
       // defensive copy
-      this.latencySamples = List.copyOf(latencySamples);
+      this.latencyRecords = List.copyOf(latencyRecords);
     }
   }
 
@@ -98,6 +109,81 @@ public final class Results {
     return abortMessages;
   }
 
+  /** Merged latency histograms of measured transactions, keyed by transaction type */
+  public Map<TransactionType, LatencyHistogram> getTransactionLatencies() {
+    return transactionLatencies;
+  }
+
+  /** Merged latency histograms of measured transactions, keyed by phase id */
+  public Map<Integer, LatencyHistogram> getPhaseLatencies() {
+    return phaseLatencies;
+  }
+
+  /**
+   * Merged response time histogram of measured transactions. Response times are measured from when
+   * a transaction was scheduled to start, which differs from the latency in rate-limited phases.
+   */
+  public LatencyHistogram getResponseTimes() {
+    return responseTimes;
+  }
+
+  /** Merged response time histograms of measured transactions, keyed by transaction type */
+  public Map<TransactionType, LatencyHistogram> getTransactionResponseTimes() {
+    return transactionResponseTimes;
+  }
+
+  /** Adds the arrivals of a rate-limited workload that were dropped or queued late. */
+  public void addMissedArrivals(long dropped, long late) {
+    droppedRequests += dropped;
+    lateRequests += late;
+  }
+
+  public long getDroppedRequests() {
+    return droppedRequests;
+  }
+
+  public long getLateRequests() {
+    return lateRequests;
+  }
+
+  void setOfferedLoad(OfferedLoad offeredLoad) {
+    this.offeredLoad = offeredLoad;
+  }
+
+  /**
+   * Returns the number of arrivals that rate-limited phases scheduled between the two {@link
+   * System#nanoTime()} values, including the ones that were dropped. Closed-loop phases do not
+   * schedule arrivals, so this is 0 for them.
+   */
+  public long getOfferedRequests(long fromNs, long toNs) {
+    return offeredLoad == null ? 0 : offeredLoad.count(fromNs, toNs);
+  }
+
+  /** Steps of the phases that searched for their highest sustainable load, in order */
+  public List<SaturationSearch.Step> getSearchSteps() {
+    return searchSteps;
+  }
+
+  /** Adds the statement cache hits and misses of a worker. */
+  public void addStatementCacheRequests(long hits, long misses) {
+    statementCacheHits += hits;
+    statementCacheMisses += misses;
+  }
+
+  public long getStatementCacheHits() {
+    return statementCacheHits;
+  }
+
+  public long getStatementCacheMisses() {
+    return statementCacheMisses;
+  }
+
+  /** Returns the fraction of statements served from the workers' statement caches. */
+  public double getStatementCacheHitRate() {
+    long requests = statementCacheHits + statementCacheMisses;
+    return requests == 0 ? 0 : (double) statementCacheHits / requests;
+  }
+
   public double requestsPerSecondThroughput() {
     return (double) measuredRequests / (double) nanoseconds * 1e9;
   }
@@ -106,8 +192,9 @@ public final class Results {
     return (double) success.getSampleCount() / (double) nanoseconds * 1e9;
   }
 
-  public List<Sample> getLatencySamples() {
-    return latencySamples;
+  /** Returns a new cursor over the latency samples of all workers, ordered by start time. */
+  public LatencyRecord.Cursor getLatencySamples() {
+    return LatencyRecord.mergedCursor(latencyRecords);
   }
 
   public long getStartTimestampMs() {
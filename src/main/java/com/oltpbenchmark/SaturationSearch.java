@@ -0,0 +1,296 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import com.oltpbenchmark.LiveRecorder.TypeCounters;
+import com.oltpbenchmark.types.TransactionStatus;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Searches for the highest rate, or number of active terminals, at which a phase still meets a
+ * latency SLO. The search runs in steps: each step holds a target for a while, lets it settle, and
+ * then compares the latency percentile and throughput of the rest of the step with the SLO. The
+ * target doubles until a step fails, and is then bisected between the highest passing and the
+ * lowest failing target until the two are within the tolerance.
+ *
+ * <p>Latencies and throughput come from the workers' {@link LiveRecorder}s, so the search sees the
+ * same numbers as the live metrics. In rate-limited phases the latencies are response times, so a
+ * target that the database cannot keep up with fails on the time its arrivals spend queued.
+ */
+public final class SaturationSearch {
+
+  /** How the search of a phase is configured */
+  public static final class Settings {
+    private final long sloMicros;
+    private final double percentile;
+    private final double min;
+    private final double max;
+    private final int stepSeconds;
+    private final double tolerance;
+
+    /**
+     * @param sloMicros Highest acceptable latency at the percentile, in microseconds
+     * @param percentile The latency percentile the SLO applies to, between 0 and 100
+     * @param min The first target to try
+     * @param max The highest target to try
+     * @param stepSeconds How long each target is held
+     * @param tolerance Relative gap between passing and failing targets at which the search stops.
+     *     A step also fails if its throughput is this much below a target rate.
+     */
+    public Settings(
+        long sloMicros,
+        double percentile,
+        double min,
+        double max,
+        int stepSeconds,
+        double tolerance) {
+      this.sloMicros = sloMicros;
+      this.percentile = percentile;
+      this.min = min;
+      this.max = max;
+      this.stepSeconds = stepSeconds;
+      this.tolerance = tolerance;
+    }
+
+    public long getSloMicros() {
+      return sloMicros;
+    }
+
+    public double getPercentile() {
+      return percentile;
+    }
+
+    public double getMin() {
+      return min;
+    }
+
+    public double getMax() {
+      return max;
+    }
+
+    public int getStepSeconds() {
+      return stepSeconds;
+    }
+
+    public double getTolerance() {
+      return tolerance;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          "p%s<=%dus in [%s, %s], %ds steps", percentile, sloMicros, min, max, stepSeconds);
+    }
+  }
+
+  /** The outcome of one step of the search */
+  public static final class Step {
+    private final int phaseId;
+    private final boolean terminals;
+    private final double target;
+    private final double throughput;
+    private final long latencyMicros;
+    private final boolean passed;
+
+    Step(
+        int phaseId,
+        boolean terminals,
+        double target,
+        double throughput,
+        long latencyMicros,
+        boolean passed) {
+      this.phaseId = phaseId;
+      this.terminals = terminals;
+      this.target = target;
+      this.throughput = throughput;
+      this.latencyMicros = latencyMicros;
+      this.passed = passed;
+    }
+
+    public int getPhaseId() {
+      return phaseId;
+    }
+
+    /** Whether the target is a number of active terminals rather than a rate */
+    public boolean isTerminals() {
+      return terminals;
+    }
+
+    public double getTarget() {
+      return target;
+    }
+
+    /** Successful transactions per second */
+    public double getThroughput() {
+      return throughput;
+    }
+
+    /** Latency at the SLO percentile */
+    public long getLatencyMicros() {
+      return latencyMicros;
+    }
+
+    public boolean isPassed() {
+      return passed;
+    }
+  }
+
+  private final Settings settings;
+  private final int phaseId;
+  private final boolean terminals;
+  private final List<LiveRecorder> recorders;
+  private final List<Step> steps = new ArrayList<>();
+
+  private double target;
+  private double highestPassed = Double.NaN;
+  private double lowestFailed = Double.NaN;
+  private boolean finished;
+
+  private long stepStartNs = -1;
+  private boolean settled;
+  private long settledNs;
+  private long[] settledBuckets;
+  private long settledSuccesses;
+
+  /**
+   * @param terminals Whether to search the number of active terminals instead of the rate
+   * @param recorders The recorders of the workers of the workload
+   */
+  SaturationSearch(
+      Settings settings, int phaseId, boolean terminals, List<LiveRecorder> recorders) {
+    this.settings = settings;
+    this.phaseId = phaseId;
+    this.terminals = terminals;
+    this.recorders = recorders;
+    this.target = round(settings.getMin());
+  }
+
+  /** Returns the target the phase should currently run at. */
+  double getTarget() {
+    return target;
+  }
+
+  boolean isFinished() {
+    return finished;
+  }
+
+  /** Returns the highest target that met the SLO, or 0 if none did. */
+  double getSustainableTarget() {
+    return Double.isNaN(highestPassed) ? 0 : highestPassed;
+  }
+
+  List<Step> getSteps() {
+    return Collections.unmodifiableList(steps);
+  }
+
+  /**
+   * Advances the search. Called regularly while the phase is measured.
+   *
+   * @return Whether the target changed
+   */
+  boolean poll(long now) {
+    if (finished) {
+      return false;
+    }
+    long stepNs = settings.getStepSeconds() * 1000000000L;
+    if (stepStartNs < 0) {
+      stepStartNs = now;
+    }
+    // The first fifth of every step lets the queue and the database settle at the new target
+    if (!settled) {
+      if (now - stepStartNs < stepNs / 5) {
+        return false;
+      }
+      settled = true;
+      settledNs = now;
+      settledBuckets = new long[LiveRecorder.BUCKET_COUNT];
+      settledSuccesses = snapshot(settledBuckets);
+      return false;
+    }
+    if (now - stepStartNs < stepNs) {
+      return false;
+    }
+
+    long[] buckets = new long[LiveRecorder.BUCKET_COUNT];
+    long successes = snapshot(buckets) - settledSuccesses;
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] -= settledBuckets[i];
+    }
+    double throughput = successes / ((now - settledNs) / 1e9);
+    long latency = LiveMetrics.valueAtPercentile(buckets, settings.getPercentile() / 100);
+    evaluate(throughput, latency);
+
+    stepStartNs = now;
+    settled = false;
+    return true;
+  }
+
+  /** Sums the latency buckets and successful transactions of all workers */
+  private long snapshot(long[] buckets) {
+    long successes = 0;
+    for (LiveRecorder recorder : recorders) {
+      for (TypeCounters counters : recorder.getTypes()) {
+        if (counters == null) {
+          continue;
+        }
+        successes += counters.statuses.getAcquire(TransactionStatus.SUCCESS.ordinal());
+        for (int b = 0; b < buckets.length; b++) {
+          buckets[b] += counters.buckets.getAcquire(b);
+        }
+      }
+    }
+    return successes;
+  }
+
+  /** Records the outcome of a step at the current target and picks the next target. */
+  void evaluate(double throughput, long latencyMicros) {
+    boolean passed =
+        latencyMicros <= settings.getSloMicros()
+            && (terminals || throughput >= target * (1 - settings.getTolerance()));
+    steps.add(new Step(phaseId, terminals, target, throughput, latencyMicros, passed));
+    if (passed) {
+      highestPassed = target;
+    } else {
+      lowestFailed = target;
+    }
+
+    double next;
+    if (Double.isNaN(lowestFailed)) {
+      next = round(Math.min(target * 2, settings.getMax()));
+    } else if (Double.isNaN(highestPassed)) {
+      // Not even the lowest target meets the SLO
+      next = target;
+    } else {
+      next = round((highestPassed + lowestFailed) / 2);
+      if (lowestFailed - highestPassed <= settings.getTolerance() * lowestFailed) {
+        next = highestPassed;
+      }
+    }
+    if (next == highestPassed || next == lowestFailed) {
+      finished = true;
+      next = getSustainableTarget();
+    }
+    target = Math.max(next, terminals ? 1 : 0);
+  }
+
+  private double round(double value) {
+    return terminals ? Math.max(1, Math.round(value)) : value;
+  }
+}
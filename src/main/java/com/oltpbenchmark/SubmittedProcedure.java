@@ -28,8 +28,17 @@ public class SubmittedProcedure {
   private final long startTime;
 
   SubmittedProcedure(int type) {
+    this(type, System.nanoTime());
+  }
+
+  /**
+   * @param type
+   * @param startTime The time at which the procedure was scheduled to start, in {@link
+   *     System#nanoTime()} units. The response time of the procedure is measured from here.
+   */
+  SubmittedProcedure(int type, long startTime) {
     this.type = type;
-    this.startTime = System.nanoTime();
+    this.startTime = startTime;
   }
 
   public int getType() {
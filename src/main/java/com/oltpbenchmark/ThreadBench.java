@@ -17,13 +17,15 @@
 
 package com.oltpbenchmark;
 
-import com.oltpbenchmark.LatencyRecord.Sample;
 import com.oltpbenchmark.api.BenchmarkModule;
+import com.oltpbenchmark.api.ConnectionPool;
 import com.oltpbenchmark.api.TransactionType;
 import com.oltpbenchmark.api.Worker;
 import com.oltpbenchmark.types.State;
+import com.oltpbenchmark.util.FastRandom;
 import com.oltpbenchmark.util.StringUtil;
 import java.util.*;
+import java.util.function.Supplier;
 import org.apache.commons.collections4.map.ListOrderedMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,11 +33,13 @@ import org.slf4j.LoggerFactory;
 public class ThreadBench implements Thread.UncaughtExceptionHandler {
   private static final Logger LOG = LoggerFactory.getLogger(ThreadBench.class);
 
+  /** How often the main loop checks for phase and state changes */
+  private static final long CONTROL_INTERVAL_NS = 1000000L;
+
   private final BenchmarkState testState;
   private final List<? extends Worker<? extends BenchmarkModule>> workers;
   private final ArrayList<Thread> workerThreads;
   private final List<WorkloadConfiguration> workConfs;
-  private final ArrayList<LatencyRecord.Sample> samples = new ArrayList<>();
   private final int intervalMonitor;
 
   private ThreadBench(
@@ -61,9 +65,11 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
 
     for (Worker<?> worker : workers) {
       worker.initializeState();
-      Thread thread = new Thread(worker);
-      thread.setUncaughtExceptionHandler(this);
-      thread.start();
+      Thread.Builder builder =
+          worker.getWorkloadConfiguration().getVirtualThreads()
+              ? Thread.ofVirtual()
+              : Thread.ofPlatform();
+      Thread thread = builder.uncaughtExceptionHandler(this).start(worker);
       this.workerThreads.add(thread);
     }
   }
@@ -74,6 +80,15 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     }
   }
 
+  private static boolean isPhaseFinishedEarly(List<WorkloadState> workStates) {
+    for (WorkloadState workState : workStates) {
+      if (workState.isPhaseFinishedEarly()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private int finalizeWorkers(ArrayList<Thread> workerThreads) throws InterruptedException {
 
     int requests = 0;
@@ -101,6 +116,14 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       workers.get(i).tearDown();
     }
 
+    // Pooled connections are only closed once every worker sharing them is done
+    for (Worker<?> worker : workers) {
+      ConnectionPool pool = worker.getBenchmark().getConnectionPool();
+      if (pool != null) {
+        pool.close();
+      }
+    }
+
     return requests;
   }
 
@@ -122,8 +145,6 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     long warmupStart = System.nanoTime();
     long warmup = warmupStart;
     long measureEnd = -1;
-    // used to determine the longest sleep interval
-    double lowestRate = Double.MAX_VALUE;
 
     Phase phase = null;
 
@@ -131,9 +152,6 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       workState.switchToNextPhase();
       phase = workState.getCurrentPhase();
       LOG.info(phase.currentPhaseString());
-      if (phase.getRate() < lowestRate) {
-        lowestRate = phase.getRate();
-      }
     }
 
     // Change testState to cold query if execution is serial, since we don't
@@ -145,13 +163,7 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       }
     }
 
-    long intervalNs = getInterval(lowestRate, phase.getArrival());
-
-    long nextInterval = start + intervalNs;
-    int nextToAdd = 1;
-    int rateFactor;
-
-    boolean resetQueues = true;
+    long nextInterval = start + CONTROL_INTERVAL_NS;
 
     long delta = phase.getTime() * 1000000000L;
     boolean lastEntry = false;
@@ -164,21 +176,30 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     // Allow workers to start work.
     testState.blockForStart();
 
-    // Main Loop
-    while (true) {
-      // posting new work... and resetting the queue in case we have new
-      // portion of the workload...
-
-      for (WorkloadState workState : workStates) {
-        if (workState.getCurrentPhase() != null) {
-          rateFactor = (int) (workState.getCurrentPhase().getRate() / lowestRate);
-        } else {
-          rateFactor = 1;
+    // Rate-limited work is queued by one arrival scheduler per workload
+    List<ArrivalScheduler> schedulers = new ArrayList<>(workStates.size());
+    List<Thread> schedulerThreads = new ArrayList<>(workStates.size());
+    for (WorkloadState workState : workStates) {
+      List<LiveRecorder> recorders = new ArrayList<>();
+      BenchmarkModule benchmark = null;
+      for (Worker<?> w : workers) {
+        if (w.getWorkloadConfiguration().getWorkloadState() == workState) {
+          recorders.add(w.getLiveRecorder());
+          benchmark = w.getBenchmark();
         }
-        workState.addToQueue(nextToAdd * rateFactor, resetQueues);
       }
-      resetQueues = false;
+      Random rng = benchmark != null ? benchmark.newArrivalRandom() : new FastRandom();
+      ArrivalScheduler scheduler = new ArrivalScheduler(workState, warmupStart, recorders, rng);
+      schedulers.add(scheduler);
+      Thread thread = new Thread(scheduler, "ArrivalScheduler");
+      thread.setDaemon(true);
+      thread.setUncaughtExceptionHandler(this);
+      thread.start();
+      schedulerThreads.add(thread);
+    }
 
+    // Main Loop
+    while (true) {
       // Wait until the interval expires, which may be "don't wait"
       long now = System.nanoTime();
       if (phase != null) {
@@ -205,7 +226,13 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
         {
           phaseComplete = testState.getState() == State.LATENCY_COMPLETE;
         } else {
-          phaseComplete = testState.getState() == State.MEASURE && (start + delta <= now);
+          phaseComplete =
+              testState.getState() == State.MEASURE
+                  && (start + delta <= now || isPhaseFinishedEarly(workStates));
+          if (phaseComplete && start + delta > now) {
+            // The next phase gets its full time
+            delta = now - start;
+          }
         }
       }
 
@@ -214,39 +241,29 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       errorsThrown = errorsThrown || errorThrown;
       if ((phaseComplete || errorThrown) && !lastEntry) {
         // enters here after each phase of the test
-        // reset the queues so that the new phase is not affected by the
-        // queue of the previous one
-        resetQueues = true;
-
         // Fetch a new Phase
         synchronized (testState) {
           if (phase.isLatencyRun()) {
             testState.ackLatencyComplete();
           }
           for (WorkloadState workState : workStates) {
-            synchronized (workState) {
-              workState.switchToNextPhase();
-              lowestRate = Integer.MAX_VALUE;
-              phase = workState.getCurrentPhase();
-              interruptWorkers();
-              if (phase == null && !lastEntry) {
-                // Last phase
-                lastEntry = true;
-                testState.startCoolDown();
-                measureEnd = now;
-                LOG.info(
-                    "{} :: Waiting for all terminals to finish ..", StringUtil.bold("TERMINATE"));
-              } else if (phase != null) {
-                // Reset serial execution parameters.
-                if (phase.isLatencyRun()) {
-                  phase.resetSerial();
-                  testState.startColdQuery();
-                }
-                LOG.info(phase.currentPhaseString());
-                if (phase.getRate() < lowestRate) {
-                  lowestRate = phase.getRate();
-                }
+            workState.switchToNextPhase();
+            phase = workState.getCurrentPhase();
+            interruptWorkers();
+            if (phase == null && !lastEntry) {
+              // Last phase
+              lastEntry = true;
+              testState.startCoolDown();
+              measureEnd = now;
+              LOG.info(
+                  "{} :: Waiting for all terminals to finish ..", StringUtil.bold("TERMINATE"));
+            } else if (phase != null) {
+              // Reset serial execution parameters.
+              if (phase.isLatencyRun()) {
+                phase.resetSerial();
+                testState.startColdQuery();
               }
+              LOG.info(phase.currentPhaseString());
             }
           }
           if (phase != null) {
@@ -260,17 +277,8 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
         }
       }
 
-      // Compute the next interval
-      // and how many messages to deliver
-      if (phase != null) {
-        intervalNs = 0;
-        nextToAdd = 0;
-        do {
-          intervalNs += getInterval(lowestRate, phase.getArrival());
-          nextToAdd++;
-        } while ((-diff) > intervalNs && !lastEntry);
-        nextInterval += intervalNs;
-      }
+      // Skip the intervals that were missed
+      nextInterval = Math.max(nextInterval + CONTROL_INTERVAL_NS, now);
 
       // Update the test state appropriately
       State state = testState.getState();
@@ -301,24 +309,60 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       }
     }
 
+    OfferedLoad offeredLoad = new OfferedLoad(warmupStart);
+    for (int i = 0; i < schedulerThreads.size(); i++) {
+      Thread thread = schedulerThreads.get(i);
+      thread.interrupt();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      offeredLoad.addAll(schedulers.get(i).getOfferedLoad());
+    }
+    List<SaturationSearch> searches = new ArrayList<>();
+    for (ArrivalScheduler scheduler : schedulers) {
+      searches.addAll(scheduler.getSearches());
+    }
+
     try {
       int requests = finalizeWorkers(this.workerThreads);
 
-      // Combine all the latencies together in the most disgusting way
-      // possible: sorting!
+      // Each worker's record is already ordered by start time, so they
+      // are merged lazily when the results are written out
+      List<LatencyRecord> latencyRecords = new ArrayList<>(workers.size());
       for (Worker<?> w : workers) {
-        for (LatencyRecord.Sample sample : w.getLatencyRecords()) {
-          samples.add(sample);
-        }
+        latencyRecords.add(w.getLatencyRecords());
       }
-      Collections.sort(samples);
 
-      // Compute stats on all the latencies
-      int[] latencies = new int[samples.size()];
-      for (int i = 0; i < samples.size(); ++i) {
-        latencies[i] = samples.get(i).getLatencyMicrosecond();
+      // Merge the per-worker latency histograms; the overall distribution
+      // is computed from these rather than from the raw samples
+      LatencyHistogram latencyHistogram = new LatencyHistogram();
+      Map<TransactionType, LatencyHistogram> transactionLatencies = new HashMap<>();
+      Map<Integer, LatencyHistogram> phaseLatencies = new HashMap<>();
+      LatencyHistogram responseTimes = new LatencyHistogram();
+      Map<TransactionType, LatencyHistogram> transactionResponseTimes = new HashMap<>();
+      for (Worker<?> w : workers) {
+        WorkloadConfiguration workConf = w.getWorkloadConfiguration();
+        for (Phase p : workConf.getPhases()) {
+          for (TransactionType txnType : workConf.getTransTypes()) {
+            LatencyHistogram h = w.getLatencyHistogram(p.getId(), txnType.getId());
+            if (h == null) {
+              continue;
+            }
+            latencyHistogram.add(h);
+            transactionLatencies.computeIfAbsent(txnType, t -> new LatencyHistogram()).add(h);
+            phaseLatencies.computeIfAbsent(p.getId(), id -> new LatencyHistogram()).add(h);
+
+            LatencyHistogram r = w.getResponseTimeHistogram(p.getId(), txnType.getId());
+            if (r != null) {
+              responseTimes.add(r);
+              transactionResponseTimes.computeIfAbsent(txnType, t -> new LatencyHistogram()).add(r);
+            }
+          }
+        }
       }
-      DistributionStatistics stats = DistributionStatistics.computeStatistics(latencies);
+      DistributionStatistics stats = DistributionStatistics.computeStatistics(latencyHistogram);
 
       Results results =
           new Results(
@@ -329,7 +373,7 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
               measureEnd - start,
               requests,
               stats,
-              samples);
+              latencyRecords);
 
       // Compute transaction histogram
       Set<TransactionType> txnTypes = new HashSet<>();
@@ -344,6 +388,18 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       results.getAbort().putAll(txnTypes, 0);
       results.getError().putAll(txnTypes, 0);
       results.getRetryDifferent().putAll(txnTypes, 0);
+      results.getTransactionLatencies().putAll(transactionLatencies);
+      results.getPhaseLatencies().putAll(phaseLatencies);
+      results.getResponseTimes().add(responseTimes);
+      results.getTransactionResponseTimes().putAll(transactionResponseTimes);
+      for (WorkloadConfiguration workConf : workConfs) {
+        WorkloadState workState = workConf.getWorkloadState();
+        results.addMissedArrivals(workState.getDroppedArrivals(), workState.getLateArrivals());
+      }
+      results.setOfferedLoad(offeredLoad);
+      for (SaturationSearch search : searches) {
+        results.getSearchSteps().addAll(search.getSteps());
+      }
 
       for (Worker<?> w : workers) {
         results.getUnknown().putHistogram(w.getTransactionUnknownHistogram());
@@ -352,6 +408,7 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
         results.getAbort().putHistogram(w.getTransactionAbortHistogram());
         results.getError().putHistogram(w.getTransactionErrorHistogram());
         results.getRetryDifferent().putHistogram(w.getTransactionRetryDifferentHistogram());
+        results.addStatementCacheRequests(w.getStatementCacheHits(), w.getStatementCacheMisses());
       }
 
       return (results);
@@ -360,15 +417,6 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     }
   }
 
-  private long getInterval(double lowestRate, Phase.Arrival arrival) {
-    // TODO Auto-generated method stub
-    if (arrival == Phase.Arrival.POISSON) {
-      return (long) ((-Math.log(1 - Math.random()) / lowestRate) * 1000000000.);
-    } else {
-      return (long) (1000000000. / lowestRate + 0.5);
-    }
-  }
-
   @Override
   public void uncaughtException(Thread t, Throwable e) {
     // Here we handle the case in which one of our worker threads died
@@ -379,13 +427,11 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     // and partial metrics will be reported (i.e., until failure happened).
     synchronized (testState) {
       for (WorkloadConfiguration workConf : this.workConfs) {
-        synchronized (workConf.getWorkloadState()) {
-          WorkloadState workState = workConf.getWorkloadState();
-          Phase phase = workState.getCurrentPhase();
-          while (phase != null) {
-            workState.switchToNextPhase();
-            phase = workState.getCurrentPhase();
-          }
+        WorkloadState workState = workConf.getWorkloadState();
+        Phase phase = workState.getCurrentPhase();
+        while (phase != null) {
+          workState.switchToNextPhase();
+          phase = workState.getCurrentPhase();
         }
       }
       testState.signalError();
@@ -393,17 +439,19 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
   }
 
   public static final class TimeBucketIterable implements Iterable<DistributionStatistics> {
-    private final Iterable<Sample> samples;
+    private final Supplier<LatencyRecord.Cursor> samples;
     private final int windowSizeSeconds;
     private final TransactionType transactionType;
 
     /**
-     * @param samples
+     * @param samples Supplies a new cursor over the samples, ordered by start time
      * @param windowSizeSeconds
      * @param transactionType Allows to filter transactions by type
      */
     public TimeBucketIterable(
-        Iterable<Sample> samples, int windowSizeSeconds, TransactionType transactionType) {
+        Supplier<LatencyRecord.Cursor> samples,
+        int windowSizeSeconds,
+        TransactionType transactionType) {
       this.samples = samples;
       this.windowSizeSeconds = windowSizeSeconds;
       this.transactionType = transactionType;
@@ -411,16 +459,17 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
 
     @Override
     public Iterator<DistributionStatistics> iterator() {
-      return new TimeBucketIterator(samples.iterator(), windowSizeSeconds, transactionType);
+      return new TimeBucketIterator(samples.get(), windowSizeSeconds, transactionType);
     }
   }
 
   private static final class TimeBucketIterator implements Iterator<DistributionStatistics> {
-    private final Iterator<Sample> samples;
+    private final LatencyRecord.Cursor samples;
     private final int windowSizeSeconds;
     private final TransactionType txType;
+    private final LatencyHistogram histogram = new LatencyHistogram();
 
-    private Sample sample;
+    private boolean hasSample;
     private long nextStartNanosecond;
 
     private DistributionStatistics next;
@@ -431,17 +480,17 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
      * @param txType Allows to filter transactions by type
      */
     public TimeBucketIterator(
-        Iterator<LatencyRecord.Sample> samples, int windowSizeSeconds, TransactionType txType) {
+        LatencyRecord.Cursor samples, int windowSizeSeconds, TransactionType txType) {
       this.samples = samples;
       this.windowSizeSeconds = windowSizeSeconds;
       this.txType = txType;
 
-      if (samples.hasNext()) {
-        sample = samples.next();
+      hasSample = samples.advance();
+      if (hasSample) {
         // TODO: To be totally correct, we would want this to be the
         // timestamp of the start
         // of the measurement interval. In most cases this won't matter.
-        nextStartNanosecond = sample.getStartNanosecond();
+        nextStartNanosecond = samples.getStartNanosecond();
         calculateNext();
       }
     }
@@ -449,35 +498,26 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
     private void calculateNext() {
 
       // Collect all samples in the time window
-      ArrayList<Integer> latencies = new ArrayList<>();
+      histogram.reset();
       long endNanoseconds = nextStartNanosecond + (windowSizeSeconds * 1000000000L);
-      while (sample != null && sample.getStartNanosecond() < endNanoseconds) {
+      while (hasSample && samples.getStartNanosecond() < endNanoseconds) {
 
         // Check if a TX Type filter is set, in the default case,
         // INVALID TXType means all should be reported, if a filter is
         // set, only this specific transaction
         if (txType.equals(TransactionType.INVALID)
-            || txType.getId() == sample.getTransactionType()) {
-          latencies.add(sample.getLatencyMicrosecond());
+            || txType.getId() == samples.getTransactionType()) {
+          histogram.recordValue(samples.getLatencyMicrosecond());
         }
 
-        if (samples.hasNext()) {
-          sample = samples.next();
-        } else {
-          sample = null;
-        }
+        hasSample = samples.advance();
       }
 
       // Set up the next time window
 
       nextStartNanosecond = endNanoseconds;
 
-      int[] l = new int[latencies.size()];
-      for (int i = 0; i < l.length; ++i) {
-        l[i] = latencies.get(i);
-      }
-
-      next = DistributionStatistics.computeStatistics(l);
+      next = DistributionStatistics.computeStatistics(histogram);
     }
 
     @Override
@@ -492,7 +532,7 @@ public class ThreadBench implements Thread.UncaughtExceptionHandler {
       }
       DistributionStatistics out = next;
       next = null;
-      if (sample != null) {
+      if (hasSample) {
         calculateNext();
       }
       return out;
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free, multi-producer multi-consumer ring buffer. Each slot carries a sequence
+ * number that tells producers and consumers whether it is free to write or ready to read, so that
+ * both sides only contend on a single CAS of their own position counter.
+ *
+ * @see <a href="https://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue">
+ *     Bounded MPMC queue</a>
+ */
+final class WorkQueue<E> {
+  private final int mask;
+  private final AtomicReferenceArray<E> buffer;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+
+  /**
+   * @param capacity Rounded up to the next power of two
+   */
+  WorkQueue(int capacity) {
+    int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+    this.mask = size - 1;
+    this.buffer = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.lazySet(i, i);
+    }
+  }
+
+  /** Adds an element to the tail of the queue. Returns false if the queue is full. */
+  boolean offer(E e) {
+    long pos = enqueuePosition.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.getAcquire(index) - pos;
+      if (diff == 0) {
+        if (enqueuePosition.weakCompareAndSetVolatile(pos, pos + 1)) {
+          buffer.setPlain(index, e);
+          sequences.setRelease(index, pos + 1);
+          return true;
+        }
+        pos = enqueuePosition.get();
+      } else if (diff < 0) {
+        return false;
+      } else {
+        pos = enqueuePosition.get();
+      }
+    }
+  }
+
+  /** Removes the element at the head of the queue. Returns null if the queue is empty. */
+  E poll() {
+    long pos = dequeuePosition.get();
+    while (true) {
+      int index = (int) pos & mask;
+      long diff = sequences.getAcquire(index) - (pos + 1);
+      if (diff == 0) {
+        if (dequeuePosition.weakCompareAndSetVolatile(pos, pos + 1)) {
+          E e = buffer.getPlain(index);
+          buffer.setPlain(index, null);
+          sequences.setRelease(index, pos + mask + 1);
+          return e;
+        }
+        pos = dequeuePosition.get();
+      } else if (diff < 0) {
+        return null;
+      } else {
+        pos = dequeuePosition.get();
+      }
+    }
+  }
+
+  /** Returns the approximate number of elements in the queue. */
+  int size() {
+    long size = enqueuePosition.get() - dequeuePosition.get();
+    return (int) Math.max(0, Math.min(size, mask + 1));
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Removes all elements from the queue. Returns the number of elements removed. */
+  int clear() {
+    int removed = 0;
+    while (poll() != null) {
+      removed++;
+    }
+    return removed;
+  }
+}
@@ -47,6 +47,7 @@ public class WorkloadConfiguration {
   private int isolationMode = Connection.TRANSACTION_SERIALIZABLE;
   private String dataDir = null;
   private String ddlPath = null;
+  private String sampleSpillDirectory = null;
 
   /**
    * If true, establish a new connection for each transaction, otherwise use one persistent
@@ -61,6 +62,30 @@ public class WorkloadConfiguration {
    */
   private boolean reconnectOnConnectionFailure = false;
 
+  /**
+   * If true, run each worker on a virtual thread instead of a platform thread. This allows for many
+   * more terminals than the OS can provide threads for, as long as they mostly sleep.
+   */
+  private boolean virtualThreads = false;
+
+  /**
+   * If greater than zero, the workers share at most this many connections and only hold one for the
+   * duration of a transaction. Otherwise, every worker keeps its own connection.
+   */
+  private int maxConnections = 0;
+
+  /**
+   * If true, every worker keeps the PreparedStatements of its procedures open across transactions
+   * instead of preparing them again for every execution.
+   */
+  private boolean statementCache = false;
+
+  /**
+   * If true, loaders that write through a BulkSink use the native bulk load protocol of the
+   * database (COPY for PostgreSQL, LOAD DATA LOCAL INFILE for MySQL) instead of batched INSERTs.
+   */
+  private boolean bulkLoad = false;
+
   public String getBenchmarkName() {
     return benchmarkName;
   }
@@ -180,6 +205,44 @@ public class WorkloadConfiguration {
       boolean timed,
       int active_terminals,
       Phase.Arrival arrival) {
+    addPhase(
+        id,
+        time,
+        warmup,
+        rate,
+        weights,
+        rateLimited,
+        disabled,
+        serial,
+        timed,
+        active_terminals,
+        arrival,
+        null,
+        null,
+        null,
+        null);
+  }
+
+  /**
+   * Adds a phase whose arrivals are replayed from a trace, whose rate or number of active terminals
+   * changes while it runs, or that searches for the highest load that meets an SLO.
+   */
+  public void addPhase(
+      int id,
+      int time,
+      int warmup,
+      double rate,
+      List<Double> weights,
+      boolean rateLimited,
+      boolean disabled,
+      boolean serial,
+      boolean timed,
+      int active_terminals,
+      Phase.Arrival arrival,
+      long[] arrivalTrace,
+      LoadProfile rateProfile,
+      LoadProfile terminalProfile,
+      SaturationSearch.Settings search) {
     phases.add(
         new Phase(
             benchmarkName,
@@ -193,7 +256,11 @@ public class WorkloadConfiguration {
             serial,
             timed,
             active_terminals,
-            arrival));
+            arrival,
+            arrivalTrace,
+            rateProfile,
+            terminalProfile,
+            search));
   }
 
   /**
@@ -289,6 +356,63 @@ public class WorkloadConfiguration {
     this.ddlPath = ddlPath;
   }
 
+  /**
+   * @return @see virtualThreads member docs for behavior.
+   */
+  public boolean getVirtualThreads() {
+    return virtualThreads;
+  }
+
+  public void setVirtualThreads(boolean virtualThreads) {
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * @return @see maxConnections member docs for behavior.
+   */
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  public void setMaxConnections(int maxConnections) {
+    this.maxConnections = maxConnections;
+  }
+
+  /**
+   * @return @see statementCache member docs for behavior.
+   */
+  public boolean getStatementCache() {
+    return statementCache;
+  }
+
+  public void setStatementCache(boolean statementCache) {
+    this.statementCache = statementCache;
+  }
+
+  /**
+   * @return @see bulkLoad member docs for behavior.
+   */
+  public boolean getBulkLoad() {
+    return bulkLoad;
+  }
+
+  public void setBulkLoad(boolean bulkLoad) {
+    this.bulkLoad = bulkLoad;
+  }
+
+  /**
+   * Return the directory to which workers spill their raw latency samples, or null if the samples
+   * are kept on the heap.
+   */
+  public String getSampleSpillDirectory() {
+    return this.sampleSpillDirectory;
+  }
+
+  /** Set the directory to which workers spill their raw latency samples. */
+  public void setSampleSpillDirectory(String sampleSpillDirectory) {
+    this.sampleSpillDirectory = sampleSpillDirectory;
+  }
+
   /** A utility method that init the phaseIterator and dialectMap */
   public void init() {
     try {
@@ -19,8 +19,14 @@ package com.oltpbenchmark;
 
 import com.oltpbenchmark.types.State;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,18 +41,55 @@ public class WorkloadState {
   private static final Logger LOG = LoggerFactory.getLogger(WorkloadState.class);
 
   private final BenchmarkState benchmarkState;
-  private final LinkedList<SubmittedProcedure> workQueue = new LinkedList<>();
+  private final WorkQueue<SubmittedProcedure> workQueue = new WorkQueue<>(RATE_QUEUE_LIMIT + 1);
+
+  /**
+   * Workers parked in fetchWork() waiting for rate-limited work to be queued. A worker that stops
+   * waiting leaves its entry behind, and wakers skip it.
+   */
+  private final ConcurrentLinkedQueue<Waiter> idleWorkers = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Guards the phase switch, the queuing of arrivals and the sleeping workers. This is a lock
+   * rather than a monitor so that waiting workers do not pin the carrier thread when they run on
+   * virtual threads.
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Condition stateChanged = lock.newCondition();
+
   private final int num_terminals;
   private final Iterator<Phase> phaseIterator;
 
   private int workersWaiting = 0;
 
-  @SuppressWarnings("unused") // never read
-  private int workersWorking = 0;
+  /**
+   * Number of workers that still have to go to sleep for the current phase. Only written while
+   * holding the lock, but read without it by stayAwake() so that awake workers never touch the
+   * lock.
+   */
+  private volatile int workerNeedSleep;
+
+  /** Number of terminals that should currently be running. Guarded by the lock. */
+  private int activeTerminals;
 
-  private int workerNeedSleep;
+  /** The current phase, replaced as a whole on every phase switch */
+  private volatile Epoch epoch = new Epoch(0, null);
 
-  private Phase currentPhase = null;
+  /** The epoch whose phase may end before its time is up */
+  private volatile Epoch finishedEpoch;
+
+  /**
+   * Measured arrivals of rate-limited phases that were never executed, because the queue was full
+   * or because the phase ended before a worker got to them.
+   */
+  private final AtomicLong droppedArrivals = new AtomicLong();
+
+  /**
+   * Measured arrivals of rate-limited phases that could only be queued after their time slot had
+   * already passed, because the scheduler fell behind.
+   */
+  private final AtomicLong lateArrivals = new AtomicLong();
 
   public WorkloadState(BenchmarkState benchmarkState, List<Phase> works, int num_terminals) {
     this.benchmarkState = benchmarkState;
@@ -56,57 +99,95 @@ public class WorkloadState {
     phaseIterator = works.iterator();
   }
 
-  /** Add a request to do work. */
-  public void addToQueue(int amount, boolean resetQueues) {
+  /**
+   * Queues arrivals of the given epoch's rate-limited phase, each with the time it was scheduled
+   * for, and wakes up as many idle workers as there are new arrivals. Nothing is queued if the
+   * epoch has already ended.
+   *
+   * @param epoch The epoch the arrivals were scheduled for
+   * @param scheduledNs Scheduled start of each arrival, in {@link System#nanoTime()} units
+   * @param count Number of arrivals in scheduledNs
+   * @param now When the arrivals are queued
+   * @param rng The scheduler's generator, with which the transaction of each arrival is picked
+   */
+  void addArrivals(Epoch epoch, long[] scheduledNs, int count, long now, RandomGenerator rng) {
     int workAdded = 0;
-
-    synchronized (this) {
-      if (resetQueues) {
-        workQueue.clear();
-      }
-
-      // Only use the work queue if the phase is enabled and rate limited.
-      if (currentPhase == null
-          || currentPhase.isDisabled()
-          || !currentPhase.isRateLimited()
-          || currentPhase.isSerial()) {
+    int late = 0;
+    // Hold the lock of the phase switch, which clears the queue before it publishes the next
+    // epoch, so that no arrival of an epoch that has ended is queued after the clear.
+    lock.lock();
+    try {
+      if (epoch != this.epoch) {
         return;
       }
+      Phase phase = epoch.getPhase();
 
-      // Add the specified number of procedures to the end of the queue.
       // If we can't keep up with current rate, truncate transactions
-      for (int i = 0; i < amount && workQueue.size() <= RATE_QUEUE_LIMIT; ++i) {
-        workQueue.add(new SubmittedProcedure(currentPhase.chooseTransaction()));
+      for (int i = 0; i < count && workQueue.size() <= RATE_QUEUE_LIMIT; ++i) {
+        if (!workQueue.offer(
+            new SubmittedProcedure(phase.chooseTransaction(rng), scheduledNs[i]))) {
+          break;
+        }
+        if (now - scheduledNs[i] > ArrivalScheduler.LATE_NS) {
+          late++;
+        }
         workAdded++;
       }
+    } finally {
+      lock.unlock();
+    }
+    countDropped(count - workAdded);
+    if (late > 0 && benchmarkState.getState() == State.MEASURE) {
+      lateArrivals.addAndGet(late);
+    }
 
-      // Wake up sleeping workers to deal with the new work.
-      int numToWake = Math.min(workAdded, workersWaiting);
-      while (numToWake-- > 0) {
-        this.notify();
-      }
+    wakeIdleWorkers(workAdded);
+  }
+
+  private void countDropped(int dropped) {
+    if (dropped > 0 && benchmarkState.getState() == State.MEASURE) {
+      droppedArrivals.addAndGet(dropped);
     }
   }
 
+  public long getDroppedArrivals() {
+    return droppedArrivals.get();
+  }
+
+  public long getLateArrivals() {
+    return lateArrivals.get();
+  }
+
   public void signalDone() {
     int current = this.benchmarkState.signalDone();
     if (current == 0) {
-      synchronized (this) {
+      lock.lock();
+      try {
         if (workersWaiting > 0) {
-          this.notifyAll();
+          stateChanged.signalAll();
         }
+      } finally {
+        lock.unlock();
       }
+      wakeAllIdleWorkers();
     }
   }
 
-  /** Called by ThreadPoolThreads when waiting for work. */
-  public SubmittedProcedure fetchWork() {
-    synchronized (this) {
-      if (currentPhase != null && currentPhase.isSerial()) {
+  /**
+   * Called by ThreadPoolThreads when waiting for work.
+   *
+   * @param rng The worker's generator, with which the transaction is picked unless the phase is
+   *     rate limited
+   */
+  public SubmittedProcedure fetchWork(RandomGenerator rng) {
+    Phase phase = epoch.getPhase();
+    if (phase != null && phase.isSerial()) {
+      lock.lock();
+      try {
         ++workersWaiting;
         while (getGlobalState() == State.LATENCY_COMPLETE) {
           try {
-            this.wait();
+            stateChanged.await();
           } catch (InterruptedException e) {
             throw new RuntimeException(e);
           }
@@ -117,52 +198,84 @@ public class WorkloadState {
           return null;
         }
 
-        ++workersWorking;
         return new SubmittedProcedure(
-            currentPhase.chooseTransaction(getGlobalState() == State.COLD_QUERY));
+            phase.chooseTransaction(getGlobalState() == State.COLD_QUERY, rng));
+      } finally {
+        lock.unlock();
       }
     }
 
     // Unlimited-rate phases don't use the work queue.
-    if (currentPhase != null && !currentPhase.isRateLimited()) {
-      synchronized (this) {
-        ++workersWorking;
-      }
+    if (phase != null && !phase.isRateLimited()) {
       return new SubmittedProcedure(
-          currentPhase.chooseTransaction(getGlobalState() == State.COLD_QUERY));
+          phase.chooseTransaction(getGlobalState() == State.COLD_QUERY, rng));
     }
 
-    synchronized (this) {
-      // Sleep until work is available.
-      if (workQueue.peek() == null) {
-        workersWaiting += 1;
-        while (workQueue.peek() == null) {
-          if (this.benchmarkState.getState() == State.EXIT
-              || this.benchmarkState.getState() == State.DONE) {
-            return null;
-          }
-
-          try {
-            this.wait();
-          } catch (InterruptedException e) {
-            throw new RuntimeException(e);
-          }
+    // Park until work is available.
+    Waiter waiter = null;
+    while (true) {
+      SubmittedProcedure work = workQueue.poll();
+      if (work == null && (waiter == null || !waiter.waiting.get())) {
+        // Register as idle, once per wait, then look again so that work
+        // queued in between is not missed by both sides.
+        waiter = new Waiter();
+        idleWorkers.add(waiter);
+        work = workQueue.poll();
+      }
+      if (work != null) {
+        cancel(waiter);
+        // Pass the wakeup along to the next idle worker while work is left.
+        if (!workQueue.isEmpty()) {
+          wakeIdleWorkers(1);
         }
-        workersWaiting -= 1;
+        return work;
       }
 
-      ++workersWorking;
+      State state = this.benchmarkState.getState();
+      Phase current = epoch.getPhase();
+      if (state == State.EXIT || state == State.DONE || current == null) {
+        cancel(waiter);
+        return null;
+      }
+      if (current != phase && (current.isSerial() || !current.isRateLimited())) {
+        cancel(waiter);
+        return fetchWork(rng);
+      }
 
-      return workQueue.remove();
+      // A waker clears the waiting flag of the worker it unparks, so after
+      // a spurious wakeup the worker is still registered and only parks again.
+      LockSupport.park(this);
     }
   }
 
-  public void finishedWork() {
-    synchronized (this) {
-      --workersWorking;
+  /** Stops waiting, so that no waker spends its wakeup on this worker. */
+  private static void cancel(Waiter waiter) {
+    if (waiter != null) {
+      waiter.waiting.set(false);
     }
   }
 
+  private void wakeIdleWorkers(int count) {
+    int woken = 0;
+    while (woken < count) {
+      Waiter waiter = idleWorkers.poll();
+      if (waiter == null) {
+        return;
+      }
+      // Skip the entries of workers that have stopped waiting
+      if (waiter.waiting.compareAndSet(true, false)) {
+        LockSupport.unpark(waiter.thread);
+        woken++;
+      }
+    }
+  }
+
+  private void wakeAllIdleWorkers() {
+    // Bounded by the current size so that workers which re-register
+    // after waking up are not woken over and over again.
+    wakeIdleWorkers(idleWorkers.size());
+  }
+
   public Phase getNextPhase() {
     if (phaseIterator.hasNext()) {
       return phaseIterator.next();
@@ -171,57 +284,121 @@ public class WorkloadState {
   }
 
   public Phase getCurrentPhase() {
-    synchronized (benchmarkState) {
-      return currentPhase;
-    }
+    return epoch.getPhase();
+  }
+
+  /**
+   * Returns the current epoch. Workers read it once per transaction and compare it by reference to
+   * find out whether the phase changed in between.
+   */
+  public Epoch getEpoch() {
+    return epoch;
   }
 
   /*
    * Called by workers to ask if they should stay awake in this phase
    */
   public void stayAwake() {
-    synchronized (this) {
+    if (workerNeedSleep <= 0) {
+      return;
+    }
+    lock.lock();
+    try {
       while (workerNeedSleep > 0) {
         workerNeedSleep--;
         try {
-          this.wait();
+          stateChanged.await();
         } catch (InterruptedException e) {
           LOG.error(e.getMessage(), e);
         }
       }
+    } finally {
+      lock.unlock();
     }
   }
 
   public void switchToNextPhase() {
-    synchronized (this) {
-      this.currentPhase = this.getNextPhase();
+    lock.lock();
+    try {
+      Phase next = this.getNextPhase();
 
       // Clear the work from the previous phase.
-      workQueue.clear();
+      countDropped(workQueue.clear());
 
       // Determine how many workers need to sleep, then make sure they
       // do.
-      if (this.currentPhase == null)
+      if (next == null)
       // Benchmark is over---wake everyone up so they can terminate
       {
         workerNeedSleep = 0;
+        activeTerminals = this.num_terminals;
       } else {
-        this.currentPhase.resetSerial();
-        if (this.currentPhase.isDisabled())
+        next.resetSerial();
+        if (next.isDisabled())
         // Phase disabled---everyone should sleep
         {
           workerNeedSleep = this.num_terminals;
+          activeTerminals = 0;
         } else
         // Phase running---activate the appropriate # of terminals
         {
-          workerNeedSleep = this.num_terminals - this.currentPhase.getActiveTerminals();
+          workerNeedSleep = this.num_terminals - next.getActiveTerminals();
+          activeTerminals = next.getActiveTerminals();
         }
       }
 
-      this.notifyAll();
+      // Publish the phase only once it is fully set up.
+      this.epoch = new Epoch(this.epoch.getNumber() + 1, next);
+
+      stateChanged.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    // Idle workers re-check the phase and state when woken.
+    wakeAllIdleWorkers();
+  }
+
+  /**
+   * Changes the number of active terminals in the middle of a phase. Extra terminals go to sleep
+   * before their next transaction; missing ones are woken up. Nothing changes if the epoch has
+   * already ended.
+   */
+  void setActiveTerminals(Epoch epoch, int active) {
+    lock.lock();
+    try {
+      if (epoch != this.epoch) {
+        return;
+      }
+      active = Math.max(0, Math.min(active, this.num_terminals));
+      int delta = active - activeTerminals;
+      activeTerminals = active;
+      if (delta < 0) {
+        workerNeedSleep = workerNeedSleep - delta;
+      } else if (delta > 0) {
+        // Terminals that were about to go to sleep stay awake first
+        int stayingAwake = Math.min(Math.max(workerNeedSleep, 0), delta);
+        workerNeedSleep = workerNeedSleep - stayingAwake;
+        for (int i = stayingAwake; i < delta; i++) {
+          stateChanged.signal();
+        }
+      }
+    } finally {
+      lock.unlock();
     }
   }
 
+  /** Lets the phase of the given epoch end before its time is up, e.g. when its search is done. */
+  void finishPhaseEarly(Epoch epoch) {
+    this.finishedEpoch = epoch;
+  }
+
+  /** Returns whether the current phase may end before its time is up. */
+  public boolean isPhaseFinishedEarly() {
+    Epoch current = epoch;
+    return current.getPhase() != null && current == finishedEpoch;
+  }
+
   /** Delegates pre-start blocking to the global state handler */
   public void blockForStart() {
     benchmarkState.blockForStart();
@@ -254,4 +431,34 @@ public class WorkloadState {
   public long getTestStartNs() {
     return benchmarkState.getTestStartNs();
   }
+
+  /**
+   * Immutable snapshot of the phase a workload is in. A new epoch is published on every phase
+   * switch, so readers only need a single volatile load to get a consistent view.
+   */
+  public static final class Epoch {
+    private final long number;
+    private final Phase phase;
+
+    Epoch(long number, Phase phase) {
+      this.number = number;
+      this.phase = phase;
+    }
+
+    /** Number of phase switches before this epoch began */
+    public long getNumber() {
+      return number;
+    }
+
+    /** The phase of this epoch, or null before the first and after the last phase */
+    public Phase getPhase() {
+      return phase;
+    }
+  }
+
+  /** A worker parked in fetchWork(). A waker claims it by clearing the waiting flag. */
+  private static final class Waiter {
+    private final Thread thread = Thread.currentThread();
+    private final AtomicBoolean waiting = new AtomicBoolean(true);
+  }
 }
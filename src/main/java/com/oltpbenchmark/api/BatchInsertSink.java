@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.catalog.Table;
+import com.oltpbenchmark.types.DatabaseType;
+import com.oltpbenchmark.util.SQLUtil;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/** A BulkSink that binds every row to an INSERT statement and executes it in batches. */
+final class BatchInsertSink extends BulkSink {
+  private final PreparedStatement stmt;
+  private final int batchSize;
+  private int pending = 0;
+
+  BatchInsertSink(Connection conn, Table catalog_tbl, DatabaseType dbType, int batchSize)
+      throws SQLException {
+    this.stmt = conn.prepareStatement(SQLUtil.getInsertSQL(catalog_tbl, dbType));
+    this.batchSize = Math.max(1, batchSize);
+  }
+
+  @Override
+  public void setInt(int column, int value) throws SQLException {
+    stmt.setInt(column, value);
+  }
+
+  @Override
+  public void setShort(int column, short value) throws SQLException {
+    stmt.setShort(column, value);
+  }
+
+  @Override
+  public void setLong(int column, long value) throws SQLException {
+    stmt.setLong(column, value);
+  }
+
+  @Override
+  public void setFloat(int column, float value) throws SQLException {
+    stmt.setFloat(column, value);
+  }
+
+  @Override
+  public void setDouble(int column, double value) throws SQLException {
+    stmt.setDouble(column, value);
+  }
+
+  @Override
+  public void setString(int column, String value) throws SQLException {
+    stmt.setString(column, value);
+  }
+
+  @Override
+  public void setDate(int column, Date value) throws SQLException {
+    stmt.setDate(column, value);
+  }
+
+  @Override
+  public void setTimestamp(int column, Timestamp value) throws SQLException {
+    stmt.setTimestamp(column, value);
+  }
+
+  @Override
+  public void setNull(int column, int sqlType) throws SQLException {
+    stmt.setNull(column, sqlType);
+  }
+
+  @Override
+  public void setObject(int column, Object value) throws SQLException {
+    stmt.setObject(column, value);
+  }
+
+  @Override
+  public void addRow() throws SQLException {
+    stmt.addBatch();
+    if (++pending == batchSize) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    if (pending > 0) {
+      stmt.executeBatch();
+      stmt.clearBatch();
+      pending = 0;
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      flush();
+    } finally {
+      stmt.close();
+    }
+  }
+}
@@ -21,11 +21,12 @@ import com.oltpbenchmark.WorkloadConfiguration;
 import com.oltpbenchmark.catalog.AbstractCatalog;
 import com.oltpbenchmark.types.DatabaseType;
 import com.oltpbenchmark.util.ClassUtil;
+import com.oltpbenchmark.util.FastRandom;
 import com.oltpbenchmark.util.SQLUtil;
 import com.oltpbenchmark.util.ScriptRunner;
-import com.oltpbenchmark.util.ThreadUtil;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
@@ -50,11 +51,20 @@ public abstract class BenchmarkModule {
   /** Supplemental Procedures */
   private final Set<Class<? extends Procedure>> supplementalProcedures = new HashSet<>();
 
-  /** A single Random object that should be re-used by all a benchmark's components */
+  /** The Random object that a thread should re-use for all of a benchmark's components */
   private static final ThreadLocal<Random> rng = new ThreadLocal<>();
 
+  // Random streams are numbered by owner in the upper half and by index in the lower half
+  private static final long MAIN_STREAM = 0L;
+  private static final long WORKER_STREAMS = 1L << 32;
+  private static final long LOADER_STREAMS = 2L << 32;
+  private static final long ARRIVAL_STREAM = 3L << 32;
+
   private AbstractCatalog catalog = null;
 
+  /** Connections shared by this benchmark's workers, if their number is limited */
+  private ConnectionPool connectionPool = null;
+
   /**
    * Constructor!
    *
@@ -89,6 +99,17 @@ public abstract class BenchmarkModule {
     }
   }
 
+  /**
+   * Return the pool through which this benchmark's workers share their connections, or null if
+   * every worker keeps its own connection.
+   */
+  public final synchronized ConnectionPool getConnectionPool() {
+    if (connectionPool == null && workConf.getMaxConnections() > 0) {
+      connectionPool = new ConnectionPool(workConf.getMaxConnections());
+    }
+    return connectionPool;
+  }
+
   private String afterLoadScriptPath = null;
 
   public final void setAfterLoadScriptPath(String scriptPath) {
@@ -122,22 +143,54 @@ public abstract class BenchmarkModule {
 
   /**
    * Return the Random generator that should be used by all this benchmark's components. We are
-   * using ThreadLocal to make this support multiple threads better. This will set the seed if one
-   * is specified in the workload config file
+   * using ThreadLocal to make this support multiple threads better. Workers and loader threads get
+   * a generator of their own stream, all other threads share the main stream. If a seed is
+   * specified in the workload config file, every stream is reproducible and differs from the
+   * others.
    */
   public Random rng() {
     Random ret = rng.get();
     if (ret == null) {
-      if (this.workConf.getRandomSeed() != -1) {
-        ret = new Random(this.workConf.getRandomSeed());
-      } else {
-        ret = new Random();
-      }
+      ret = newRandom(MAIN_STREAM);
       rng.set(ret);
     }
     return ret;
   }
 
+  /** Creates the generator of the given worker. */
+  final Random newWorkerRandom(int workerId) {
+    return newRandom(WORKER_STREAMS | workerId);
+  }
+
+  /** Creates the generator of the loader thread with the given index. */
+  final Random newLoaderRandom(int loaderIndex) {
+    return newRandom(LOADER_STREAMS | loaderIndex);
+  }
+
+  /**
+   * Creates the generator with which the arrival scheduler picks the transactions of rate-limited
+   * phases. Like the streams of the workers, it is reproducible if a seed is configured.
+   */
+  public final Random newArrivalRandom() {
+    return newRandom(ARRIVAL_STREAM);
+  }
+
+  private Random newRandom(long stream) {
+    if (this.workConf.getRandomSeed() == -1) {
+      return new FastRandom();
+    }
+    return new FastRandom(FastRandom.streamSeed(this.workConf.getRandomSeed(), stream));
+  }
+
+  /** Makes rng() return the given generator on the calling thread, or the default if null. */
+  static void setThreadRandom(Random random) {
+    if (random == null) {
+      rng.remove();
+    } else {
+      rng.set(random);
+    }
+  }
+
   private String convertBenchmarkClassToBenchmarkName() {
     return convertBenchmarkClassToBenchmarkName(this.getClass());
   }
@@ -247,17 +300,64 @@ public abstract class BenchmarkModule {
   /** Invoke this benchmark's database loader */
   public final Loader<? extends BenchmarkModule> loadDatabase()
       throws IOException, SQLException, InterruptedException {
+    return loadDatabase(null, false);
+  }
+
+  /**
+   * Invoke this benchmark's database loader, and record its progress in the given manifest file. If
+   * resume is set, the load tasks that the manifest lists as finished are skipped, and the rows of
+   * the ones that were interrupted are verified or deleted before they run again.
+   *
+   * @param manifestFile The load manifest, or null to not record the progress of the load
+   * @param resume Whether to resume the load that the manifest describes
+   */
+  public final Loader<? extends BenchmarkModule> loadDatabase(Path manifestFile, boolean resume)
+      throws IOException, SQLException, InterruptedException {
     Loader<? extends BenchmarkModule> loader;
 
     loader = this.makeLoaderImpl();
     if (loader != null) {
 
       try {
-        List<LoaderThread> loaderThreads = loader.createLoaderThreads();
+        List<LoadTask> loadTasks = loader.createLoadTasks();
         int maxConcurrent = workConf.getLoaderThreads();
 
-        ThreadUtil.runLoaderThreads(loaderThreads, maxConcurrent);
+        // Number the loader threads so that each one draws from a stream of its own
+        for (int i = 0; i < loadTasks.size(); i++) {
+          LoaderThread loaderThread = loadTasks.get(i).getLoaderThread();
+          if (loaderThread != null) {
+            loaderThread.setRandom(newLoaderRandom(i));
+          }
+        }
+
+        if (manifestFile == null) {
+          LoadScheduler.run(loadTasks, maxConcurrent);
+        } else {
+          String signature =
+              String.format(
+                  "benchmark=%s scalefactor=%s",
+                  this.getBenchmarkName(), this.workConf.getScaleFactor());
+          try (LoadManifest manifest = LoadManifest.open(manifestFile, signature, resume)) {
+            if (resume) {
+              try (Connection conn = this.makeConnection()) {
+                manifest.resume(
+                    loadTasks, conn, this.workConf.getDatabaseType(), this.getCatalog());
+              }
+            }
+            LoadScheduler.run(loadTasks, maxConcurrent, manifest);
+          }
+        }
 
+        for (Map.Entry<String, Loader.TableLoad> e : loader.getTableLoads().entrySet()) {
+          Loader.TableLoad tableLoad = e.getValue();
+          LOG.info(
+              String.format(
+                  "Loaded %s: %d rows [time=%.02fs, rate=%.0f rows/s]",
+                  e.getKey(),
+                  tableLoad.getRows(),
+                  tableLoad.getSeconds(),
+                  tableLoad.getRowsPerSecond()));
+        }
         if (!loader.getTableCounts().isEmpty()) {
           LOG.debug("Table Counts:\n{}", loader.getTableCounts());
         }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.WorkloadConfiguration;
+import com.oltpbenchmark.catalog.Table;
+import com.oltpbenchmark.types.DatabaseType;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Destination for the rows that a Loader generates for one table. The setters mirror the ones of
+ * PreparedStatement, with columns numbered from 1 in catalog order, and {@link #addRow()} takes the
+ * place of addBatch(). The sink decides on its own when to send rows to the database; all pending
+ * rows are written when it is closed.
+ *
+ * <p>If bulk loading is enabled, PostgreSQL tables are loaded with COPY and MySQL tables with LOAD
+ * DATA LOCAL INFILE. Every other database, or a database whose driver lacks the native API, gets
+ * batched INSERTs of the configured batch size. A COPY holds on to its connection until the sink is
+ * closed, so a loader should only have one sink open per connection at a time.
+ */
+public abstract class BulkSink implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(BulkSink.class);
+
+  /**
+   * Open a sink for the given table.
+   *
+   * @param conn the connection to load the table over
+   * @param catalog_tbl the table to load
+   * @param workConf the configuration that decides about bulk loading and the batch size
+   */
+  public static BulkSink open(Connection conn, Table catalog_tbl, WorkloadConfiguration workConf)
+      throws SQLException {
+    DatabaseType dbType = workConf.getDatabaseType();
+    if (workConf.getBulkLoad()) {
+      try {
+        if (dbType == DatabaseType.POSTGRES) {
+          return new PostgresCopySink(conn, catalog_tbl);
+        } else if (dbType == DatabaseType.MYSQL) {
+          return new MySQLLoadDataSink(conn, catalog_tbl);
+        }
+      } catch (ReflectiveOperationException ex) {
+        LOG.warn(
+            "Cannot bulk load table {} with the {} driver, using batched INSERTs instead",
+            catalog_tbl.getName(),
+            dbType,
+            ex);
+      }
+    }
+    return new BatchInsertSink(conn, catalog_tbl, dbType, workConf.getBatchSize());
+  }
+
+  public abstract void setInt(int column, int value) throws SQLException;
+
+  public abstract void setShort(int column, short value) throws SQLException;
+
+  public abstract void setLong(int column, long value) throws SQLException;
+
+  public abstract void setFloat(int column, float value) throws SQLException;
+
+  public abstract void setDouble(int column, double value) throws SQLException;
+
+  public abstract void setString(int column, String value) throws SQLException;
+
+  public abstract void setDate(int column, Date value) throws SQLException;
+
+  public abstract void setTimestamp(int column, Timestamp value) throws SQLException;
+
+  public abstract void setNull(int column, int sqlType) throws SQLException;
+
+  public abstract void setObject(int column, Object value) throws SQLException;
+
+  /** Finish the current row. Like with addBatch(), every column has to be set for every row. */
+  public abstract void addRow() throws SQLException;
+
+  /**
+   * Write all pending rows to the database. Once this returns, the rows are visible to other
+   * connections, which matters for loaders whose other threads insert rows that reference them.
+   */
+  public abstract void flush() throws SQLException;
+
+  /** Write all pending rows to the database and release the sink's resources. */
+  @Override
+  public abstract void close() throws SQLException;
+}
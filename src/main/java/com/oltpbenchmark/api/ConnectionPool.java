@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lets many workers share a bounded number of JDBC connections. A worker holds a lease for the
+ * duration of a single transaction, including its retries, and gives the connection back before it
+ * goes to sleep for keying or think time. Leases are handed out in FIFO order, and waiting for one
+ * only parks the calling thread, which is cheap for virtual threads.
+ *
+ * <p>The pool does not open connections itself: {@link #acquire()} returns null when no idle
+ * connection is available, and the worker then connects like it would without a pool. This keeps
+ * the reconnect and back-off logic in {@link Worker}.
+ */
+public final class ConnectionPool implements AutoCloseable {
+  private static final Logger LOG = LoggerFactory.getLogger(ConnectionPool.class);
+
+  private final int maxConnections;
+  private final Semaphore leases;
+  private final ConcurrentLinkedQueue<Connection> idle = new ConcurrentLinkedQueue<>();
+  private volatile boolean closed = false;
+
+  public ConnectionPool(int maxConnections) {
+    if (maxConnections <= 0) {
+      throw new IllegalArgumentException("Invalid connection limit " + maxConnections);
+    }
+    this.maxConnections = maxConnections;
+    this.leases = new Semaphore(maxConnections, true);
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  /**
+   * Blocks until a lease is available and returns an idle connection, or null if the caller has to
+   * open a new one. Every call must be followed by exactly one call to {@link
+   * #release(Connection)}.
+   */
+  public Connection acquire() throws InterruptedException {
+    leases.acquire();
+    return idle.poll();
+  }
+
+  /**
+   * Ends a lease. The connection is kept for the next lease unless it is null or closed, or the
+   * pool has been closed in the meantime.
+   */
+  public void release(Connection conn) {
+    try {
+      if (conn != null) {
+        if (closed || conn.isClosed()) {
+          closeQuietly(conn);
+        } else {
+          idle.offer(conn);
+        }
+      }
+    } catch (SQLException ex) {
+      closeQuietly(conn);
+    } finally {
+      leases.release();
+    }
+  }
+
+  /** Returns the number of connections that are currently leased out. */
+  public int getActiveLeases() {
+    return maxConnections - leases.availablePermits();
+  }
+
+  /** Closes all idle connections. Connections that are still leased are closed on release. */
+  @Override
+  public void close() {
+    closed = true;
+    Connection conn;
+    while ((conn = idle.poll()) != null) {
+      closeQuietly(conn);
+    }
+  }
+
+  private static void closeQuietly(Connection conn) {
+    try {
+      conn.close();
+    } catch (SQLException ex) {
+      LOG.error("Connection couldn't be closed.", ex);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/** A BulkSink that counts the rows it passes on, so that loaders can report their load rates. */
+final class CountingBulkSink extends BulkSink {
+  private final BulkSink sink;
+  private final Loader.TableLoad tableLoad;
+  private final long openNs = System.nanoTime();
+  private long rows = 0;
+
+  CountingBulkSink(BulkSink sink, Loader.TableLoad tableLoad) {
+    this.sink = sink;
+    this.tableLoad = tableLoad;
+  }
+
+  @Override
+  public void setInt(int column, int value) throws SQLException {
+    sink.setInt(column, value);
+  }
+
+  @Override
+  public void setShort(int column, short value) throws SQLException {
+    sink.setShort(column, value);
+  }
+
+  @Override
+  public void setLong(int column, long value) throws SQLException {
+    sink.setLong(column, value);
+  }
+
+  @Override
+  public void setFloat(int column, float value) throws SQLException {
+    sink.setFloat(column, value);
+  }
+
+  @Override
+  public void setDouble(int column, double value) throws SQLException {
+    sink.setDouble(column, value);
+  }
+
+  @Override
+  public void setString(int column, String value) throws SQLException {
+    sink.setString(column, value);
+  }
+
+  @Override
+  public void setDate(int column, Date value) throws SQLException {
+    sink.setDate(column, value);
+  }
+
+  @Override
+  public void setTimestamp(int column, Timestamp value) throws SQLException {
+    sink.setTimestamp(column, value);
+  }
+
+  @Override
+  public void setNull(int column, int sqlType) throws SQLException {
+    sink.setNull(column, sqlType);
+  }
+
+  @Override
+  public void setObject(int column, Object value) throws SQLException {
+    sink.setObject(column, value);
+  }
+
+  @Override
+  public void addRow() throws SQLException {
+    sink.addRow();
+    rows++;
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    sink.flush();
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      sink.close();
+    } finally {
+      tableLoad.add(rows, openNs, System.nanoTime());
+    }
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.catalog.AbstractCatalog;
+import com.oltpbenchmark.catalog.Column;
+import com.oltpbenchmark.catalog.Table;
+import com.oltpbenchmark.types.DatabaseType;
+import com.oltpbenchmark.util.SQLUtil;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A local file that records which {@link LoadTask}s of a load have started and finished, so that an
+ * interrupted load can be resumed. Each line is appended and flushed as soon as a task starts or
+ * finishes:
+ *
+ * <pre>
+ * # benchbase load manifest
+ * signature benchmark=tpcc scalefactor=100.0
+ * started warehouse[1]
+ * finished warehouse[1]
+ * </pre>
+ */
+final class LoadManifest implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(LoadManifest.class);
+
+  private static final String HEADER = "# benchbase load manifest";
+  private static final String SIGNATURE = "signature ";
+  private static final String STARTED = "started ";
+  private static final String FINISHED = "finished ";
+
+  private final Path file;
+  private final Set<String> started = new LinkedHashSet<>();
+  private final Set<String> finished = new HashSet<>();
+  private final BufferedWriter writer;
+
+  private LoadManifest(Path file, BufferedWriter writer) {
+    this.file = file;
+    this.writer = writer;
+  }
+
+  /**
+   * Opens the manifest of a load. When resuming, the tasks that the existing manifest lists are
+   * read back, and new entries are appended to it. Otherwise, the manifest starts over.
+   *
+   * @param signature Describes the data that is loaded, e.g. the benchmark and its scale factor
+   * @throws IllegalStateException if the existing manifest was written for a different signature
+   */
+  static LoadManifest open(Path file, String signature, boolean resume) throws IOException {
+    if (resume && Files.exists(file)) {
+      List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+      String written = null;
+      Set<String> started = new LinkedHashSet<>();
+      Set<String> finished = new HashSet<>();
+      for (String line : lines) {
+        if (line.startsWith(SIGNATURE)) {
+          written = line.substring(SIGNATURE.length());
+        } else if (line.startsWith(STARTED)) {
+          started.add(line.substring(STARTED.length()));
+        } else if (line.startsWith(FINISHED)) {
+          finished.add(line.substring(FINISHED.length()));
+        }
+      }
+      if (!signature.equals(written)) {
+        throw new IllegalStateException(
+            String.format(
+                "Load manifest %s was written for [%s], not [%s]. Load again without resuming.",
+                file, written, signature));
+      }
+      BufferedWriter writer =
+          Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+      LoadManifest manifest = new LoadManifest(file, writer);
+      manifest.started.addAll(started);
+      manifest.finished.addAll(finished);
+      return manifest;
+    }
+
+    if (resume) {
+      LOG.warn("No load manifest at {}. Loading everything.", file);
+    }
+    if (file.getParent() != null) {
+      Files.createDirectories(file.getParent());
+    }
+    LoadManifest manifest =
+        new LoadManifest(file, Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    manifest.append(HEADER);
+    manifest.append(SIGNATURE + signature);
+    return manifest;
+  }
+
+  boolean isFinished(String task) {
+    return finished.contains(task);
+  }
+
+  synchronized void started(LoadTask task) {
+    started.add(task.getName());
+    append(STARTED + task.getName());
+  }
+
+  synchronized void finished(LoadTask task) {
+    finished.add(task.getName());
+    append(FINISHED + task.getName());
+  }
+
+  /**
+   * Works out which tasks still have to run. Tasks that finished are skipped. The rows of tasks
+   * that started but did not finish are counted: if they are all there, the task is recorded as
+   * finished, otherwise its rows are deleted so that it can run again.
+   *
+   * @throws IllegalStateException if an unfinished task cannot be resumed, or if the manifest lists
+   *     tasks that the loader no longer creates
+   */
+  void resume(List<LoadTask> tasks, Connection conn, DatabaseType dbType, AbstractCatalog catalog)
+      throws SQLException {
+    Set<String> unknown = new LinkedHashSet<>(started);
+    int skipped = 0;
+    for (LoadTask task : tasks) {
+      unknown.remove(task.getName());
+      if (!started.contains(task.getName())) {
+        continue;
+      }
+      if (!task.isResumable()) {
+        throw new IllegalStateException(
+            String.format(
+                "Load task %s cannot be resumed. Clear the database and load it again.", task));
+      }
+      if (!finished.contains(task.getName())) {
+        if (isComplete(task, conn, dbType, catalog)) {
+          LOG.info("Load task {} did not record that it finished, but all its rows exist.", task);
+          finished(task);
+        } else {
+          LOG.info("Deleting the rows of load task {}, which did not finish.", task);
+          delete(task, conn, dbType, catalog);
+          continue;
+        }
+      }
+      task.skipped = true;
+      skipped++;
+    }
+    if (!unknown.isEmpty()) {
+      throw new IllegalStateException(
+          String.format(
+              "Load manifest %s lists tasks %s that this loader does not create. Load again without"
+                  + " resuming.",
+              file, unknown));
+    }
+    LOG.info("Resuming the load: skipping {} of {} load tasks.", skipped, tasks.size());
+  }
+
+  private static boolean isComplete(
+      LoadTask task, Connection conn, DatabaseType dbType, AbstractCatalog catalog)
+      throws SQLException {
+    for (LoadTask.Rows rows : task.getRows()) {
+      if (rows.expected() < 0) {
+        return false;
+      }
+      Table table = catalog.getTable(rows.table());
+      String sql = SQLUtil.getCountSQL(dbType, table) + where(rows, table, dbType);
+      try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        bind(stmt, rows);
+        try (ResultSet rs = stmt.executeQuery()) {
+          long count = rs.next() ? rs.getLong(1) : 0;
+          if (count != rows.expected()) {
+            LOG.debug(
+                "Load task {} has {} of {} rows in {}", task, count, rows.expected(), rows.table());
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private static void delete(
+      LoadTask task, Connection conn, DatabaseType dbType, AbstractCatalog catalog)
+      throws SQLException {
+    boolean autoCommit = conn.getAutoCommit();
+    conn.setAutoCommit(false);
+    try {
+      // Rows are declared in the order they are loaded, parents first, and referencing rows have
+      // to go before the rows they reference
+      for (LoadTask.Rows rows : task.getRows().reversed()) {
+        Table table = catalog.getTable(rows.table());
+        String tableName = dbType.shouldEscapeNames() ? table.getEscapedName() : table.getName();
+        String sql = "DELETE FROM " + tableName + where(rows, table, dbType);
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+          bind(stmt, rows);
+          stmt.executeUpdate();
+        }
+      }
+      conn.commit();
+    } catch (SQLException ex) {
+      conn.rollback();
+      throw ex;
+    } finally {
+      conn.setAutoCommit(autoCommit);
+    }
+  }
+
+  private static String where(LoadTask.Rows rows, Table table, DatabaseType dbType) {
+    if (rows.keyColumn() == null) {
+      return "";
+    }
+    Column column = table.getColumnByName(rows.keyColumn());
+    if (column == null) {
+      throw new IllegalArgumentException(
+          String.format("Table %s has no column %s", rows.table(), rows.keyColumn()));
+    }
+    String columnName = dbType.shouldEscapeNames() ? column.getEscapedName() : column.getName();
+    return " WHERE " + columnName + " BETWEEN ? AND ?";
+  }
+
+  private static void bind(PreparedStatement stmt, LoadTask.Rows rows) throws SQLException {
+    if (rows.keyColumn() != null) {
+      stmt.setLong(1, rows.first());
+      stmt.setLong(2, rows.last());
+    }
+  }
+
+  private void append(String line) {
+    try {
+      writer.write(line);
+      writer.newLine();
+      writer.flush();
+    } catch (IOException ex) {
+      throw new RuntimeException("Failed to write load manifest " + file, ex);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the {@link LoadTask}s of a loader on a work-stealing pool. A task is only handed to the pool
+ * once it can run, so no thread sits blocked on a dependency, and the pool size only limits how
+ * many tasks load at the same time. Tasks that become runnable together are picked up in the order
+ * they were created in.
+ *
+ * <p>This only holds for dependencies declared with {@link LoadTask#dependsOn}. Loaders that still
+ * hand over their LoaderThreads through {@link Loader#asLoadTasks} and wait for each other in
+ * {@link LoaderThread#beforeLoad} block a pool thread while they wait, as before.
+ *
+ * <p>If a task fails, no further tasks are started, and {@link #run} throws once the running ones
+ * are done. With a {@link LoadManifest}, the start and end of every task is recorded, and tasks
+ * that a resumed load skips only release the tasks that wait for them.
+ */
+public final class LoadScheduler {
+  private static final Logger LOG = LoggerFactory.getLogger(LoadScheduler.class);
+
+  private final List<LoadTask> tasks;
+  private final List<LoadTask> roots;
+  private final ForkJoinPool pool;
+  private final AtomicInteger running = new AtomicInteger();
+  private final CountDownLatch done = new CountDownLatch(1);
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final LoadManifest manifest;
+
+  private LoadScheduler(
+      List<LoadTask> tasks, List<LoadTask> roots, int poolSize, LoadManifest manifest) {
+    this.tasks = tasks;
+    this.roots = roots;
+    this.manifest = manifest;
+    this.pool =
+        new ForkJoinPool(poolSize, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+  }
+
+  /**
+   * Runs the tasks, up to maxConcurrent at a time, and returns once all of them have finished.
+   *
+   * @throws IllegalArgumentException if the dependencies of the tasks form a cycle
+   * @throws RuntimeException if a task failed
+   */
+  public static void run(List<LoadTask> tasks, int maxConcurrent) throws InterruptedException {
+    run(tasks, maxConcurrent, null);
+  }
+
+  /**
+   * Runs the tasks like {@link #run(List, int)}, and records them in the given manifest, if any.
+   */
+  static void run(List<LoadTask> tasks, int maxConcurrent, LoadManifest manifest)
+      throws InterruptedException {
+    List<LoadTask> roots = link(tasks);
+    int poolSize = Math.max(1, Math.min(maxConcurrent, tasks.size()));
+    LOG.info("Running {} load tasks on up to {} threads.", tasks.size(), poolSize);
+
+    LoadScheduler scheduler = new LoadScheduler(tasks, roots, poolSize, manifest);
+    long start = System.nanoTime();
+    try {
+      scheduler.runAll();
+    } finally {
+      scheduler.pool.shutdownNow();
+      scheduler.pool.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    Throwable failure = scheduler.failure.get();
+    if (failure != null) {
+      throw new RuntimeException("Failed to load the database", failure);
+    }
+
+    long end = System.nanoTime();
+    List<LoadTask> path = criticalPath(tasks);
+    if (LOG.isInfoEnabled() && !path.isEmpty()) {
+      double pathSeconds = (path.get(path.size() - 1).endNs - path.get(0).startNs) / 1e9;
+      LOG.info(
+          String.format(
+              "Finished %d load tasks [time=%.02fs]. Critical path [time=%.02fs]: %s",
+              tasks.size(), (end - start) / 1e9, pathSeconds, path));
+    }
+  }
+
+  /**
+   * Resolves the edges between the tasks and makes sure that they can all run. Returns the tasks
+   * that wait for nothing, in the order they were created in.
+   */
+  private static List<LoadTask> link(List<LoadTask> tasks) {
+    Map<LoadTask, Boolean> known = new IdentityHashMap<>();
+    for (LoadTask task : tasks) {
+      known.put(task, Boolean.TRUE);
+    }
+    for (LoadTask task : tasks) {
+      task.dependents.clear();
+      task.followers.clear();
+    }
+    for (LoadTask task : tasks) {
+      for (LoadTask dependency : task.getDependencies()) {
+        checkKnown(known, task, dependency);
+        dependency.dependents.add(task);
+      }
+      for (LoadTask companion : task.getCompanions()) {
+        checkKnown(known, task, companion);
+        companion.followers.add(task);
+      }
+      task.waitingFor.set(task.getDependencies().size() + task.getCompanions().size());
+    }
+
+    // Kahn's algorithm: every task must become runnable at some point
+    Map<LoadTask, Integer> waiting = new IdentityHashMap<>();
+    Deque<LoadTask> ready = new ArrayDeque<>();
+    for (LoadTask task : tasks) {
+      waiting.put(task, task.waitingFor.get());
+      if (task.waitingFor.get() == 0) {
+        ready.add(task);
+      }
+    }
+    List<LoadTask> roots = new ArrayList<>(ready);
+    int reached = 0;
+    while (!ready.isEmpty()) {
+      LoadTask task = ready.poll();
+      reached++;
+      for (List<LoadTask> next : List.of(task.dependents, task.followers)) {
+        for (LoadTask t : next) {
+          if (waiting.merge(t, -1, Integer::sum) == 0) {
+            ready.add(t);
+          }
+        }
+      }
+    }
+    if (reached != tasks.size()) {
+      throw new IllegalArgumentException("The dependencies of the load tasks form a cycle");
+    }
+    return roots;
+  }
+
+  private static void checkKnown(Map<LoadTask, Boolean> known, LoadTask task, LoadTask other) {
+    if (!known.containsKey(other)) {
+      throw new IllegalArgumentException(
+          "Load task " + task + " refers to " + other + ", which is not scheduled");
+    }
+  }
+
+  private void runAll() throws InterruptedException {
+    if (tasks.isEmpty()) {
+      return;
+    }
+    // Hold back the end until all initial tasks are submitted. Only the roots are submitted here:
+    // any other task is submitted by the release that brings its count to zero, which may already
+    // have happened while this loop runs.
+    running.incrementAndGet();
+    for (LoadTask task : roots) {
+      submit(task);
+    }
+    finishOne();
+    done.await();
+  }
+
+  private void submit(LoadTask task) {
+    running.incrementAndGet();
+    pool.execute(() -> execute(task));
+  }
+
+  private void execute(LoadTask task) {
+    try {
+      if (failure.get() != null) {
+        return;
+      }
+      if (!task.skipped) {
+        task.startNs = System.nanoTime();
+        if (manifest != null) {
+          manifest.started(task);
+        }
+      }
+      for (LoadTask follower : task.followers) {
+        release(follower);
+      }
+      try {
+        if (!task.skipped) {
+          task.getWork().run();
+          if (manifest != null) {
+            manifest.finished(task);
+          }
+        }
+      } catch (Throwable ex) {
+        LOG.error(String.format("Load task %s failed: %s", task, ex.getMessage()), ex);
+        failure.compareAndSet(null, ex);
+        return;
+      } finally {
+        if (!task.skipped) {
+          task.endNs = System.nanoTime();
+        }
+      }
+      for (LoadTask dependent : task.dependents) {
+        release(dependent);
+      }
+    } finally {
+      finishOne();
+    }
+  }
+
+  private void release(LoadTask task) {
+    if (task.waitingFor.decrementAndGet() == 0 && failure.get() == null) {
+      submit(task);
+    }
+  }
+
+  private void finishOne() {
+    if (running.decrementAndGet() == 0) {
+      done.countDown();
+    }
+  }
+
+  /**
+   * Returns the chain of tasks that bounded the load time: starting from the task that finished
+   * last, each step goes back to the dependency that finished last.
+   */
+  static List<LoadTask> criticalPath(List<LoadTask> tasks) {
+    LoadTask last = null;
+    for (LoadTask task : tasks) {
+      if (task.endNs != 0 && (last == null || task.endNs > last.endNs)) {
+        last = task;
+      }
+    }
+    List<LoadTask> path = new ArrayList<>();
+    while (last != null) {
+      path.add(last);
+      LoadTask previous = null;
+      for (LoadTask dependency : last.getDependencies()) {
+        if (dependency.endNs != 0 && (previous == null || dependency.endNs > previous.endNs)) {
+          previous = dependency;
+        }
+      }
+      last = previous;
+    }
+    Collections.reverse(path);
+    return path;
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A unit of work of a {@link Loader}. A task only starts once every task it {@link #dependsOn
+ * depends on} has finished, and once every task it {@link #runsAlongside runs alongside} has
+ * started. The {@link LoadScheduler} never hands a task to a thread before then, so tasks do not
+ * hold on to threads while they wait.
+ *
+ * <p>A task that declares all of the rows it {@link #loads} can be resumed: if a load is
+ * interrupted, the rows of its unfinished tasks are counted, and deleted again if they are
+ * incomplete, before those tasks run once more.
+ */
+public final class LoadTask {
+
+  /** Loads the rows of a task over the given connection */
+  @FunctionalInterface
+  public interface Work {
+    void load(Connection conn) throws SQLException;
+  }
+
+  /** Loads the rows with the ids in [first, last] over the given connection */
+  @FunctionalInterface
+  public interface RangeWork {
+    void load(Connection conn, long first, long last) throws SQLException;
+  }
+
+  /**
+   * Rows of one table that a task loads: those whose key column is in [first, last], or all of the
+   * rows of the table if the key column is null. The expected number of rows is negative if it is
+   * not known up front.
+   */
+  public record Rows(String table, String keyColumn, long first, long last, long expected) {}
+
+  private final String name;
+  private final LoaderThread thread;
+  private final Runnable work;
+  private final List<LoadTask> dependencies = new ArrayList<>();
+  private final List<LoadTask> companions = new ArrayList<>();
+  private final List<Rows> rows = new ArrayList<>();
+
+  // Filled in by the scheduler
+  final List<LoadTask> dependents = new ArrayList<>();
+  final List<LoadTask> followers = new ArrayList<>();
+  final AtomicInteger waitingFor = new AtomicInteger();
+  volatile long startNs;
+  volatile long endNs;
+  boolean skipped;
+
+  public LoadTask(String name, LoaderThread thread) {
+    this.name = name;
+    this.thread = thread;
+    this.work = thread;
+  }
+
+  /** Creates a task that does not need a connection or a random stream of its own. */
+  LoadTask(String name, Runnable work) {
+    this.name = name;
+    this.thread = null;
+    this.work = work;
+  }
+
+  /** Creates a task that runs the given work on a connection of its own. */
+  public static LoadTask of(BenchmarkModule benchmark, String name, Work work) {
+    return new LoadTask(
+        name,
+        new LoaderThread(benchmark) {
+          @Override
+          public void load(Connection conn) throws SQLException {
+            work.load(conn);
+          }
+        });
+  }
+
+  /**
+   * Splits the ids in [first, last] into chunks of at most chunkSize ids, and creates one task for
+   * each chunk. The chunks do not depend on each other, so they load in parallel.
+   */
+  public static List<LoadTask> ranges(
+      BenchmarkModule benchmark,
+      String name,
+      long first,
+      long last,
+      long chunkSize,
+      RangeWork work) {
+    return ranges(benchmark, name, null, first, last, chunkSize, work);
+  }
+
+  /**
+   * Splits the rows of a table whose key column is in [first, last] into chunks of at most
+   * chunkSize keys, where each key has one row, and creates one resumable task for each chunk.
+   */
+  public static List<LoadTask> ranges(
+      BenchmarkModule benchmark,
+      String table,
+      String keyColumn,
+      long first,
+      long last,
+      long chunkSize,
+      RangeWork work) {
+    List<LoadTask> tasks = new ArrayList<>();
+    for (long from = first; from <= last; from += chunkSize) {
+      long chunkFirst = from;
+      long chunkLast = Math.min(last, from + chunkSize - 1);
+      LoadTask task =
+          of(
+              benchmark,
+              String.format("%s[%d-%d]", table, chunkFirst, chunkLast),
+              conn -> work.load(conn, chunkFirst, chunkLast));
+      if (keyColumn != null) {
+        task.loads(table, keyColumn, chunkFirst, chunkLast, chunkLast - chunkFirst + 1);
+      }
+      tasks.add(task);
+    }
+    return tasks;
+  }
+
+  /** This task starts once the given tasks have finished. */
+  public LoadTask dependsOn(LoadTask... tasks) {
+    Collections.addAll(this.dependencies, tasks);
+    return this;
+  }
+
+  /** This task starts once the given tasks have finished. */
+  public LoadTask dependsOn(Collection<LoadTask> tasks) {
+    this.dependencies.addAll(tasks);
+    return this;
+  }
+
+  /**
+   * This task starts once the given task has started, e.g. because it consumes the rows the other
+   * one produces while both run.
+   */
+  public LoadTask runsAlongside(LoadTask task) {
+    this.companions.add(task);
+    return this;
+  }
+
+  /**
+   * This task loads the rows of the table whose key column is in [first, last], and nothing else
+   * loads any of them. Pass a negative number of expected rows if it is not known. Declare tables
+   * before the tables that reference them: a resumed load deletes the rows in reverse order.
+   */
+  public LoadTask loads(String table, String keyColumn, long first, long last, long expected) {
+    this.rows.add(new Rows(table, keyColumn, first, last, expected));
+    return this;
+  }
+
+  /** This task loads all of the rows of the table. */
+  public LoadTask loadsTable(String table, long expected) {
+    this.rows.add(new Rows(table, null, 0, 0, expected));
+    return this;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the loader thread of this task, or null if it does not need one. */
+  public LoaderThread getLoaderThread() {
+    return thread;
+  }
+
+  Runnable getWork() {
+    return work;
+  }
+
+  public List<LoadTask> getDependencies() {
+    return Collections.unmodifiableList(dependencies);
+  }
+
+  public List<LoadTask> getCompanions() {
+    return Collections.unmodifiableList(companions);
+  }
+
+  public List<Rows> getRows() {
+    return Collections.unmodifiableList(rows);
+  }
+
+  /** Returns whether this task declares the rows it loads, so that it can be resumed. */
+  public boolean isResumable() {
+    return !rows.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -27,8 +27,11 @@ import com.oltpbenchmark.util.SQLUtil;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.TreeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +46,7 @@ public abstract class Loader<T extends BenchmarkModule> {
   protected final WorkloadConfiguration workConf;
   protected final double scaleFactor;
   private final Histogram<String> tableSizes = new Histogram<>(true);
+  private final Map<String, TableLoad> tableLoads = new TreeMap<>();
 
   public Loader(T benchmark) {
     this.benchmark = benchmark;
@@ -51,20 +55,32 @@ public abstract class Loader<T extends BenchmarkModule> {
   }
 
   /**
-   * Each Loader will generate a list of Runnable objects that will perform the loading operation
-   * for the benchmark. The number of threads that will be launched at the same time depends on the
-   * number of cores that are available. But they are guaranteed to execute in the order specified
-   * in the list. You will have to use your own protections if there are dependencies between
-   * threads (i.e., if one table needs to be loaded before another).
+   * Each Loader generates the tasks that load the database. Tasks declare the tasks they depend on,
+   * and the framework only runs a task once its dependencies are done, so no thread is held up
+   * waiting. Large tables can be split into independent chunks with {@link LoadTask#ranges}.
    *
-   * <p>Each LoaderThread will be given a Connection handle to the DBMS when it is invoked.
+   * <p>Each task will be given a Connection handle to the DBMS when it is invoked.
    *
-   * <p>If the benchmark does <b>not</b> support multi-threaded loading yet, then this method should
-   * return null.
+   * @return The tasks the framework will run.
+   */
+  public abstract List<LoadTask> createLoadTasks() throws SQLException;
+
+  /**
+   * Turns a list of LoaderThreads into independent tasks that are started in list order, for
+   * loaders that have not been split into dependent tasks. You will have to use your own
+   * protections if there are dependencies between threads (i.e., if one table needs to be loaded
+   * before another).
    *
-   * @return The list of LoaderThreads the framework will launch.
+   * @param threads the threads to run, in the order they should start
+   * @return The tasks the framework will run.
    */
-  public abstract List<LoaderThread> createLoaderThreads() throws SQLException;
+  protected final List<LoadTask> asLoadTasks(List<LoaderThread> threads) {
+    List<LoadTask> tasks = new ArrayList<>(threads.size());
+    for (int i = 0; i < threads.size(); i++) {
+      tasks.add(new LoadTask(getClass().getSimpleName() + "-" + i, threads.get(i)));
+    }
+    return tasks;
+  }
 
   public void addToTableCount(String tableName, int delta) {
     this.tableSizes.put(tableName, delta);
@@ -74,6 +90,29 @@ public abstract class Loader<T extends BenchmarkModule> {
     return (this.tableSizes);
   }
 
+  /** Returns how many rows were loaded into each table through a BulkSink, and how fast. */
+  public Map<String, TableLoad> getTableLoads() {
+    synchronized (tableLoads) {
+      return new TreeMap<>(tableLoads);
+    }
+  }
+
+  /**
+   * Open a BulkSink for the given table. Depending on the configuration, the rows are written with
+   * the native bulk load protocol of the database or with batched INSERTs.
+   *
+   * @param conn the connection to load the table over
+   * @param tableName the name of the table in the catalog
+   */
+  public BulkSink getBulkSink(Connection conn, String tableName) throws SQLException {
+    Table catalog_tbl = benchmark.getCatalog().getTable(tableName);
+    TableLoad tableLoad;
+    synchronized (tableLoads) {
+      tableLoad = tableLoads.computeIfAbsent(catalog_tbl.getName(), name -> new TableLoad());
+    }
+    return new CountingBulkSink(BulkSink.open(conn, catalog_tbl, workConf), tableLoad);
+  }
+
   public DatabaseType getDatabaseType() {
     return (this.workConf.getDatabaseType());
   }
@@ -110,6 +149,32 @@ public abstract class Loader<T extends BenchmarkModule> {
     }
   }
 
+  /** Rows loaded into one table, over the time from the first sink opened to the last one closed */
+  public static final class TableLoad {
+    private long rows;
+    private long firstNs = Long.MAX_VALUE;
+    private long lastNs = Long.MIN_VALUE;
+
+    synchronized void add(long rows, long openNs, long closeNs) {
+      this.rows += rows;
+      this.firstNs = Math.min(this.firstNs, openNs);
+      this.lastNs = Math.max(this.lastNs, closeNs);
+    }
+
+    public synchronized long getRows() {
+      return rows;
+    }
+
+    public synchronized double getSeconds() {
+      return lastNs < firstNs ? 0 : (lastNs - firstNs) / 1e9;
+    }
+
+    public synchronized double getRowsPerSecond() {
+      double seconds = getSeconds();
+      return seconds > 0 ? rows / seconds : 0;
+    }
+  }
+
   protected void updateAutoIncrement(Connection conn, Column catalog_col, int value)
       throws SQLException {
     String sql = null;
@@ -19,6 +19,7 @@ package com.oltpbenchmark.api;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Random;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,12 +33,20 @@ public abstract class LoaderThread implements Runnable {
 
   private final BenchmarkModule benchmarkModule;
 
+  // Random stream of this loader thread, installed while it loads
+  private Random random;
+
   public LoaderThread(BenchmarkModule benchmarkModule) {
     this.benchmarkModule = benchmarkModule;
   }
 
+  final void setRandom(Random random) {
+    this.random = random;
+  }
+
   @Override
   public final void run() {
+    BenchmarkModule.setThreadRandom(random);
     beforeLoad();
     try (Connection conn = benchmarkModule.makeConnection()) {
       load(conn);
@@ -51,6 +60,7 @@ public abstract class LoaderThread implements Runnable {
       throw new RuntimeException(ex);
     } finally {
       afterLoad();
+      BenchmarkModule.setThreadRandom(null);
     }
   }
 
@@ -64,7 +74,8 @@ public abstract class LoaderThread implements Runnable {
 
   public void beforeLoad() {
     // useful for implementing waits for countdown latches, this ensures we open the connection
-    // right before its used to avoid stale connections
+    // right before its used to avoid stale connections. Loaders that declare the dependencies of
+    // their LoadTasks do not need to wait here.
   }
 
   public void afterLoad() {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.catalog.Column;
+import com.oltpbenchmark.catalog.Table;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+
+/**
+ * Loads the rows in chunks with LOAD DATA LOCAL INFILE, reading each chunk from memory through the
+ * local infile stream of the MySQL Connector/J driver. The server has to allow local infiles and
+ * the JDBC url needs allowLoadLocalInfile=true. The driver is only on the classpath of the mysql
+ * build profile, so its API is looked up through reflection.
+ */
+final class MySQLLoadDataSink extends TextBulkSink {
+  private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+  private final Connection conn;
+  private final String sql;
+  private final Class<?> jdbcStatement;
+  private final Method setLocalInfileInputStream;
+
+  MySQLLoadDataSink(Connection conn, Table catalog_tbl) throws ReflectiveOperationException {
+    super(catalog_tbl.getColumnCount(), CHUNK_SIZE);
+    this.conn = conn;
+    this.jdbcStatement = Class.forName("com.mysql.cj.jdbc.JdbcStatement");
+    this.setLocalInfileInputStream =
+        jdbcStatement.getMethod("setLocalInfileInputStream", InputStream.class);
+
+    StringJoiner columns = new StringJoiner(", ", " (", ")");
+    for (Column catalog_col : catalog_tbl.getColumns()) {
+      columns.add(catalog_col.getEscapedName());
+    }
+    this.sql =
+        "LOAD DATA LOCAL INFILE 'stream' INTO TABLE "
+            + catalog_tbl.getEscapedName()
+            + " CHARACTER SET utf8mb4"
+            + columns;
+  }
+
+  @Override
+  protected void write(byte[] data, int len) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      setLocalInfileInputStream.invoke(
+          stmt.unwrap(jdbcStatement), new ByteArrayInputStream(data, 0, len));
+      stmt.execute(sql);
+    } catch (ReflectiveOperationException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  @Override
+  protected void endWrite() {
+    // every chunk is a statement of its own
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.catalog.Column;
+import com.oltpbenchmark.catalog.Table;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.StringJoiner;
+
+/**
+ * Streams the rows into a COPY ... FROM STDIN through the CopyManager of the PostgreSQL JDBC
+ * driver. The driver is only on the classpath of the postgres build profile, so its API is looked
+ * up through reflection. A COPY is started with the first chunk and ends with the next flush.
+ */
+final class PostgresCopySink extends TextBulkSink {
+  private static final int CHUNK_SIZE = 64 * 1024;
+
+  private final Object copyApi;
+  private final Method copyInMethod;
+  private final String sql;
+  private final Method writeToCopy;
+  private final Method endCopy;
+  private final Method cancelCopy;
+
+  private Object copyIn = null;
+
+  PostgresCopySink(Connection conn, Table catalog_tbl)
+      throws SQLException, ReflectiveOperationException {
+    super(catalog_tbl.getColumnCount(), CHUNK_SIZE);
+
+    Class<?> pgConnection = Class.forName("org.postgresql.PGConnection");
+    Class<?> copyManager = Class.forName("org.postgresql.copy.CopyManager");
+    Class<?> copyInClass = Class.forName("org.postgresql.copy.CopyIn");
+    this.copyInMethod = copyManager.getMethod("copyIn", String.class);
+    this.writeToCopy = copyInClass.getMethod("writeToCopy", byte[].class, int.class, int.class);
+    this.endCopy = copyInClass.getMethod("endCopy");
+    this.cancelCopy = copyInClass.getMethod("cancelCopy");
+
+    StringJoiner columns = new StringJoiner(", ", " (", ")");
+    for (Column catalog_col : catalog_tbl.getColumns()) {
+      columns.add(catalog_col.getName());
+    }
+    this.sql = "COPY " + catalog_tbl.getName() + columns + " FROM STDIN";
+
+    try {
+      this.copyApi = pgConnection.getMethod("getCopyAPI").invoke(conn.unwrap(pgConnection));
+    } catch (ReflectiveOperationException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  @Override
+  protected void write(byte[] data, int len) throws SQLException {
+    try {
+      if (copyIn == null) {
+        copyIn = copyInMethod.invoke(copyApi, sql);
+      }
+      writeToCopy.invoke(copyIn, data, 0, len);
+    } catch (ReflectiveOperationException ex) {
+      throw unwrap(ex);
+    }
+  }
+
+  @Override
+  protected void endWrite() throws SQLException {
+    if (copyIn == null) {
+      return;
+    }
+    try {
+      endCopy.invoke(copyIn);
+    } catch (ReflectiveOperationException ex) {
+      throw unwrap(ex);
+    } finally {
+      copyIn = null;
+    }
+  }
+
+  @Override
+  protected void abort() {
+    if (copyIn == null) {
+      return;
+    }
+    try {
+      cancelCopy.invoke(copyIn);
+    } catch (ReflectiveOperationException ex) {
+      // the original error is more interesting than this one
+    } finally {
+      copyIn = null;
+    }
+  }
+}
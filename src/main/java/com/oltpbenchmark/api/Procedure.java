@@ -27,7 +27,9 @@ import java.sql.SQLException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +45,12 @@ public abstract class Procedure {
 
   private Map<String, SQLStmt> name_stmt_xref;
 
+  /** Statements of the owning worker that are kept open across transactions, if enabled */
+  private StatementCache statementCache;
+
+  /** The SQLStmt fields of this Procedure, which are the only statements that get cached */
+  private Set<SQLStmt> cachedStatements;
+
   /** Constructor */
   protected Procedure() {
     this.procName = this.getClass().getSimpleName();
@@ -106,6 +114,17 @@ public abstract class Procedure {
    */
   public final PreparedStatement getPreparedStatementReturnKeys(
       Connection conn, SQLStmt stmt, int[] is) throws SQLException {
+    // Statements that are built on the fly are not cached, so that the cache cannot grow without
+    // bounds
+    if (this.statementCache != null && this.cachedStatements.contains(stmt)) {
+      return this.statementCache.getStatement(this, conn, stmt, is);
+    }
+    return this.prepareStatement(conn, stmt, is);
+  }
+
+  /** Prepare a new PreparedStatement for the given SQLStmt, bypassing the statement cache. */
+  final PreparedStatement prepareStatement(Connection conn, SQLStmt stmt, int[] is)
+      throws SQLException {
 
     PreparedStatement pStmt = null;
 
@@ -130,6 +149,16 @@ public abstract class Procedure {
     return (pStmt);
   }
 
+  /**
+   * Keep the PreparedStatements of this Procedure open in the given cache, which belongs to the
+   * Worker that owns this Procedure.
+   */
+  final void setStatementCache(StatementCache statementCache) {
+    this.statementCache = statementCache;
+    this.cachedStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+    this.cachedStatements.addAll(this.name_stmt_xref.values());
+  }
+
   /**
    * Fetch the SQL from the dialect map
    *
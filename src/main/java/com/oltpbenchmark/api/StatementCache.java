@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import com.oltpbenchmark.jdbc.DelegatingPreparedStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the PreparedStatements of a single worker open across transactions, keyed by the identity
+ * of their {@link SQLStmt}. The cache is bound to one connection at a time: asking for a statement
+ * on another connection, or calling {@link #clear()}, closes everything that was cached.
+ *
+ * <p>Procedures close their statements as usual. Closing a cached statement only clears its
+ * parameters and hands it back to the cache. If a procedure asks for a statement that it has not
+ * closed yet, it gets a new statement that is not cached, just like without the cache.
+ *
+ * <p>Instances are not thread-safe: each worker owns its own cache.
+ */
+final class StatementCache {
+  private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+
+  private final Map<SQLStmt, CachedStatement> statements = new IdentityHashMap<>();
+  private final Map<SQLStmt, CachedStatement> keyStatements = new IdentityHashMap<>();
+  private Connection connection;
+
+  private long hits;
+  private long misses;
+
+  /**
+   * Returns the cached statement for stmt on conn, preparing it through the procedure if it is not
+   * cached yet.
+   */
+  PreparedStatement getStatement(Procedure proc, Connection conn, SQLStmt stmt, int[] is)
+      throws SQLException {
+    if (conn != connection) {
+      clear();
+      connection = conn;
+    }
+
+    Map<SQLStmt, CachedStatement> cache = (is == null) ? statements : keyStatements;
+    CachedStatement cached = cache.get(stmt);
+    if (cached == null) {
+      misses++;
+      cached = new CachedStatement(proc.prepareStatement(conn, stmt, is));
+      cache.put(stmt, cached);
+    } else if (cached.inUse) {
+      misses++;
+      return proc.prepareStatement(conn, stmt, is);
+    } else {
+      hits++;
+    }
+    cached.inUse = true;
+    return cached;
+  }
+
+  /** Closes all cached statements and unbinds the cache from its connection. */
+  void clear() {
+    closeAll(statements);
+    closeAll(keyStatements);
+    connection = null;
+  }
+
+  long getHits() {
+    return hits;
+  }
+
+  long getMisses() {
+    return misses;
+  }
+
+  private static void closeAll(Map<SQLStmt, CachedStatement> cache) {
+    for (CachedStatement cached : cache.values()) {
+      try {
+        cached.closeStatement();
+      } catch (SQLException ex) {
+        // The connection is usually gone already
+        LOG.debug("Failed to close cached statement.", ex);
+      }
+    }
+    cache.clear();
+  }
+
+  private static final class CachedStatement extends DelegatingPreparedStatement {
+    private boolean inUse;
+    private boolean batched;
+
+    CachedStatement(PreparedStatement stmt) {
+      super(stmt);
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+      batched = true;
+      this.stmt.addBatch();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+      batched = true;
+      this.stmt.addBatch(sql);
+    }
+
+    /** Hands the statement back to the cache instead of closing it. */
+    @Override
+    public void close() throws SQLException {
+      if (!inUse) {
+        return;
+      }
+      inUse = false;
+      if (batched) {
+        batched = false;
+        this.stmt.clearBatch();
+      }
+      this.stmt.clearParameters();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+      return !inUse || this.stmt.isClosed();
+    }
+
+    void closeStatement() throws SQLException {
+      inUse = false;
+      this.stmt.close();
+    }
+  }
+}
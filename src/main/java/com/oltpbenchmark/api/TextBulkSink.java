@@ -0,0 +1,235 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * A BulkSink that encodes rows as UTF-8 text in the tab-separated format that both PostgreSQL COPY
+ * and MySQL LOAD DATA read by default: one line per row, NULL written as \N and backslash, tab,
+ * newline and carriage return escaped with a backslash. The text is collected in a reusable buffer
+ * and handed to {@link #write(byte[], int)} in chunks that always end on a row boundary. {@link
+ * #endWrite()} marks the end of the chunks belonging to one {@link #flush()}.
+ */
+abstract class TextBulkSink extends BulkSink {
+  private final StringBuilder[] fields;
+  private final boolean[] isSet;
+  private final int chunkSize;
+
+  private byte[] buffer;
+  private int length = 0;
+
+  TextBulkSink(int columnCount, int chunkSize) {
+    this.fields = new StringBuilder[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      this.fields[i] = new StringBuilder();
+    }
+    this.isSet = new boolean[columnCount];
+    this.chunkSize = chunkSize;
+    this.buffer = new byte[chunkSize + 1024];
+  }
+
+  /** Send a chunk of complete rows to the database. */
+  protected abstract void write(byte[] data, int len) throws SQLException;
+
+  /** Make the chunks written since the last call visible in the database. */
+  protected abstract void endWrite() throws SQLException;
+
+  /** Called instead of {@link #endWrite()} if writing the rows failed. */
+  protected void abort() {}
+
+  private StringBuilder field(int column) {
+    isSet[column - 1] = true;
+    StringBuilder field = fields[column - 1];
+    field.setLength(0);
+    return field;
+  }
+
+  @Override
+  public void setInt(int column, int value) {
+    field(column).append(value);
+  }
+
+  @Override
+  public void setShort(int column, short value) {
+    field(column).append(value);
+  }
+
+  @Override
+  public void setLong(int column, long value) {
+    field(column).append(value);
+  }
+
+  @Override
+  public void setFloat(int column, float value) {
+    field(column).append(value);
+  }
+
+  @Override
+  public void setDouble(int column, double value) {
+    field(column).append(value);
+  }
+
+  @Override
+  public void setString(int column, String value) {
+    if (value == null) {
+      isSet[column - 1] = false;
+    } else {
+      field(column).append(value);
+    }
+  }
+
+  @Override
+  public void setDate(int column, Date value) {
+    setString(column, value == null ? null : value.toString());
+  }
+
+  @Override
+  public void setTimestamp(int column, Timestamp value) {
+    setString(column, value == null ? null : value.toString());
+  }
+
+  @Override
+  public void setNull(int column, int sqlType) {
+    isSet[column - 1] = false;
+  }
+
+  @Override
+  public void setObject(int column, Object value) {
+    if (value instanceof Boolean) {
+      // both PostgreSQL booleans and MySQL tinyints accept 1 and 0
+      setInt(column, (Boolean) value ? 1 : 0);
+    } else if (value instanceof java.util.Date
+        && !(value instanceof Date)
+        && !(value instanceof Timestamp)) {
+      setTimestamp(column, new Timestamp(((java.util.Date) value).getTime()));
+    } else {
+      setString(column, value == null ? null : value.toString());
+    }
+  }
+
+  @Override
+  public void addRow() throws SQLException {
+    for (int i = 0; i < fields.length; i++) {
+      if (i > 0) {
+        append((byte) '\t');
+      }
+      if (isSet[i]) {
+        appendEscaped(fields[i]);
+        isSet[i] = false;
+      } else {
+        append((byte) '\\');
+        append((byte) 'N');
+      }
+    }
+    append((byte) '\n');
+
+    if (length >= chunkSize) {
+      write(buffer, length);
+      length = 0;
+    }
+  }
+
+  @Override
+  public void flush() throws SQLException {
+    boolean done = false;
+    try {
+      if (length > 0) {
+        write(buffer, length);
+        length = 0;
+      }
+      endWrite();
+      done = true;
+    } finally {
+      if (!done) {
+        abort();
+      }
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    flush();
+  }
+
+  private void append(byte b) {
+    if (length == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+    buffer[length++] = b;
+  }
+
+  private void appendEscaped(CharSequence value) {
+    for (int i = 0, n = value.length(); i < n; i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\':
+          append((byte) '\\');
+          append((byte) '\\');
+          break;
+        case '\t':
+          append((byte) '\\');
+          append((byte) 't');
+          break;
+        case '\n':
+          append((byte) '\\');
+          append((byte) 'n');
+          break;
+        case '\r':
+          append((byte) '\\');
+          append((byte) 'r');
+          break;
+        default:
+          if (c < 0x80) {
+            append((byte) c);
+          } else if (c < 0x800) {
+            append((byte) (0xC0 | (c >> 6)));
+            append((byte) (0x80 | (c & 0x3F)));
+          } else if (Character.isHighSurrogate(c)
+              && i + 1 < n
+              && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, value.charAt(++i));
+            append((byte) (0xF0 | (cp >> 18)));
+            append((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            append((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            append((byte) (0x80 | (cp & 0x3F)));
+          } else if (Character.isSurrogate(c)) {
+            // unpaired surrogate, encoded as '?' like String.getBytes() does
+            append((byte) '?');
+          } else {
+            append((byte) (0xE0 | (c >> 12)));
+            append((byte) (0x80 | ((c >> 6) & 0x3F)));
+            append((byte) (0x80 | (c & 0x3F)));
+          }
+      }
+    }
+  }
+
+  /** Unwrap the SQLException thrown by a driver method that was invoked through reflection. */
+  static SQLException unwrap(ReflectiveOperationException ex) {
+    Throwable cause = ex instanceof InvocationTargetException ? ex.getCause() : ex;
+    if (cause instanceof SQLException) {
+      return (SQLException) cause;
+    }
+    return new SQLException(cause);
+  }
+}
@@ -26,11 +26,13 @@ import com.oltpbenchmark.types.State;
 import com.oltpbenchmark.types.TransactionStatus;
 import com.oltpbenchmark.util.Histogram;
 import com.oltpbenchmark.util.SQLUtil;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLRecoverableException;
 import java.sql.Statement;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -46,6 +48,13 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
 
   private WorkloadState workloadState;
   private LatencyRecord latencies;
+
+  // Latency histograms of measured transactions, indexed by [phase id][transaction type id]
+  private LatencyHistogram[][] latencyHistograms = new LatencyHistogram[0][];
+
+  // Response time histograms of measured transactions, indexed like latencyHistograms
+  private LatencyHistogram[][] responseTimeHistograms = new LatencyHistogram[0][];
+
   private final Statement currStatement;
 
   // Interval requests used by the monitor
@@ -53,13 +62,19 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
 
   private final int id;
   private final T benchmark;
+  private final Random rng;
   protected Connection conn = null;
+  private final ConnectionPool connectionPool;
+  private final StatementCache statementCache;
   protected final WorkloadConfiguration configuration;
   protected final TransactionTypes transactionTypes;
   protected final Map<TransactionType, Procedure> procedures = new HashMap<>();
   protected final Map<String, Procedure> name_procedures = new HashMap<>();
   protected final Map<Class<? extends Procedure>, Procedure> class_procedures = new HashMap<>();
 
+  // Counters that are read while the run is in progress
+  private final LiveRecorder liveRecorder = new LiveRecorder();
+
   private final Histogram<TransactionType> txnUnknown = new Histogram<>();
   private final Histogram<TransactionType> txnSuccess = new Histogram<>();
   private final Histogram<TransactionType> txnAbort = new Histogram<>();
@@ -72,12 +87,15 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
   public Worker(T benchmark, int id) {
     this.id = id;
     this.benchmark = benchmark;
+    this.rng = benchmark.newWorkerRandom(id);
     this.configuration = this.benchmark.getWorkloadConfiguration();
     this.workloadState = this.configuration.getWorkloadState();
     this.currStatement = null;
     this.transactionTypes = this.configuration.getTransTypes();
+    this.connectionPool = this.benchmark.getConnectionPool();
 
-    if (!this.configuration.getNewConnectionPerTxn()) {
+    // Pooled workers only get a connection while they execute a transaction
+    if (!this.configuration.getNewConnectionPerTxn() && this.connectionPool == null) {
       try {
         this.conn = this.benchmark.makeConnection();
         this.conn.setAutoCommit(false);
@@ -94,6 +112,13 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
       this.name_procedures.put(e.getKey().getName(), proc);
       this.class_procedures.put(proc.getClass(), proc);
     }
+
+    this.statementCache = this.configuration.getStatementCache() ? new StatementCache() : null;
+    if (this.statementCache != null) {
+      for (Procedure proc : this.procedures.values()) {
+        proc.setStatementCache(this.statementCache);
+      }
+    }
   }
 
   /** Get the BenchmarkModule managing this Worker */
@@ -115,8 +140,17 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
     return (this.benchmark.getWorkloadConfiguration());
   }
 
+  /** Get the counters that publish this worker's progress while it runs. */
+  public final LiveRecorder getLiveRecorder() {
+    return liveRecorder;
+  }
+
+  /**
+   * Get the Random generator of this worker. Every worker draws from a stream of its own, which is
+   * reproducible if a seed is configured. The generator must only be used by this worker.
+   */
   public final Random rng() {
-    return (this.benchmark.rng());
+    return (this.rng);
   }
 
   public final int getRequests() {
@@ -127,10 +161,36 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
     return intervalRequests.getAndSet(0);
   }
 
-  public final Iterable<LatencyRecord.Sample> getLatencyRecords() {
+  public final LatencyRecord getLatencyRecords() {
     return latencies;
   }
 
+  /**
+   * Returns the latencies measured by this worker for the given phase and transaction type, or null
+   * if no such transaction completed during that phase.
+   */
+  public final LatencyHistogram getLatencyHistogram(int phaseId, int transactionTypeId) {
+    return getHistogram(latencyHistograms, phaseId, transactionTypeId);
+  }
+
+  /**
+   * Returns the response times measured by this worker for the given phase and transaction type, or
+   * null if no such transaction completed during that phase. Response times are measured from when
+   * a transaction was scheduled to start rather than from when the worker started it.
+   */
+  public final LatencyHistogram getResponseTimeHistogram(int phaseId, int transactionTypeId) {
+    return getHistogram(responseTimeHistograms, phaseId, transactionTypeId);
+  }
+
+  private static LatencyHistogram getHistogram(
+      LatencyHistogram[][] histograms, int phaseId, int transactionTypeId) {
+    if (phaseId >= histograms.length || histograms[phaseId] == null) {
+      return null;
+    }
+    LatencyHistogram[] byType = histograms[phaseId];
+    return transactionTypeId < byType.length ? byType[transactionTypeId] : null;
+  }
+
   public final Procedure getProcedure(TransactionType type) {
     return (this.procedures.get(type));
   }
@@ -169,6 +229,16 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
     return (this.txtRetryDifferent);
   }
 
+  /** Get the number of statements served from this worker's statement cache */
+  public final long getStatementCacheHits() {
+    return this.statementCache == null ? 0 : this.statementCache.getHits();
+  }
+
+  /** Get the number of statements this worker had to prepare with the statement cache enabled */
+  public final long getStatementCacheMisses() {
+    return this.statementCache == null ? 0 : this.statementCache.getMisses();
+  }
+
   /** Stop executing the current statement. */
   public synchronized void cancelStatement() {
     try {
@@ -185,8 +255,22 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
     Thread t = Thread.currentThread();
     t.setName(this.toString());
 
+    // Components that ask the benchmark for its generator get this worker's stream
+    BenchmarkModule.setThreadRandom(this.rng);
+
     // In case of reuse reset the measurements
-    latencies = new LatencyRecord(workloadState.getTestStartNs());
+    String spillDirectory = configuration.getSampleSpillDirectory();
+    if (spillDirectory == null) {
+      latencies = new LatencyRecord(workloadState.getTestStartNs());
+    } else {
+      latencies =
+          new LatencyRecord(
+              workloadState.getTestStartNs(),
+              Paths.get(spillDirectory),
+              configuration.getBenchmarkName() + "-" + this.id);
+    }
+    latencyHistograms = new LatencyHistogram[0][];
+    responseTimeHistograms = new LatencyHistogram[0][];
 
     // Invoke initialize callback
     try {
@@ -229,9 +313,12 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
       // Grab some work and update the state, in case it changed while we
       // waited.
 
-      SubmittedProcedure pieceOfWork = workloadState.fetchWork();
+      SubmittedProcedure pieceOfWork = workloadState.fetchWork(this.rng);
 
-      prePhase = workloadState.getCurrentPhase();
+      // The epoch is an immutable snapshot, so comparing it after the
+      // transaction tells us whether the phase changed in between.
+      WorkloadState.Epoch preEpoch = workloadState.getEpoch();
+      prePhase = preEpoch.getPhase();
       if (prePhase == null) {
         continue;
       }
@@ -283,6 +370,15 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
 
         long end = System.nanoTime();
 
+        // Rate-limited work is measured from when it was scheduled, so that the time it spent
+        // queued behind a slow database counts. Work that a worker picks up ahead of its slot
+        // is measured from when it started.
+        long scheduled = start;
+        if (prePhase.isRateLimited() && !prePhase.isSerial()) {
+          scheduled = Math.min(pieceOfWork.getStartTime(), start);
+        }
+        liveRecorder.recordLatency(transactionType.getId(), (end - scheduled + 500) / 1000);
+
         // PART 4: Record results
 
         State postState = workloadState.getGlobalState();
@@ -294,7 +390,8 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
             // changed, otherwise we're recording results for a query
             // that either started during the warmup phase or ended
             // after the timer went off.
-            Phase postPhase = workloadState.getCurrentPhase();
+            WorkloadState.Epoch postEpoch = workloadState.getEpoch();
+            Phase postPhase = postEpoch.getPhase();
 
             if (postPhase == null) {
               // Need a null check on postPhase since current phase being null is used in
@@ -306,8 +403,18 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
               // switch. In this scenario, just break from the switch.
               break;
             }
-            if (preState == MEASURE && postPhase.getId() == prePhase.getId()) {
-              latencies.addLatency(transactionType.getId(), start, end, this.id, prePhase.getId());
+            if (preState == MEASURE && postEpoch == preEpoch) {
+              latencies.addLatency(
+                  transactionType.getId(), scheduled, start, end, this.id, prePhase.getId());
+              latencyHistograms =
+                  recordHistogram(
+                      latencyHistograms, prePhase.getId(), transactionType.getId(), end - start);
+              responseTimeHistograms =
+                  recordHistogram(
+                      responseTimeHistograms,
+                      prePhase.getId(),
+                      transactionType.getId(),
+                      end - scheduled);
               intervalRequests.incrementAndGet();
             }
             if (prePhase.isLatencyRun()) {
@@ -341,8 +448,6 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
           }
         }
       }
-
-      workloadState.finishedWork();
     }
 
     LOG.debug("worker calling teardown");
@@ -350,6 +455,32 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
     tearDown();
   }
 
+  /**
+   * Records a value in the histogram of the given phase and transaction type, creating it if
+   * needed. Returns the histogram array, which is grown when the ids do not fit.
+   */
+  private static LatencyHistogram[][] recordHistogram(
+      LatencyHistogram[][] histograms, int phaseId, int transactionTypeId, long nanoseconds) {
+    if (phaseId >= histograms.length) {
+      histograms = Arrays.copyOf(histograms, phaseId + 1);
+    }
+    LatencyHistogram[] byType = histograms[phaseId];
+    if (byType == null || transactionTypeId >= byType.length) {
+      byType =
+          byType == null
+              ? new LatencyHistogram[transactionTypeId + 1]
+              : Arrays.copyOf(byType, transactionTypeId + 1);
+      histograms[phaseId] = byType;
+    }
+    LatencyHistogram histogram = byType[transactionTypeId];
+    if (histogram == null) {
+      histogram = new LatencyHistogram();
+      byType[transactionTypeId] = histogram;
+    }
+    histogram.recordValue((nanoseconds + 500) / 1000);
+    return histograms;
+  }
+
   private TransactionType getTransactionType(
       SubmittedProcedure pieceOfWork, Phase phase, State state, WorkloadState workloadState) {
     TransactionType type = TransactionType.INVALID;
@@ -390,6 +521,14 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
    */
   protected final void doWork(DatabaseType databaseType, TransactionType transactionType) {
 
+    if (this.connectionPool != null) {
+      try {
+        this.conn = this.connectionPool.acquire();
+      } catch (InterruptedException ex) {
+        throw new RuntimeException("Interrupted while waiting for a connection in " + this, ex);
+      }
+    }
+
     try {
       int retryCount = 0;
       int maxRetryCount = configuration.getMaxRetries();
@@ -399,6 +538,8 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
         TransactionStatus status = TransactionStatus.UNKNOWN;
 
         if (this.conn == null) {
+          // Statements prepared on the dropped connection can't be used anymore
+          invalidateStatementCache();
           try {
             if (!this.configuration.getNewConnectionPerTxn()) {
               if (retryCount > 0) {
@@ -409,7 +550,7 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
                 } catch (InterruptedException ex) {
                   // pass
                 }
-              } else {
+              } else if (this.connectionPool == null) {
                 LOG.info("(Re)connecting to database.");
               }
             }
@@ -603,6 +744,7 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
           }
         } finally {
           if (this.configuration.getNewConnectionPerTxn() && this.conn != null) {
+            invalidateStatementCache();
             try {
               this.conn.close();
               this.conn = null;
@@ -621,6 +763,7 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
             case RETRY_DIFFERENT -> this.txtRetryDifferent.put(transactionType);
             case ERROR -> this.txnErrors.put(transactionType);
           }
+          liveRecorder.recordStatus(transactionType.getId(), status);
         }
       }
     } catch (SQLException ex) {
@@ -630,6 +773,19 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
               this, transactionType, databaseType.name());
 
       throw new RuntimeException(msg, ex);
+    } finally {
+      if (this.connectionPool != null) {
+        // Another worker may get the connection next
+        invalidateStatementCache();
+        this.connectionPool.release(this.conn);
+        this.conn = null;
+      }
+    }
+  }
+
+  private void invalidateStatementCache() {
+    if (this.statementCache != null) {
+      this.statementCache.clear();
     }
   }
 
@@ -737,6 +893,7 @@ public abstract class Worker<T extends BenchmarkModule> implements Runnable {
 
   /** Called at the end of the test to do any clean up that may be required. */
   public void tearDown() {
+    invalidateStatementCache();
     if (!this.configuration.getNewConnectionPerTxn() && this.conn != null) {
       try {
         conn.close();
@@ -17,7 +17,8 @@
 
 package com.oltpbenchmark.benchmarks.auctionmark;
 
-import com.oltpbenchmark.api.BenchmarkModule;
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.auctionmark.util.*;
@@ -29,7 +30,6 @@ import com.oltpbenchmark.util.RandomDistribution.Flat;
 import com.oltpbenchmark.util.RandomDistribution.Zipf;
 import java.lang.reflect.Field;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.*;
@@ -124,68 +124,34 @@ public final class AuctionMarkLoader extends Loader<AuctionMarkBenchmark> {
   // LOADING METHODS
   // -----------------------------------------------------------------
 
-  private class CountdownLoaderThread extends LoaderThread {
-    private final AbstractTableGenerator generator;
-    private final CountDownLatch latch;
-
-    public CountdownLoaderThread(
-        BenchmarkModule benchmarkModule, AbstractTableGenerator generator, CountDownLatch latch) {
-      super(benchmarkModule);
-      this.generator = generator;
-      this.latch = latch;
-    }
-
-    @Override
-    public void load(Connection conn) throws SQLException {
-      LOG.debug(
-          String.format(
-              "Started loading %s which depends on %s",
-              this.generator.getTableName(), this.generator.getDependencies()));
-      this.generator.load(conn);
-      LOG.debug(String.format("Finished loading %s", this.generator.getTableName()));
-    }
-
-    @Override
-    public void beforeLoad() {
-      this.generator.beforeLoad();
-    }
-
-    @Override
-    public void afterLoad() {
-      this.generator.afterLoad();
-      this.latch.countDown();
-    }
-  }
-
   @Override
-  public List<LoaderThread> createLoaderThreads() {
-    List<LoaderThread> threads = new ArrayList<>();
-
-    final CountDownLatch loadLatch = new CountDownLatch(this.generators.size());
+  public List<LoadTask> createLoadTasks() {
+    List<LoadTask> tasks = new ArrayList<>();
+    Map<String, LoadTask> tableTasks = new HashMap<>();
 
     for (AbstractTableGenerator generator : this.generators.values()) {
       generator.init();
-      threads.add(new CountdownLoaderThread(this.benchmark, generator, loadLatch));
+      LoadTask task = new LoadTask(generator.getTableName(), generator);
+      tableTasks.put(generator.getTableName(), task);
+      tasks.add(task);
     }
 
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            profile.saveProfile(conn);
-          }
+    for (AbstractTableGenerator generator : this.generators.values()) {
+      LoadTask task = tableTasks.get(generator.getTableName());
+      for (String dependency : generator.getDependencies()) {
+        task.dependsOn(tableTasks.get(dependency));
+      }
+      // Sub-generators consume the rows of their source table while it is loaded
+      if (generator instanceof SubTableGenerator<?> sub_generator) {
+        task.runsAlongside(tableTasks.get(sub_generator.sourceTableName));
+      }
+    }
 
-          @Override
-          public void beforeLoad() {
-            try {
-              loadLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-        });
+    tasks.add(
+        LoadTask.of(this.benchmark, "PROFILE", profile::saveProfile)
+            .dependsOn(new ArrayList<>(tasks)));
 
-    return threads;
+    return tasks;
   }
 
   private void registerGenerator(AbstractTableGenerator generator) {
@@ -208,9 +174,7 @@ public final class AuctionMarkLoader extends Loader<AuctionMarkBenchmark> {
     final Table catalog_tbl = benchmark.getCatalog().getTable(tableName);
 
     final List<Object[]> volt_table = generator.getVoltTable();
-    final String sql = SQLUtil.getInsertSQL(catalog_tbl, this.getDatabaseType());
-    boolean shouldExecuteBatch = false;
-    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+    try (BulkSink sink = getBulkSink(conn, tableName)) {
       final int[] types = catalog_tbl.getColumnTypes();
 
       while (generator.hasMore()) {
@@ -219,20 +183,16 @@ public final class AuctionMarkLoader extends Loader<AuctionMarkBenchmark> {
         for (Object[] row : volt_table) {
           for (int i = 0; i < row.length; i++) {
             if (row[i] != null) {
-              stmt.setObject(i + 1, row[i]);
+              sink.setObject(i + 1, row[i]);
             } else {
-              stmt.setNull(i + 1, types[i]);
+              sink.setNull(i + 1, types[i]);
             }
           }
-          stmt.addBatch();
-          shouldExecuteBatch = true;
+          sink.addRow();
         }
 
-        if (shouldExecuteBatch) {
-          stmt.executeBatch();
-          stmt.clearBatch();
-          shouldExecuteBatch = false;
-        }
+        // The sub-generators may insert rows that reference this batch on other connections
+        sink.flush();
 
         this.tableSizes.put(tableName, volt_table.size());
 
@@ -386,28 +346,13 @@ public final class AuctionMarkLoader extends Loader<AuctionMarkBenchmark> {
 
     @Override
     public void beforeLoad() {
-      // First block on the CountDownLatches of all the tables that we depend on
+      // The scheduler only starts this generator once the tables that we depend on are loaded
       if (this.dependencyTables.size() > 0 && LOG.isDebugEnabled()) {
         LOG.debug(
             String.format(
-                "%s: Table generator is blocked waiting for %d other tables: %s",
+                "%s: Table generator depends on %d other tables: %s",
                 this.tableName, this.dependencyTables.size(), this.dependencyTables));
       }
-      for (String dependency : this.dependencyTables) {
-        AbstractTableGenerator gen = AuctionMarkLoader.this.generators.get(dependency);
-
-        try {
-          gen.latch.await();
-        } catch (InterruptedException ex) {
-          throw new RuntimeException(
-              "Unexpected interruption for '"
-                  + this.tableName
-                  + "' waiting for '"
-                  + dependency
-                  + "'",
-              ex);
-        }
-      }
 
       // Make sure we call prepare before we start generating table data
       this.prepare();
@@ -45,10 +45,10 @@ public class AuctionMarkProfile {
   private static final Logger LOG = LoggerFactory.getLogger(AuctionMarkProfile.class);
 
   /**
-   * We maintain a cached version of the profile that we will copy from This prevents the need to
-   * have every single client thread load up a separate copy
+   * We maintain a shared version of the profile that every worker takes its part from. This
+   * prevents the need to have every single client thread load up a separate copy
    */
-  private static AuctionMarkProfile cachedProfile;
+  private static SharedProfile sharedProfile;
 
   // ----------------------------------------------------------------
   // REQUIRED REFERENCES
@@ -98,10 +98,7 @@ public class AuctionMarkProfile {
   protected transient Histogram<Integer> items_per_category = new Histogram<>();
 
   /** Simple generic class overload to avoid some cast warnings below. */
-  class ItemInfoList extends LinkedList<ItemInfo> {
-    // Required serialization field.
-    static final long serialVersionUID = 0;
-  }
+  class ItemInfoList extends RingBuffer<ItemInfo> {}
 
   /**
    * Three status types for an item: (1) Available - The auction of this item is still open (2)
@@ -126,6 +123,9 @@ public class AuctionMarkProfile {
   /** Internal list of GlobalAttributeGroupIds */
   protected transient List<GlobalAttributeGroupId> gag_ids = new ArrayList<>();
 
+  /** The shared profile that this client took its part from, or null for the loader */
+  private transient SharedProfile shared;
+
   /** Internal map of UserIdGenerators */
   private transient UserIdGenerator userIdGenerator;
 
@@ -269,40 +269,33 @@ public class AuctionMarkProfile {
     }
   }
 
-  private AuctionMarkProfile copyProfile(AuctionMarkWorker worker, AuctionMarkProfile other) {
+  private AuctionMarkProfile copyProfile(AuctionMarkWorker worker, SharedProfile other) {
     this.client_id = worker.getId();
-    this.scale_factor = other.scale_factor;
+    this.shared = other;
+    this.scale_factor = other.scaleFactor;
     this.loaderStartTime = other.loaderStartTime;
     this.loaderStopTime = other.loaderStopTime;
-    this.users_per_itemCount = other.users_per_itemCount;
-    this.items_per_category = other.items_per_category;
-    this.gag_ids = other.gag_ids;
+    this.users_per_itemCount = other.usersPerItemCount;
 
     // Initialize the UserIdGenerator so we can figure out whether our
     // client should even have these ids
     this.initializeUserIdGenerator(this.client_id);
 
+    // Only our own part of the items is copied; it was carved out once for all clients
+    ItemInfo[][] clientItems = other.getItems(this.num_clients, this.client_id);
     for (int i = 0; i < this.allItemSets.length; i++) {
-      LinkedList<ItemInfo> list = this.allItemSets[i];
-
-      LinkedList<ItemInfo> origList = other.allItemSets[i];
-
-      for (ItemInfo itemInfo : origList) {
+      ItemInfo[] items = clientItems[i].clone();
+      for (ItemInfo itemInfo : items) {
         UserId sellerId = itemInfo.getSellerId();
-        if (this.userIdGenerator.checkClient(sellerId)) {
-          this.seller_item_cnt.set(sellerId, sellerId.getItemCount());
-          list.add(itemInfo);
-        }
+        this.seller_item_cnt.set(sellerId, sellerId.getItemCount());
       }
-      Collections.shuffle(list);
+      List<ItemInfo> shuffled = Arrays.asList(items);
+      Collections.shuffle(shuffled, this.rng);
+      this.allItemSets[i].addAll(shuffled);
     }
 
-    for (ItemCommentResponse cr : other.pending_commentResponses) {
-      UserId sellerId = new UserId(cr.getSellerId());
-      if (this.userIdGenerator.checkClient(sellerId)) {
-        this.pending_commentResponses.add(cr);
-      }
-    }
+    Collections.addAll(
+        this.pending_commentResponses, other.getPendingComments(this.num_clients, this.client_id));
 
     if (LOG.isTraceEnabled()) {
       LOG.trace("SellerItemCounts:\n{}", this.seller_item_cnt);
@@ -312,7 +305,7 @@ public class AuctionMarkProfile {
   }
 
   protected static void clearCachedProfile() {
-    cachedProfile = null;
+    sharedProfile = null;
   }
 
   /**
@@ -322,13 +315,13 @@ public class AuctionMarkProfile {
    */
   protected void loadProfile(AuctionMarkWorker worker) throws SQLException {
     synchronized (AuctionMarkProfile.class) {
-      // Check whether we have a cached Profile we can copy from
-      if (cachedProfile == null) {
+      // Check whether we have a shared Profile we can copy from
+      if (sharedProfile == null) {
 
-        // Store everything in the cached profile.
-        // We can then copy from that and extract out only the records
-        // that we need for each AuctionMarkWorker
-        cachedProfile = new AuctionMarkProfile(this.benchmark, this.rng);
+        // Load everything into a temporary profile.
+        // We then freeze that into the shared profile, from which each
+        // AuctionMarkWorker extracts out only the records that it needs
+        AuctionMarkProfile cachedProfile = new AuctionMarkProfile(this.benchmark, this.rng);
 
         // Otherwise we have to go fetch everything again
         // So first we want to reset the database
@@ -376,13 +369,14 @@ public class AuctionMarkProfile {
         if (LOG.isDebugEnabled()) {
           LOG.debug("Loaded profile:\n{}", cachedProfile.toString());
         }
+        sharedProfile = new SharedProfile(cachedProfile);
       }
     }
 
     if (LOG.isTraceEnabled()) {
-      LOG.trace("Using cached AuctionMarkProfile");
+      LOG.trace("Using shared AuctionMarkProfile");
     }
-    this.copyProfile(worker, cachedProfile);
+    this.copyProfile(worker, sharedProfile);
   }
 
   private void initializeUserIdGenerator(int clientId) {
@@ -702,7 +696,7 @@ public class AuctionMarkProfile {
     return (new ItemId(seller_id, cnt));
   }
 
-  private boolean addItem(LinkedList<ItemInfo> items, ItemInfo itemInfo) {
+  private boolean addItem(ItemInfoList items, ItemInfo itemInfo) {
     boolean added = false;
 
     int idx = items.indexOf(itemInfo);
@@ -725,7 +719,7 @@ public class AuctionMarkProfile {
 
         // Otherwise, we can will randomly decide whether to pop one out
       } else if (this.rng.nextBoolean()) {
-        items.pop();
+        items.removeFirst();
         items.addLast(itemInfo);
         added = true;
       }
@@ -736,7 +730,7 @@ public class AuctionMarkProfile {
   public void updateItemQueues() {
     Timestamp currentTime = this.updateAndGetCurrentTime();
 
-    for (LinkedList<ItemInfo> items : allItemSets) {
+    for (ItemInfoList items : allItemSets) {
       // If the items is already in the completed queue, then we don't need
       // to do anything with it.
       if (items == this.items_completed) {
@@ -833,7 +827,7 @@ public class AuctionMarkProfile {
    * @return
    */
   private ItemInfo getRandomItem(
-      LinkedList<ItemInfo> itemSet, boolean needCurrentPrice, boolean needFutureEndDate) {
+      ItemInfoList itemSet, boolean needCurrentPrice, boolean needFutureEndDate) {
     Timestamp currentTime = this.updateAndGetCurrentTime();
     int num_items = itemSet.size();
     int idx = -1;
@@ -980,14 +974,21 @@ public class AuctionMarkProfile {
    * @return
    */
   public GlobalAttributeValueId getRandomGlobalAttributeValue() {
-    int offset = rng.nextInt(this.gag_ids.size());
-    GlobalAttributeGroupId gag_id = this.gag_ids.get(offset);
+    GlobalAttributeGroupId gag_id;
+    if (this.shared != null) {
+      gag_id = this.shared.gagIds[rng.nextInt(this.shared.gagIds.length)];
+    } else {
+      gag_id = this.gag_ids.get(rng.nextInt(this.gag_ids.size()));
+    }
 
     int count = rng.nextInt(gag_id.getCount());
     return new GlobalAttributeValueId(gag_id, count);
   }
 
   public int getRandomCategoryId() {
+    if (this.shared != null) {
+      return this.shared.nextCategoryId(this.rng);
+    }
     if (this.randomCategory == null) {
       this.randomCategory = new FlatHistogram<>(this.rng, this.items_per_category);
     }
@@ -1032,4 +1033,135 @@ public class AuctionMarkProfile {
 
     return (StringUtil.formatMaps(m));
   }
+
+  /**
+   * The part of the profile that all clients share. It is frozen from a profile loaded from the
+   * database and never modified afterwards. The category counts and global attribute groups are
+   * kept in plain arrays. The items and pending comments are partitioned once by the client that
+   * owns their seller, so that each client only copies its own part.
+   */
+  static final class SharedProfile {
+    private final double scaleFactor;
+    private final Timestamp loaderStartTime;
+    private final Timestamp loaderStopTime;
+    private final Histogram<Long> usersPerItemCount;
+
+    /** Category ids, and the running total of their item counts in the same order */
+    private final int[] categoryIds;
+
+    private final long[] categoryTotals;
+    private final GlobalAttributeGroupId[] gagIds;
+
+    /** All items, by the index of their queue in allItemSets */
+    private final ItemInfo[][] items;
+
+    private final ItemCommentResponse[] pendingComments;
+
+    /** Items and pending comments by client, for the number of clients of the last partition */
+    private int partitionClients;
+
+    private ItemInfo[][][] clientItems;
+    private ItemCommentResponse[][] clientPendingComments;
+
+    private SharedProfile(AuctionMarkProfile profile) {
+      this.scaleFactor = profile.scale_factor;
+      this.loaderStartTime = profile.loaderStartTime;
+      this.loaderStopTime = profile.loaderStopTime;
+      this.usersPerItemCount = profile.users_per_itemCount;
+
+      int numCategories = profile.items_per_category.getValueCount();
+      this.categoryIds = new int[numCategories];
+      this.categoryTotals = new long[numCategories];
+      long total = 0;
+      int i = 0;
+      for (Integer categoryId : profile.items_per_category.values()) {
+        total += profile.items_per_category.get(categoryId);
+        this.categoryIds[i] = categoryId;
+        this.categoryTotals[i] = total;
+        i++;
+      }
+
+      this.gagIds = profile.gag_ids.toArray(new GlobalAttributeGroupId[0]);
+
+      this.items = new ItemInfo[profile.allItemSets.length][];
+      for (int q = 0; q < this.items.length; q++) {
+        this.items[q] = profile.allItemSets[q].toArray(new ItemInfo[0]);
+      }
+      this.pendingComments = profile.pending_commentResponses.toArray(new ItemCommentResponse[0]);
+    }
+
+    /** Returns a random category id, weighted by the number of items in each category */
+    private int nextCategoryId(Random rng) {
+      long target = rng.nextLong(this.categoryTotals[this.categoryTotals.length - 1]);
+      int low = 0;
+      int high = this.categoryTotals.length - 1;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (this.categoryTotals[mid] > target) {
+          high = mid;
+        } else {
+          low = mid + 1;
+        }
+      }
+      return (this.categoryIds[low]);
+    }
+
+    private synchronized ItemInfo[][] getItems(int numClients, int clientId) {
+      this.partition(numClients);
+      return (this.clientItems[clientId]);
+    }
+
+    private synchronized ItemCommentResponse[] getPendingComments(int numClients, int clientId) {
+      this.partition(numClients);
+      return (this.clientPendingComments[clientId]);
+    }
+
+    /**
+     * Splits the items and pending comments among the given number of clients, in one pass over
+     * each. This is only redone if the number of clients changes.
+     */
+    private void partition(int numClients) {
+      if (this.partitionClients == numClients) {
+        return;
+      }
+      UserIdGenerator generator = new UserIdGenerator(this.usersPerItemCount, numClients);
+
+      this.clientItems = new ItemInfo[numClients][this.items.length][];
+      for (int q = 0; q < this.items.length; q++) {
+        int[] clients = new int[this.items[q].length];
+        int[] counts = new int[numClients];
+        for (int i = 0; i < clients.length; i++) {
+          clients[i] = generator.getClient(this.items[q][i].getSellerId());
+          counts[clients[i]]++;
+        }
+        for (int c = 0; c < numClients; c++) {
+          this.clientItems[c][q] = new ItemInfo[counts[c]];
+          counts[c] = 0;
+        }
+        for (int i = 0; i < clients.length; i++) {
+          this.clientItems[clients[i]][q][counts[clients[i]]++] = this.items[q][i];
+        }
+      }
+
+      int[] clients = new int[this.pendingComments.length];
+      int[] counts = new int[numClients];
+      for (int i = 0; i < clients.length; i++) {
+        clients[i] = generator.getClient(new UserId(this.pendingComments[i].getSellerId()));
+        counts[clients[i]]++;
+      }
+      this.clientPendingComments = new ItemCommentResponse[numClients][];
+      for (int c = 0; c < numClients; c++) {
+        this.clientPendingComments[c] = new ItemCommentResponse[counts[c]];
+        counts[c] = 0;
+      }
+      for (int i = 0; i < clients.length; i++) {
+        this.clientPendingComments[clients[i]][counts[clients[i]]++] = this.pendingComments[i];
+      }
+
+      this.partitionClients = numClients;
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Partitioned the shared AuctionMarkProfile among {} clients", numClients);
+      }
+    }
+  }
 }
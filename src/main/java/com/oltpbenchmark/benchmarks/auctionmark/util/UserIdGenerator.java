@@ -30,6 +30,10 @@ public final class UserIdGenerator implements Iterator<UserId> {
   private final int numClients;
   private final Integer clientId;
   private final int[] usersPerItemCounts;
+
+  /** Number of users with fewer items than the index, so that positions are found in O(1) */
+  private final int[] usersBefore;
+
   private final int minItemCount;
   private final int maxItemCount;
   private final long totalUsers;
@@ -66,6 +70,10 @@ public final class UserIdGenerator implements Iterator<UserId> {
     for (int i = 0; i < this.usersPerItemCounts.length; i++) {
       this.usersPerItemCounts[i] = users_per_item_count.get((long) i, 0);
     }
+    this.usersBefore = new int[this.usersPerItemCounts.length];
+    for (int i = 1; i < this.usersBefore.length; i++) {
+      this.usersBefore[i] = this.usersBefore[i - 1] + this.usersPerItemCounts[i - 1];
+    }
 
     temp = users_per_item_count.getMinValue();
     this.minItemCount = (temp != null ? temp.intValue() : 0);
@@ -131,19 +139,26 @@ public final class UserIdGenerator implements Iterator<UserId> {
     if (this.clientId == null) {
       return (true);
     }
+    return (this.getClient(user_id) == this.clientId);
+  }
 
-    int tmp_count = 0;
-    int tmp_position = 0;
-    while (tmp_count <= this.maxItemCount) {
-      int num_users = this.usersPerItemCounts[tmp_count];
-      if (tmp_count == user_id.getItemCount()) {
-        tmp_position += (num_users - user_id.getOffset()) + 1;
-        break;
-      }
-      tmp_position += num_users;
-      tmp_count++;
+  /**
+   * Returns the id of the client that processes the given UserId, regardless of the client id this
+   * generator was created for
+   *
+   * @param user_id
+   * @return
+   */
+  public int getClient(UserId user_id) {
+    int count = user_id.getItemCount();
+    int position;
+    if (count > this.maxItemCount) {
+      position = this.usersBefore[this.maxItemCount + 1];
+    } else {
+      position =
+          this.usersBefore[count] + (this.usersPerItemCounts[count] - user_id.getOffset()) + 1;
     }
-    return (tmp_position % this.numClients == this.clientId);
+    return (position % this.numClients);
   }
 
   private UserId findNextUserId() {
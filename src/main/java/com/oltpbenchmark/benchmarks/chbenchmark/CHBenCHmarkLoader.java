@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.chbenchmark;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.chbenchmark.pojo.Nation;
@@ -58,7 +59,7 @@ public final class CHBenCHmarkLoader extends Loader<CHBenCHmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
 
     final CountDownLatch regionLatch = new CountDownLatch(1);
@@ -139,7 +140,7 @@ public final class CHBenCHmarkLoader extends Loader<CHBenCHmark> {
           }
         });
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   private void truncateTable(Connection conn, String strTable) {
@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.epinions;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -53,7 +54,7 @@ public final class EpinionsLoader extends Loader<EpinionsBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     final int numToLoad = this.num_items + this.num_users;
@@ -154,7 +155,7 @@ public final class EpinionsLoader extends Loader<EpinionsBenchmark> {
           });
     }
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   /**
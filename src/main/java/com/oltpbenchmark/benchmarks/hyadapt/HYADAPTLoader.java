@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.hyadapt;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -55,7 +56,7 @@ public final class HYADAPTLoader extends Loader<HYADAPTBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
 
     List<LoaderThread> threads = new ArrayList<>();
 
@@ -94,6 +95,6 @@ public final class HYADAPTLoader extends Loader<HYADAPTBenchmark> {
           }
         });
 
-    return threads;
+    return asLoadTasks(threads);
   }
 }
@@ -17,8 +17,8 @@
 
 package com.oltpbenchmark.benchmarks.noop;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
-import com.oltpbenchmark.api.LoaderThread;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,7 +34,7 @@ public final class NoOpLoader extends Loader<NoOpBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     return new ArrayList<>();
   }
 }
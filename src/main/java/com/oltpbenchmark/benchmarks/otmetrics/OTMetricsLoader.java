@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.otmetrics;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -45,7 +46,7 @@ public final class OTMetricsLoader extends Loader<OTMetricsBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     final int loadPerThread = Math.max(this.benchmark.num_sessions / numLoaders, 1);
@@ -104,7 +105,7 @@ public final class OTMetricsLoader extends Loader<OTMetricsBenchmark> {
           });
     }
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   private void loadSessions(Connection conn, int low, int high) throws SQLException {
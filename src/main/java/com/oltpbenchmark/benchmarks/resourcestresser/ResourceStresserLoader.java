@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.resourcestresser;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -41,7 +42,7 @@ public final class ResourceStresserLoader extends Loader<ResourceStresserBenchma
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     threads.add(
         new LoaderThread(this.benchmark) {
@@ -71,7 +72,7 @@ public final class ResourceStresserLoader extends Loader<ResourceStresserBenchma
             loadTable(conn, ResourceStresserConstants.TABLENAME_LOCKTABLE);
           }
         });
-    return (threads);
+    return asLoadTasks(threads);
   }
 
   private void loadTable(Connection conn, String tableName) throws SQLException {
@@ -17,8 +17,9 @@
 
 package com.oltpbenchmark.benchmarks.seats;
 
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
-import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.seats.util.*;
 import com.oltpbenchmark.catalog.Column;
 import com.oltpbenchmark.catalog.Table;
@@ -30,7 +31,6 @@ import com.oltpbenchmark.util.RandomDistribution.Zipf;
 import java.sql.*;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -87,31 +87,30 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
   // -----------------------------------------------------------------
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
-    List<LoaderThread> threads = new ArrayList<>();
+  public List<LoadTask> createLoadTasks() {
+    List<LoadTask> tasks = new ArrayList<>();
 
-    // High level locking overview, where step N+1 depends on step N
-    // and latches are countDown()'d from top to bottom:
+    // Dependency overview, where each task only starts once the
+    // tasks that it depends on have finished:
     //
-    // 1. [histLatch] Histograms will be loaded on their own
+    // 1. Histograms will be loaded on their own
     //
-    // FIXED TABLES [fixedLatch]
+    // FIXED TABLES
     // 2.
-    // [countryLatch] Country will be loaded on their own
+    // COUNTRY depends on the histograms
     // AIRPORT depends on COUNTRY
     // AIRLINE depends on COUNTRY
     //
-    // 3. [scalePrepLatch]
-    // We need to load fixed table data into histograms before we
+    // 3. We need to load fixed table data into histograms before we
     // start to load scaling tables
     //
     // SCALING TABLES
     // 4.
-    // [custLatch] CUSTOMER depends on AIRPORT
-    // [distanceLatch] AIRPORT_DISTANCE depends on AIRPORT
-    // [flightLatch] FLIGHT depends on AIRLINE, AIRPORT, AIRPORT_DISTANCE
+    // CUSTOMER depends on AIRPORT
+    // AIRPORT_DISTANCE depends on AIRPORT
+    // FLIGHT depends on AIRLINE, AIRPORT, AIRPORT_DISTANCE
     //
-    // 5. [loadLatch]
+    // 5.
     // RESERVATIONS depends on FLIGHT, CUSTOMER
     // FREQUENT_FLYER depends on FLIGHT, CUSTOMER, AIRLINE
     //
@@ -122,268 +121,83 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
     //
     // 6. Then we save the profile
 
-    final CountDownLatch histLatch = new CountDownLatch(1);
+    // 1. HISTOGRAMS
+    LoadTask histograms = LoadTask.of(this.benchmark, "HISTOGRAMS", conn -> loadHistograms());
+    tasks.add(histograms);
 
-    // 1. [histLatch] HISTOGRAMS
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            loadHistograms();
-          }
-
-          @Override
-          public void afterLoad() {
-            histLatch.countDown();
-          }
-        });
-
-    final CountDownLatch fixedLatch = new CountDownLatch(3);
-    final CountDownLatch countryLatch = new CountDownLatch(1);
-
-    // 2. [countryLatch] COUNTRY
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            loadFixedTable(conn, SEATSConstants.TABLENAME_COUNTRY);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              histLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            fixedLatch.countDown();
-            countryLatch.countDown();
-          }
-        });
+    // 2. COUNTRY
+    LoadTask country =
+        LoadTask.of(
+                this.benchmark,
+                SEATSConstants.TABLENAME_COUNTRY,
+                conn -> loadFixedTable(conn, SEATSConstants.TABLENAME_COUNTRY))
+            .dependsOn(histograms);
+    tasks.add(country);
 
     // 2. AIRPORT depends on COUNTRY
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            loadFixedTable(conn, SEATSConstants.TABLENAME_AIRPORT);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              countryLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            fixedLatch.countDown();
-          }
-        });
+    LoadTask airport =
+        LoadTask.of(
+                this.benchmark,
+                SEATSConstants.TABLENAME_AIRPORT,
+                conn -> loadFixedTable(conn, SEATSConstants.TABLENAME_AIRPORT))
+            .dependsOn(country);
+    tasks.add(airport);
 
     // 2. AIRLINE depends on COUNTRY
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            loadFixedTable(conn, SEATSConstants.TABLENAME_AIRLINE);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              countryLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            fixedLatch.countDown();
-          }
-        });
-
-    final CountDownLatch scalingPrepLatch = new CountDownLatch(1);
-
-    // 3. [scalingPrepLatch] guards all of the fixed tables and should
-    // be used from this point onwards instead of individual fixed locks
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            // Setup the # of flights per airline
-            flights_per_airline.putAll(SEATSLoader.this.profile.getAirlineCodes(), 0);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              fixedLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            scalingPrepLatch.countDown();
-          }
-        });
-
-    final CountDownLatch custLatch = new CountDownLatch(1);
-    final CountDownLatch distanceLatch = new CountDownLatch(1);
-    final CountDownLatch flightLatch = new CountDownLatch(1);
-
-    // 4. [custLatch] CUSTOMER depends on AIRPORT
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-
-            loadScalingTable(conn, SEATSConstants.TABLENAME_CUSTOMER);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              scalingPrepLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            custLatch.countDown();
-          }
-        });
+    LoadTask airline =
+        LoadTask.of(
+                this.benchmark,
+                SEATSConstants.TABLENAME_AIRLINE,
+                conn -> loadFixedTable(conn, SEATSConstants.TABLENAME_AIRLINE))
+            .dependsOn(country);
+    tasks.add(airline);
+
+    // 3. The scaling preparation guards all of the fixed tables and should
+    // be depended on from this point onwards instead of individual fixed tables
+    LoadTask scalingPrep =
+        LoadTask.of(
+                this.benchmark,
+                "SCALING_PREP",
+                conn -> {
+                  // Setup the # of flights per airline
+                  flights_per_airline.putAll(SEATSLoader.this.profile.getAirlineCodes(), 0);
+                })
+            .dependsOn(country, airport, airline);
+    tasks.add(scalingPrep);
+
+    // 4. CUSTOMER depends on AIRPORT
+    LoadTask customer = scalingTask(SEATSConstants.TABLENAME_CUSTOMER).dependsOn(scalingPrep);
+    tasks.add(customer);
 
     // 4. AIRPORT_DISTANCE depends on AIRPORT
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-
-            loadScalingTable(conn, SEATSConstants.TABLENAME_AIRPORT_DISTANCE);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              scalingPrepLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            distanceLatch.countDown();
-          }
-        });
-
-    // 4. [flightLatch] FLIGHT depends on AIRPORT_DISTANCE, AIRLINE, AIRPORT
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-
-            loadScalingTable(conn, SEATSConstants.TABLENAME_FLIGHT);
-          }
+    LoadTask distance =
+        scalingTask(SEATSConstants.TABLENAME_AIRPORT_DISTANCE).dependsOn(scalingPrep);
+    tasks.add(distance);
 
-          @Override
-          public void beforeLoad() {
-            try {
-              distanceLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            flightLatch.countDown();
-          }
-        });
-
-    final CountDownLatch loadLatch = new CountDownLatch(2);
+    // 4. FLIGHT depends on AIRPORT_DISTANCE, AIRLINE, AIRPORT
+    LoadTask flight = scalingTask(SEATSConstants.TABLENAME_FLIGHT).dependsOn(distance);
+    tasks.add(flight);
 
     // 5. RESERVATIONS depends on FLIGHT, CUSTOMER
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-
-            loadScalingTable(conn, SEATSConstants.TABLENAME_RESERVATION);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              flightLatch.await();
-              custLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            loadLatch.countDown();
-          }
-        });
+    LoadTask reservation =
+        scalingTask(SEATSConstants.TABLENAME_RESERVATION).dependsOn(flight, customer);
+    tasks.add(reservation);
 
     // 5. FREQUENT_FLYER depends on FLIGHT, CUSTOMER, AIRLINE
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-
-            loadScalingTable(conn, SEATSConstants.TABLENAME_FREQUENT_FLYER);
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              flightLatch.await();
-              custLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            loadLatch.countDown();
-          }
-        });
+    LoadTask frequentFlyer =
+        scalingTask(SEATSConstants.TABLENAME_FREQUENT_FLYER).dependsOn(flight, customer);
+    tasks.add(frequentFlyer);
 
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            profile.saveProfile(conn);
-          }
+    // 6. PROFILE
+    tasks.add(
+        LoadTask.of(this.benchmark, "PROFILE", profile::saveProfile)
+            .dependsOn(reservation, frequentFlyer));
 
-          @Override
-          public void beforeLoad() {
-            try {
-              loadLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-        });
+    return tasks;
+  }
 
-    return threads;
+  private LoadTask scalingTask(String table_name) {
+    return LoadTask.of(this.benchmark, table_name, conn -> loadScalingTable(conn, table_name));
   }
 
   /** Load all the histograms used in the benchmark */
@@ -463,7 +277,7 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
     try {
       Table catalog_tbl = this.benchmark.getCatalog().getTable(table_name);
       try (FixedDataIterable iterable = this.getFixedIterable(catalog_tbl)) {
-        this.loadTable(conn, catalog_tbl, iterable, workConf.getBatchSize());
+        this.loadTable(conn, catalog_tbl, iterable);
       }
 
     } catch (Throwable ex) {
@@ -483,7 +297,7 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
     try {
       Table catalog_tbl = this.benchmark.getCatalog().getTable(table_name);
       Iterable<Object[]> iterable = this.getScalingIterable(catalog_tbl);
-      this.loadTable(conn, catalog_tbl, iterable, workConf.getBatchSize());
+      this.loadTable(conn, catalog_tbl, iterable);
     } catch (Throwable ex) {
       throw new RuntimeException(
           "Failed to load data files for scaling-sized table '" + table_name + "'", ex);
@@ -493,8 +307,7 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
   /**
    * @param catalog_tbl
    */
-  public void loadTable(
-      Connection conn, Table catalog_tbl, Iterable<Object[]> iterable, int batch_size) {
+  public void loadTable(Connection conn, Table catalog_tbl, Iterable<Object[]> iterable) {
     // Special Case: Airport Locations
     final boolean is_airport =
         catalog_tbl.getName().equalsIgnoreCase(SEATSConstants.TABLENAME_AIRPORT);
@@ -502,8 +315,7 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
     if (LOG.isDebugEnabled()) {
       LOG.debug(
           String.format(
-              "Generating new records for table %s [batchSize=%d]",
-              catalog_tbl.getName().toLowerCase(), batch_size));
+              "Generating new records for table %s", catalog_tbl.getName().toLowerCase()));
     }
     final List<Column> columns = catalog_tbl.getColumns();
 
@@ -538,10 +350,8 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
     }
 
     int row_idx = 0;
-    int row_batch = 0;
 
-    String insert_sql = SQLUtil.getInsertSQL(catalog_tbl, this.getDatabaseType());
-    try (PreparedStatement insert_stmt = conn.prepareStatement(insert_sql)) {
+    try (BulkSink insert_sink = getBulkSink(conn, catalog_tbl.getName())) {
       int[] sqlTypes = catalog_tbl.getColumnTypes();
 
       for (Object[] tuple : iterable) {
@@ -622,9 +432,9 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
         for (int i = 0; i < tuple.length; i++) {
           try {
             if (tuple[i] != null) {
-              insert_stmt.setObject(i + 1, tuple[i]);
+              insert_sink.setObject(i + 1, tuple[i]);
             } else {
-              insert_stmt.setNull(i + 1, sqlTypes[i]);
+              insert_sink.setNull(i + 1, sqlTypes[i]);
             }
           } catch (SQLDataException ex) {
             LOG.error(
@@ -635,21 +445,8 @@ public final class SEATSLoader extends Loader<SEATSBenchmark> {
                 "Failed to set value for " + catalog_tbl.getColumn(i).getName().toLowerCase(), ex);
           }
         }
-        insert_stmt.addBatch();
+        insert_sink.addRow();
         row_idx++;
-
-        if (++row_batch >= batch_size) {
-          LOG.trace(
-              String.format(
-                  "Loading %s batch [total=%d]", catalog_tbl.getName().toLowerCase(), row_idx));
-          insert_stmt.executeBatch();
-          insert_stmt.clearBatch();
-          row_batch = 0;
-        }
-      }
-
-      if (row_batch > 0) {
-        insert_stmt.executeBatch();
       }
 
     } catch (Exception ex) {
@@ -97,7 +97,7 @@ public class SEATSProfile {
    * We want to maintain a small cache of FlightIds so that the SEATSClient has something to work
    * with. We obviously don't want to store the entire set here
    */
-  protected final transient LinkedList<FlightId> cached_flight_ids = new LinkedList<>();
+  protected final transient RingBuffer<FlightId> cached_flight_ids = new RingBuffer<>();
 
   /** Key -> Id Mappings */
   protected final transient Map<String, String> code_columns = new HashMap<>();
@@ -426,7 +426,7 @@ public class SEATSProfile {
 
         // Otherwise, we can will randomly decide whether to pop one out
       } else if (this.rng.nextBoolean()) {
-        this.cached_flight_ids.pop();
+        this.cached_flight_ids.removeFirst();
         this.cached_flight_ids.addLast(flight_id);
         added = true;
       }
@@ -48,7 +48,9 @@ import com.oltpbenchmark.benchmarks.seats.procedures.*;
 import com.oltpbenchmark.benchmarks.seats.util.CustomerId;
 import com.oltpbenchmark.benchmarks.seats.util.FlightId;
 import com.oltpbenchmark.types.TransactionStatus;
+import com.oltpbenchmark.util.OpenHashMap;
 import com.oltpbenchmark.util.RandomGenerator;
+import com.oltpbenchmark.util.RingBuffer;
 import com.oltpbenchmark.util.StringUtil;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -121,16 +123,18 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
     private final int limit;
   }
 
-  protected final Map<CacheType, LinkedList<Reservation>> CACHE_RESERVATIONS = new HashMap<>();
+  protected final Map<CacheType, RingBuffer<Reservation>> CACHE_RESERVATIONS =
+      new EnumMap<>(CacheType.class);
 
   {
     for (CacheType ctype : CacheType.values()) {
-      CACHE_RESERVATIONS.put(ctype, new LinkedList<>());
+      CACHE_RESERVATIONS.put(ctype, new RingBuffer<>());
     }
   }
 
-  protected final Map<CustomerId, Set<FlightId>> CACHE_CUSTOMER_BOOKED_FLIGHTS = new HashMap<>();
-  protected final Map<FlightId, BitSet> CACHE_BOOKED_SEATS = new HashMap<>();
+  protected final OpenHashMap<CustomerId, Set<FlightId>> CACHE_CUSTOMER_BOOKED_FLIGHTS =
+      new OpenHashMap<>();
+  protected final OpenHashMap<FlightId, BitSet> CACHE_BOOKED_SEATS = new OpenHashMap<>();
 
   private static final BitSet FULL_FLIGHT_BITSET = new BitSet(SEATSConstants.FLIGHTS_NUM_SEATS);
 
@@ -143,13 +147,8 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
   protected BitSet getSeatsBitSet(FlightId flight_id) {
     BitSet seats = CACHE_BOOKED_SEATS.get(flight_id);
     if (seats == null) {
-      //            synchronized (CACHE_BOOKED_SEATS) {
-      seats = CACHE_BOOKED_SEATS.get(flight_id);
-      if (seats == null) {
-        seats = new BitSet(SEATSConstants.FLIGHTS_NUM_SEATS);
-        CACHE_BOOKED_SEATS.put(flight_id, seats);
-      }
-      //            }
+      seats = new BitSet(SEATSConstants.FLIGHTS_NUM_SEATS);
+      CACHE_BOOKED_SEATS.put(flight_id, seats);
     }
     return (seats);
   }
@@ -367,7 +366,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
       ctype = CacheType.PENDING_UPDATES;
     }
 
-    LinkedList<Reservation> cache = CACHE_RESERVATIONS.get(ctype);
+    RingBuffer<Reservation> cache = CACHE_RESERVATIONS.get(ctype);
 
     cache.add(r);
     if (LOG.isDebugEnabled()) {
@@ -375,7 +374,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
     }
 
     while (cache.size() > ctype.limit) {
-      cache.remove();
+      cache.removeFirst();
     }
   }
 
@@ -537,7 +536,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
       return (true);
     }
 
-    LinkedList<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_INSERTS);
+    RingBuffer<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_INSERTS);
 
     // Store pending reservations in our queue for a later transaction
     BitSet seats = getSeatsBitSet(search_flight);
@@ -581,7 +580,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
       Collections.shuffle(tmp_reservations);
       cache.addAll(tmp_reservations);
       while (cache.size() > SEATSConstants.CACHE_LIMIT_PENDING_INSERTS) {
-        cache.remove();
+        cache.removeFirst();
       }
       if (LOG.isDebugEnabled()) {
         LOG.debug(
@@ -600,7 +599,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
   private boolean executeNewReservation(Connection conn, NewReservation proc) throws SQLException {
     Reservation reservation = null;
     BitSet seats = null;
-    LinkedList<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_INSERTS);
+    RingBuffer<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_INSERTS);
 
     if (LOG.isDebugEnabled()) {
       LOG.debug(
@@ -715,7 +714,7 @@ public final class SEATSWorker extends Worker<SEATSBenchmark> {
 
   private boolean executeUpdateReservation(Connection conn, UpdateReservation proc)
       throws SQLException {
-    LinkedList<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_UPDATES);
+    RingBuffer<Reservation> cache = CACHE_RESERVATIONS.get(CacheType.PENDING_UPDATES);
 
     if (LOG.isTraceEnabled()) {
       LOG.trace("Let's look for a Reservation that we can update");
@@ -19,7 +19,6 @@ package com.oltpbenchmark.benchmarks.seats.util;
 
 import com.oltpbenchmark.util.CompositeId;
 import java.util.Comparator;
-import java.util.Objects;
 
 public final class CustomerId extends CompositeId implements Comparable<CustomerId> {
 
@@ -90,7 +89,7 @@ public final class CustomerId extends CompositeId implements Comparable<Customer
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, depart_airport_id);
+    return 31 * id + Long.hashCode(depart_airport_id);
   }
 
   @Override
@@ -21,7 +21,6 @@ import com.oltpbenchmark.benchmarks.seats.SEATSConstants;
 import com.oltpbenchmark.util.CompositeId;
 import java.sql.Timestamp;
 import java.util.Comparator;
-import java.util.Objects;
 
 public final class FlightId extends CompositeId implements Comparable<FlightId> {
 
@@ -175,7 +174,10 @@ public final class FlightId extends CompositeId implements Comparable<FlightId>
 
   @Override
   public int hashCode() {
-    return Objects.hash(airline_id, depart_airport_id, arrive_airport_id, depart_date);
+    int result = Long.hashCode(airline_id);
+    result = 31 * result + Long.hashCode(depart_airport_id);
+    result = 31 * result + Long.hashCode(arrive_airport_id);
+    return 31 * result + Long.hashCode(depart_date);
   }
 
   @Override
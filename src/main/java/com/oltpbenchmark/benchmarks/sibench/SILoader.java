@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.sibench;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -40,7 +41,7 @@ public final class SILoader extends Loader<SIBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     final int itemsPerThread = Math.max(this.num_record / numLoaders, 1);
@@ -60,7 +61,7 @@ public final class SILoader extends Loader<SIBenchmark> {
           });
     }
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   private void loadSITest(Connection conn, int lo, int hi) throws SQLException {
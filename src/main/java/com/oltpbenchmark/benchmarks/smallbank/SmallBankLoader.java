@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.smallbank;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -64,7 +65,7 @@ public final class SmallBankLoader extends Loader<SmallBankBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() throws SQLException {
+  public List<LoadTask> createLoadTasks() throws SQLException {
     List<LoaderThread> threads = new ArrayList<>();
     int batchSize = 100000;
     long start = 0;
@@ -73,7 +74,7 @@ public final class SmallBankLoader extends Loader<SmallBankBenchmark> {
       threads.add(new Generator(start, stop));
       start = stop;
     }
-    return (threads);
+    return asLoadTasks(threads);
   }
 
   /** Thread that can generate a range of accounts */
@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.tatp;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -26,6 +27,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 
 public final class TATPLoader extends Loader<TATPBenchmark> {
@@ -40,7 +42,7 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     final long itemsPerThread = Math.max(this.subscriberSize / numLoaders, 1);
@@ -103,7 +105,7 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
           }
         });
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   /** Populate Subscriber table per benchmark spec. */
@@ -111,6 +113,8 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
     // Create a prepared statement
     Table catalog_tbl = benchmark.getCatalog().getTable(TATPConstants.TABLENAME_SUBSCRIBER);
     String sql = SQLUtil.getInsertSQL(catalog_tbl, this.getDatabaseType());
+    Random rng = benchmark.rng();
+    char[] subNbr = TATPUtil.newSubNbrBuffer();
     try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
       long total = 0;
@@ -120,23 +124,23 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
         int col = 0;
 
         pstmt.setLong(++col, s_id);
-        pstmt.setString(++col, TATPUtil.padWithZero(s_id));
+        pstmt.setString(++col, TATPUtil.padWithZero(s_id, subNbr));
 
         // BIT_##
         for (int j = 0; j < 10; j++) {
-          pstmt.setByte(++col, TATPUtil.number(0, 1).byteValue());
+          pstmt.setByte(++col, (byte) TATPUtil.number(rng, 0, 1));
         }
         // HEX_##
         for (int j = 0; j < 10; j++) {
-          pstmt.setByte(++col, TATPUtil.number(0, 15).byteValue());
+          pstmt.setByte(++col, (byte) TATPUtil.number(rng, 0, 15));
         }
         // BYTE2_##
         for (int j = 0; j < 10; j++) {
-          pstmt.setShort(++col, TATPUtil.number(0, 255).shortValue());
+          pstmt.setShort(++col, (short) TATPUtil.number(rng, 0, 255));
         }
         // msc_location + vlr_location
         for (int j = 0; j < 2; j++) {
-          pstmt.setInt(++col, TATPUtil.number(0, Integer.MAX_VALUE).intValue());
+          pstmt.setInt(++col, (int) TATPUtil.number(rng, 0, Integer.MAX_VALUE));
         }
         total++;
         pstmt.addBatch();
@@ -164,23 +168,25 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
     // Create a prepared statement
     Table catalog_tbl = benchmark.getCatalog().getTable(TATPConstants.TABLENAME_ACCESS_INFO);
     String sql = SQLUtil.getInsertSQL(catalog_tbl, this.getDatabaseType());
+    Random rng = benchmark.rng();
+    char[] buf = new char[5];
     try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
       int s_id = 0;
-      int[] arr = {1, 2, 3, 4};
+      int[] ai_types = {1, 2, 3, 4};
 
-      int[] ai_types = TATPUtil.subArr(arr, 1, 4);
+      int num_ai_types = TATPUtil.subArr(rng, ai_types, 1, 4);
       long total = 0;
       int batch = 0;
       while (s_id++ < subscriberSize) {
-        for (int ai_type : ai_types) {
+        for (int i = 0; i < num_ai_types; i++) {
           int col = 0;
           pstmt.setLong(++col, s_id);
-          pstmt.setByte(++col, (byte) ai_type);
-          pstmt.setShort(++col, TATPUtil.number(0, 255).shortValue());
-          pstmt.setShort(++col, TATPUtil.number(0, 255).shortValue());
-          pstmt.setString(++col, TATPUtil.astring(3, 3));
-          pstmt.setString(++col, TATPUtil.astring(5, 5));
+          pstmt.setByte(++col, (byte) ai_types[i]);
+          pstmt.setShort(++col, (short) TATPUtil.number(rng, 0, 255));
+          pstmt.setShort(++col, (short) TATPUtil.number(rng, 0, 255));
+          pstmt.setString(++col, TATPUtil.astring(rng, buf, 3, 3));
+          pstmt.setString(++col, TATPUtil.astring(rng, buf, 5, 5));
           pstmt.addBatch();
           batch++;
           total++;
@@ -190,7 +196,7 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
             LOG.debug(
                 String.format(
                     "%s: %6d / %d",
-                    TATPConstants.TABLENAME_ACCESS_INFO, total, ai_types.length * subscriberSize));
+                    TATPConstants.TABLENAME_ACCESS_INFO, total, num_ai_types * subscriberSize));
           }
           pstmt.executeBatch();
 
@@ -202,7 +208,7 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
           LOG.debug(
               String.format(
                   "%s: %6d / %d",
-                  TATPConstants.TABLENAME_ACCESS_INFO, total, ai_types.length * subscriberSize));
+                  TATPConstants.TABLENAME_ACCESS_INFO, total, num_ai_types * subscriberSize));
         }
         pstmt.executeBatch();
       }
@@ -224,8 +230,10 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
     long cal_total = 0;
 
     int s_id = 0;
-    int[] spe_arr = {1, 2, 3, 4};
-    int[] cal_arr = {0, 8, 6};
+    int[] sf_types = {1, 2, 3, 4};
+    int[] start_times = {0, 8, 6};
+    Random rng = benchmark.rng();
+    char[] buf = new char[15];
     if (LOG.isDebugEnabled()) {
       LOG.debug("subscriberSize = {}", subscriberSize);
     }
@@ -237,28 +245,30 @@ public final class TATPLoader extends Loader<TATPBenchmark> {
         PreparedStatement spe_pstmt = conn.prepareStatement(spe_sql)) {
       boolean cal_added = false;
       while (s_id++ < subscriberSize) {
-        int[] sf_types = TATPUtil.subArr(spe_arr, 1, 4);
-        for (int sf_type : sf_types) {
+        int num_sf_types = TATPUtil.subArr(rng, sf_types, 1, 4);
+        for (int i = 0; i < num_sf_types; i++) {
+          int sf_type = sf_types[i];
           int spe_col = 0;
           spe_pstmt.setLong(++spe_col, s_id);
           spe_pstmt.setByte(++spe_col, (byte) sf_type);
-          spe_pstmt.setByte(++spe_col, TATPUtil.isActive());
-          spe_pstmt.setShort(++spe_col, TATPUtil.number(0, 255).shortValue());
-          spe_pstmt.setShort(++spe_col, TATPUtil.number(0, 255).shortValue());
-          spe_pstmt.setString(++spe_col, TATPUtil.astring(5, 5));
+          spe_pstmt.setByte(++spe_col, TATPUtil.isActive(rng));
+          spe_pstmt.setShort(++spe_col, (short) TATPUtil.number(rng, 0, 255));
+          spe_pstmt.setShort(++spe_col, (short) TATPUtil.number(rng, 0, 255));
+          spe_pstmt.setString(++spe_col, TATPUtil.astring(rng, buf, 5, 5));
           spe_pstmt.addBatch();
           spe_batch++;
           spe_total++;
 
           // now call_forwarding
-          int[] start_times = TATPUtil.subArr(cal_arr, 0, 3);
-          for (int start_time : start_times) {
+          int num_start_times = TATPUtil.subArr(rng, start_times, 0, 3);
+          for (int j = 0; j < num_start_times; j++) {
+            int start_time = start_times[j];
             int cal_col = 0;
             cal_pstmt.setLong(++cal_col, s_id);
             cal_pstmt.setByte(++cal_col, (byte) sf_type);
             cal_pstmt.setByte(++cal_col, (byte) start_time);
-            cal_pstmt.setByte(++cal_col, (byte) (start_time + TATPUtil.number(1, 8)));
-            cal_pstmt.setString(++cal_col, TATPUtil.nstring(15, 15));
+            cal_pstmt.setByte(++cal_col, (byte) (start_time + TATPUtil.number(rng, 1, 8)));
+            cal_pstmt.setString(++cal_col, TATPUtil.nstring(rng, buf, 15, 15));
             cal_pstmt.addBatch();
             cal_added = true;
             cal_total++;
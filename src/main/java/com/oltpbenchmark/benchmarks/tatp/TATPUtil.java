@@ -19,84 +19,88 @@ package com.oltpbenchmark.benchmarks.tatp;
 
 import java.util.Random;
 
+/**
+ * Random values for TATP. Every method draws from the generator it is given, which should be the
+ * one of the calling worker or loader thread, so that threads never contend on a shared generator.
+ * Strings are built in buffers that the caller owns and reuses.
+ */
 public abstract class TATPUtil {
 
-  public static final Random rand = new Random();
+  public static byte isActive(Random rng) {
+    return (byte) (number(rng, 1, 100) < number(rng, 86, 100) ? 1 : 0);
+  }
 
-  public static byte isActive() {
-    return (byte) (number(1, 100) < number(86, 100) ? 1 : 0);
+  public static long getSubscriberId(Random rng, long subscriberSize) {
+    return number(rng, 1, subscriberSize);
   }
 
-  public static Long getSubscriberId(long subscriberSize) {
-    return (TATPUtil.number(1, subscriberSize));
+  /** Returns a buffer for {@link #padWithZero(long, char[])} */
+  public static char[] newSubNbrBuffer() {
+    return new char[TATPConstants.SUB_NBR_PADDING_SIZE];
   }
 
   // modified from tpcc.RandomGenerator
 
   /**
-   * @returns a random alphabetic string with length in range [minimum_length, maximum_length].
+   * @returns a random alphabetic string with length in range [minimum_length, maximum_length]. The
+   *     buffer must hold at least maximum_length characters.
    */
-  public static String astring(int minimum_length, int maximum_length) {
-    return randomString(minimum_length, maximum_length, 'A', 26);
+  public static String astring(Random rng, char[] buf, int minimum_length, int maximum_length) {
+    return randomString(rng, buf, minimum_length, maximum_length, 'A', 26);
   }
 
   // taken from tpcc.RandomGenerator
 
   /**
-   * @returns a random numeric string with length in range [minimum_length, maximum_length].
+   * @returns a random numeric string with length in range [minimum_length, maximum_length]. The
+   *     buffer must hold at least maximum_length characters.
    */
-  public static String nstring(int minimum_length, int maximum_length) {
-    return randomString(minimum_length, maximum_length, '0', 10);
+  public static String nstring(Random rng, char[] buf, int minimum_length, int maximum_length) {
+    return randomString(rng, buf, minimum_length, maximum_length, '0', 10);
   }
 
   // taken from tpcc.RandomGenerator
   public static String randomString(
-      int minimum_length, int maximum_length, char base, int numCharacters) {
-    int length = number(minimum_length, maximum_length).intValue();
-    byte baseByte = (byte) base;
-    byte[] bytes = new byte[length];
+      Random rng,
+      char[] buf,
+      int minimum_length,
+      int maximum_length,
+      char base,
+      int numCharacters) {
+    int length = (int) number(rng, minimum_length, maximum_length);
     for (int i = 0; i < length; ++i) {
-      bytes[i] = (byte) (baseByte + number(0, numCharacters - 1));
+      buf[i] = (char) (base + number(rng, 0, numCharacters - 1));
     }
-    return new String(bytes);
+    return new String(buf, 0, length);
   }
 
   // taken from tpcc.RandomGenerator
-  public static Long number(long minimum, long maximum) {
-
-    return Math.abs(rand.nextLong()) % (maximum - minimum + 1) + minimum;
+  public static long number(Random rng, long minimum, long maximum) {
+    return (rng.nextLong() >>> 1) % (maximum - minimum + 1) + minimum;
   }
 
-  public static String padWithZero(long n) {
-    String str = Long.toString(n);
-    char[] zeros = new char[TATPConstants.SUB_NBR_PADDING_SIZE - str.length()];
-    for (int i = 0; i < zeros.length; i++) {
-      zeros[i] = '0';
+  /** Writes n padded with zeros into the buffer, and returns it as a string. */
+  public static String padWithZero(long n, char[] buf) {
+    for (int i = buf.length - 1; i >= 0; i--) {
+      buf[i] = (char) ('0' + n % 10);
+      n /= 10;
     }
-    return (new String(zeros) + str);
+    return new String(buf);
   }
 
   /**
-   * Returns sub array of arr, with length in range [min_len, max_len]. Each element in arr appears
-   * at most once in sub array.
+   * Moves a random selection of arr to its front, with length in range [min_len, max_len], and
+   * returns that length. Each element in arr appears at most once in the selection.
    */
-  public static int[] subArr(int[] arr, int min_len, int max_len) {
-
-    int sub_len = number(min_len, max_len).intValue();
-    int arr_len = arr.length;
-
-    int[] sub = new int[sub_len];
+  public static int subArr(Random rng, int[] arr, int min_len, int max_len) {
+    int sub_len = (int) number(rng, min_len, max_len);
     for (int i = 0; i < sub_len; i++) {
-      int j = number(0, arr_len - 1).intValue();
-      sub[i] = arr[j];
-      // arr[j] put to tail
+      int j = (int) number(rng, i, arr.length - 1);
+      // arr[j] put to the front
       int tmp = arr[j];
-      arr[j] = arr[arr_len - 1];
-      arr[arr_len - 1] = tmp;
-
-      arr_len--;
+      arr[j] = arr[i];
+      arr[i] = tmp;
     }
-
-    return sub;
+    return sub_len;
   }
 }
@@ -28,6 +28,7 @@ import java.sql.SQLException;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,61 +43,63 @@ public final class TATPWorker extends Worker<TATPBenchmark> {
     /**
      * Generate the proper arguments used to invoke the given stored procedure
      *
-     * @param subscriberSize
-     * @return
+     * @param worker The worker whose generator and buffers to use
      */
-    void invoke(Connection conn, Procedure proc, long subscriberSize) throws SQLException;
+    void invoke(Connection conn, Procedure proc, TATPWorker worker) throws SQLException;
   }
 
   /** Set of transactions structs with their appropriate parameters */
   public enum Transaction {
     DeleteCallForwarding(
         new TransactionInvoker<DeleteCallForwarding>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
             ((DeleteCallForwarding) proc)
                 .run(
                     conn,
-                    TATPUtil.padWithZero(s_id), // s_id
-                    TATPUtil.number(1, 4).byteValue(), // sf_type
-                    (byte) (8 * TATPUtil.number(0, 2)) // start_time
+                    worker.subNbr(s_id), // s_id
+                    (byte) TATPUtil.number(rng, 1, 4), // sf_type
+                    (byte) (8 * TATPUtil.number(rng, 0, 2)) // start_time
                     );
           }
         }),
     GetAccessData(
         new TransactionInvoker<GetAccessData>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
             ((GetAccessData) proc)
                 .run(
                     conn,
                     s_id, // s_id
-                    TATPUtil.number(1, 4).byteValue() // ai_type
+                    (byte) TATPUtil.number(rng, 1, 4) // ai_type
                     );
           }
         }),
     GetNewDestination(
         new TransactionInvoker<GetNewDestination>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
             ((GetNewDestination) proc)
                 .run(
                     conn,
                     s_id, // s_id
-                    TATPUtil.number(1, 4).byteValue(), // sf_type
-                    (byte) (8 * TATPUtil.number(0, 2)), // start_time
-                    TATPUtil.number(1, 24).byteValue() // end_time
+                    (byte) TATPUtil.number(rng, 1, 4), // sf_type
+                    (byte) (8 * TATPUtil.number(rng, 0, 2)), // start_time
+                    (byte) TATPUtil.number(rng, 1, 24) // end_time
                     );
           }
         }),
     GetSubscriberData(
         new TransactionInvoker<GetSubscriberData>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            long s_id = worker.nextSubscriberId();
             ((GetSubscriberData) proc)
                 .run(
                     conn, s_id // s_id
@@ -105,45 +108,49 @@ public final class TATPWorker extends Worker<TATPBenchmark> {
         }),
     InsertCallForwarding(
         new TransactionInvoker<InsertCallForwarding>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
+            String sub_nbr = worker.subNbr(s_id);
             ((InsertCallForwarding) proc)
                 .run(
                     conn,
-                    TATPUtil.padWithZero(s_id), // sub_nbr
-                    TATPUtil.number(1, 4).byteValue(), // sf_type
-                    (byte) (8 * TATPUtil.number(0, 2)), // start_time
-                    TATPUtil.number(1, 24).byteValue(), // end_time
-                    TATPUtil.padWithZero(s_id) // numberx
+                    sub_nbr, // sub_nbr
+                    (byte) TATPUtil.number(rng, 1, 4), // sf_type
+                    (byte) (8 * TATPUtil.number(rng, 0, 2)), // start_time
+                    (byte) TATPUtil.number(rng, 1, 24), // end_time
+                    sub_nbr // numberx
                     );
           }
         }),
     UpdateLocation(
         new TransactionInvoker<UpdateLocation>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
             ((UpdateLocation) proc)
                 .run(
                     conn,
-                    TATPUtil.number(0, Integer.MAX_VALUE).intValue(), // vlr_location
-                    TATPUtil.padWithZero(s_id) // sub_nbr
+                    (int) TATPUtil.number(rng, 0, Integer.MAX_VALUE), // vlr_location
+                    worker.subNbr(s_id) // sub_nbr
                     );
           }
         }),
     UpdateSubscriberData(
         new TransactionInvoker<UpdateSubscriberData>() {
-          public void invoke(Connection conn, Procedure proc, long subscriberSize)
+          public void invoke(Connection conn, Procedure proc, TATPWorker worker)
               throws SQLException {
-            long s_id = TATPUtil.getSubscriberId(subscriberSize);
+            Random rng = worker.rng();
+            long s_id = worker.nextSubscriberId();
             ((UpdateSubscriberData) proc)
                 .run(
                     conn,
                     s_id, // s_id
-                    TATPUtil.number(0, 1).byteValue(), // bit_1
-                    TATPUtil.number(0, 255).shortValue(), // data_a
-                    TATPUtil.number(1, 4).byteValue() // sf_type
+                    (byte) TATPUtil.number(rng, 0, 1), // bit_1
+                    (short) TATPUtil.number(rng, 0, 255), // data_a
+                    (byte) TATPUtil.number(rng, 1, 4) // sf_type
                     );
           }
         }),
@@ -170,25 +177,49 @@ public final class TATPWorker extends Worker<TATPBenchmark> {
       return (Transaction.name_lookup.get(name.toUpperCase()));
     }
 
-    public void invoke(Connection conn, Procedure proc, long subscriberSize) throws SQLException {
-      this.generator.invoke(conn, proc, subscriberSize);
+    public void invoke(Connection conn, Procedure proc, TATPWorker worker) throws SQLException {
+      this.generator.invoke(conn, proc, worker);
     }
   }
 
   private final long subscriberSize;
 
+  /** Transactions by the id of their type, so that no name is looked up per transaction */
+  private final Transaction[] transactions;
+
+  /** Buffer that subscriber numbers are padded in */
+  private final char[] subNbrBuffer = TATPUtil.newSubNbrBuffer();
+
   public TATPWorker(TATPBenchmark benchmarkModule, int id) {
     super(benchmarkModule, id);
     this.subscriberSize =
         Math.round(
             TATPConstants.DEFAULT_NUM_SUBSCRIBERS
                 * benchmarkModule.getWorkloadConfiguration().getScaleFactor());
+
+    int maxId = 0;
+    for (TransactionType txnType : benchmarkModule.getWorkloadConfiguration().getTransTypes()) {
+      maxId = Math.max(maxId, txnType.getId());
+    }
+    this.transactions = new Transaction[maxId + 1];
+    for (TransactionType txnType : benchmarkModule.getWorkloadConfiguration().getTransTypes()) {
+      this.transactions[txnType.getId()] = Transaction.get(txnType.getName());
+    }
+  }
+
+  private long nextSubscriberId() {
+    return TATPUtil.getSubscriberId(rng(), subscriberSize);
+  }
+
+  /** Returns the subscriber number of the given subscriber */
+  private String subNbr(long s_id) {
+    return TATPUtil.padWithZero(s_id, subNbrBuffer);
   }
 
   @Override
   protected TransactionStatus executeWork(Connection conn, TransactionType txnType)
       throws UserAbortException, SQLException {
-    Transaction t = Transaction.get(txnType.getName());
+    Transaction t = transactions[txnType.getId()];
 
     // Get the Procedure handle
     Procedure proc = this.getProcedure(txnType);
@@ -196,7 +227,7 @@ public final class TATPWorker extends Worker<TATPBenchmark> {
       LOG.debug("Executing {}", proc);
     }
 
-    t.invoke(conn, proc, subscriberSize);
+    t.invoke(conn, proc, this);
     return (TransactionStatus.SUCCESS);
   }
 }
@@ -36,7 +36,6 @@ public final class TemplatedWorker extends Worker<TemplatedBenchmark> {
       int id,
       Map<Class<? extends Procedure>, TraceTransactionGenerator> generators) {
     super(benchmarkModule, id);
-    this.rng().setSeed(benchmarkModule.getWorkloadConfiguration().getRandomSeed());
     this.generators = generators;
   }
 
@@ -17,8 +17,9 @@
 
 package com.oltpbenchmark.benchmarks.tpcc;
 
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
-import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.tpcc.pojo.*;
 import com.oltpbenchmark.catalog.Table;
 import com.oltpbenchmark.util.SQLUtil;
@@ -26,13 +27,15 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.CountDownLatch;
 
 /** TPC-C Benchmark Loader */
 public final class TPCCLoader extends Loader<TPCCBenchmark> {
 
   private static final int FIRST_UNPROCESSED_O_ID = 2101;
 
+  /** Number of items loaded by each ITEM task */
+  private static final int ITEM_CHUNK_SIZE = 10000;
+
   private final long numWarehouses;
 
   public TPCCLoader(TPCCBenchmark benchmark) {
@@ -41,103 +44,108 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
-    List<LoaderThread> threads = new ArrayList<>();
-    final CountDownLatch itemLatch = new CountDownLatch(1);
+  public List<LoadTask> createLoadTasks() {
+    List<LoadTask> tasks = new ArrayList<>();
 
     // ITEM
-    // This will be invoked first and executed in a single thread.
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) {
-            loadItems(conn, TPCCConfig.configItemCount);
-          }
-
-          @Override
-          public void afterLoad() {
-            itemLatch.countDown();
-          }
-        });
+    // This is split into chunks that load in parallel.
+    List<LoadTask> itemTasks =
+        LoadTask.ranges(
+            this.benchmark,
+            TPCCConstants.TABLENAME_ITEM,
+            "i_id",
+            1,
+            TPCCConfig.configItemCount,
+            ITEM_CHUNK_SIZE,
+            (conn, first, last) -> loadItems(conn, (int) first, (int) last));
+    tasks.addAll(itemTasks);
 
     // WAREHOUSES
-    // We use a separate thread per warehouse. Each thread will load
+    // We use a separate task per warehouse. Each task will load
     // all of the tables that depend on that warehouse. They all have
     // to wait until the ITEM table is loaded first though.
     for (int w = 1; w <= numWarehouses; w++) {
       final int w_id = w;
-      LoaderThread t =
-          new LoaderThread(this.benchmark) {
-            @Override
-            public void load(Connection conn) {
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load WAREHOUSE {}", w_id);
-              }
-              // WAREHOUSE
-              loadWarehouse(conn, w_id);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load STOCK {}", w_id);
-              }
-              // STOCK
-              loadStock(conn, w_id, TPCCConfig.configItemCount);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load DISTRICT {}", w_id);
-              }
-              // DISTRICT
-              loadDistricts(conn, w_id, TPCCConfig.configDistPerWhse);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load CUSTOMER {}", w_id);
-              }
-              // CUSTOMER
-              loadCustomers(conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load CUSTOMER HISTORY {}", w_id);
-              }
-              // CUSTOMER HISTORY
-              loadCustomerHistory(
-                  conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load ORDERS {}", w_id);
-              }
-              // ORDERS
-              loadOpenOrders(
-                  conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load NEW ORDERS {}", w_id);
-              }
-              // NEW ORDERS
-              loadNewOrders(conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
-
-              if (LOG.isDebugEnabled()) {
-                LOG.debug("Starting to load ORDER LINES {}", w_id);
-              }
-              // ORDER LINES
-              loadOrderLines(
-                  conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
-            }
-
-            @Override
-            public void beforeLoad() {
-
-              // Make sure that we load the ITEM table first
-
-              try {
-                itemLatch.await();
-              } catch (InterruptedException ex) {
-                throw new RuntimeException(ex);
-              }
-            }
-          };
-      threads.add(t);
+      LoadTask task =
+          LoadTask.of(
+              this.benchmark,
+              TPCCConstants.TABLENAME_WAREHOUSE + "[" + w_id + "]",
+              conn -> {
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load WAREHOUSE {}", w_id);
+                }
+                // WAREHOUSE
+                loadWarehouse(conn, w_id);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load STOCK {}", w_id);
+                }
+                // STOCK
+                loadStock(conn, w_id, TPCCConfig.configItemCount);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load DISTRICT {}", w_id);
+                }
+                // DISTRICT
+                loadDistricts(conn, w_id, TPCCConfig.configDistPerWhse);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load CUSTOMER {}", w_id);
+                }
+                // CUSTOMER
+                loadCustomers(
+                    conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load CUSTOMER HISTORY {}", w_id);
+                }
+                // CUSTOMER HISTORY
+                loadCustomerHistory(
+                    conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load ORDERS {}", w_id);
+                }
+                // ORDERS
+                loadOpenOrders(
+                    conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load NEW ORDERS {}", w_id);
+                }
+                // NEW ORDERS
+                loadNewOrders(
+                    conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
+
+                if (LOG.isDebugEnabled()) {
+                  LOG.debug("Starting to load ORDER LINES {}", w_id);
+                }
+                // ORDER LINES
+                loadOrderLines(
+                    conn, w_id, TPCCConfig.configDistPerWhse, TPCCConfig.configCustPerDist);
+              });
+      declareWarehouseRows(task, w_id);
+      // Make sure that we load the ITEM table first
+      tasks.add(task.dependsOn(itemTasks));
     }
-    return (threads);
+    return (tasks);
+  }
+
+  /** Declares the rows that the task of a warehouse loads, so that the task can be resumed */
+  private static void declareWarehouseRows(LoadTask task, int w_id) {
+    int districts = TPCCConfig.configDistPerWhse;
+    int customers = districts * TPCCConfig.configCustPerDist;
+    int newOrders =
+        districts * Math.max(0, TPCCConfig.configCustPerDist - FIRST_UNPROCESSED_O_ID + 1);
+    task.loads(TPCCConstants.TABLENAME_WAREHOUSE, "w_id", w_id, w_id, 1)
+        .loads(TPCCConstants.TABLENAME_STOCK, "s_w_id", w_id, w_id, TPCCConfig.configItemCount)
+        .loads(TPCCConstants.TABLENAME_DISTRICT, "d_w_id", w_id, w_id, districts)
+        .loads(TPCCConstants.TABLENAME_CUSTOMER, "c_w_id", w_id, w_id, customers)
+        .loads(TPCCConstants.TABLENAME_HISTORY, "h_c_w_id", w_id, w_id, customers)
+        .loads(TPCCConstants.TABLENAME_OPENORDER, "o_w_id", w_id, w_id, customers)
+        .loads(TPCCConstants.TABLENAME_NEWORDER, "no_w_id", w_id, w_id, newOrders)
+        // The number of order lines is random
+        .loads(TPCCConstants.TABLENAME_ORDERLINE, "ol_w_id", w_id, w_id, -1);
   }
 
   private PreparedStatement getInsertStatement(Connection conn, String tableName)
@@ -147,12 +155,12 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
     return conn.prepareStatement(sql);
   }
 
-  protected void loadItems(Connection conn, int itemCount) {
+  /** Loads the items with the ids in [firstItem, lastItem] */
+  protected void loadItems(Connection conn, int firstItem, int lastItem) {
 
-    try (PreparedStatement itemPrepStmt = getInsertStatement(conn, TPCCConstants.TABLENAME_ITEM)) {
+    try (BulkSink itemSink = getBulkSink(conn, TPCCConstants.TABLENAME_ITEM)) {
 
-      int batchSize = 0;
-      for (int i = 1; i <= itemCount; i++) {
+      for (int i = firstItem; i <= lastItem; i++) {
 
         Item item = new Item();
         item.i_id = i;
@@ -178,28 +186,17 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
         item.i_im_id = TPCCUtil.randomNumber(1, 10000, benchmark.rng());
 
         int idx = 1;
-        itemPrepStmt.setLong(idx++, item.i_id);
-        itemPrepStmt.setString(idx++, item.i_name);
-        itemPrepStmt.setDouble(idx++, item.i_price);
-        itemPrepStmt.setString(idx++, item.i_data);
-        itemPrepStmt.setLong(idx, item.i_im_id);
-        itemPrepStmt.addBatch();
-        batchSize++;
-
-        if (batchSize == workConf.getBatchSize()) {
-          itemPrepStmt.executeBatch();
-          itemPrepStmt.clearBatch();
-          batchSize = 0;
-        }
-      }
-
-      if (batchSize > 0) {
-        itemPrepStmt.executeBatch();
-        itemPrepStmt.clearBatch();
+        itemSink.setLong(idx++, item.i_id);
+        itemSink.setString(idx++, item.i_name);
+        itemSink.setDouble(idx++, item.i_price);
+        itemSink.setString(idx++, item.i_data);
+        itemSink.setLong(idx, item.i_im_id);
+        itemSink.addRow();
       }
 
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
@@ -235,15 +232,13 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
 
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
   protected void loadStock(Connection conn, int w_id, int numItems) {
 
-    int k = 0;
-
-    try (PreparedStatement stockPreparedStatement =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_STOCK)) {
+    try (BulkSink stockSink = getBulkSink(conn, TPCCConstants.TABLENAME_STOCK)) {
 
       for (int i = 1; i <= numItems; i++) {
         Stock stock = new Stock();
@@ -272,38 +267,29 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
         }
 
         int idx = 1;
-        stockPreparedStatement.setLong(idx++, stock.s_w_id);
-        stockPreparedStatement.setLong(idx++, stock.s_i_id);
-        stockPreparedStatement.setLong(idx++, stock.s_quantity);
-        stockPreparedStatement.setDouble(idx++, stock.s_ytd);
-        stockPreparedStatement.setLong(idx++, stock.s_order_cnt);
-        stockPreparedStatement.setLong(idx++, stock.s_remote_cnt);
-        stockPreparedStatement.setString(idx++, stock.s_data);
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx++, TPCCUtil.randomStr(24));
-        stockPreparedStatement.setString(idx, TPCCUtil.randomStr(24));
-        stockPreparedStatement.addBatch();
-
-        k++;
-
-        if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-          stockPreparedStatement.executeBatch();
-          stockPreparedStatement.clearBatch();
-        }
+        stockSink.setLong(idx++, stock.s_w_id);
+        stockSink.setLong(idx++, stock.s_i_id);
+        stockSink.setLong(idx++, stock.s_quantity);
+        stockSink.setDouble(idx++, stock.s_ytd);
+        stockSink.setLong(idx++, stock.s_order_cnt);
+        stockSink.setLong(idx++, stock.s_remote_cnt);
+        stockSink.setString(idx++, stock.s_data);
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx++, TPCCUtil.randomStr(24));
+        stockSink.setString(idx, TPCCUtil.randomStr(24));
+        stockSink.addRow();
       }
 
-      stockPreparedStatement.executeBatch();
-      stockPreparedStatement.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
@@ -346,16 +332,14 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
 
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
   protected void loadCustomers(
       Connection conn, int w_id, int districtsPerWarehouse, int customersPerDistrict) {
 
-    int k = 0;
-
-    try (PreparedStatement custPrepStmt =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_CUSTOMER)) {
+    try (BulkSink custSink = getBulkSink(conn, TPCCConstants.TABLENAME_CUSTOMER)) {
 
       for (int d = 1; d <= districtsPerWarehouse; d++) {
         for (int c = 1; c <= customersPerDistrict; c++) {
@@ -399,53 +383,41 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
           customer.c_data = TPCCUtil.randomStr(TPCCUtil.randomNumber(300, 500, benchmark.rng()));
 
           int idx = 1;
-          custPrepStmt.setLong(idx++, customer.c_w_id);
-          custPrepStmt.setLong(idx++, customer.c_d_id);
-          custPrepStmt.setLong(idx++, customer.c_id);
-          custPrepStmt.setDouble(idx++, customer.c_discount);
-          custPrepStmt.setString(idx++, customer.c_credit);
-          custPrepStmt.setString(idx++, customer.c_last);
-          custPrepStmt.setString(idx++, customer.c_first);
-          custPrepStmt.setDouble(idx++, customer.c_credit_lim);
-          custPrepStmt.setDouble(idx++, customer.c_balance);
-          custPrepStmt.setDouble(idx++, customer.c_ytd_payment);
-          custPrepStmt.setLong(idx++, customer.c_payment_cnt);
-          custPrepStmt.setLong(idx++, customer.c_delivery_cnt);
-          custPrepStmt.setString(idx++, customer.c_street_1);
-          custPrepStmt.setString(idx++, customer.c_street_2);
-          custPrepStmt.setString(idx++, customer.c_city);
-          custPrepStmt.setString(idx++, customer.c_state);
-          custPrepStmt.setString(idx++, customer.c_zip);
-          custPrepStmt.setString(idx++, customer.c_phone);
-          custPrepStmt.setTimestamp(idx++, customer.c_since);
-          custPrepStmt.setString(idx++, customer.c_middle);
-          custPrepStmt.setString(idx, customer.c_data);
-          custPrepStmt.addBatch();
-
-          k++;
-
-          if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-            custPrepStmt.executeBatch();
-            custPrepStmt.clearBatch();
-          }
+          custSink.setLong(idx++, customer.c_w_id);
+          custSink.setLong(idx++, customer.c_d_id);
+          custSink.setLong(idx++, customer.c_id);
+          custSink.setDouble(idx++, customer.c_discount);
+          custSink.setString(idx++, customer.c_credit);
+          custSink.setString(idx++, customer.c_last);
+          custSink.setString(idx++, customer.c_first);
+          custSink.setDouble(idx++, customer.c_credit_lim);
+          custSink.setDouble(idx++, customer.c_balance);
+          custSink.setDouble(idx++, customer.c_ytd_payment);
+          custSink.setLong(idx++, customer.c_payment_cnt);
+          custSink.setLong(idx++, customer.c_delivery_cnt);
+          custSink.setString(idx++, customer.c_street_1);
+          custSink.setString(idx++, customer.c_street_2);
+          custSink.setString(idx++, customer.c_city);
+          custSink.setString(idx++, customer.c_state);
+          custSink.setString(idx++, customer.c_zip);
+          custSink.setString(idx++, customer.c_phone);
+          custSink.setTimestamp(idx++, customer.c_since);
+          custSink.setString(idx++, customer.c_middle);
+          custSink.setString(idx, customer.c_data);
+          custSink.addRow();
         }
       }
 
-      custPrepStmt.executeBatch();
-      custPrepStmt.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
   protected void loadCustomerHistory(
       Connection conn, int w_id, int districtsPerWarehouse, int customersPerDistrict) {
 
-    int k = 0;
-
-    try (PreparedStatement histPrepStmt =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_HISTORY)) {
+    try (BulkSink histSink = getBulkSink(conn, TPCCConstants.TABLENAME_HISTORY)) {
 
       for (int d = 1; d <= districtsPerWarehouse; d++) {
         for (int c = 1; c <= customersPerDistrict; c++) {
@@ -462,40 +434,28 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
           history.h_data = TPCCUtil.randomStr(TPCCUtil.randomNumber(10, 24, benchmark.rng()));
 
           int idx = 1;
-          histPrepStmt.setInt(idx++, history.h_c_id);
-          histPrepStmt.setInt(idx++, history.h_c_d_id);
-          histPrepStmt.setInt(idx++, history.h_c_w_id);
-          histPrepStmt.setInt(idx++, history.h_d_id);
-          histPrepStmt.setInt(idx++, history.h_w_id);
-          histPrepStmt.setTimestamp(idx++, history.h_date);
-          histPrepStmt.setDouble(idx++, history.h_amount);
-          histPrepStmt.setString(idx, history.h_data);
-          histPrepStmt.addBatch();
-
-          k++;
-
-          if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-            histPrepStmt.executeBatch();
-            histPrepStmt.clearBatch();
-          }
+          histSink.setInt(idx++, history.h_c_id);
+          histSink.setInt(idx++, history.h_c_d_id);
+          histSink.setInt(idx++, history.h_c_w_id);
+          histSink.setInt(idx++, history.h_d_id);
+          histSink.setInt(idx++, history.h_w_id);
+          histSink.setTimestamp(idx++, history.h_date);
+          histSink.setDouble(idx++, history.h_amount);
+          histSink.setString(idx, history.h_data);
+          histSink.addRow();
         }
       }
 
-      histPrepStmt.executeBatch();
-      histPrepStmt.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage());
+      throw new RuntimeException(se);
     }
   }
 
   protected void loadOpenOrders(
       Connection conn, int w_id, int districtsPerWarehouse, int customersPerDistrict) {
 
-    int k = 0;
-
-    try (PreparedStatement openOrderStatement =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_OPENORDER)) {
+    try (BulkSink openOrderSink = getBulkSink(conn, TPCCConstants.TABLENAME_OPENORDER)) {
 
       for (int d = 1; d <= districtsPerWarehouse; d++) {
         // TPC-C 4.3.3.1: o_c_id must be a permutation of [1, 3000]
@@ -533,34 +493,25 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
           oorder.o_entry_d = new Timestamp(System.currentTimeMillis());
 
           int idx = 1;
-          openOrderStatement.setInt(idx++, oorder.o_w_id);
-          openOrderStatement.setInt(idx++, oorder.o_d_id);
-          openOrderStatement.setInt(idx++, oorder.o_id);
-          openOrderStatement.setInt(idx++, oorder.o_c_id);
+          openOrderSink.setInt(idx++, oorder.o_w_id);
+          openOrderSink.setInt(idx++, oorder.o_d_id);
+          openOrderSink.setInt(idx++, oorder.o_id);
+          openOrderSink.setInt(idx++, oorder.o_c_id);
           if (oorder.o_carrier_id != null) {
-            openOrderStatement.setInt(idx++, oorder.o_carrier_id);
+            openOrderSink.setInt(idx++, oorder.o_carrier_id);
           } else {
-            openOrderStatement.setNull(idx++, Types.INTEGER);
-          }
-          openOrderStatement.setInt(idx++, oorder.o_ol_cnt);
-          openOrderStatement.setInt(idx++, oorder.o_all_local);
-          openOrderStatement.setTimestamp(idx, oorder.o_entry_d);
-          openOrderStatement.addBatch();
-
-          k++;
-
-          if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-            openOrderStatement.executeBatch();
-            openOrderStatement.clearBatch();
+            openOrderSink.setNull(idx++, Types.INTEGER);
           }
+          openOrderSink.setInt(idx++, oorder.o_ol_cnt);
+          openOrderSink.setInt(idx++, oorder.o_all_local);
+          openOrderSink.setTimestamp(idx, oorder.o_entry_d);
+          openOrderSink.addRow();
         }
       }
 
-      openOrderStatement.executeBatch();
-      openOrderStatement.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage(), se);
+      throw new RuntimeException(se);
     }
   }
 
@@ -578,10 +529,7 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
   protected void loadNewOrders(
       Connection conn, int w_id, int districtsPerWarehouse, int customersPerDistrict) {
 
-    int k = 0;
-
-    try (PreparedStatement newOrderStatement =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_NEWORDER)) {
+    try (BulkSink newOrderSink = getBulkSink(conn, TPCCConstants.TABLENAME_NEWORDER)) {
 
       for (int d = 1; d <= districtsPerWarehouse; d++) {
 
@@ -597,36 +545,24 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
             new_order.no_o_id = c;
 
             int idx = 1;
-            newOrderStatement.setInt(idx++, new_order.no_w_id);
-            newOrderStatement.setInt(idx++, new_order.no_d_id);
-            newOrderStatement.setInt(idx, new_order.no_o_id);
-            newOrderStatement.addBatch();
-
-            k++;
-          }
-
-          if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-            newOrderStatement.executeBatch();
-            newOrderStatement.clearBatch();
+            newOrderSink.setInt(idx++, new_order.no_w_id);
+            newOrderSink.setInt(idx++, new_order.no_d_id);
+            newOrderSink.setInt(idx, new_order.no_o_id);
+            newOrderSink.addRow();
           }
         }
       }
 
-      newOrderStatement.executeBatch();
-      newOrderStatement.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage(), se);
+      throw new RuntimeException(se);
     }
   }
 
   protected void loadOrderLines(
       Connection conn, int w_id, int districtsPerWarehouse, int customersPerDistrict) {
 
-    int k = 0;
-
-    try (PreparedStatement orderLineStatement =
-        getInsertStatement(conn, TPCCConstants.TABLENAME_ORDERLINE)) {
+    try (BulkSink orderLineSink = getBulkSink(conn, TPCCConstants.TABLENAME_ORDERLINE)) {
 
       for (int d = 1; d <= districtsPerWarehouse; d++) {
 
@@ -656,37 +592,28 @@ public final class TPCCLoader extends Loader<TPCCBenchmark> {
             order_line.ol_dist_info = TPCCUtil.randomStr(24);
 
             int idx = 1;
-            orderLineStatement.setInt(idx++, order_line.ol_w_id);
-            orderLineStatement.setInt(idx++, order_line.ol_d_id);
-            orderLineStatement.setInt(idx++, order_line.ol_o_id);
-            orderLineStatement.setInt(idx++, order_line.ol_number);
-            orderLineStatement.setLong(idx++, order_line.ol_i_id);
+            orderLineSink.setInt(idx++, order_line.ol_w_id);
+            orderLineSink.setInt(idx++, order_line.ol_d_id);
+            orderLineSink.setInt(idx++, order_line.ol_o_id);
+            orderLineSink.setInt(idx++, order_line.ol_number);
+            orderLineSink.setLong(idx++, order_line.ol_i_id);
             if (order_line.ol_delivery_d != null) {
-              orderLineStatement.setTimestamp(idx++, order_line.ol_delivery_d);
+              orderLineSink.setTimestamp(idx++, order_line.ol_delivery_d);
             } else {
-              orderLineStatement.setNull(idx++, 0);
-            }
-            orderLineStatement.setDouble(idx++, order_line.ol_amount);
-            orderLineStatement.setLong(idx++, order_line.ol_supply_w_id);
-            orderLineStatement.setDouble(idx++, order_line.ol_quantity);
-            orderLineStatement.setString(idx, order_line.ol_dist_info);
-            orderLineStatement.addBatch();
-
-            k++;
-
-            if (k != 0 && (k % workConf.getBatchSize()) == 0) {
-              orderLineStatement.executeBatch();
-              orderLineStatement.clearBatch();
+              orderLineSink.setNull(idx++, 0);
             }
+            orderLineSink.setDouble(idx++, order_line.ol_amount);
+            orderLineSink.setLong(idx++, order_line.ol_supply_w_id);
+            orderLineSink.setDouble(idx++, order_line.ol_quantity);
+            orderLineSink.setString(idx, order_line.ol_dist_info);
+            orderLineSink.addRow();
           }
         }
       }
 
-      orderLineStatement.executeBatch();
-      orderLineStatement.clearBatch();
-
     } catch (SQLException se) {
       LOG.error(se.getMessage(), se);
+      throw new RuntimeException(se);
     }
   }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpcds.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A byte range of a flat file that starts at the beginning of a line and ends after a line. */
+public final class FileSegment {
+  private final Path path;
+  private final long start;
+  private final long end;
+
+  public FileSegment(Path path, long start, long end) {
+    this.path = path;
+    this.start = start;
+    this.end = end;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  public long getStart() {
+    return start;
+  }
+
+  public long getEnd() {
+    return end;
+  }
+
+  /**
+   * Split a file into at most maxSegments line-aligned segments of roughly equal size. No segment
+   * is made smaller than minSegmentSize, so small files stay in one piece.
+   */
+  public static List<FileSegment> split(Path path, int maxSegments, long minSegmentSize)
+      throws IOException {
+    List<FileSegment> segments = new ArrayList<>();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long count = Math.max(1, Math.min(maxSegments, size / Math.max(1, minSegmentSize)));
+
+      ByteBuffer buffer = ByteBuffer.allocate(8192);
+      long start = 0;
+      for (long i = 1; i <= count && start < size; i++) {
+        long end = i == count ? size : nextLineStart(channel, buffer, i * size / count);
+        if (end > start) {
+          segments.add(new FileSegment(path, start, end));
+          start = end;
+        }
+      }
+    }
+    return segments;
+  }
+
+  /** Return the position right after the first newline at or after pos, or the file size. */
+  private static long nextLineStart(FileChannel channel, ByteBuffer buffer, long pos)
+      throws IOException {
+    while (true) {
+      buffer.clear();
+      int read = channel.read(buffer, pos);
+      if (read <= 0) {
+        return channel.size();
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return pos + i + 1;
+        }
+      }
+      pos += read;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return path.getFileName() + "[" + start + ", " + end + ")";
+  }
+}
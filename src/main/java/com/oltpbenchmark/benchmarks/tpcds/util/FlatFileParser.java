@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpcds.util;
+
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.benchmarks.tpcds.TPCDSConstants.CastTypes;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses the rows of a TPC-DS flat file segment straight from a memory-mapped buffer into a
+ * BulkSink. Each column gets a parser for its type when the parser is created, so the bytes of a
+ * field are only turned into a String for string columns.
+ *
+ * <p>Empty numeric and date fields are loaded as NULL. Lines with too few or malformed fields are
+ * logged and skipped. A parser keeps state between rows and must only be used by one thread.
+ */
+public final class FlatFileParser {
+  private static final Logger LOG = LoggerFactory.getLogger(FlatFileParser.class);
+
+  /** Size of the window of the file that is mapped at a time. A line must fit into one window. */
+  private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+  /** Powers of ten that are exact doubles. */
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18
+  };
+
+  public enum Format {
+    /** dsdgen output: every field is followed by a '|'. */
+    PIPE,
+    /** Comma-separated fields, optionally enclosed in double quotes. */
+    CSV
+  }
+
+  private final Format format;
+  private final ColumnParser[] columns;
+  private byte[] scratch = new byte[256];
+
+  public FlatFileParser(Format format, CastTypes[] types) {
+    this.format = format;
+    this.columns = new ColumnParser[types.length];
+    for (int i = 0; i < types.length; i++) {
+      switch (types[i]) {
+        case LONG:
+          columns[i] = this::parseLong;
+          break;
+        case DOUBLE:
+          columns[i] = this::parseDouble;
+          break;
+        case STRING:
+          columns[i] = this::parseString;
+          break;
+        case DATE:
+          columns[i] = new DateParser();
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported column type " + types[i]);
+      }
+    }
+  }
+
+  /**
+   * Write all rows of the segment to the sink.
+   *
+   * @return the number of rows written
+   */
+  public long parse(FileSegment segment, BulkSink sink) throws IOException, SQLException {
+    long rows = 0;
+    try (FileChannel channel = FileChannel.open(segment.getPath(), StandardOpenOption.READ)) {
+      long pos = segment.getStart();
+      while (pos < segment.getEnd()) {
+        int length = (int) Math.min(WINDOW_SIZE, segment.getEnd() - pos);
+        boolean last = pos + length == segment.getEnd();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+
+        int lineStart = 0;
+        for (int i = 0; i < length; i++) {
+          if (buffer.get(i) == '\n') {
+            rows += parseLine(buffer, lineStart, i, sink, segment);
+            lineStart = i + 1;
+          }
+        }
+        if (last && lineStart < length) {
+          // the last line of the file has no newline
+          rows += parseLine(buffer, lineStart, length, sink, segment);
+          lineStart = length;
+        } else if (!last && lineStart == 0) {
+          throw new IOException("Line longer than " + WINDOW_SIZE + " bytes in " + segment);
+        }
+        pos += lineStart;
+      }
+    }
+    return rows;
+  }
+
+  private int parseLine(
+      MappedByteBuffer buffer, int start, int end, BulkSink sink, FileSegment segment)
+      throws SQLException {
+    if (end > start && buffer.get(end - 1) == '\r') {
+      end--;
+    }
+    if (end == start) {
+      return 0;
+    }
+
+    int pos = start;
+    for (int i = 0; i < columns.length; i++) {
+      int fieldStart;
+      int fieldEnd;
+      if (format == Format.PIPE) {
+        fieldStart = pos;
+        fieldEnd = indexOf(buffer, (byte) '|', pos, end);
+        if (fieldEnd < 0) {
+          return invalidLine(buffer, start, end, segment, null);
+        }
+        pos = fieldEnd + 1;
+        if (fieldEnd - fieldStart >= 2
+            && buffer.get(fieldStart) == '"'
+            && buffer.get(fieldEnd - 1) == '"') {
+          fieldStart++;
+          fieldEnd--;
+        }
+      } else {
+        if (pos > end) {
+          return invalidLine(buffer, start, end, segment, null);
+        }
+        pos = skipSpaces(buffer, pos, end);
+        if (pos < end && buffer.get(pos) == '"') {
+          fieldStart = pos + 1;
+          fieldEnd = indexOf(buffer, (byte) '"', fieldStart, end);
+          if (fieldEnd < 0) {
+            return invalidLine(buffer, start, end, segment, null);
+          }
+          pos = skipSpaces(buffer, fieldEnd + 1, end);
+        } else {
+          fieldStart = pos;
+          fieldEnd = indexOf(buffer, (byte) ',', pos, end);
+          if (fieldEnd < 0) {
+            fieldEnd = end;
+          }
+          pos = fieldEnd;
+        }
+        // step over the separator; past the end of the line if this was the last field
+        pos++;
+      }
+
+      try {
+        columns[i].parse(buffer, fieldStart, fieldEnd, sink, i + 1);
+      } catch (IllegalArgumentException ex) {
+        return invalidLine(buffer, start, end, segment, ex);
+      }
+    }
+    sink.addRow();
+    return 1;
+  }
+
+  private int invalidLine(
+      MappedByteBuffer buffer, int start, int end, FileSegment segment, Exception cause) {
+    LOG.error(
+        "Invalid line in {}: {} ({})",
+        segment,
+        decode(buffer, start, end),
+        cause != null ? cause.getMessage() : "too few fields");
+    return 0;
+  }
+
+  // ----------------------------------------------------------------
+  // COLUMN PARSERS
+  // ----------------------------------------------------------------
+
+  private interface ColumnParser {
+    void parse(MappedByteBuffer buffer, int start, int end, BulkSink sink, int column)
+        throws SQLException;
+  }
+
+  private void parseLong(MappedByteBuffer buffer, int start, int end, BulkSink sink, int column)
+      throws SQLException {
+    start = skipSpaces(buffer, start, end);
+    end = trimSpaces(buffer, start, end);
+    if (start == end) {
+      sink.setNull(column, Types.BIGINT);
+      return;
+    }
+
+    boolean negative = buffer.get(start) == '-';
+    int pos = negative || buffer.get(start) == '+' ? start + 1 : start;
+    if (pos == end || end - pos > 18) {
+      sink.setLong(column, Long.parseLong(decode(buffer, start, end)));
+      return;
+    }
+    long value = 0;
+    for (; pos < end; pos++) {
+      int digit = buffer.get(pos) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("Not a number: " + decode(buffer, start, end));
+      }
+      value = value * 10 + digit;
+    }
+    sink.setLong(column, negative ? -value : value);
+  }
+
+  private void parseDouble(MappedByteBuffer buffer, int start, int end, BulkSink sink, int column)
+      throws SQLException {
+    start = skipSpaces(buffer, start, end);
+    end = trimSpaces(buffer, start, end);
+    if (start == end) {
+      sink.setNull(column, Types.DOUBLE);
+      return;
+    }
+
+    // Plain decimals like "-123.45" are parsed directly. The mantissa and the power of ten are both
+    // exact doubles, so the division is correctly rounded. Anything else goes through the JDK.
+    boolean negative = buffer.get(start) == '-';
+    int pos = negative || buffer.get(start) == '+' ? start + 1 : start;
+    long mantissa = 0;
+    int digits = 0;
+    int scale = -1;
+    for (; pos < end; pos++) {
+      byte b = buffer.get(pos);
+      if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        digits++;
+        if (scale >= 0) {
+          scale++;
+        }
+      } else if (b == '.' && scale < 0) {
+        scale = 0;
+      } else {
+        break;
+      }
+    }
+    if (pos < end || digits == 0 || digits > 15 || scale >= POWERS_OF_TEN.length) {
+      sink.setDouble(column, Double.parseDouble(decode(buffer, start, end)));
+      return;
+    }
+    double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+    sink.setDouble(column, negative ? -value : value);
+  }
+
+  private void parseString(MappedByteBuffer buffer, int start, int end, BulkSink sink, int column)
+      throws SQLException {
+    sink.setString(column, decode(buffer, start, end));
+  }
+
+  /** Date layouts found in TPC-DS flat files. */
+  private enum DateFormat {
+    /** yyyy-mm-dd */
+    ISO(10, 0, 5, 8, '-'),
+    /** yyyymmdd */
+    BASIC(8, 0, 4, 6, (char) 0),
+    /** mm/dd/yyyy */
+    USA(10, 6, 0, 3, '/'),
+    /** dd.mm.yyyy */
+    EUR(10, 6, 3, 0, '.');
+
+    private final int length;
+    private final int year;
+    private final int month;
+    private final int day;
+    private final char separator;
+
+    DateFormat(int length, int year, int month, int day, char separator) {
+      this.length = length;
+      this.year = year;
+      this.month = month;
+      this.day = day;
+      this.separator = separator;
+    }
+
+    boolean matches(MappedByteBuffer buffer, int start, int end) {
+      if (end - start != length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        byte b = buffer.get(start + i);
+        boolean isDigit = b >= '0' && b <= '9';
+        if (!isDigit && b != separator) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    Date parse(MappedByteBuffer buffer, int start) {
+      return Date.valueOf(
+          LocalDate.of(
+              digits(buffer, start + year, 4),
+              digits(buffer, start + month, 2),
+              digits(buffer, start + day, 2)));
+    }
+  }
+
+  /** Parses the dates of one column, in the format of the first date it sees. */
+  private final class DateParser implements ColumnParser {
+    private DateFormat format;
+
+    @Override
+    public void parse(MappedByteBuffer buffer, int start, int end, BulkSink sink, int column)
+        throws SQLException {
+      start = skipSpaces(buffer, start, end);
+      end = trimSpaces(buffer, start, end);
+      if (start == end) {
+        sink.setNull(column, Types.DATE);
+        return;
+      }
+      if (format == null) {
+        for (DateFormat candidate : DateFormat.values()) {
+          if (candidate.matches(buffer, start, end)) {
+            format = candidate;
+            break;
+          }
+        }
+      }
+      if (format == null || !format.matches(buffer, start, end)) {
+        throw new IllegalArgumentException(
+            "Unrecognized date \"" + decode(buffer, start, end) + "\"");
+      }
+      Date date;
+      try {
+        date = format.parse(buffer, start);
+      } catch (DateTimeException ex) {
+        throw new IllegalArgumentException(
+            "Invalid date \"" + decode(buffer, start, end) + "\"", ex);
+      }
+      sink.setDate(column, date);
+    }
+  }
+
+  // ----------------------------------------------------------------
+  // BYTE UTILITIES
+  // ----------------------------------------------------------------
+
+  private static int digits(MappedByteBuffer buffer, int start, int count) {
+    int value = 0;
+    for (int i = start; i < start + count; i++) {
+      int digit = buffer.get(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new IllegalArgumentException("Not a digit at position " + (i - start));
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static int indexOf(MappedByteBuffer buffer, byte b, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (buffer.get(i) == b) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int skipSpaces(MappedByteBuffer buffer, int start, int end) {
+    while (start < end && (buffer.get(start) == ' ' || buffer.get(start) == '\t')) {
+      start++;
+    }
+    return start;
+  }
+
+  private static int trimSpaces(MappedByteBuffer buffer, int start, int end) {
+    while (end > start && (buffer.get(end - 1) == ' ' || buffer.get(end - 1) == '\t')) {
+      end--;
+    }
+    return end;
+  }
+
+  private String decode(MappedByteBuffer buffer, int start, int end) {
+    int length = end - start;
+    if (scratch.length < length) {
+      scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+    buffer.get(start, scratch, 0, length);
+    return new String(scratch, 0, length, StandardCharsets.UTF_8);
+  }
+}
@@ -27,384 +27,203 @@ package com.oltpbenchmark.benchmarks.tpch;
 
 import static com.oltpbenchmark.benchmarks.tpch.TPCHConstants.*;
 
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
-import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.tpch.util.CustomerGenerator;
+import com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils;
 import com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator;
 import com.oltpbenchmark.benchmarks.tpch.util.NationGenerator;
 import com.oltpbenchmark.benchmarks.tpch.util.OrderGenerator;
 import com.oltpbenchmark.benchmarks.tpch.util.PartGenerator;
 import com.oltpbenchmark.benchmarks.tpch.util.PartSupplierGenerator;
 import com.oltpbenchmark.benchmarks.tpch.util.RegionGenerator;
+import com.oltpbenchmark.benchmarks.tpch.util.RowGenerator;
+import com.oltpbenchmark.benchmarks.tpch.util.RowSink;
 import com.oltpbenchmark.benchmarks.tpch.util.SupplierGenerator;
-import com.oltpbenchmark.catalog.Table;
-import com.oltpbenchmark.util.SQLUtil;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CountDownLatch;
 
 public final class TPCHLoader extends Loader<TPCHBenchmark> {
   public TPCHLoader(TPCHBenchmark benchmark) {
     super(benchmark);
   }
 
-  private enum CastTypes {
-    LONG,
-    DOUBLE,
-    STRING,
-    DATE
-  }
-
-  private static final CastTypes[] customerTypes = {
-    CastTypes.LONG, // c_custkey
-    CastTypes.STRING, // c_name
-    CastTypes.STRING, // c_address
-    CastTypes.LONG, // c_nationkey
-    CastTypes.STRING, // c_phone
-    CastTypes.DOUBLE, // c_acctbal
-    CastTypes.STRING, // c_mktsegment
-    CastTypes.STRING // c_comment
-  };
-
-  private static final CastTypes[] lineitemTypes = {
-    CastTypes.LONG, // l_orderkey
-    CastTypes.LONG, // l_partkey
-    CastTypes.LONG, // l_suppkey
-    CastTypes.LONG, // l_linenumber
-    CastTypes.DOUBLE, // l_quantity
-    CastTypes.DOUBLE, // l_extendedprice
-    CastTypes.DOUBLE, // l_discount
-    CastTypes.DOUBLE, // l_tax
-    CastTypes.STRING, // l_returnflag
-    CastTypes.STRING, // l_linestatus
-    CastTypes.DATE, // l_shipdate
-    CastTypes.DATE, // l_commitdate
-    CastTypes.DATE, // l_receiptdate
-    CastTypes.STRING, // l_shipinstruct
-    CastTypes.STRING, // l_shipmode
-    CastTypes.STRING // l_comment
-  };
-
-  private static final CastTypes[] nationTypes = {
-    CastTypes.LONG, // n_nationkey
-    CastTypes.STRING, // n_name
-    CastTypes.LONG, // n_regionkey
-    CastTypes.STRING // n_comment
-  };
-
-  private static final CastTypes[] ordersTypes = {
-    CastTypes.LONG, // o_orderkey
-    CastTypes.LONG, // o_LONG, custkey
-    CastTypes.STRING, // o_orderstatus
-    CastTypes.DOUBLE, // o_totalprice
-    CastTypes.DATE, // o_orderdate
-    CastTypes.STRING, // o_orderpriority
-    CastTypes.STRING, // o_clerk
-    CastTypes.LONG, // o_shippriority
-    CastTypes.STRING // o_comment
-  };
-
-  private static final CastTypes[] partTypes = {
-    CastTypes.LONG, // p_partkey
-    CastTypes.STRING, // p_name
-    CastTypes.STRING, // p_mfgr
-    CastTypes.STRING, // p_brand
-    CastTypes.STRING, // p_type
-    CastTypes.LONG, // p_size
-    CastTypes.STRING, // p_container
-    CastTypes.DOUBLE, // p_retailprice
-    CastTypes.STRING // p_comment
-  };
-
-  private static final CastTypes[] partsuppTypes = {
-    CastTypes.LONG, // ps_partkey
-    CastTypes.LONG, // ps_suppkey
-    CastTypes.LONG, // ps_availqty
-    CastTypes.DOUBLE, // ps_supplycost
-    CastTypes.STRING // ps_comment
-  };
-
-  private static final CastTypes[] regionTypes = {
-    CastTypes.LONG, // r_regionkey
-    CastTypes.STRING, // r_name
-    CastTypes.STRING // r_comment
-  };
-
-  private static final CastTypes[] supplierTypes = {
-    CastTypes.LONG, // s_suppkey
-    CastTypes.STRING, // s_name
-    CastTypes.STRING, // s_address
-    CastTypes.LONG, // s_nationkey
-    CastTypes.STRING, // s_phone
-    CastTypes.DOUBLE, // s_acctbal
-    CastTypes.STRING, // s_comment
-  };
-
-  private PreparedStatement getInsertStatement(Connection conn, String tableName)
-      throws SQLException {
-    Table catalog_tbl = benchmark.getCatalog().getTable(tableName);
-    String sql = SQLUtil.getInsertSQL(catalog_tbl, this.getDatabaseType());
-    return conn.prepareStatement(sql);
-  }
-
   @Override
-  public List<LoaderThread> createLoaderThreads() {
-    List<LoaderThread> threads = new ArrayList<>();
-
-    final CountDownLatch regionLatch = new CountDownLatch(1);
-    final CountDownLatch nationLatch = new CountDownLatch(1);
-    final CountDownLatch ordersLatch = new CountDownLatch(1);
-    final CountDownLatch customerLatch = new CountDownLatch(1);
-    final CountDownLatch partsLatch = new CountDownLatch(1);
-    final CountDownLatch supplierLatch = new CountDownLatch(1);
-    final CountDownLatch partsSuppLatch = new CountDownLatch(1);
+  public List<LoadTask> createLoadTasks() {
+    List<LoadTask> tasks = new ArrayList<>();
 
     final double scaleFactor = this.workConf.getScaleFactor();
 
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_REGION)) {
-              List<Iterable<List<Object>>> regionGenerators = new ArrayList<>();
-              regionGenerators.add(new RegionGenerator());
-
-              genTable(conn, statement, regionGenerators, regionTypes, TABLENAME_REGION);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            regionLatch.countDown();
-          }
-        });
-
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_PART)) {
-              List<Iterable<List<Object>>> partGenerators = new ArrayList<>();
-              partGenerators.add(new PartGenerator(scaleFactor, 1, 1));
-
-              genTable(conn, statement, partGenerators, partTypes, TABLENAME_PART);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            partsLatch.countDown();
-          }
-        });
-
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_NATION)) {
-              List<Iterable<List<Object>>> nationGenerators = new ArrayList<>();
-              nationGenerators.add(new NationGenerator());
-
-              genTable(conn, statement, nationGenerators, nationTypes, TABLENAME_NATION);
-            }
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              regionLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            nationLatch.countDown();
-          }
-        });
-
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_SUPPLIER)) {
-              List<Iterable<List<Object>>> supplierGenerators = new ArrayList<>();
-              supplierGenerators.add(new SupplierGenerator(scaleFactor, 1, 1));
-
-              genTable(conn, statement, supplierGenerators, supplierTypes, TABLENAME_SUPPLIER);
-            }
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              nationLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            supplierLatch.countDown();
-          }
-        });
-
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_CUSTOMER)) {
-              List<Iterable<List<Object>>> customerGenerators = new ArrayList<>();
-              customerGenerators.add(new CustomerGenerator(scaleFactor, 1, 1));
-
-              genTable(conn, statement, customerGenerators, customerTypes, TABLENAME_CUSTOMER);
-            }
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              nationLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            customerLatch.countDown();
-          }
-        });
-
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_ORDER)) {
-              List<Iterable<List<Object>>> orderGenerators = new ArrayList<>();
-              orderGenerators.add(new OrderGenerator(scaleFactor, 1, 1));
-
-              genTable(conn, statement, orderGenerators, ordersTypes, TABLENAME_ORDER);
-            }
-          }
-
-          @Override
-          public void beforeLoad() {
-            try {
-              customerLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-
-          @Override
-          public void afterLoad() {
-            ordersLatch.countDown();
-          }
-        });
+    // The large tables are split into one partition per loader thread. The generators are
+    // deterministic, so each partition is generated on its own and streamed over its own
+    // connection.
+    final int partCount = Math.max(1, this.workConf.getLoaderThreads());
+
+    LoadTask region =
+        tableLoader(TABLENAME_REGION, new RegionGenerator()).loadsTable(TABLENAME_REGION, 5);
+    tasks.add(region);
+
+    List<LoadTask> parts = new ArrayList<>();
+    for (int part = 1; part <= partCount; part++) {
+      parts.add(
+          partitionLoader(
+              TABLENAME_PART,
+              new PartGenerator(scaleFactor, part, partCount),
+              part,
+              partCount,
+              "p_partkey",
+              PartGenerator.SCALE_BASE,
+              1));
+    }
+    tasks.addAll(parts);
+
+    LoadTask nation =
+        tableLoader(TABLENAME_NATION, new NationGenerator())
+            .loadsTable(TABLENAME_NATION, 25)
+            .dependsOn(region);
+    tasks.add(nation);
+
+    LoadTask supplier =
+        tableLoader(TABLENAME_SUPPLIER, new SupplierGenerator(scaleFactor, 1, 1))
+            .loadsTable(
+                TABLENAME_SUPPLIER,
+                GenerateUtils.calculateRowCount(SupplierGenerator.SCALE_BASE, scaleFactor, 1, 1))
+            .dependsOn(nation);
+    tasks.add(supplier);
+
+    List<LoadTask> customers = new ArrayList<>();
+    for (int part = 1; part <= partCount; part++) {
+      customers.add(
+          partitionLoader(
+                  TABLENAME_CUSTOMER,
+                  new CustomerGenerator(scaleFactor, part, partCount),
+                  part,
+                  partCount,
+                  "c_custkey",
+                  CustomerGenerator.SCALE_BASE,
+                  1)
+              .dependsOn(nation));
+    }
+    tasks.addAll(customers);
+
+    List<LoadTask> partSupps = new ArrayList<>();
+    for (int part = 1; part <= partCount; part++) {
+      partSupps.add(
+          partitionLoader(
+                  TABLENAME_PARTSUPP,
+                  new PartSupplierGenerator(scaleFactor, part, partCount),
+                  part,
+                  partCount,
+                  "ps_partkey",
+                  PartGenerator.SCALE_BASE,
+                  PartSupplierGenerator.SUPPLIERS_PER_PART)
+              .dependsOn(parts)
+              .dependsOn(supplier));
+    }
+    tasks.addAll(partSupps);
+
+    // A lineitem partition covers the same order keys as the orders partition with the same
+    // number, so it only has to wait for that partition to satisfy its foreign key.
+    for (int part = 1; part <= partCount; part++) {
+      long start =
+          GenerateUtils.calculateStartIndex(
+              OrderGenerator.SCALE_BASE, scaleFactor, part, partCount);
+      long count =
+          GenerateUtils.calculateRowCount(OrderGenerator.SCALE_BASE, scaleFactor, part, partCount);
+      long firstKey = OrderGenerator.makeOrderKey(start + 1);
+      long lastKey = OrderGenerator.makeOrderKey(start + count);
+
+      LoadTask orders =
+          tableLoader(
+                  String.format("%s[%d/%d]", TABLENAME_ORDER, part, partCount),
+                  TABLENAME_ORDER,
+                  new OrderGenerator(scaleFactor, part, partCount))
+              .loads(TABLENAME_ORDER, "o_orderkey", firstKey, lastKey, count)
+              .dependsOn(customers);
+      tasks.add(orders);
+
+      tasks.add(
+          tableLoader(
+                  String.format("%s[%d/%d]", TABLENAME_LINEITEM, part, partCount),
+                  TABLENAME_LINEITEM,
+                  new LineItemGenerator(scaleFactor, part, partCount))
+              // The number of line items per order is random
+              .loads(TABLENAME_LINEITEM, "l_orderkey", firstKey, lastKey, -1)
+              .dependsOn(orders)
+              .dependsOn(partSupps));
+    }
 
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_PARTSUPP)) {
-              List<Iterable<List<Object>>> partSuppGenerators = new ArrayList<>();
-              partSuppGenerators.add(new PartSupplierGenerator(scaleFactor, 1, 1));
+    return tasks;
+  }
 
-              genTable(conn, statement, partSuppGenerators, partsuppTypes, TABLENAME_PARTSUPP);
-            }
-          }
+  /**
+   * Create a task for one partition of a table whose keys are numbered from 1, with the given
+   * number of rows per key.
+   */
+  private LoadTask partitionLoader(
+      String tableName,
+      RowGenerator generator,
+      int part,
+      int partCount,
+      String keyColumn,
+      int scaleBase,
+      int rowsPerKey) {
+    double scaleFactor = this.workConf.getScaleFactor();
+    long start = GenerateUtils.calculateStartIndex(scaleBase, scaleFactor, part, partCount);
+    long count = GenerateUtils.calculateRowCount(scaleBase, scaleFactor, part, partCount);
+    return tableLoader(String.format("%s[%d/%d]", tableName, part, partCount), tableName, generator)
+        .loads(tableName, keyColumn, start + 1, start + count, count * rowsPerKey);
+  }
 
-          @Override
-          public void beforeLoad() {
-            try {
-              partsLatch.await();
-              supplierLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
+  private LoadTask tableLoader(String tableName, RowGenerator generator) {
+    return tableLoader(tableName, tableName, generator);
+  }
 
-          @Override
-          public void afterLoad() {
-            partsSuppLatch.countDown();
+  /** Create a task that inserts all rows of the generator into the table. */
+  private LoadTask tableLoader(String taskName, String tableName, RowGenerator generator) {
+    return LoadTask.of(
+        this.benchmark,
+        taskName,
+        conn -> {
+          try (BulkSink sink = getBulkSink(conn, tableName)) {
+            generator.generate(new BulkRowSink(sink));
           }
         });
+  }
 
-    threads.add(
-        new LoaderThread(this.benchmark) {
-          @Override
-          public void load(Connection conn) throws SQLException {
-            try (PreparedStatement statement = getInsertStatement(conn, TABLENAME_LINEITEM)) {
-              List<Iterable<List<Object>>> lineItemGenerators = new ArrayList<>();
-              lineItemGenerators.add(new LineItemGenerator(scaleFactor, 1, 1));
-
-              genTable(conn, statement, lineItemGenerators, lineitemTypes, TABLENAME_LINEITEM);
-            }
-          }
+  /** Passes the columns of each generated row straight on to a BulkSink. */
+  private static final class BulkRowSink implements RowSink {
+    private final BulkSink sink;
 
-          @Override
-          public void beforeLoad() {
-            try {
-              ordersLatch.await();
-              partsSuppLatch.await();
-            } catch (InterruptedException e) {
-              throw new RuntimeException(e);
-            }
-          }
-        });
-
-    return threads;
-  }
+    private BulkRowSink(BulkSink sink) {
+      this.sink = sink;
+    }
 
-  private void genTable(
-      Connection conn,
-      PreparedStatement prepStmt,
-      List<Iterable<List<Object>>> generators,
-      CastTypes[] types,
-      String tableName) {
-    for (Iterable<List<Object>> generator : generators) {
-      try {
-        int recordsRead = 0;
-        for (List<Object> elems : generator) {
-          for (int idx = 0; idx < types.length; idx++) {
-            final CastTypes type = types[idx];
-            switch (type) {
-              case DOUBLE:
-                prepStmt.setDouble(idx + 1, (Double) elems.get(idx));
-                break;
-              case LONG:
-                prepStmt.setLong(idx + 1, (Long) elems.get(idx));
-                break;
-              case STRING:
-                prepStmt.setString(idx + 1, (String) elems.get(idx));
-                break;
-              case DATE:
-                prepStmt.setDate(idx + 1, (Date) elems.get(idx));
-                break;
-              default:
-                throw new RuntimeException("Unrecognized type for prepared statement");
-            }
-          }
+    @Override
+    public void setLong(int column, long value) throws SQLException {
+      sink.setLong(column, value);
+    }
 
-          ++recordsRead;
-          prepStmt.addBatch();
-          if ((recordsRead % workConf.getBatchSize()) == 0) {
+    @Override
+    public void setDouble(int column, double value) throws SQLException {
+      sink.setDouble(column, value);
+    }
 
-            LOG.debug("writing batch {} for table {}", recordsRead, tableName);
+    @Override
+    public void setString(int column, String value) throws SQLException {
+      sink.setString(column, value);
+    }
 
-            prepStmt.executeBatch();
-            prepStmt.clearBatch();
-          }
-        }
+    @Override
+    public void setDate(int column, Date value) throws SQLException {
+      sink.setDate(column, value);
+    }
 
-        prepStmt.executeBatch();
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
-      }
+    @Override
+    public void endRow() throws SQLException {
+      sink.addRow();
     }
   }
 }
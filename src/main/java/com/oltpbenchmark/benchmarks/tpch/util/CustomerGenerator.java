@@ -17,15 +17,13 @@ package com.oltpbenchmark.benchmarks.tpch.util;
 
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateRowCount;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateStartIndex;
-import static java.util.Locale.ENGLISH;
+import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.formatKey;
 import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class CustomerGenerator implements Iterable<List<Object>> {
+public class CustomerGenerator implements RowGenerator {
   public static final int SCALE_BASE = 150_000;
   private static final int ACCOUNT_BALANCE_MIN = -99999;
   private static final int ACCOUNT_BALANCE_MAX = 999999;
@@ -59,7 +57,7 @@ public class CustomerGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new CustomerGeneratorIterator(
         distributions,
         textPool,
@@ -67,7 +65,7 @@ public class CustomerGenerator implements Iterable<List<Object>> {
         calculateRowCount(SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class CustomerGeneratorIterator implements Iterator<List<Object>> {
+  private static class CustomerGeneratorIterator extends RowIterator {
     private final TPCHRandomAlphaNumeric addressRandom =
         new TPCHRandomAlphaNumeric(881155353L, ADDRESS_AVERAGE_LENGTH);
     private final RowRandomBoundedInt nationKeyRandom;
@@ -106,8 +104,8 @@ public class CustomerGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> customer = makeCustomer(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makeCustomer(sink, startIndex + index + 1);
 
       addressRandom.rowFinished();
       nationKeyRandom.rowFinished();
@@ -117,25 +115,20 @@ public class CustomerGenerator implements Iterable<List<Object>> {
       commentRandom.rowFinished();
 
       index++;
-
-      return customer;
     }
 
-    private List<Object> makeCustomer(long customerKey) {
+    private void makeCustomer(RowSink sink, long customerKey) throws SQLException {
       long nationKey = nationKeyRandom.nextValue();
 
-      List<Object> customer = new ArrayList<>();
-
-      customer.add(customerKey);
-      customer.add(String.format(ENGLISH, "Customer#%09d", customerKey));
-      customer.add(addressRandom.nextValue());
-      customer.add(nationKey);
-      customer.add(phoneRandom.nextValue(nationKey));
-      customer.add((double) accountBalanceRandom.nextValue() / 100.);
-      customer.add(marketSegmentRandom.nextValue());
-      customer.add(commentRandom.nextValue());
-
-      return customer;
+      sink.setLong(1, customerKey);
+      sink.setString(2, formatKey("Customer#", customerKey));
+      sink.setString(3, addressRandom.nextValue());
+      sink.setLong(4, nationKey);
+      sink.setString(5, phoneRandom.nextValue(nationKey));
+      sink.setDouble(6, (double) accountBalanceRandom.nextValue() / 100.);
+      sink.setString(7, marketSegmentRandom.nextValue());
+      sink.setString(8, commentRandom.nextValue());
+      sink.endRow();
     }
   }
 }
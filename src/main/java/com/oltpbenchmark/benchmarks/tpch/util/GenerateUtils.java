@@ -129,6 +129,22 @@ public final class GenerateUtils {
   // Format utils
   //
 
+  private static final int KEY_DIGITS = 9;
+
+  /**
+   * Appends the key to the prefix, zero-padded to nine digits like {@code String.format("%09d")}
+   * but without going through a Formatter for every row.
+   */
+  public static String formatKey(String prefix, long key) {
+    String digits = Long.toString(key);
+    StringBuilder sb = new StringBuilder(prefix.length() + Math.max(KEY_DIGITS, digits.length()));
+    sb.append(prefix);
+    for (int i = digits.length(); i < KEY_DIGITS; i++) {
+      sb.append('0');
+    }
+    return sb.append(digits).toString();
+  }
+
   public static String formatMoney(long value) {
     // todo there must be a better way to do this
     return new BigDecimal(value).divide(new BigDecimal(100)).setScale(2).toString();
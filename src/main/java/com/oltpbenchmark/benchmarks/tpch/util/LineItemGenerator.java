@@ -27,11 +27,9 @@ import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
 import com.oltpbenchmark.util.RowRandomBoundedLong;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class LineItemGenerator implements Iterable<List<Object>> {
+public class LineItemGenerator implements RowGenerator {
   private static final int QUANTITY_MIN = 1;
   private static final int QUANTITY_MAX = 50;
   private static final int TAX_MIN = 0;
@@ -78,7 +76,7 @@ public class LineItemGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new LineItemGeneratorIterator(
         distributions,
         textPool,
@@ -87,7 +85,7 @@ public class LineItemGenerator implements Iterable<List<Object>> {
         calculateRowCount(OrderGenerator.SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class LineItemGeneratorIterator implements Iterator<List<Object>> {
+  private static class LineItemGeneratorIterator extends RowIterator {
     private final RowRandomBoundedInt orderDateRandom = createOrderDateRandom();
     private final RowRandomBoundedInt lineCountRandom = createLineCountRandom();
 
@@ -175,8 +173,8 @@ public class LineItemGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> lineitem = makeLineitem(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makeLineitem(sink, startIndex + index + 1);
       lineNumber++;
 
       // advance next row only when all lines for the order have been produced
@@ -209,11 +207,9 @@ public class LineItemGenerator implements Iterable<List<Object>> {
         orderDate = orderDateRandom.nextValue();
         lineNumber = 0;
       }
-
-      return lineitem;
     }
 
-    private List<Object> makeLineitem(long orderIndex) {
+    private void makeLineitem(RowSink sink, long orderIndex) throws SQLException {
       long orderKey = makeOrderKey(orderIndex);
 
       int quantity = quantityRandom.nextValue();
@@ -253,25 +249,23 @@ public class LineItemGenerator implements Iterable<List<Object>> {
       String shipMode = shipModeRandom.nextValue();
       String comment = commentRandom.nextValue();
 
-      List<Object> lineItem = new ArrayList<>();
-      lineItem.add(orderKey);
-      lineItem.add(partKey);
-      lineItem.add(supplierKey);
-      lineItem.add((long) (lineNumber + 1));
-      lineItem.add((double) quantity);
-      lineItem.add((double) extendedPrice / 100.);
-      lineItem.add((double) discount / 100.);
-      lineItem.add((double) tax / 100.);
-      lineItem.add(returnedFlag);
-      lineItem.add(status);
-      lineItem.add(toEpochDate(shipDate));
-      lineItem.add(toEpochDate(commitDate));
-      lineItem.add(toEpochDate(receiptDate));
-      lineItem.add(shipInstructions);
-      lineItem.add(shipMode);
-      lineItem.add(comment);
-
-      return lineItem;
+      sink.setLong(1, orderKey);
+      sink.setLong(2, partKey);
+      sink.setLong(3, supplierKey);
+      sink.setLong(4, lineNumber + 1);
+      sink.setDouble(5, quantity);
+      sink.setDouble(6, (double) extendedPrice / 100.);
+      sink.setDouble(7, (double) discount / 100.);
+      sink.setDouble(8, (double) tax / 100.);
+      sink.setString(9, returnedFlag);
+      sink.setString(10, status);
+      sink.setDate(11, toEpochDate(shipDate));
+      sink.setDate(12, toEpochDate(commitDate));
+      sink.setDate(13, toEpochDate(receiptDate));
+      sink.setString(14, shipInstructions);
+      sink.setString(15, shipMode);
+      sink.setString(16, comment);
+      sink.endRow();
     }
   }
 
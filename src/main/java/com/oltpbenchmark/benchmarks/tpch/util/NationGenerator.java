@@ -17,11 +17,9 @@ package com.oltpbenchmark.benchmarks.tpch.util;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class NationGenerator implements Iterable<List<Object>> {
+public class NationGenerator implements RowGenerator {
   private static final int COMMENT_AVERAGE_LENGTH = 72;
 
   private final Distributions distributions;
@@ -37,11 +35,11 @@ public class NationGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new NationGeneratorIterator(distributions.getNations(), textPool);
   }
 
-  private static class NationGeneratorIterator implements Iterator<List<Object>> {
+  private static class NationGeneratorIterator extends RowIterator {
     private final Distribution nations;
     private final TPCHRandomText commentRandom;
 
@@ -58,17 +56,15 @@ public class NationGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> nation = new ArrayList<>();
-      nation.add((long) index);
-      nation.add(nations.getValue(index));
-      nation.add((long) nations.getWeight(index));
-      nation.add(commentRandom.nextValue());
+    public void nextRow(RowSink sink) throws SQLException {
+      sink.setLong(1, index);
+      sink.setString(2, nations.getValue(index));
+      sink.setLong(3, nations.getWeight(index));
+      sink.setString(4, commentRandom.nextValue());
+      sink.endRow();
 
       commentRandom.rowFinished();
       index++;
-
-      return nation;
     }
   }
 }
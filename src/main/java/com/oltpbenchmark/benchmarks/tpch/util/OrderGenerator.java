@@ -19,6 +19,7 @@ import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.MIN_GENERATE_
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.TOTAL_DATE_RANGE;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateRowCount;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateStartIndex;
+import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.formatKey;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.toEpochDate;
 import static com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator.ITEM_SHIP_DAYS;
 import static com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator.createDiscountRandom;
@@ -27,16 +28,13 @@ import static com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator.createQua
 import static com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator.createShipDateRandom;
 import static com.oltpbenchmark.benchmarks.tpch.util.LineItemGenerator.createTaxRandom;
 import static com.oltpbenchmark.benchmarks.tpch.util.PartGenerator.calculatePartPrice;
-import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
 import com.oltpbenchmark.util.RowRandomBoundedLong;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class OrderGenerator implements Iterable<List<Object>> {
+public class OrderGenerator implements RowGenerator {
   public static final int SCALE_BASE = 1_500_000;
 
   // portion with have no orders
@@ -82,7 +80,7 @@ public class OrderGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new OrderGeneratorIterator(
         distributions,
         textPool,
@@ -91,7 +89,7 @@ public class OrderGenerator implements Iterable<List<Object>> {
         calculateRowCount(SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class OrderGeneratorIterator implements Iterator<List<Object>> {
+  private static class OrderGeneratorIterator extends RowIterator {
     private final RowRandomBoundedInt orderDateRandom = createOrderDateRandom();
     private final RowRandomBoundedInt lineCountRandom = createLineCountRandom();
     private final RowRandomBoundedLong customerKeyRandom;
@@ -154,8 +152,8 @@ public class OrderGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> order = makeOrder(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makeOrder(sink, startIndex + index + 1);
 
       orderDateRandom.rowFinished();
       lineCountRandom.rowFinished();
@@ -171,11 +169,9 @@ public class OrderGenerator implements Iterable<List<Object>> {
       linePartKeyRandom.rowFinished();
 
       index++;
-
-      return order;
     }
 
-    private List<Object> makeOrder(long index) {
+    private void makeOrder(RowSink sink, long index) throws SQLException {
       long orderKey = makeOrderKey(index);
 
       int orderDate = orderDateRandom.nextValue();
@@ -212,27 +208,25 @@ public class OrderGenerator implements Iterable<List<Object>> {
         }
       }
 
-      char orderStatus;
+      String orderStatus;
       if (shippedCount == lineCount) {
-        orderStatus = 'F';
+        orderStatus = "F";
       } else if (shippedCount > 0) {
-        orderStatus = 'P';
+        orderStatus = "P";
       } else {
-        orderStatus = 'O';
+        orderStatus = "O";
       }
 
-      List<Object> order = new ArrayList<>();
-      order.add(orderKey);
-      order.add(customerKey);
-      order.add(Character.valueOf(orderStatus).toString());
-      order.add((double) totalPrice / 100.);
-      order.add(toEpochDate(orderDate));
-      order.add(orderPriorityRandom.nextValue());
-      order.add(String.format(ENGLISH, "Clerk#%09d", clerkRandom.nextValue()));
-      order.add(0L);
-      order.add(commentRandom.nextValue());
-
-      return order;
+      sink.setLong(1, orderKey);
+      sink.setLong(2, customerKey);
+      sink.setString(3, orderStatus);
+      sink.setDouble(4, (double) totalPrice / 100.);
+      sink.setDate(5, toEpochDate(orderDate));
+      sink.setString(6, orderPriorityRandom.nextValue());
+      sink.setString(7, formatKey("Clerk#", clerkRandom.nextValue()));
+      sink.setLong(8, 0);
+      sink.setString(9, commentRandom.nextValue());
+      sink.endRow();
     }
   }
 
@@ -244,7 +238,7 @@ public class OrderGenerator implements Iterable<List<Object>> {
     return new RowRandomBoundedInt(1066728069L, ORDER_DATE_MIN, ORDER_DATE_MAX);
   }
 
-  static long makeOrderKey(long orderIndex) {
+  public static long makeOrderKey(long orderIndex) {
     long lowBits = orderIndex & ((1 << ORDER_KEY_SPARSE_KEEP) - 1);
 
     long ok = orderIndex;
@@ -17,15 +17,12 @@ package com.oltpbenchmark.benchmarks.tpch.util;
 
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateRowCount;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateStartIndex;
-import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class PartGenerator implements Iterable<List<Object>> {
+public class PartGenerator implements RowGenerator {
   public static final int SCALE_BASE = 200_000;
 
   private static final int NAME_WORDS = 5;
@@ -64,7 +61,7 @@ public class PartGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new PartGeneratorIterator(
         distributions,
         textPool,
@@ -72,7 +69,7 @@ public class PartGenerator implements Iterable<List<Object>> {
         calculateRowCount(SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class PartGeneratorIterator implements Iterator<List<Object>> {
+  private static class PartGeneratorIterator extends RowIterator {
     private final TPCHRandomStringSequence nameRandom;
     private final RowRandomBoundedInt manufacturerRandom;
     private final RowRandomBoundedInt brandRandom;
@@ -115,8 +112,8 @@ public class PartGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> part = makePart(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makePart(sink, startIndex + index + 1);
 
       nameRandom.rowFinished();
       manufacturerRandom.rowFinished();
@@ -127,28 +124,24 @@ public class PartGenerator implements Iterable<List<Object>> {
       commentRandom.rowFinished();
 
       index++;
-
-      return part;
     }
 
-    private List<Object> makePart(long partKey) {
+    private void makePart(RowSink sink, long partKey) throws SQLException {
       String name = nameRandom.nextValue();
 
       int manufacturer = manufacturerRandom.nextValue();
       int brand = manufacturer * 10 + brandRandom.nextValue();
 
-      List<Object> part = new ArrayList<Object>();
-      part.add(partKey);
-      part.add(name);
-      part.add(String.format(ENGLISH, "Manufacturer#%d", manufacturer));
-      part.add(String.format(ENGLISH, "Brand#%d", brand));
-      part.add(typeRandom.nextValue());
-      part.add((long) sizeRandom.nextValue());
-      part.add(containerRandom.nextValue());
-      part.add((double) calculatePartPrice(partKey) / 100.);
-      part.add(commentRandom.nextValue());
-
-      return part;
+      sink.setLong(1, partKey);
+      sink.setString(2, name);
+      sink.setString(3, "Manufacturer#" + manufacturer);
+      sink.setString(4, "Brand#" + brand);
+      sink.setString(5, typeRandom.nextValue());
+      sink.setLong(6, sizeRandom.nextValue());
+      sink.setString(7, containerRandom.nextValue());
+      sink.setDouble(8, (double) calculatePartPrice(partKey) / 100.);
+      sink.setString(9, commentRandom.nextValue());
+      sink.endRow();
     }
   }
 
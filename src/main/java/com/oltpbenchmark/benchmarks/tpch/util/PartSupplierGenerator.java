@@ -20,12 +20,10 @@ import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateStar
 import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class PartSupplierGenerator implements Iterable<List<Object>> {
-  private static final int SUPPLIERS_PER_PART = 4;
+public class PartSupplierGenerator implements RowGenerator {
+  public static final int SUPPLIERS_PER_PART = 4;
 
   private static final int AVAILABLE_QUANTITY_MIN = 1;
   private static final int AVAILABLE_QUANTITY_MAX = 9999;
@@ -54,7 +52,7 @@ public class PartSupplierGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new PartSupplierGeneratorIterator(
         textPool,
         scaleFactor,
@@ -62,7 +60,7 @@ public class PartSupplierGenerator implements Iterable<List<Object>> {
         calculateRowCount(PartGenerator.SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class PartSupplierGeneratorIterator implements Iterator<List<Object>> {
+  private static class PartSupplierGeneratorIterator extends RowIterator {
     private final double scaleFactor;
     private final long startIndex;
     private final long rowCount;
@@ -100,8 +98,8 @@ public class PartSupplierGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> partSupplier = makePartSupplier(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makePartSupplier(sink, startIndex + index + 1);
       partSupplierNumber++;
 
       // advance next row only when all lines for the order have been produced
@@ -113,18 +111,15 @@ public class PartSupplierGenerator implements Iterable<List<Object>> {
         index++;
         partSupplierNumber = 0;
       }
-
-      return partSupplier;
     }
 
-    private List<Object> makePartSupplier(long partKey) {
-      List<Object> partSupplier = new ArrayList<>();
-      partSupplier.add(partKey);
-      partSupplier.add(selectPartSupplier(partKey, partSupplierNumber, scaleFactor));
-      partSupplier.add((long) availableQuantityRandom.nextValue());
-      partSupplier.add((double) supplyCostRandom.nextValue() / 100.);
-      partSupplier.add(commentRandom.nextValue());
-      return partSupplier;
+    private void makePartSupplier(RowSink sink, long partKey) throws SQLException {
+      sink.setLong(1, partKey);
+      sink.setLong(2, selectPartSupplier(partKey, partSupplierNumber, scaleFactor));
+      sink.setLong(3, availableQuantityRandom.nextValue());
+      sink.setDouble(4, (double) supplyCostRandom.nextValue() / 100.);
+      sink.setString(5, commentRandom.nextValue());
+      sink.endRow();
     }
   }
 
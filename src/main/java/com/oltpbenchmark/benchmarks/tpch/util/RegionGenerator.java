@@ -17,11 +17,9 @@ package com.oltpbenchmark.benchmarks.tpch.util;
 
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class RegionGenerator implements Iterable<List<Object>> {
+public class RegionGenerator implements RowGenerator {
   private static final int COMMENT_AVERAGE_LENGTH = 72;
 
   private final Distributions distributions;
@@ -37,11 +35,11 @@ public class RegionGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new RegionGeneratorIterator(distributions.getRegions(), textPool);
   }
 
-  private static class RegionGeneratorIterator implements Iterator<List<Object>> {
+  private static class RegionGeneratorIterator extends RowIterator {
     private final Distribution regions;
     private final TPCHRandomText commentRandom;
 
@@ -58,16 +56,14 @@ public class RegionGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> region = new ArrayList<>();
-      region.add((long) index);
-      region.add(regions.getValue(index));
-      region.add(commentRandom.nextValue());
+    public void nextRow(RowSink sink) throws SQLException {
+      sink.setLong(1, index);
+      sink.setString(2, regions.getValue(index));
+      sink.setString(3, commentRandom.nextValue());
+      sink.endRow();
 
       commentRandom.rowFinished();
       index++;
-
-      return region;
     }
   }
 }
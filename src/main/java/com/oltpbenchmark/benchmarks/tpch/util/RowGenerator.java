@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpch.util;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * A TPC-H table generator. {@link #generate(RowSink)} writes the rows straight into a sink without
+ * creating an object per row. Iterating the generator returns every row as a new list of boxed
+ * values instead, which is convenient for tests and small tables.
+ */
+public interface RowGenerator extends Iterable<List<Object>> {
+
+  @Override
+  RowIterator iterator();
+
+  /** Writes all rows of this generator to sink. */
+  default void generate(RowSink sink) throws SQLException {
+    RowIterator rows = iterator();
+    while (rows.hasNext()) {
+      rows.nextRow(sink);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpch.util;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates over the rows of a {@link RowGenerator}. Subclasses only implement {@link
+ * #nextRow(RowSink)}; {@link #next()} collects the row into a list.
+ */
+public abstract class RowIterator implements Iterator<List<Object>> {
+
+  /** Writes the next row to sink and advances to the row after it. */
+  public abstract void nextRow(RowSink sink) throws SQLException;
+
+  @Override
+  public final List<Object> next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    ListSink sink = new ListSink();
+    try {
+      nextRow(sink);
+    } catch (SQLException ex) {
+      // ListSink never throws
+      throw new IllegalStateException(ex);
+    }
+    return sink.row;
+  }
+
+  private static final class ListSink implements RowSink {
+    private final List<Object> row = new ArrayList<>();
+
+    @Override
+    public void setLong(int column, long value) {
+      row.add(value);
+    }
+
+    @Override
+    public void setDouble(int column, double value) {
+      row.add(value);
+    }
+
+    @Override
+    public void setString(int column, String value) {
+      row.add(value);
+    }
+
+    @Override
+    public void setDate(int column, Date value) {
+      row.add(value);
+    }
+
+    @Override
+    public void endRow() {}
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpch.util;
+
+import java.sql.Date;
+import java.sql.SQLException;
+
+/**
+ * Receives the rows of a {@link RowGenerator} one column at a time. Columns are numbered from 1,
+ * like JDBC parameters, and are written in order. Numeric columns are passed as primitives, so a
+ * sink that binds them directly to a PreparedStatement does not box anything.
+ */
+public interface RowSink {
+
+  void setLong(int column, long value) throws SQLException;
+
+  void setDouble(int column, double value) throws SQLException;
+
+  void setString(int column, String value) throws SQLException;
+
+  void setDate(int column, Date value) throws SQLException;
+
+  /** Called after all columns of a row have been written. */
+  void endRow() throws SQLException;
+}
@@ -17,16 +17,14 @@ package com.oltpbenchmark.benchmarks.tpch.util;
 
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateRowCount;
 import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.calculateStartIndex;
-import static java.util.Locale.ENGLISH;
+import static com.oltpbenchmark.benchmarks.tpch.util.GenerateUtils.formatKey;
 import static java.util.Objects.requireNonNull;
 
 import com.oltpbenchmark.util.RowRandomBoundedInt;
 import com.oltpbenchmark.util.RowRandomInt;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.sql.SQLException;
 
-public class SupplierGenerator implements Iterable<List<Object>> {
+public class SupplierGenerator implements RowGenerator {
   public static final int SCALE_BASE = 10_000;
 
   private static final int ACCOUNT_BALANCE_MIN = -99999;
@@ -68,7 +66,7 @@ public class SupplierGenerator implements Iterable<List<Object>> {
   }
 
   @Override
-  public Iterator<List<Object>> iterator() {
+  public RowIterator iterator() {
     return new SupplierGeneratorIterator(
         distributions,
         textPool,
@@ -76,7 +74,7 @@ public class SupplierGenerator implements Iterable<List<Object>> {
         calculateRowCount(SCALE_BASE, scaleFactor, part, partCount));
   }
 
-  private static class SupplierGeneratorIterator implements Iterator<List<Object>> {
+  private static class SupplierGeneratorIterator extends RowIterator {
     private final TPCHRandomAlphaNumeric addressRandom =
         new TPCHRandomAlphaNumeric(706178559L, ADDRESS_AVERAGE_LENGTH);
     private final RowRandomBoundedInt nationKeyRandom;
@@ -121,8 +119,8 @@ public class SupplierGenerator implements Iterable<List<Object>> {
     }
 
     @Override
-    public List<Object> next() {
-      List<Object> supplier = makeSupplier(startIndex + index + 1);
+    public void nextRow(RowSink sink) throws SQLException {
+      makeSupplier(sink, startIndex + index + 1);
 
       addressRandom.rowFinished();
       nationKeyRandom.rowFinished();
@@ -135,11 +133,9 @@ public class SupplierGenerator implements Iterable<List<Object>> {
       bbbTypeRandom.rowFinished();
 
       index++;
-
-      return supplier;
     }
 
-    private List<Object> makeSupplier(long supplierKey) {
+    private void makeSupplier(RowSink sink, long supplierKey) throws SQLException {
       String comment = commentRandom.nextValue();
 
       // Add supplier complaints or commendation to the comment
@@ -173,16 +169,14 @@ public class SupplierGenerator implements Iterable<List<Object>> {
 
       long nationKey = nationKeyRandom.nextValue();
 
-      List<Object> supplier = new ArrayList<Object>();
-      supplier.add(supplierKey);
-      supplier.add(String.format(ENGLISH, "Supplier#%09d", supplierKey));
-      supplier.add(addressRandom.nextValue());
-      supplier.add(nationKey);
-      supplier.add(phoneRandom.nextValue(nationKey));
-      supplier.add((double) accountBalanceRandom.nextValue() / 100.);
-      supplier.add(comment);
-
-      return supplier;
+      sink.setLong(1, supplierKey);
+      sink.setString(2, formatKey("Supplier#", supplierKey));
+      sink.setString(3, addressRandom.nextValue());
+      sink.setLong(4, nationKey);
+      sink.setString(5, phoneRandom.nextValue(nationKey));
+      sink.setDouble(6, (double) accountBalanceRandom.nextValue() / 100.);
+      sink.setString(7, comment);
+      sink.endRow();
     }
   }
 }
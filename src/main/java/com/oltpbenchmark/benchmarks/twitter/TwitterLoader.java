@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.twitter;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.twitter.util.NameHistogram;
@@ -52,7 +53,7 @@ public final class TwitterLoader extends Loader<TwitterBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     // first we load USERS
@@ -131,7 +132,7 @@ public final class TwitterLoader extends Loader<TwitterBenchmark> {
           });
     }
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   /**
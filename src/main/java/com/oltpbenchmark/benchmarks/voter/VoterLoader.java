@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.voter;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -34,7 +35,7 @@ public final class VoterLoader extends Loader<VoterBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
 
     // CONTESTANTS
@@ -55,7 +56,7 @@ public final class VoterLoader extends Loader<VoterBenchmark> {
           }
         });
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   private void loadContestants(Connection conn) throws SQLException {
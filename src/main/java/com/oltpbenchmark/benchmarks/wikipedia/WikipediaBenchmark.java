@@ -23,7 +23,9 @@ import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.Worker;
 import com.oltpbenchmark.benchmarks.wikipedia.data.RevisionHistograms;
 import com.oltpbenchmark.benchmarks.wikipedia.procedures.AddWatchList;
+import com.oltpbenchmark.util.RandomDistribution.Flat;
 import com.oltpbenchmark.util.RandomDistribution.IntegerFlatHistogram;
+import com.oltpbenchmark.util.RandomDistribution.Zipf;
 import com.oltpbenchmark.util.TextGenerator;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,6 +35,7 @@ import org.slf4j.LoggerFactory;
 public final class WikipediaBenchmark extends BenchmarkModule {
   private static final Logger LOG = LoggerFactory.getLogger(WikipediaBenchmark.class);
 
+  // Shared by the workers and loader threads, which draw with their own rng()
   protected final IntegerFlatHistogram commentLength;
   protected final IntegerFlatHistogram minorEdit;
   private final IntegerFlatHistogram[] revisionDeltas;
@@ -40,6 +43,14 @@ public final class WikipediaBenchmark extends BenchmarkModule {
   protected final int num_users;
   protected final int num_pages;
 
+  /**
+   * Picks the user and the page of each transaction. Both are built once and shared by all workers,
+   * so callers must draw from them with their own generator, as in {@code pageIds.nextInt(rng())}.
+   */
+  protected final Flat userIds;
+
+  protected final Zipf pageIds;
+
   public WikipediaBenchmark(WorkloadConfiguration workConf) {
     super(workConf);
 
@@ -57,6 +68,9 @@ public final class WikipediaBenchmark extends BenchmarkModule {
     this.num_pages =
         (int)
             Math.ceil(WikipediaConstants.PAGES * this.getWorkloadConfiguration().getScaleFactor());
+
+    this.userIds = new Flat(this.rng(), 1, this.num_users);
+    this.pageIds = new Zipf(this.rng(), 1, this.num_pages, WikipediaConstants.USER_ID_SIGMA);
   }
 
   /**
@@ -84,7 +98,7 @@ public final class WikipediaBenchmark extends BenchmarkModule {
       h = this.revisionDeltas[this.revisionDeltas.length - 1];
     }
 
-    int delta = h.nextValue();
+    int delta = h.nextValue(this.rng());
     if (orig_text.length + delta <= 0) {
       delta = -1 * (int) Math.round(orig_text.length / 1.5);
       if (Math.abs(delta) == orig_text.length && delta < 0) {
@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.wikipedia;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.benchmarks.wikipedia.data.PageHistograms;
@@ -78,7 +79,7 @@ public final class WikipediaLoader extends Loader<WikipediaBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     final int numLoaders = this.benchmark.getWorkloadConfiguration().getLoaderThreads();
     final int numItems = this.benchmark.num_pages + this.benchmark.num_users;
@@ -232,7 +233,7 @@ public final class WikipediaLoader extends Loader<WikipediaBenchmark> {
           }
         });
 
-    return threads;
+    return asLoadTasks(threads);
   }
 
   /** USERACCTS */
@@ -512,7 +513,8 @@ public final class WikipediaLoader extends Loader<WikipediaBenchmark> {
             old_text_length = old_text.length;
           }
 
-          int rev_comment_len = Math.min(rev_comment_max, h_commentLength.nextValue() + 1); // HACK
+          int rev_comment_len =
+              Math.min(rev_comment_max, h_commentLength.nextValue(rng()) + 1); // HACK
           String rev_comment = TextGenerator.randomStr(rng(), rev_comment_len);
 
           // The REV_USER_TEXT field is usually the username, but we'll
@@ -536,7 +538,7 @@ public final class WikipediaLoader extends Loader<WikipediaBenchmark> {
           revisionInsert.setInt(col++, user_id); // rev_user
           revisionInsert.setString(col++, user_text); // rev_user_text
           revisionInsert.setString(col++, TimeUtil.getCurrentTimeString14()); // rev_timestamp
-          revisionInsert.setInt(col++, h_minorEdit.nextValue()); // rev_minor_edit
+          revisionInsert.setInt(col++, h_minorEdit.nextValue(rng())); // rev_minor_edit
           revisionInsert.setInt(col++, 0); // rev_deleted
           revisionInsert.setInt(col++, 0); // rev_len
           revisionInsert.setInt(col++, 0); // rev_parent_id
@@ -56,9 +56,8 @@ public final class WikipediaWorker extends Worker<WikipediaBenchmark> {
   @Override
   protected TransactionStatus executeWork(Connection conn, TransactionType nextTransaction)
       throws UserAbortException, SQLException {
-    Flat z_users = new Flat(this.rng(), 1, this.getBenchmark().num_users);
-    Zipf z_pages =
-        new Zipf(this.rng(), 1, this.getBenchmark().num_pages, WikipediaConstants.USER_ID_SIGMA);
+    Flat z_users = this.getBenchmark().userIds;
+    Zipf z_pages = this.getBenchmark().pageIds;
 
     Class<? extends Procedure> procClass = nextTransaction.getProcedureClass();
     boolean needUser =
@@ -75,13 +74,13 @@ public final class WikipediaWorker extends Worker<WikipediaBenchmark> {
       }
       // Otherwise figure out what user is updating this page
       else {
-        userId = z_users.nextInt();
+        userId = z_users.nextInt(this.rng());
       }
       // Repeat if we need a user but we generated Anonymous
     } while (needUser && userId == WikipediaConstants.ANONYMOUS_USER_ID);
 
     // Figure out what page they're going to update
-    int page_id = z_pages.nextInt();
+    int page_id = z_pages.nextInt(this.rng());
     if (procClass.equals(AddWatchList.class)) {
       // This while loop gets stuck in an infinite loop for small scale factors.
       // So we're just going to let it throw whatever it wants in the set from now on
@@ -180,9 +179,9 @@ public final class WikipediaWorker extends Worker<WikipediaBenchmark> {
     }
 
     WikipediaBenchmark b = this.getBenchmark();
-    int revCommentLen = b.commentLength.nextValue();
+    int revCommentLen = b.commentLength.nextValue(this.rng());
     String revComment = TextGenerator.randomStr(this.rng(), revCommentLen + 1);
-    int revMinorEdit = b.minorEdit.nextValue();
+    int revMinorEdit = b.minorEdit.nextValue(this.rng());
 
     // Permute the original text of the article
     // Important: We have to make sure that we fill in the entire array
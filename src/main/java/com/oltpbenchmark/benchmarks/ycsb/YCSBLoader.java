@@ -17,6 +17,7 @@
 
 package com.oltpbenchmark.benchmarks.ycsb;
 
+import com.oltpbenchmark.api.LoadTask;
 import com.oltpbenchmark.api.Loader;
 import com.oltpbenchmark.api.LoaderThread;
 import com.oltpbenchmark.catalog.Table;
@@ -40,7 +41,7 @@ class YCSBLoader extends Loader<YCSBBenchmark> {
   }
 
   @Override
-  public List<LoaderThread> createLoaderThreads() {
+  public List<LoadTask> createLoadTasks() {
     List<LoaderThread> threads = new ArrayList<>();
     int count = 0;
     while (count < this.num_record) {
@@ -58,7 +59,7 @@ class YCSBLoader extends Loader<YCSBBenchmark> {
           });
       count = stop;
     }
-    return (threads);
+    return asLoadTasks(threads);
   }
 
   private void loadRecords(Connection conn, int start, int stop) throws SQLException {
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A {@link Random} that draws from a {@link SplittableRandom}. Unlike {@link Random} it keeps no
+ * atomic state, so it must not be shared between threads, but it can be passed to everything that
+ * takes a {@link Random}.
+ *
+ * <p>{@link #streamSeed(long, long)} derives the seed of one of many independent streams from a
+ * single configured seed, so that every thread can get its own reproducible sequence.
+ */
+public final class FastRandom extends Random {
+  private static final long serialVersionUID = 1L;
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  // Set by setSeed(), which Random's constructors call
+  private transient SplittableRandom inner;
+
+  /** Creates a generator with a random seed. */
+  public FastRandom() {
+    super();
+  }
+
+  public FastRandom(long seed) {
+    super(seed);
+  }
+
+  /**
+   * Returns the seed of the given stream. Different streams of the same seed produce unrelated
+   * sequences, and the same stream of the same seed always produces the same one.
+   */
+  public static long streamSeed(long seed, long stream) {
+    return mix64(mix64(seed) + (stream + 1) * GOLDEN_GAMMA);
+  }
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+  @Override
+  public void setSeed(long seed) {
+    this.inner = new SplittableRandom(seed);
+  }
+
+  @Override
+  protected int next(int bits) {
+    return (int) (inner.nextLong() >>> (64 - bits));
+  }
+
+  @Override
+  public int nextInt() {
+    return inner.nextInt();
+  }
+
+  @Override
+  public int nextInt(int bound) {
+    return inner.nextInt(bound);
+  }
+
+  @Override
+  public int nextInt(int origin, int bound) {
+    return inner.nextInt(origin, bound);
+  }
+
+  @Override
+  public long nextLong() {
+    return inner.nextLong();
+  }
+
+  @Override
+  public long nextLong(long bound) {
+    return inner.nextLong(bound);
+  }
+
+  @Override
+  public long nextLong(long origin, long bound) {
+    return inner.nextLong(origin, bound);
+  }
+
+  @Override
+  public double nextDouble() {
+    return inner.nextDouble();
+  }
+
+  @Override
+  public float nextFloat() {
+    return inner.nextFloat();
+  }
+
+  @Override
+  public boolean nextBoolean() {
+    return inner.nextBoolean();
+  }
+
+  @Override
+  public double nextGaussian() {
+    return inner.nextGaussian();
+  }
+
+  @Override
+  public void nextBytes(byte[] bytes) {
+    inner.nextBytes(bytes);
+  }
+}
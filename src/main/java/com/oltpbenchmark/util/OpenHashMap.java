@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash map that keeps its keys and values in two flat arrays and resolves collisions by linear
+ * probing, so a lookup touches no entry objects. Keys cannot be null and entries cannot be removed,
+ * which is all the caches of the workers need. Not thread-safe.
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class OpenHashMap<K, V> {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] keys;
+  private Object[] values;
+  private int size;
+
+  public OpenHashMap() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * @param capacity Number of entries the map can hold before it grows
+   */
+  public OpenHashMap(int capacity) {
+    int slots = Integer.highestOneBit(Math.max(capacity * 2 - 1, 1)) << 1;
+    this.keys = new Object[slots];
+    this.values = new Object[slots];
+  }
+
+  /** Returns the slot that holds the key, or the empty slot where it would go. */
+  private static int slot(Object[] keys, Object key) {
+    int mask = keys.length - 1;
+    int h = key.hashCode();
+    int slot = (h ^ (h >>> 16)) & mask;
+    while (keys[slot] != null && !keys[slot].equals(key)) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  public int size() {
+    return this.size;
+  }
+
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  public boolean containsKey(K key) {
+    return this.keys[slot(this.keys, Objects.requireNonNull(key))] != null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(K key) {
+    return (V) this.values[slot(this.keys, Objects.requireNonNull(key))];
+  }
+
+  /** Maps the key to the value and returns the value it was mapped to before, if any. */
+  @SuppressWarnings("unchecked")
+  public V put(K key, V value) {
+    int slot = slot(this.keys, Objects.requireNonNull(key));
+    if (this.keys[slot] != null) {
+      V previous = (V) this.values[slot];
+      this.values[slot] = value;
+      return previous;
+    }
+    this.keys[slot] = key;
+    this.values[slot] = value;
+    // Keep the table at most half full, so that probes stay short
+    if (++this.size * 2 > this.keys.length) {
+      grow();
+    }
+    return null;
+  }
+
+  public void clear() {
+    Arrays.fill(this.keys, null);
+    Arrays.fill(this.values, null);
+    this.size = 0;
+  }
+
+  private void grow() {
+    Object[] oldKeys = this.keys;
+    Object[] oldValues = this.values;
+    this.keys = new Object[oldKeys.length << 1];
+    this.values = new Object[oldValues.length << 1];
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = slot(this.keys, oldKeys[i]);
+        this.keys[slot] = oldKeys[i];
+        this.values[slot] = oldValues[i];
+      }
+    }
+  }
+}
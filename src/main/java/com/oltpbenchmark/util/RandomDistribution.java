@@ -47,7 +47,12 @@ public class RandomDistribution {
       this.mean = this.range_size / 2.0;
     }
 
-    protected abstract long nextLongImpl();
+    /**
+     * Draw the next value using the given generator.
+     *
+     * @param rng The basic random number generator to draw from.
+     */
+    protected abstract long nextLongImpl(Random rng);
 
     /** Enable keeping track of the values that the RNG generates */
     public void enableHistory() {
@@ -96,7 +101,7 @@ public class RandomDistribution {
      */
     @Override
     public final int nextInt() {
-      long val = (int) this.nextLongImpl();
+      long val = (int) this.nextLongImpl(this.random);
       if (this.history != null) {
         this.history.put(val);
       }
@@ -110,7 +115,38 @@ public class RandomDistribution {
      */
     @Override
     public final long nextLong() {
-      long val = this.nextLongImpl();
+      long val = this.nextLongImpl(this.random);
+      if (this.history != null) {
+        this.history.put(val);
+      }
+      return (val);
+    }
+
+    /**
+     * Get the next random number as an int, drawn from the given generator instead of the one this
+     * distribution was built with. This lets threads that each own a generator share a single
+     * distribution, as long as its history is not enabled.
+     *
+     * @param rng The basic random number generator to draw from.
+     * @return the next random number.
+     */
+    public final int nextInt(Random rng) {
+      long val = (int) this.nextLongImpl(rng);
+      if (this.history != null) {
+        this.history.put(val);
+      }
+      return ((int) val);
+    }
+
+    /**
+     * Get the next random number as a long, drawn from the given generator.
+     *
+     * @param rng The basic random number generator to draw from.
+     * @return the next random number.
+     * @see #nextInt(Random)
+     */
+    public final long nextLong(Random rng) {
+      long val = this.nextLongImpl(rng);
       if (this.history != null) {
         this.history.put(val);
       }
@@ -153,11 +189,11 @@ public class RandomDistribution {
      * @see DiscreteRNG#nextInt()
      */
     @Override
-    protected long nextLongImpl() {
+    protected long nextLongImpl(Random rng) {
       // error checking and 2^x checking removed for simplicity.
       long bits, val;
       do {
-        bits = (random.nextLong() << 1) >>> 1;
+        bits = (rng.nextLong() << 1) >>> 1;
         val = bits % (this.range_size - 1);
       } while (bits - val + (this.range_size - 1) < 0L);
       val += this.min;
@@ -199,7 +235,17 @@ public class RandomDistribution {
     }
 
     public T nextValue() {
-      int idx = this.inner.nextInt();
+      return (this.nextValue(this.random));
+    }
+
+    /**
+     * Get the next value, drawn from the given generator.
+     *
+     * @param rng The basic random number generator to draw from.
+     * @see DiscreteRNG#nextInt(Random)
+     */
+    public T nextValue(Random rng) {
+      int idx = this.inner.nextInt(rng);
       Long total = this.value_rle.tailMap((long) idx).firstKey();
       T val = this.value_rle.get(total);
       if (this.history != null) {
@@ -214,8 +260,8 @@ public class RandomDistribution {
      * @see DiscreteRNG#nextLong()
      */
     @Override
-    protected long nextLongImpl() {
-      Object val = this.nextValue();
+    protected long nextLongImpl(Random rng) {
+      Object val = this.nextValue(rng);
       if (val instanceof Integer) {
         return ((Integer) val);
       }
@@ -242,10 +288,10 @@ public class RandomDistribution {
     }
 
     @Override
-    protected long nextLongImpl() {
+    protected long nextLongImpl(Random rng) {
       int value = -1;
       while (value < 0 || value >= this.range_size) {
-        double gaussian = (this.random.nextGaussian() + 2.0) / 4.0;
+        double gaussian = (rng.nextGaussian() + 2.0) / 4.0;
         value = (int) Math.round(gaussian * this.range_size);
       }
       return (value + this.min);
@@ -260,8 +306,12 @@ public class RandomDistribution {
   public static class Zipf extends DiscreteRNG {
     private static final long serialVersionUID = 1L;
     private static final double DEFAULT_EPSILON = 0.001;
-    private final ArrayList<Long> k;
-    private final ArrayList<Double> v;
+
+    /** The upper bound of each bucket of the CDF. */
+    private final long[] k;
+
+    /** The cumulative probability of each bucket, in ascending order. */
+    private final double[] v;
 
     /**
      * Constructor
@@ -298,29 +348,41 @@ public class RandomDistribution {
                 + epsilon
                 + "]");
       }
-      k = new ArrayList<>();
-      v = new ArrayList<>();
+      long[] keys = new long[1024];
+      double[] values = new double[1024];
+      int size = 0;
 
       double sum = 0;
       long last = -1;
       for (long i = min; i < max; ++i) {
         sum += Math.exp(-sigma * Math.log(i - min + 1));
         if ((last == -1) || i * (1 - epsilon) > last) {
-          k.add(i);
-          v.add(sum);
+          if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+          }
+          keys[size] = i;
+          values[size] = sum;
+          size++;
           last = i;
         }
       }
 
       if (last != max - 1) {
-        k.add(max - 1);
-        v.add(sum);
+        keys = Arrays.copyOf(keys, size + 1);
+        values = Arrays.copyOf(values, size + 1);
+        keys[size] = max - 1;
+        values[size] = sum;
+        size++;
       }
 
-      v.set(v.size() - 1, 1.0);
+      this.k = Arrays.copyOf(keys, size);
+      this.v = Arrays.copyOf(values, size);
+
+      v[size - 1] = 1.0;
 
-      for (int i = v.size() - 2; i >= 0; --i) {
-        v.set(i, v.get(i) / sum);
+      for (int i = size - 2; i >= 0; --i) {
+        v[i] = v[i] / sum;
       }
     }
 
@@ -328,9 +390,9 @@ public class RandomDistribution {
      * @see DiscreteRNG#nextInt()
      */
     @Override
-    protected long nextLongImpl() {
-      double d = random.nextDouble();
-      int idx = Collections.binarySearch(v, d);
+    protected long nextLongImpl(Random rng) {
+      double d = rng.nextDouble();
+      int idx = Arrays.binarySearch(v, d);
 
       if (idx > 0) {
         ++idx;
@@ -338,18 +400,18 @@ public class RandomDistribution {
         idx = -(idx + 1);
       }
 
-      if (idx >= v.size()) {
-        idx = v.size() - 1;
+      if (idx >= v.length) {
+        idx = v.length - 1;
       }
 
       if (idx == 0) {
-        return k.get(0);
+        return k[0];
       }
 
-      long ceiling = k.get(idx);
-      long lower = k.get(idx - 1);
+      long ceiling = k[idx];
+      long lower = k[idx - 1];
 
-      return ceiling - DiscreteRNG.nextLong(random, ceiling - lower);
+      return ceiling - DiscreteRNG.nextLong(rng, ceiling - lower);
     }
   }
 }
@@ -18,8 +18,10 @@
 package com.oltpbenchmark.util;
 
 import com.oltpbenchmark.DistributionStatistics;
+import com.oltpbenchmark.LatencyHistogram;
 import com.oltpbenchmark.LatencyRecord;
 import com.oltpbenchmark.Results;
+import com.oltpbenchmark.SaturationSearch;
 import com.oltpbenchmark.ThreadBench;
 import com.oltpbenchmark.api.TransactionType;
 import com.oltpbenchmark.api.collectors.DBParameterCollector;
@@ -99,8 +101,53 @@ public class ResultWriter {
       summaryMap.put(field, expConf.getString(field));
     }
     summaryMap.put("Latency Distribution", results.getDistributionStatistics().toMap());
+    Map<String, Object> txnLatencies = new LinkedHashMap<>();
+    for (Map.Entry<TransactionType, LatencyHistogram> e :
+        results.getTransactionLatencies().entrySet()) {
+      txnLatencies.put(
+          e.getKey().getName(), DistributionStatistics.computeStatistics(e.getValue()).toMap());
+    }
+    summaryMap.put("Latency Distribution By Transaction Type", txnLatencies);
+    Map<String, Object> phaseLatencies = new LinkedHashMap<>();
+    for (Map.Entry<Integer, LatencyHistogram> e : results.getPhaseLatencies().entrySet()) {
+      phaseLatencies.put(
+          Integer.toString(e.getKey()),
+          DistributionStatistics.computeStatistics(e.getValue()).toMap());
+    }
+    summaryMap.put("Latency Distribution By Phase", phaseLatencies);
+    summaryMap.put(
+        "Response Time Distribution",
+        DistributionStatistics.computeStatistics(results.getResponseTimes()).toMap());
+    Map<String, Object> txnResponseTimes = new LinkedHashMap<>();
+    for (Map.Entry<TransactionType, LatencyHistogram> e :
+        results.getTransactionResponseTimes().entrySet()) {
+      txnResponseTimes.put(
+          e.getKey().getName(), DistributionStatistics.computeStatistics(e.getValue()).toMap());
+    }
+    summaryMap.put("Response Time Distribution By Transaction Type", txnResponseTimes);
+    summaryMap.put("Dropped Requests", results.getDroppedRequests());
+    summaryMap.put("Late Requests", results.getLateRequests());
     summaryMap.put("Throughput (requests/second)", results.requestsPerSecondThroughput());
     summaryMap.put("Goodput (requests/second)", results.requestsPerSecondGoodput());
+    if (hasSearchSteps()) {
+      // Highest load of each searching phase that met its SLO
+      Map<String, Object> sustainable = new LinkedHashMap<>();
+      for (SaturationSearch.Step step : results.getSearchSteps()) {
+        String phase = Integer.toString(step.getPhaseId());
+        sustainable.putIfAbsent(phase, 0.0);
+        if (step.isPassed()) {
+          sustainable.put(phase, Math.max((Double) sustainable.get(phase), step.getTarget()));
+        }
+      }
+      summaryMap.put("Max Sustainable Load By Phase", sustainable);
+    }
+    if (results.getStatementCacheHits() + results.getStatementCacheMisses() > 0) {
+      Map<String, Object> statementCache = new LinkedHashMap<>();
+      statementCache.put("Hits", results.getStatementCacheHits());
+      statementCache.put("Misses", results.getStatementCacheMisses());
+      statementCache.put("Hit Rate", results.getStatementCacheHitRate());
+      summaryMap.put("Statement Cache", statementCache);
+    }
     os.println(JSONUtil.format(JSONUtil.toJSONString(summaryMap)));
   }
 
@@ -112,6 +159,7 @@ public class ResultWriter {
     String[] header = {
       "Time (seconds)",
       "Throughput (requests/second)",
+      "Offered Rate (requests/second)",
       "Average Latency (millisecond)",
       "Minimum Latency (millisecond)",
       "25th Percentile Latency (millisecond)",
@@ -124,14 +172,16 @@ public class ResultWriter {
       "tp (req/s) scaled"
     };
     out.println(StringUtil.join(",", header));
+    long windowStartNs = firstSampleNanosecond();
+    long windowNs = windowSizeSeconds * 1000000000L;
     int i = 0;
     for (DistributionStatistics s :
-        new ThreadBench.TimeBucketIterable(
-            results.getLatencySamples(), windowSizeSeconds, txType)) {
+        new ThreadBench.TimeBucketIterable(results::getLatencySamples, windowSizeSeconds, txType)) {
       out.printf(
-          "%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f\n",
+          "%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f\n",
           i * windowSizeSeconds,
           (double) s.getCount() / windowSizeSeconds,
+          offeredRate(windowStartNs + i * windowNs, windowNs),
           s.getAverage() / MILLISECONDS_FACTOR,
           s.getMinimum() / MILLISECONDS_FACTOR,
           s.get25thPercentile() / MILLISECONDS_FACTOR,
@@ -155,6 +205,7 @@ public class ResultWriter {
       "Time (seconds)",
       "Requests",
       "Throughput (requests/second)",
+      "Offered Rate (requests/second)",
       "Minimum Latency (microseconds)",
       "25th Percentile Latency (microseconds)",
       "Median Latency (microseconds)",
@@ -166,15 +217,17 @@ public class ResultWriter {
       "Maximum Latency (microseconds)"
     };
     out.println(StringUtil.join(",", header));
+    long windowStartNs = firstSampleNanosecond();
+    long windowNs = windowSizeSeconds * 1000000000L;
     int i = 0;
     for (DistributionStatistics s :
-        new ThreadBench.TimeBucketIterable(
-            results.getLatencySamples(), windowSizeSeconds, txType)) {
+        new ThreadBench.TimeBucketIterable(results::getLatencySamples, windowSizeSeconds, txType)) {
       out.printf(
-          "%d,%d,%.3f,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
+          "%d,%d,%.3f,%.3f,%d,%d,%d,%d,%d,%d,%d,%d,%d\n",
           i * windowSizeSeconds,
           s.getCount(),
           (double) s.getCount() / windowSizeSeconds,
+          offeredRate(windowStartNs + i * windowNs, windowNs),
           (int) s.getMinimum(),
           (int) s.get25thPercentile(),
           (int) s.getMedian(),
@@ -188,6 +241,44 @@ public class ResultWriter {
     }
   }
 
+  /** Start of the first window, which the time buckets align with */
+  private long firstSampleNanosecond() {
+    LatencyRecord.Cursor samples = results.getLatencySamples();
+    return samples.advance() ? samples.getStartNanosecond() : 0;
+  }
+
+  /** Arrivals per second that rate-limited phases scheduled in the window */
+  private double offeredRate(long windowStartNs, long windowNs) {
+    return results.getOfferedRequests(windowStartNs, windowStartNs + windowNs) * 1e9 / windowNs;
+  }
+
+  public boolean hasSearchSteps() {
+    return !results.getSearchSteps().isEmpty();
+  }
+
+  /** Writes the capacity curve: the outcome of every step of the searching phases. */
+  public void writeCapacityCurve(PrintStream out) {
+    String[] header = {
+      "Phase Id (index in config file)",
+      "Target",
+      "Target Type",
+      "Throughput (requests/second)",
+      "SLO Percentile Latency (microseconds)",
+      "Meets SLO"
+    };
+    out.println(StringUtil.join(",", header));
+    for (SaturationSearch.Step step : results.getSearchSteps()) {
+      out.printf(
+          "%d,%.3f,%s,%.3f,%d,%b\n",
+          step.getPhaseId(),
+          step.getTarget(),
+          step.isTerminals() ? "terminals" : "rate",
+          step.getThroughput(),
+          step.getLatencyMicros(),
+          step.isPassed());
+    }
+  }
+
   public void writeRaw(List<TransactionType> activeTXTypes, PrintStream out) {
 
     // This is needed because nanTime does not guarantee offset... we
@@ -203,10 +294,12 @@ public class ResultWriter {
       "Start Time (microseconds)",
       "Latency (microseconds)",
       "Worker Id (start number)",
-      "Phase Id (index in config file)"
+      "Phase Id (index in config file)",
+      "Response Time (microseconds)"
     };
     out.println(StringUtil.join(",", header));
-    for (LatencyRecord.Sample s : results.getLatencySamples()) {
+    LatencyRecord.Cursor s = results.getLatencySamples();
+    while (s.advance()) {
       double startUs = ((double) s.getStartNanosecond() / (double) 1000000000);
       String[] row = {
         Integer.toString(s.getTransactionType()),
@@ -217,6 +310,7 @@ public class ResultWriter {
         Integer.toString(s.getLatencyMicrosecond()),
         Integer.toString(s.getWorkerId()),
         Integer.toString(s.getPhaseId()),
+        Integer.toString(s.getResponseTimeMicrosecond()),
       };
       out.println(StringUtil.join(",", row));
     }
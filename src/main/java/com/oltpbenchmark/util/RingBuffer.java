@@ -0,0 +1,186 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list backed by a circular array, for the queues that workers keep on their transaction path.
+ * Unlike a LinkedList, elements are reached by index in O(1), and adding or removing at either end
+ * is O(1) without allocating a node. Adding or removing in the middle shifts the shorter side. The
+ * array grows as needed and is never shrunk. Not thread-safe.
+ *
+ * @param <E>
+ */
+public class RingBuffer<E> extends AbstractList<E> implements RandomAccess {
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private Object[] elements;
+
+  /** Index in elements of the first element */
+  private int head;
+
+  private int size;
+
+  public RingBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public RingBuffer(int capacity) {
+    this.elements = new Object[Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1];
+  }
+
+  private int slot(int index) {
+    return (this.head + index) & (this.elements.length - 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private E elementAt(int slot) {
+    return (E) this.elements[slot];
+  }
+
+  private void checkIndex(int index, int bound) {
+    if (index < 0 || index >= bound) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public E get(int index) {
+    checkIndex(index, this.size);
+    return elementAt(slot(index));
+  }
+
+  @Override
+  public E set(int index, E element) {
+    checkIndex(index, this.size);
+    int slot = slot(index);
+    E previous = elementAt(slot);
+    this.elements[slot] = element;
+    return previous;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    checkIndex(index, this.size + 1);
+    if (this.size == this.elements.length) {
+      this.elements = toArray(new Object[this.elements.length << 1]);
+      this.head = 0;
+    }
+    int mask = this.elements.length - 1;
+    if (index < this.size - index) {
+      this.head = (this.head - 1) & mask;
+      for (int i = 0; i < index; i++) {
+        this.elements[slot(i)] = this.elements[slot(i + 1)];
+      }
+    } else {
+      for (int i = this.size; i > index; i--) {
+        this.elements[slot(i)] = this.elements[slot(i - 1)];
+      }
+    }
+    this.elements[slot(index)] = element;
+    this.size++;
+    this.modCount++;
+  }
+
+  @Override
+  public E remove(int index) {
+    checkIndex(index, this.size);
+    E removed = elementAt(slot(index));
+    if (index < this.size - 1 - index) {
+      for (int i = index; i > 0; i--) {
+        this.elements[slot(i)] = this.elements[slot(i - 1)];
+      }
+      this.elements[this.head] = null;
+      this.head = slot(1);
+    } else {
+      for (int i = index; i < this.size - 1; i++) {
+        this.elements[slot(i)] = this.elements[slot(i + 1)];
+      }
+      this.elements[slot(this.size - 1)] = null;
+    }
+    this.size--;
+    this.modCount++;
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    for (int i = 0; i < this.size; i++) {
+      this.elements[slot(i)] = null;
+    }
+    this.head = 0;
+    this.size = 0;
+    this.modCount++;
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> c) {
+    for (E element : c) {
+      addLast(element);
+    }
+    return !c.isEmpty();
+  }
+
+  public void addFirst(E element) {
+    add(0, element);
+  }
+
+  public void addLast(E element) {
+    add(this.size, element);
+  }
+
+  public E getFirst() {
+    return get(0);
+  }
+
+  /** Removes and returns the first element, or throws if there is none. */
+  public E removeFirst() {
+    return remove(0);
+  }
+
+  /** Removes and returns the first element, or returns null if there is none. */
+  public E poll() {
+    return (this.size == 0 ? null : remove(0));
+  }
+
+  @Override
+  public Object[] toArray() {
+    return toArray(new Object[this.size]);
+  }
+
+  @Override
+  public <T> T[] toArray(T[] a) {
+    T[] array = (a.length >= this.size ? a : Arrays.copyOf(a, this.size));
+    int first = Math.min(this.size, this.elements.length - this.head);
+    System.arraycopy(this.elements, this.head, array, 0, first);
+    System.arraycopy(this.elements, 0, array, first, this.size - first);
+    if (array.length > this.size) {
+      array[this.size] = null;
+    }
+    return array;
+  }
+}
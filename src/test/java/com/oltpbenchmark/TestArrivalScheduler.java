@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.Test;
+
+public class TestArrivalScheduler {
+
+  private static final double HIGH_RATE = 100000;
+
+  /** testRegularScheduleDoesNotDrift */
+  @Test
+  public void testRegularScheduleDoesNotDrift() {
+    // 3 arrivals per second do not divide a second evenly
+    ArrivalScheduler.Schedule schedule = new ArrivalScheduler.Regular(3);
+    long last = 0;
+    for (int i = 0; i < 3000000; i++) {
+      last = schedule.nextOffsetNs();
+    }
+    assertEquals(3000000L / 3 * 1000000000L, schedule.nextOffsetNs());
+    assertEquals(999999666666666L, last);
+  }
+
+  /** testPoissonScheduleRate */
+  @Test
+  public void testPoissonScheduleRate() {
+    ArrivalScheduler.Schedule schedule = new ArrivalScheduler.Poisson(1000);
+    long previous = 0;
+    long offset = 0;
+    for (int i = 0; i < 100000; i++) {
+      offset = schedule.nextOffsetNs();
+      assertTrue(offset >= previous);
+      previous = offset;
+    }
+    // 100000 arrivals at 1000/s take about 100 seconds
+    assertEquals(100.0, offset / 1e9, 2.0);
+  }
+
+  /** testTraceScheduleRepeats */
+  @Test
+  public void testTraceScheduleRepeats() {
+    ArrivalScheduler.Schedule schedule = new ArrivalScheduler.Trace(new long[] {0, 10, 30});
+    long[] expected = {0, 10, 30, 45, 55, 75, 90};
+    for (long offset : expected) {
+      assertEquals(offset, schedule.nextOffsetNs());
+    }
+  }
+
+  /** testQueuesConfiguredRate */
+  @Test
+  public void testQueuesConfiguredRate() throws InterruptedException {
+    int terminals = 2;
+    BenchmarkState benchmarkState = new BenchmarkState(terminals + 1);
+    Phase phase =
+        new Phase(
+            "test",
+            1,
+            60,
+            0,
+            HIGH_RATE,
+            List.of(100.0),
+            true,
+            false,
+            false,
+            true,
+            terminals,
+            Phase.Arrival.REGULAR);
+    WorkloadState workState = new WorkloadState(benchmarkState, List.of(phase), terminals);
+    workState.switchToNextPhase();
+    benchmarkState.startMeasure();
+
+    // Workers drain the queue, so that every arrival is counted once it was queued
+    LongAdder fetched = new LongAdder();
+    Thread[] workers = new Thread[terminals];
+    for (int i = 0; i < terminals; i++) {
+      SplittableRandom rng = new SplittableRandom(i);
+      workers[i] =
+          new Thread(
+              () -> {
+                while (workState.fetchWork(rng) != null) {
+                  fetched.increment();
+                }
+              });
+      workers[i].start();
+    }
+    ArrivalScheduler scheduler =
+        new ArrivalScheduler(workState, System.nanoTime(), List.of(), new SplittableRandom(0));
+    Thread schedulerThread = new Thread(scheduler);
+    schedulerThread.start();
+
+    // Skip the start-up, then count the arrivals fetched over two seconds
+    Thread.sleep(200);
+    long start = System.nanoTime();
+    long startCount = fetched.sum();
+    Thread.sleep(2000);
+    long end = System.nanoTime();
+    long endCount = fetched.sum();
+    // Read before the switch, which drops whatever is still queued
+    long dropped = workState.getDroppedArrivals();
+
+    workState.switchToNextPhase();
+    schedulerThread.join(TimeUnit.SECONDS.toMillis(10));
+    for (Thread worker : workers) {
+      worker.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    double expected = HIGH_RATE * (end - start) / 1e9;
+    assertEquals(expected, endCount - startCount, expected * 0.01);
+    assertEquals(0, dropped);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class TestLatencyHistogram {
+
+  private static final int NUM_SAMPLES = 100000;
+
+  /** testBucketBoundaries */
+  @Test
+  public void testBucketBoundaries() {
+    for (long v = 0; v < 1 << 20; v++) {
+      int index = LatencyHistogram.bucketIndex(v);
+      assertTrue(LatencyHistogram.lowestEquivalentValue(index) <= v);
+      assertTrue(LatencyHistogram.highestEquivalentValue(index) >= v);
+    }
+    for (int v = 0; v < LatencyHistogram.SUB_BUCKET_COUNT; v++) {
+      assertEquals(v, LatencyHistogram.bucketIndex(v));
+    }
+  }
+
+  /** testMatchesExactStatistics */
+  @Test
+  public void testMatchesExactStatistics() {
+    Random rand = new Random(1);
+    int[] values = new int[NUM_SAMPLES];
+    LatencyHistogram h = new LatencyHistogram();
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (int) Math.abs(rand.nextGaussian() * 5000) + rand.nextInt(100);
+      h.recordValue(values[i]);
+    }
+
+    DistributionStatistics exact = DistributionStatistics.computeStatistics(values);
+    DistributionStatistics approx = DistributionStatistics.computeStatistics(h);
+
+    assertEquals(exact.getCount(), approx.getCount());
+    assertEquals(exact.getMinimum(), approx.getMinimum(), 0);
+    assertEquals(exact.getMaximum(), approx.getMaximum(), 0);
+    assertEquals(exact.getAverage(), approx.getAverage(), 1e-6);
+    assertEquals(exact.getStandardDeviation(), approx.getStandardDeviation(), 1e-3);
+    assertWithinOnePercent(exact.getMedian(), approx.getMedian());
+    assertWithinOnePercent(exact.get90thPercentile(), approx.get90thPercentile());
+    assertWithinOnePercent(exact.get99thPercentile(), approx.get99thPercentile());
+  }
+
+  /** testAdd */
+  @Test
+  public void testAdd() {
+    LatencyHistogram a = new LatencyHistogram();
+    LatencyHistogram b = new LatencyHistogram();
+    LatencyHistogram all = new LatencyHistogram();
+    for (int i = 0; i < 1000; i++) {
+      a.recordValue(i);
+      all.recordValue(i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      b.recordValue(i * 1000L);
+      all.recordValue(i * 1000L);
+    }
+    a.add(b);
+    assertEquals(all.getTotalCount(), a.getTotalCount());
+    assertEquals(all.getMaxValue(), a.getMaxValue());
+    assertEquals(all.getMinValue(), a.getMinValue());
+    assertEquals(all.getValueAtPercentile(0.99), a.getValueAtPercentile(0.99));
+
+    a.reset();
+    assertEquals(0, a.getTotalCount());
+    assertEquals(-1, DistributionStatistics.computeStatistics(a).getAverage(), 0);
+  }
+
+  private static void assertWithinOnePercent(double expected, double actual) {
+    assertTrue(expected + " vs " + actual, Math.abs(expected - actual) <= expected * 0.01 + 1);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestLatencyRecord {
+
+  private static final long START = 1000000000L;
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  /** testCursorAcrossChunks */
+  @Test
+  public void testCursorAcrossChunks() {
+    LatencyRecord record = new LatencyRecord(START);
+    int num = LatencyRecord.ALLOC_SIZE * 2 + 7;
+    for (int i = 0; i < num; i++) {
+      long start = START + i * 1000L;
+      record.addLatency(i % 5 + 1, start, start + i * 1000L, 3, 2);
+    }
+    assertEquals(num, record.size());
+
+    LatencyRecord.Cursor c = record.cursor();
+    for (int i = 0; i < num; i++) {
+      assertTrue(c.advance());
+      assertEquals(i % 5 + 1, c.getTransactionType());
+      assertEquals(START + i * 1000L, c.getStartNanosecond());
+      assertEquals(i, c.getLatencyMicrosecond());
+      assertEquals(3, c.getWorkerId());
+      assertEquals(2, c.getPhaseId());
+    }
+    assertFalse(c.advance());
+    assertFalse(c.advance());
+  }
+
+  /** testEmpty */
+  @Test
+  public void testEmpty() {
+    LatencyRecord record = new LatencyRecord(START);
+    assertEquals(0, record.size());
+    assertFalse(record.cursor().advance());
+    assertFalse(LatencyRecord.mergedCursor(List.of(record, record)).advance());
+  }
+
+  /** testMergedCursor */
+  @Test
+  public void testMergedCursor() {
+    LatencyRecord even = new LatencyRecord(START);
+    LatencyRecord odd = new LatencyRecord(START);
+    for (int i = 0; i < 1000; i++) {
+      LatencyRecord record = (i % 2 == 0) ? even : odd;
+      record.addLatency(1, START + i, START + i + 1000, i % 2, 1);
+    }
+
+    LatencyRecord.Cursor c = LatencyRecord.mergedCursor(List.of(odd, even));
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(c.advance());
+      assertEquals(START + i, c.getStartNanosecond());
+      assertEquals(i % 2, c.getWorkerId());
+    }
+    assertFalse(c.advance());
+  }
+
+  /** testSpilledRecord */
+  @Test
+  public void testSpilledRecord() throws Exception {
+    File dir = folder.newFolder();
+    LatencyRecord spilled = new LatencyRecord(START, dir.toPath(), "test-0");
+    LatencyRecord heap = new LatencyRecord(START);
+    int num = 10000;
+    for (int i = 0; i < num; i++) {
+      long start = START + i * 2000L;
+      spilled.addLatency(i % 3 + 1, start, start + i * 1000L, 0, 1);
+      heap.addLatency(i % 3 + 1, start + 1000L, start + 1000L + i * 1000L, 1, 1);
+    }
+    assertEquals(num, spilled.size());
+    assertEquals(1, dir.listFiles().length);
+
+    LatencyRecord.Cursor c = LatencyRecord.mergedCursor(List.of(spilled, heap));
+    for (int i = 0; i < num * 2; i++) {
+      assertTrue(c.advance());
+      assertEquals(START + i * 1000L, c.getStartNanosecond());
+      assertEquals(i % 2, c.getWorkerId());
+      assertEquals(i / 2, c.getLatencyMicrosecond());
+      assertEquals(i / 2 % 3 + 1, c.getTransactionType());
+      assertEquals(1, c.getPhaseId());
+    }
+    assertFalse(c.advance());
+  }
+
+  /** testResponseTime */
+  @Test
+  public void testResponseTime() throws Exception {
+    LatencyRecord heap = new LatencyRecord(START);
+    LatencyRecord spilled = new LatencyRecord(START, folder.newFolder().toPath(), "test-1");
+    for (int i = 0; i < 100; i++) {
+      long scheduled = START + i * 10000L;
+      long start = scheduled + i * 1000L;
+      heap.addLatency(1, scheduled, start, start + 2000L, 0, 1);
+      spilled.addLatency(1, scheduled, start, start + 2000L, 1, 1);
+    }
+    // Without a scheduled start the response time equals the latency
+    heap.addLatency(1, START + 1000000L, START + 1003000L, 0, 1);
+
+    for (LatencyRecord record : List.of(heap, spilled)) {
+      LatencyRecord.Cursor c = record.cursor();
+      for (int i = 0; i < 100; i++) {
+        assertTrue(c.advance());
+        assertEquals(START + i * 11000L, c.getStartNanosecond());
+        assertEquals(2, c.getLatencyMicrosecond());
+        assertEquals(i + 2, c.getResponseTimeMicrosecond());
+      }
+      if (record == heap) {
+        assertTrue(c.advance());
+        assertEquals(3, c.getLatencyMicrosecond());
+        assertEquals(3, c.getResponseTimeMicrosecond());
+      }
+      assertFalse(c.advance());
+    }
+  }
+}
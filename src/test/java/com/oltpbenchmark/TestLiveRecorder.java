@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.oltpbenchmark.LiveRecorder.TypeCounters;
+import com.oltpbenchmark.types.TransactionStatus;
+import org.junit.Test;
+
+public class TestLiveRecorder {
+
+  /** testBucketBoundaries */
+  @Test
+  public void testBucketBoundaries() {
+    for (long v = 0; v < 1 << 20; v++) {
+      int index = LiveRecorder.bucketIndex(v);
+      assertTrue(LiveRecorder.highestEquivalentValue(index) >= v);
+      assertTrue(index == 0 || LiveRecorder.highestEquivalentValue(index - 1) < v);
+    }
+    assertEquals(LiveRecorder.BUCKET_COUNT - 1, LiveRecorder.bucketIndex(LiveRecorder.MAX_VALUE));
+  }
+
+  /** testCounters */
+  @Test
+  public void testCounters() {
+    LiveRecorder recorder = new LiveRecorder();
+    for (int i = 1; i <= 1000; i++) {
+      recorder.recordLatency(2, i);
+      recorder.recordStatus(2, TransactionStatus.SUCCESS);
+    }
+    recorder.recordStatus(2, TransactionStatus.USER_ABORTED);
+    recorder.recordLatency(2, Long.MAX_VALUE);
+
+    TypeCounters[] types = recorder.getTypes();
+    assertEquals(3, types.length);
+    assertNull(types[0]);
+    assertEquals(1000, types[2].statuses.get(TransactionStatus.SUCCESS.ordinal()));
+    assertEquals(1, types[2].statuses.get(TransactionStatus.USER_ABORTED.ordinal()));
+
+    long[] buckets = new long[LiveRecorder.BUCKET_COUNT];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = types[2].buckets.get(i);
+    }
+    long p50 = LiveMetrics.valueAtPercentile(buckets, 0.5);
+    assertTrue(p50 >= 500 && p50 <= 500 * 1.07);
+    assertEquals(LiveRecorder.MAX_VALUE, LiveMetrics.valueAtPercentile(buckets, 1.0));
+    assertEquals(0, LiveMetrics.valueAtPercentile(new long[LiveRecorder.BUCKET_COUNT], 0.5));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TestLoadProfile {
+
+  private static final double DELTA = 1e-6;
+
+  /** testIsProfile */
+  @Test
+  public void testIsProfile() {
+    assertTrue(LoadProfile.isProfile("ramp(1000,50000,600s)"));
+    assertTrue(LoadProfile.isProfile(" step(100, 200, 60) "));
+    assertFalse(LoadProfile.isProfile("1000"));
+    assertFalse(LoadProfile.isProfile("unlimited"));
+  }
+
+  /** testLinearRamp */
+  @Test
+  public void testLinearRamp() {
+    LoadProfile profile = LoadProfile.parse("ramp(1000,5000,10m)");
+    assertEquals(1000, profile.initialValue(), DELTA);
+    assertEquals(5000, profile.maxValue(), DELTA);
+    assertEquals(1000, profile.valueAt(0), DELTA);
+    assertEquals(3000, profile.valueAt(300), DELTA);
+    assertEquals(5000, profile.valueAt(600), DELTA);
+    assertEquals(5000, profile.valueAt(6000), DELTA);
+
+    // 1000 * 600 + 4000 * 600 / 2 events during the ramp
+    assertEquals(600, profile.timeOfEvents(1800000), DELTA);
+    assertEquals(300, profile.timeOfEvents(300000 + 300 * 2000 / 2), DELTA);
+    assertEquals(601, profile.timeOfEvents(1805000), DELTA);
+  }
+
+  /** testLinearRampFromZero */
+  @Test
+  public void testLinearRampFromZero() {
+    LoadProfile profile = LoadProfile.parse("ramp(0,100,10s)");
+    assertEquals(0, profile.timeOfEvents(0), DELTA);
+    // 10 * t^2 / 2 = 20
+    assertEquals(2, profile.timeOfEvents(20), DELTA);
+  }
+
+  /** testExponentialRamp */
+  @Test
+  public void testExponentialRamp() {
+    LoadProfile profile = LoadProfile.parse("ramp(100,1600,40s,exp)");
+    // Doubles every 10 seconds
+    assertEquals(200, profile.valueAt(10), 1e-3);
+    assertEquals(800, profile.valueAt(30), 1e-3);
+    double events = 1500 / (Math.log(16) / 40);
+    assertEquals(40, profile.timeOfEvents(events), 1e-3);
+    assertEquals(41, profile.timeOfEvents(events + 1600), 1e-3);
+  }
+
+  /** testStep */
+  @Test
+  public void testStep() {
+    LoadProfile profile = LoadProfile.parse("step(10,20,40,1m)");
+    assertEquals(10, profile.valueAt(59), DELTA);
+    assertEquals(20, profile.valueAt(60), DELTA);
+    assertEquals(40, profile.valueAt(1000), DELTA);
+    assertEquals(40, profile.maxValue(), DELTA);
+    assertEquals(60, profile.timeOfEvents(600), DELTA);
+    assertEquals(90, profile.timeOfEvents(1200), DELTA);
+    assertEquals(121, profile.timeOfEvents(1840), DELTA);
+  }
+
+  /** testInvalidProfiles */
+  @Test
+  public void testInvalidProfiles() {
+    String[] invalid = {
+      "ramp(1,2)", "ramp(0,10,5s,exp)", "ramp(1,2,0)", "step(10)", "step(0,10,5)", "wave(1,2,3)"
+    };
+    for (String spec : invalid) {
+      try {
+        LoadProfile.parse(spec);
+        throw new AssertionError("Expected " + spec + " to be rejected");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Test;
+
+public class TestPhase {
+
+  private static final int NUM_SAMPLES = 1000000;
+
+  private static Phase makePhase(List<Double> weights) {
+    return new Phase(
+        "test", 1, 60, 0, 1, weights, false, false, false, true, 1, Phase.Arrival.REGULAR);
+  }
+
+  /** testWeightedDistribution */
+  @Test
+  public void testWeightedDistribution() {
+    List<Double> weights = List.of(45.0, 43.0, 4.0, 4.0, 4.0);
+    Phase phase = makePhase(weights);
+    SplittableRandom rng = new SplittableRandom(0);
+
+    int[] counts = new int[weights.size() + 1];
+    for (int i = 0; i < NUM_SAMPLES; i++) {
+      counts[phase.chooseWeightedTransaction(rng)]++;
+    }
+    assertEquals(0, counts[0]);
+    for (int i = 0; i < weights.size(); i++) {
+      assertEquals(weights.get(i) / 100.0, counts[i + 1] / (double) NUM_SAMPLES, 0.005);
+    }
+  }
+
+  /** testFractionalWeights */
+  @Test
+  public void testFractionalWeights() {
+    Phase phase = makePhase(List.of(0.5, 0.0, 0.25, 0.25));
+    SplittableRandom rng = new SplittableRandom(0);
+
+    int[] counts = new int[5];
+    for (int i = 0; i < NUM_SAMPLES; i++) {
+      counts[phase.chooseWeightedTransaction(rng)]++;
+    }
+    assertEquals(0, counts[2]);
+    assertEquals(0.5, counts[1] / (double) NUM_SAMPLES, 0.005);
+    assertEquals(0.25, counts[3] / (double) NUM_SAMPLES, 0.005);
+    assertEquals(0.25, counts[4] / (double) NUM_SAMPLES, 0.005);
+  }
+
+  /** testSeededMixIsReproducible */
+  @Test
+  public void testSeededMixIsReproducible() {
+    Phase phase = makePhase(List.of(45.0, 43.0, 4.0, 4.0, 4.0));
+    SplittableRandom first = new SplittableRandom(42);
+    SplittableRandom second = new SplittableRandom(42);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(phase.chooseTransaction(first), phase.chooseTransaction(second));
+    }
+  }
+
+  /** testNoPositiveWeights */
+  @Test
+  public void testNoPositiveWeights() {
+    Phase phase = makePhase(List.of(0.0, 0.0));
+    assertEquals(-1, phase.chooseTransaction(new SplittableRandom(0)));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.junit.Test;
+
+public class TestSaturationSearch {
+
+  /** Runs a search against a system that meets the SLO up to the given capacity */
+  private static SaturationSearch search(
+      SaturationSearch.Settings settings, boolean terminals, double capacity) {
+    SaturationSearch search = new SaturationSearch(settings, 1, terminals, List.of());
+    for (int i = 0; i < 100 && !search.isFinished(); i++) {
+      double target = search.getTarget();
+      boolean fast = target <= capacity;
+      search.evaluate(target, fast ? 1000 : 100000);
+    }
+    assertTrue(search.isFinished());
+    return search;
+  }
+
+  /** testRateSearch */
+  @Test
+  public void testRateSearch() {
+    SaturationSearch.Settings settings =
+        new SaturationSearch.Settings(5000, 99, 100, 100000, 30, 0.05);
+    SaturationSearch search = search(settings, false, 4321);
+    double found = search.getSustainableTarget();
+    assertTrue(found <= 4321);
+    assertTrue(found >= 4321 * 0.95);
+    assertEquals(found, search.getTarget(), 0);
+
+    // Doubles first: 100, 200, ..., 6400
+    List<SaturationSearch.Step> steps = search.getSteps();
+    assertEquals(200, steps.get(1).getTarget(), 0);
+    assertFalse(steps.get(6).isPassed());
+  }
+
+  /** testRateSearchStopsAtMax */
+  @Test
+  public void testRateSearchStopsAtMax() {
+    SaturationSearch.Settings settings =
+        new SaturationSearch.Settings(5000, 99, 100, 1000, 30, 0.05);
+    SaturationSearch search = search(settings, false, 1e9);
+    assertEquals(1000, search.getSustainableTarget(), 0);
+  }
+
+  /** testRateSearchFailsAtMin */
+  @Test
+  public void testRateSearchFailsAtMin() {
+    SaturationSearch.Settings settings =
+        new SaturationSearch.Settings(5000, 99, 100, 1000, 30, 0.05);
+    SaturationSearch search = search(settings, false, 50);
+    assertEquals(0, search.getSustainableTarget(), 0);
+    assertEquals(1, search.getSteps().size());
+  }
+
+  /** testThroughputBelowRateFails */
+  @Test
+  public void testThroughputBelowRateFails() {
+    SaturationSearch.Settings settings =
+        new SaturationSearch.Settings(5000, 99, 100, 1000, 30, 0.05);
+    SaturationSearch search = new SaturationSearch(settings, 1, false, List.of());
+    search.evaluate(80, 1000);
+    assertFalse(search.getSteps().get(0).isPassed());
+  }
+
+  /** testTerminalSearch */
+  @Test
+  public void testTerminalSearch() {
+    SaturationSearch.Settings settings = new SaturationSearch.Settings(5000, 99, 1, 64, 30, 0.05);
+    SaturationSearch search = search(settings, true, 23);
+    assertEquals(23, search.getSustainableTarget(), 0);
+    for (SaturationSearch.Step step : search.getSteps()) {
+      assertEquals(Math.round(step.getTarget()), step.getTarget(), 0);
+    }
+  }
+}
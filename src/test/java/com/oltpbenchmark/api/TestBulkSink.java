@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.oltpbenchmark.WorkloadConfiguration;
+import com.oltpbenchmark.catalog.Column;
+import com.oltpbenchmark.catalog.Table;
+import com.oltpbenchmark.types.DatabaseType;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class TestBulkSink {
+
+  /** Stands in for a database that reads the text format, collecting every chunk it is sent. */
+  private static class CapturingSink extends TextBulkSink {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private int endWrites = 0;
+
+    CapturingSink(int columnCount, int chunkSize) {
+      super(columnCount, chunkSize);
+    }
+
+    @Override
+    protected void write(byte[] data, int len) {
+      assertEquals('\n', data[len - 1]);
+      this.data.write(data, 0, len);
+      chunkSizes.add(len);
+    }
+
+    @Override
+    protected void endWrite() {
+      endWrites++;
+    }
+
+    String text() {
+      return data.toString(StandardCharsets.UTF_8);
+    }
+  }
+
+  private static Table makeTable() {
+    Table table = new Table("BULK_TEST", null);
+    table.addColumn(new Column("ID", null, table, Types.INTEGER, null, false));
+    table.addColumn(new Column("NAME", null, table, Types.VARCHAR, 64, true));
+    table.addColumn(new Column("PRICE", null, table, Types.DOUBLE, null, true));
+    table.addColumn(new Column("SINCE", null, table, Types.DATE, null, true));
+    return table;
+  }
+
+  /** testTextFormat */
+  @Test
+  public void testTextFormat() throws Exception {
+    CapturingSink sink = new CapturingSink(4, 1024);
+
+    sink.setInt(1, 1);
+    sink.setString(2, "plain");
+    sink.setDouble(3, 2.5);
+    sink.setDate(4, Date.valueOf("2020-01-31"));
+    sink.addRow();
+
+    sink.setLong(1, 2);
+    sink.setString(2, "tab\tnewline\nreturn\rslash\\");
+    sink.setNull(3, Types.DOUBLE);
+    sink.setObject(4, null);
+    sink.addRow();
+
+    sink.setObject(1, 3);
+    sink.setString(2, "café € 😀");
+    sink.setObject(3, Boolean.TRUE);
+    sink.setString(4, null);
+    sink.addRow();
+
+    sink.close();
+
+    assertEquals(
+        "1\tplain\t2.5\t2020-01-31\n"
+            + "2\ttab\\tnewline\\nreturn\\rslash\\\\\t\\N\t\\N\n"
+            + "3\tcafé € 😀\t1\t\\N\n",
+        sink.text());
+    assertEquals(1, sink.endWrites);
+  }
+
+  /** testChunksEndOnRowBoundary */
+  @Test
+  public void testChunksEndOnRowBoundary() throws Exception {
+    CapturingSink sink = new CapturingSink(2, 16);
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      sink.setInt(1, i);
+      sink.setString(2, "row" + i);
+      sink.addRow();
+      expected.append(i).append("\trow").append(i).append('\n');
+    }
+    assertTrue(sink.chunkSizes.size() > 1);
+    assertEquals(0, sink.endWrites);
+
+    sink.flush();
+    assertEquals(1, sink.endWrites);
+    sink.close();
+    assertEquals(2, sink.endWrites);
+    assertEquals(expected.toString(), sink.text());
+  }
+
+  /** testBatchInsertFallback */
+  @Test
+  public void testBatchInsertFallback() throws Exception {
+    WorkloadConfiguration workConf = new WorkloadConfiguration();
+    workConf.setDatabaseType(DatabaseType.HSQLDB);
+    workConf.setBatchSize(3);
+    workConf.setBulkLoad(true);
+
+    try (Connection conn = DriverManager.getConnection("jdbc:hsqldb:mem:bulksink")) {
+      try (Statement stmt = conn.createStatement()) {
+        stmt.execute(
+            "CREATE TABLE BULK_TEST (ID INT NOT NULL, NAME VARCHAR(64), PRICE DOUBLE, SINCE DATE)");
+      }
+
+      Table table = makeTable();
+      try (BulkSink sink = BulkSink.open(conn, table, workConf)) {
+        assertFalse(sink instanceof TextBulkSink);
+        for (int i = 1; i <= 10; i++) {
+          sink.setInt(1, i);
+          sink.setString(2, "row" + i);
+          if (i % 2 == 0) {
+            sink.setDouble(3, i / 2.0);
+          } else {
+            sink.setNull(3, Types.DOUBLE);
+          }
+          sink.setDate(4, Date.valueOf("2020-01-01"));
+          sink.addRow();
+        }
+      }
+
+      try (Statement stmt = conn.createStatement();
+          ResultSet rs = stmt.executeQuery("SELECT ID, NAME, PRICE FROM BULK_TEST ORDER BY ID")) {
+        for (int i = 1; i <= 10; i++) {
+          assertTrue(rs.next());
+          assertEquals(i, rs.getInt(1));
+          assertEquals("row" + i, rs.getString(2));
+          if (i % 2 == 0) {
+            assertEquals(i / 2.0, rs.getDouble(3), 0.0);
+          } else {
+            assertNull(rs.getObject(3));
+          }
+        }
+        assertFalse(rs.next());
+      }
+    }
+  }
+}
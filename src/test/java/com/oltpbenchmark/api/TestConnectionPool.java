@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class TestConnectionPool {
+
+  private static Connection connect() throws Exception {
+    return DriverManager.getConnection("jdbc:hsqldb:mem:pool");
+  }
+
+  /** testReuseConnection */
+  @Test
+  public void testReuseConnection() throws Exception {
+    try (ConnectionPool pool = new ConnectionPool(1)) {
+      assertNull(pool.acquire());
+      Connection conn = connect();
+      pool.release(conn);
+
+      assertSame(conn, pool.acquire());
+      assertEquals(1, pool.getActiveLeases());
+      conn.close();
+      pool.release(conn);
+
+      // Closed connections are not handed out again
+      assertNull(pool.acquire());
+      pool.release(null);
+      assertEquals(0, pool.getActiveLeases());
+    }
+  }
+
+  /** testCloseIdleConnections */
+  @Test
+  public void testCloseIdleConnections() throws Exception {
+    ConnectionPool pool = new ConnectionPool(2);
+    pool.acquire();
+    pool.acquire();
+    Connection idle = connect();
+    Connection leased = connect();
+    pool.release(idle);
+
+    pool.close();
+    assertTrue(idle.isClosed());
+
+    // Connections returned after the pool was closed are closed too
+    pool.release(leased);
+    assertTrue(leased.isClosed());
+  }
+
+  /** testLimitConcurrentLeases */
+  @Test
+  public void testLimitConcurrentLeases() throws Exception {
+    int limit = 4;
+    int threads = 64;
+    ConnectionPool pool = new ConnectionPool(limit);
+    AtomicInteger active = new AtomicInteger();
+    AtomicInteger maxActive = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(threads);
+
+    for (int i = 0; i < threads; i++) {
+      Thread.ofVirtual()
+          .start(
+              () -> {
+                try {
+                  for (int j = 0; j < 100; j++) {
+                    pool.acquire();
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(0, 1000);
+                    active.decrementAndGet();
+                    pool.release(null);
+                  }
+                } catch (InterruptedException ex) {
+                  throw new RuntimeException(ex);
+                } finally {
+                  done.countDown();
+                }
+              });
+    }
+    done.await();
+
+    assertTrue(maxActive.get() <= limit);
+    assertEquals(0, pool.getActiveLeases());
+  }
+}
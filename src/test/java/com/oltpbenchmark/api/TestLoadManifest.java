@@ -0,0 +1,162 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestLoadManifest {
+
+  private static final String SIGNATURE = "benchmark=test scalefactor=1.0";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  private Path manifestFile() throws IOException {
+    if (file == null) {
+      file = folder.newFolder().toPath().resolve("test.load.manifest");
+    }
+    return file;
+  }
+
+  private static LoadTask task(String name, AtomicInteger runs) {
+    return new LoadTask(name, runs::incrementAndGet).loadsTable(name, 1);
+  }
+
+  /** testResumeSkipsFinishedTasks */
+  @Test
+  public void testResumeSkipsFinishedTasks() throws Exception {
+    AtomicInteger runs = new AtomicInteger();
+    LoadTask a = task("a", runs);
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      manifest.started(a);
+      manifest.finished(a);
+    }
+
+    AtomicInteger resumedRuns = new AtomicInteger();
+    LoadTask resumedA = task("a", resumedRuns);
+    LoadTask resumedB = task("b", resumedRuns).dependsOn(resumedA);
+    List<LoadTask> tasks = List.of(resumedA, resumedB);
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, true)) {
+      assertTrue(manifest.isFinished("a"));
+      assertFalse(manifest.isFinished("b"));
+      manifest.resume(tasks, null, null, null);
+      LoadScheduler.run(tasks, 2, manifest);
+    }
+    // Only b ran again
+    assertEquals(1, resumedRuns.get());
+    assertEquals(0, runs.get());
+    assertTrue(resumedA.skipped);
+
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, true)) {
+      assertTrue(manifest.isFinished("a"));
+      assertTrue(manifest.isFinished("b"));
+    }
+  }
+
+  /** testResumeRunsEachTaskOnce */
+  @Test
+  public void testResumeRunsEachTaskOnce() throws Exception {
+    // Skipped tasks finish at once and release their dependents while the
+    // scheduler is still submitting the other roots, so repeat to catch a race
+    for (int round = 0; round < 50; round++) {
+      Path roundFile = folder.newFolder().toPath().resolve("test.load.manifest");
+      int width = 20;
+      try (LoadManifest manifest = LoadManifest.open(roundFile, SIGNATURE, false)) {
+        for (int i = 0; i < width; i++) {
+          LoadTask root = task("root" + i, new AtomicInteger());
+          manifest.started(root);
+          manifest.finished(root);
+        }
+      }
+
+      AtomicInteger runs = new AtomicInteger();
+      List<LoadTask> tasks = new ArrayList<>();
+      for (int i = 0; i < width; i++) {
+        LoadTask root = task("root" + i, runs);
+        tasks.add(root);
+        tasks.add(task("child" + i, runs).dependsOn(root));
+      }
+      try (LoadManifest manifest = LoadManifest.open(roundFile, SIGNATURE, true)) {
+        manifest.resume(tasks, null, null, null);
+        LoadScheduler.run(tasks, 4, manifest);
+      }
+      assertEquals(width, runs.get());
+    }
+  }
+
+  /** testLoadWithoutResumeStartsOver */
+  @Test
+  public void testLoadWithoutResumeStartsOver() throws Exception {
+    LoadTask a = task("a", new AtomicInteger());
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      manifest.started(a);
+      manifest.finished(a);
+    }
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      assertFalse(manifest.isFinished("a"));
+    }
+  }
+
+  /** testSignatureMismatch */
+  @Test(expected = IllegalStateException.class)
+  public void testSignatureMismatch() throws Exception {
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      manifest.started(task("a", new AtomicInteger()));
+    }
+    LoadManifest.open(manifestFile(), "benchmark=test scalefactor=2.0", true).close();
+  }
+
+  /** testUnknownTask */
+  @Test(expected = IllegalStateException.class)
+  public void testUnknownTask() throws Exception {
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      manifest.started(task("removed", new AtomicInteger()));
+    }
+    resume(List.of(task("a", new AtomicInteger())));
+  }
+
+  /** testTaskNotResumable */
+  @Test(expected = IllegalStateException.class)
+  public void testTaskNotResumable() throws Exception {
+    LoadTask a = new LoadTask("a", () -> {});
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, false)) {
+      manifest.started(a);
+      manifest.finished(a);
+    }
+    resume(List.of(new LoadTask("a", () -> {})));
+  }
+
+  private void resume(List<LoadTask> tasks) throws IOException, SQLException {
+    try (LoadManifest manifest = LoadManifest.open(manifestFile(), SIGNATURE, true)) {
+      manifest.resume(tasks, null, null, null);
+    }
+  }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class TestLoadScheduler {
+
+  /** testDependenciesFinishFirst */
+  @Test
+  public void testDependenciesFinishFirst() throws InterruptedException {
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    LoadTask a = new LoadTask("a", () -> order.add("a"));
+    LoadTask b = new LoadTask("b", () -> order.add("b"));
+    LoadTask c = new LoadTask("c", () -> order.add("c"));
+    LoadTask d = new LoadTask("d", () -> order.add("d"));
+    b.dependsOn(a);
+    c.dependsOn(a);
+    d.dependsOn(b, c);
+
+    // Listed out of order on purpose
+    LoadScheduler.run(List.of(d, c, b, a), 4);
+
+    assertEquals(4, order.size());
+    assertEquals("a", order.get(0));
+    assertEquals("d", order.get(3));
+  }
+
+  /** testSingleThread */
+  @Test
+  public void testSingleThread() throws InterruptedException {
+    AtomicInteger count = new AtomicInteger();
+    List<LoadTask> tasks = new ArrayList<>();
+    LoadTask previous = null;
+    for (int i = 0; i < 10; i++) {
+      LoadTask task = new LoadTask("t" + i, count::incrementAndGet);
+      if (previous != null) {
+        task.dependsOn(previous);
+      }
+      tasks.add(task);
+      previous = task;
+    }
+    LoadScheduler.run(tasks, 1);
+    assertEquals(10, count.get());
+  }
+
+  /** testCycle */
+  @Test
+  public void testCycle() throws InterruptedException {
+    LoadTask a = new LoadTask("a", () -> {});
+    LoadTask b = new LoadTask("b", () -> {});
+    a.dependsOn(b);
+    b.dependsOn(a);
+    try {
+      LoadScheduler.run(List.of(a, b), 2);
+      fail("Expected the cycle to be rejected");
+    } catch (IllegalArgumentException ex) {
+      // Expected
+    }
+  }
+
+  /** testUnknownDependency */
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownDependency() throws InterruptedException {
+    LoadTask a = new LoadTask("a", () -> {});
+    LoadTask b = new LoadTask("b", () -> {});
+    a.dependsOn(b);
+    LoadScheduler.run(List.of(a), 2);
+  }
+
+  /** testRunsAlongside */
+  @Test
+  public void testRunsAlongside() throws InterruptedException {
+    // The producer only finishes once the consumer has started
+    CountDownLatch consumerStarted = new CountDownLatch(1);
+    AtomicInteger consumed = new AtomicInteger();
+    LoadTask producer =
+        new LoadTask(
+            "producer",
+            () -> {
+              try {
+                assertTrue(consumerStarted.await(10, TimeUnit.SECONDS));
+              } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+              }
+            });
+    LoadTask consumer =
+        new LoadTask(
+            "consumer",
+            () -> {
+              consumerStarted.countDown();
+              consumed.incrementAndGet();
+            });
+    consumer.runsAlongside(producer);
+
+    LoadScheduler.run(List.of(consumer, producer), 2);
+    assertEquals(1, consumed.get());
+  }
+
+  /** testFailure */
+  @Test
+  public void testFailure() throws InterruptedException {
+    AtomicInteger ran = new AtomicInteger();
+    LoadTask a =
+        new LoadTask(
+            "a",
+            () -> {
+              throw new IllegalStateException("broken");
+            });
+    LoadTask b = new LoadTask("b", ran::incrementAndGet);
+    b.dependsOn(a);
+    try {
+      LoadScheduler.run(List.of(a, b), 2);
+      fail("Expected the failure to be rethrown");
+    } catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof IllegalStateException);
+    }
+    assertEquals(0, ran.get());
+  }
+
+  /** testCriticalPath */
+  @Test
+  public void testCriticalPath() throws InterruptedException {
+    LoadTask a = new LoadTask("a", () -> sleep(10));
+    LoadTask slow = new LoadTask("slow", () -> sleep(100));
+    LoadTask fast = new LoadTask("fast", () -> {});
+    LoadTask end = new LoadTask("end", () -> {});
+    slow.dependsOn(a);
+    fast.dependsOn(a);
+    end.dependsOn(fast, slow);
+
+    List<LoadTask> tasks = List.of(a, slow, fast, end);
+    LoadScheduler.run(tasks, 4);
+
+    List<LoadTask> path = LoadScheduler.criticalPath(tasks);
+    assertEquals(List.of(a, slow, end), path);
+    assertFalse(path.contains(fast));
+  }
+
+  /** testRanges */
+  @Test
+  public void testRanges() {
+    List<LoadTask> tasks = LoadTask.ranges(null, "ITEM", 1, 25, 10, (conn, first, last) -> {});
+    assertEquals(3, tasks.size());
+    assertEquals("ITEM[1-10]", tasks.get(0).getName());
+    assertEquals("ITEM[11-20]", tasks.get(1).getName());
+    assertEquals("ITEM[21-25]", tasks.get(2).getName());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+}
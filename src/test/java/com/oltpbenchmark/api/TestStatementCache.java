@@ -0,0 +1,151 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.oltpbenchmark.types.DatabaseType;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestStatementCache {
+
+  public static class CachedProcedure extends Procedure {
+    public final SQLStmt select = new SQLStmt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES");
+  }
+
+  private Connection conn;
+  private CachedProcedure proc;
+  private StatementCache cache;
+
+  @Before
+  public void setUp() throws Exception {
+    conn = DriverManager.getConnection("jdbc:hsqldb:mem:cache");
+    proc = new CachedProcedure().initialize(DatabaseType.HSQLDB);
+    cache = new StatementCache();
+    proc.setStatementCache(cache);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    cache.clear();
+    conn.close();
+  }
+
+  /** testReuseStatement */
+  @Test
+  public void testReuseStatement() throws Exception {
+    PreparedStatement first;
+    try (PreparedStatement stmt = proc.getPreparedStatement(conn, proc.select)) {
+      first = stmt;
+      try (ResultSet rs = stmt.executeQuery()) {
+        assertTrue(rs.next());
+      }
+    }
+    assertTrue(first.isClosed());
+
+    try (PreparedStatement stmt = proc.getPreparedStatement(conn, proc.select)) {
+      assertSame(first, stmt);
+      assertFalse(stmt.isClosed());
+      try (ResultSet rs = stmt.executeQuery()) {
+        assertTrue(rs.next());
+      }
+    }
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  /** testStatementInUse */
+  @Test
+  public void testStatementInUse() throws Exception {
+    try (PreparedStatement outer = proc.getPreparedStatement(conn, proc.select)) {
+      try (PreparedStatement inner = proc.getPreparedStatement(conn, proc.select)) {
+        assertNotSame(outer, inner);
+      }
+    }
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+
+  /** testDynamicStatement */
+  @Test
+  public void testDynamicStatement() throws Exception {
+    SQLStmt dynamic = new SQLStmt("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS");
+    PreparedStatement first;
+    try (PreparedStatement stmt = proc.getPreparedStatement(conn, dynamic)) {
+      first = stmt;
+    }
+    try (PreparedStatement stmt = proc.getPreparedStatement(conn, dynamic)) {
+      assertNotSame(first, stmt);
+    }
+    assertEquals(0, cache.getHits() + cache.getMisses());
+  }
+
+  /** testInvalidateOnNewConnection */
+  @Test
+  public void testInvalidateOnNewConnection() throws Exception {
+    PreparedStatement first;
+    try (PreparedStatement stmt = proc.getPreparedStatement(conn, proc.select)) {
+      first = stmt.unwrap(PreparedStatement.class);
+    }
+    assertFalse(first.isClosed());
+
+    try (Connection other = DriverManager.getConnection("jdbc:hsqldb:mem:cache")) {
+      try (PreparedStatement stmt = proc.getPreparedStatement(other, proc.select)) {
+        assertSame(other, stmt.getConnection());
+      }
+      assertTrue(first.isClosed());
+      cache.clear();
+    }
+    assertEquals(2, cache.getMisses());
+  }
+
+  /** testReturnKeys */
+  @Test
+  public void testReturnKeys() throws Exception {
+    CachedProcedure postgres = new CachedProcedure().initialize(DatabaseType.POSTGRES);
+    postgres.setStatementCache(cache);
+    int[] keys = {1};
+
+    PreparedStatement first;
+    try (PreparedStatement stmt =
+        postgres.getPreparedStatementReturnKeys(conn, postgres.select, keys)) {
+      first = stmt;
+    }
+    try (PreparedStatement stmt =
+        postgres.getPreparedStatementReturnKeys(conn, postgres.select, keys)) {
+      assertSame(first, stmt);
+    }
+
+    // Statements with and without generated keys are cached separately
+    try (PreparedStatement stmt = postgres.getPreparedStatement(conn, postgres.select)) {
+      assertNotSame(first, stmt);
+    }
+    assertEquals(1, cache.getHits());
+    assertEquals(2, cache.getMisses());
+  }
+}
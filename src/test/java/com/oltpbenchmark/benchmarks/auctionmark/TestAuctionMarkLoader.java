@@ -28,7 +28,6 @@ import com.oltpbenchmark.benchmarks.auctionmark.util.ItemInfo;
 import com.oltpbenchmark.util.Histogram;
 import com.oltpbenchmark.util.RandomGenerator;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import org.junit.Test;
@@ -90,7 +89,7 @@ public class TestAuctionMarkLoader extends AbstractTestLoader<AuctionMarkBenchma
       worker.initialize(); // Initializes the profile we need
 
       clientItemInfos.clear();
-      for (LinkedList<ItemInfo> items : worker.profile.allItemSets) {
+      for (List<ItemInfo> items : worker.profile.allItemSets) {
         assertNotNull(items);
         for (ItemInfo itemInfo : items) {
           // Make sure we haven't seen it another list for this client
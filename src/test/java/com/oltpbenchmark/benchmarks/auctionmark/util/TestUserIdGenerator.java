@@ -101,6 +101,19 @@ public class TestUserIdGenerator {
     } // FOR
   }
 
+  /** testGetClient */
+  @Test
+  public void testGetClient() throws Exception {
+    UserIdGenerator shared = new UserIdGenerator(users_per_item_count, NUM_CLIENTS);
+    for (int client = 0; client < NUM_CLIENTS; client++) {
+      UserIdGenerator generator = new UserIdGenerator(users_per_item_count, NUM_CLIENTS, client);
+      for (UserId user_id : CollectionUtil.iterable(generator)) {
+        assertEquals(user_id.toString(), client, shared.getClient(user_id));
+        assertEquals(user_id.toString(), client, generator.getClient(user_id));
+      } // FOR
+    } // FOR
+  }
+
   /** testSeekToPosition */
   @Test
   public void testSeekToPosition() throws Exception {
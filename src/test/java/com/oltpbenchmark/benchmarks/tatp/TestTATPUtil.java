@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tatp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.oltpbenchmark.util.FastRandom;
+import java.util.Random;
+import org.junit.Test;
+
+public class TestTATPUtil {
+
+  /** testPadWithZero */
+  @Test
+  public void testPadWithZero() {
+    char[] buf = TATPUtil.newSubNbrBuffer();
+    assertEquals("000000000000001", TATPUtil.padWithZero(1, buf));
+    assertEquals("000000001234567", TATPUtil.padWithZero(1234567, buf));
+    // The buffer is overwritten completely every time
+    assertEquals("000000000000042", TATPUtil.padWithZero(42, buf));
+  }
+
+  /** testNumber */
+  @Test
+  public void testNumber() {
+    Random rng = new FastRandom(1);
+    for (int i = 0; i < 10000; i++) {
+      long n = TATPUtil.number(rng, 3, 7);
+      assertTrue(n >= 3 && n <= 7);
+    }
+    long n = TATPUtil.number(rng, 0, Integer.MAX_VALUE);
+    assertTrue(n >= 0 && n <= Integer.MAX_VALUE);
+  }
+
+  /** testRandomString */
+  @Test
+  public void testRandomString() {
+    Random rng = new FastRandom(1);
+    char[] buf = new char[15];
+    String s = TATPUtil.astring(rng, buf, 3, 5);
+    assertTrue(s.length() >= 3 && s.length() <= 5);
+    for (char c : s.toCharArray()) {
+      assertTrue(c >= 'A' && c <= 'Z');
+    }
+    String n = TATPUtil.nstring(rng, buf, 15, 15);
+    assertEquals(15, n.length());
+    for (char c : n.toCharArray()) {
+      assertTrue(c >= '0' && c <= '9');
+    }
+    // Earlier strings are not changed by reusing the buffer
+    assertTrue(Character.isLetter(s.charAt(0)));
+  }
+
+  /** testSubArr */
+  @Test
+  public void testSubArr() {
+    Random rng = new FastRandom(1);
+    int[] arr = {1, 2, 3, 4};
+    for (int i = 0; i < 1000; i++) {
+      int len = TATPUtil.subArr(rng, arr, 1, 4);
+      assertTrue(len >= 1 && len <= 4);
+      // The array keeps all of its elements, so the selection has no duplicates
+      int sum = 0;
+      for (int v : arr) {
+        sum += v;
+      }
+      assertEquals(10, sum);
+    }
+  }
+}
@@ -16,12 +16,40 @@
 
 package com.oltpbenchmark.benchmarks.tpcc;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import com.oltpbenchmark.api.AbstractTestLoader;
 import com.oltpbenchmark.api.Procedure;
+import com.oltpbenchmark.util.SQLUtil;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class TestTPCCLoader extends AbstractTestLoader<TPCCBenchmark> {
 
+  private static final List<String> WAREHOUSE_TABLES =
+      List.of(
+          TPCCConstants.TABLENAME_WAREHOUSE,
+          TPCCConstants.TABLENAME_STOCK,
+          TPCCConstants.TABLENAME_DISTRICT,
+          TPCCConstants.TABLENAME_CUSTOMER,
+          TPCCConstants.TABLENAME_HISTORY,
+          TPCCConstants.TABLENAME_OPENORDER,
+          TPCCConstants.TABLENAME_NEWORDER,
+          TPCCConstants.TABLENAME_ORDERLINE);
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
   @Override
   public List<Class<? extends Procedure>> procedures() {
     return TestTPCCBenchmark.PROCEDURE_CLASSES;
@@ -31,4 +59,41 @@ public class TestTPCCLoader extends AbstractTestLoader<TPCCBenchmark> {
   public Class<TPCCBenchmark> benchmarkClass() {
     return TPCCBenchmark.class;
   }
+
+  /** testResumeInterruptedWarehouse */
+  @Test
+  public void testResumeInterruptedWarehouse() throws Exception {
+    // The same seed loads the same rows again
+    this.workConf.setRandomSeed(1);
+    Path manifestFile = folder.newFolder().toPath().resolve("tpcc.load.manifest");
+    this.benchmark.loadDatabase(manifestFile, false);
+    Map<String, Long> loaded = countRows();
+
+    // Interrupt warehouse 1 while it loads its new orders: its rows in the other tables are
+    // there, and its task did not record that it finished
+    try (Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("DELETE FROM order_line WHERE ol_w_id = 1");
+      stmt.executeUpdate("DELETE FROM new_order WHERE no_w_id = 1 AND no_d_id > 1");
+    }
+    List<String> lines = Files.readAllLines(manifestFile, StandardCharsets.UTF_8);
+    assertTrue(lines.remove("finished warehouse[1]"));
+    Files.write(manifestFile, lines, StandardCharsets.UTF_8);
+
+    this.benchmark.loadDatabase(manifestFile, true);
+    assertEquals(loaded, countRows());
+  }
+
+  private Map<String, Long> countRows() throws SQLException {
+    Map<String, Long> counts = new LinkedHashMap<>();
+    for (String table : WAREHOUSE_TABLES) {
+      String sql =
+          SQLUtil.getCountSQL(this.workConf.getDatabaseType(), this.catalog.getTable(table));
+      try (Statement stmt = conn.createStatement();
+          ResultSet rs = stmt.executeQuery(sql)) {
+        rs.next();
+        counts.put(table, rs.getLong(1));
+      }
+    }
+    return counts;
+  }
 }
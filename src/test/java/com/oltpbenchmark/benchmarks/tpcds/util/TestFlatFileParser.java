@@ -0,0 +1,223 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpcds.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.oltpbenchmark.api.BulkSink;
+import com.oltpbenchmark.benchmarks.tpcds.TPCDSConstants.CastTypes;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFlatFileParser {
+
+  private static final CastTypes[] TYPES = {
+    CastTypes.LONG, CastTypes.STRING, CastTypes.DOUBLE, CastTypes.DATE
+  };
+
+  /** Collects the rows written to it as lists of objects. */
+  private static class CollectingSink extends BulkSink {
+    private final List<List<Object>> rows = new ArrayList<>();
+    private Object[] row = new Object[TYPES.length];
+
+    @Override
+    public void setInt(int column, int value) {
+      row[column - 1] = (long) value;
+    }
+
+    @Override
+    public void setShort(int column, short value) {
+      row[column - 1] = (long) value;
+    }
+
+    @Override
+    public void setLong(int column, long value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void setFloat(int column, float value) {
+      row[column - 1] = (double) value;
+    }
+
+    @Override
+    public void setDouble(int column, double value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void setString(int column, String value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void setDate(int column, Date value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void setTimestamp(int column, Timestamp value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void setNull(int column, int sqlType) {
+      row[column - 1] = null;
+    }
+
+    @Override
+    public void setObject(int column, Object value) {
+      row[column - 1] = value;
+    }
+
+    @Override
+    public void addRow() {
+      rows.add(Arrays.asList(row));
+      row = new Object[TYPES.length];
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+
+  private Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("tpcds", ".dat");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  private List<List<Object>> parse(FlatFileParser.Format format, String content, int segments)
+      throws Exception {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    CollectingSink sink = new CollectingSink();
+    long count = 0;
+    for (FileSegment segment : FileSegment.split(file, segments, 1)) {
+      count += new FlatFileParser(format, TYPES).parse(segment, sink);
+    }
+    assertEquals(sink.rows.size(), count);
+    return sink.rows;
+  }
+
+  private static List<Object> row(Object... values) {
+    return Arrays.asList(values);
+  }
+
+  /** testPipeFormat */
+  @Test
+  public void testPipeFormat() throws Exception {
+    List<List<Object>> rows =
+        parse(
+            FlatFileParser.Format.PIPE,
+            "1|AAAA|12.50|1998-01-02|\n2|Bébé||2001-12-31|\r\n3|||| \n-4|x|-0.05||",
+            1);
+
+    assertEquals(4, rows.size());
+    assertEquals(row(1L, "AAAA", 12.5, Date.valueOf("1998-01-02")), rows.get(0));
+    assertEquals(row(2L, "Bébé", null, Date.valueOf("2001-12-31")), rows.get(1));
+    assertEquals(row(3L, "", null, null), rows.get(2));
+    assertEquals(row(-4L, "x", -0.05, null), rows.get(3));
+  }
+
+  /** testCsvFormat */
+  @Test
+  public void testCsvFormat() throws Exception {
+    List<List<Object>> rows =
+        parse(
+            FlatFileParser.Format.CSV,
+            "1, \"a, b\" ,1e3,01/31/2000\n 2,plain,7,\n3,,,02/29/2000\n",
+            1);
+
+    assertEquals(3, rows.size());
+    assertEquals(row(1L, "a, b", 1000.0, Date.valueOf("2000-01-31")), rows.get(0));
+    assertEquals(row(2L, "plain", 7.0, null), rows.get(1));
+    assertEquals(row(3L, "", null, Date.valueOf("2000-02-29")), rows.get(2));
+  }
+
+  /** testInvalidLinesAreSkipped */
+  @Test
+  public void testInvalidLinesAreSkipped() throws Exception {
+    List<List<Object>> rows =
+        parse(
+            FlatFileParser.Format.PIPE,
+            "1|a|1.0|2000-01-01|\n2|b|\nx|c|1.0|2000-01-01|\n4|d|1.0|01/01/2000|\n5|e|2|2000-01-01|\n",
+            1);
+
+    assertEquals(2, rows.size());
+    assertEquals(1L, rows.get(0).get(0));
+    assertEquals(5L, rows.get(1).get(0));
+  }
+
+  /** testInvalidDatesAreSkipped */
+  @Test
+  public void testInvalidDatesAreSkipped() throws Exception {
+    List<List<Object>> rows =
+        parse(
+            FlatFileParser.Format.PIPE,
+            "1|a|1.0|2001-02-28|\n2|b|1.0|2001-02-30|\n3|c|1.0|2001-13-01|\n4|d|1.0|2001-03-01|\n",
+            1);
+
+    assertEquals(2, rows.size());
+    assertEquals(row(1L, "a", 1.0, Date.valueOf("2001-02-28")), rows.get(0));
+    assertEquals(row(4L, "d", 1.0, Date.valueOf("2001-03-01")), rows.get(1));
+  }
+
+  /** testSegmentsCoverEveryLineOnce */
+  @Test
+  public void testSegmentsCoverEveryLineOnce() throws Exception {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      content.append(i).append("|name").append(i).append('|').append(i / 100.0).append("||\n");
+    }
+
+    Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8));
+    List<FileSegment> segments = FileSegment.split(file, 7, 1);
+    assertEquals(7, segments.size());
+    assertEquals(0, segments.get(0).getStart());
+    for (int i = 1; i < segments.size(); i++) {
+      assertEquals(segments.get(i - 1).getEnd(), segments.get(i).getStart());
+    }
+    assertEquals(Files.size(file), segments.get(segments.size() - 1).getEnd());
+    assertEquals(1, FileSegment.split(file, 7, Files.size(file)).size());
+
+    List<List<Object>> rows = parse(FlatFileParser.Format.PIPE, content.toString(), 7);
+    assertEquals(1000, rows.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(row((long) i, "name" + i, i / 100.0, null), rows.get(i));
+    }
+    assertTrue(rows.get(999).get(2) instanceof Double);
+  }
+}
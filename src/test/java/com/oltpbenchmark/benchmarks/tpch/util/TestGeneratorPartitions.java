@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpch.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.Test;
+
+/**
+ * The TPC-H loader generates every partition of a table on its own, so the partitions together have
+ * to produce exactly the rows of an unpartitioned generator.
+ */
+public class TestGeneratorPartitions {
+
+  private static final double SCALE_FACTOR = 0.01;
+  private static final int PART_COUNT = 3;
+
+  private static void assertPartitionsMatch(
+      BiFunction<Integer, Integer, Iterable<List<Object>>> generator) {
+    List<List<Object>> expected = new ArrayList<>();
+    generator.apply(1, 1).forEach(expected::add);
+
+    List<List<Object>> actual = new ArrayList<>();
+    for (int part = 1; part <= PART_COUNT; part++) {
+      generator.apply(part, PART_COUNT).forEach(actual::add);
+    }
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected, actual);
+  }
+
+  /** testOrderPartitions */
+  @Test
+  public void testOrderPartitions() {
+    assertPartitionsMatch((part, count) -> new OrderGenerator(SCALE_FACTOR, part, count));
+  }
+
+  /** testLineItemPartitions */
+  @Test
+  public void testLineItemPartitions() {
+    assertPartitionsMatch((part, count) -> new LineItemGenerator(SCALE_FACTOR, part, count));
+  }
+
+  /** testCustomerPartitions */
+  @Test
+  public void testCustomerPartitions() {
+    assertPartitionsMatch((part, count) -> new CustomerGenerator(SCALE_FACTOR, part, count));
+  }
+
+  /** testPartPartitions */
+  @Test
+  public void testPartPartitions() {
+    assertPartitionsMatch((part, count) -> new PartGenerator(SCALE_FACTOR, part, count));
+    assertPartitionsMatch((part, count) -> new PartSupplierGenerator(SCALE_FACTOR, part, count));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.benchmarks.tpch.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Test;
+
+public class TestRowGenerator {
+
+  private static final double SCALE_FACTOR = 0.01;
+
+  /** Collects the rows written to it, checking that the columns come in order. */
+  private static class CollectingSink implements RowSink {
+    private final List<List<Object>> rows = new ArrayList<>();
+    private List<Object> row = new ArrayList<>();
+
+    private void add(int column, Object value) {
+      assertEquals(row.size() + 1, column);
+      row.add(value);
+    }
+
+    @Override
+    public void setLong(int column, long value) {
+      add(column, value);
+    }
+
+    @Override
+    public void setDouble(int column, double value) {
+      add(column, value);
+    }
+
+    @Override
+    public void setString(int column, String value) {
+      add(column, value);
+    }
+
+    @Override
+    public void setDate(int column, Date value) {
+      add(column, value);
+    }
+
+    @Override
+    public void endRow() {
+      rows.add(row);
+      row = new ArrayList<>();
+    }
+  }
+
+  private static void assertSameRows(RowGenerator generator) throws Exception {
+    List<List<Object>> expected = new ArrayList<>();
+    generator.forEach(expected::add);
+
+    CollectingSink sink = new CollectingSink();
+    generator.generate(sink);
+    assertEquals(expected, sink.rows);
+  }
+
+  /** testGenerateMatchesIterator */
+  @Test
+  public void testGenerateMatchesIterator() throws Exception {
+    assertSameRows(new RegionGenerator());
+    assertSameRows(new NationGenerator());
+    assertSameRows(new SupplierGenerator(SCALE_FACTOR, 1, 1));
+    assertSameRows(new CustomerGenerator(SCALE_FACTOR, 1, 1));
+    assertSameRows(new PartGenerator(SCALE_FACTOR, 1, 1));
+    assertSameRows(new PartSupplierGenerator(SCALE_FACTOR, 1, 1));
+    assertSameRows(new OrderGenerator(SCALE_FACTOR, 2, 3));
+    assertSameRows(new LineItemGenerator(SCALE_FACTOR, 2, 3));
+  }
+
+  /** testFormatKey */
+  @Test
+  public void testFormatKey() {
+    for (long key : new long[] {0, 1, 42, 999_999_999, 1_000_000_000, 12_345_678_901L}) {
+      assertEquals(
+          String.format(Locale.ENGLISH, "Customer#%09d", key),
+          GenerateUtils.formatKey("Customer#", key));
+    }
+  }
+}
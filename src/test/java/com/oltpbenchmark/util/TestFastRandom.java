@@ -0,0 +1,83 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import org.junit.Test;
+
+public class TestFastRandom {
+
+  private static final int NUM_VALUES = 1000;
+
+  private static long[] draw(FastRandom rng) {
+    long[] values = new long[NUM_VALUES];
+    for (int i = 0; i < NUM_VALUES; i++) {
+      values[i] = rng.nextLong();
+    }
+    return values;
+  }
+
+  /** testReproducibleStreams */
+  @Test
+  public void testReproducibleStreams() {
+    for (long stream = 0; stream < 10; stream++) {
+      long[] a = draw(new FastRandom(FastRandom.streamSeed(42, stream)));
+      long[] b = draw(new FastRandom(FastRandom.streamSeed(42, stream)));
+      assertArrayEquals(a, b);
+    }
+  }
+
+  /** testDistinctStreams */
+  @Test
+  public void testDistinctStreams() {
+    long[] first = draw(new FastRandom(FastRandom.streamSeed(42, 0)));
+    for (long stream = 1; stream < 10; stream++) {
+      long[] other = draw(new FastRandom(FastRandom.streamSeed(42, stream)));
+      assertFalse(Arrays.equals(first, other));
+    }
+    assertNotEquals(FastRandom.streamSeed(42, 0), FastRandom.streamSeed(43, 0));
+  }
+
+  /** testSetSeed */
+  @Test
+  public void testSetSeed() {
+    FastRandom rng = new FastRandom(7);
+    long[] a = draw(rng);
+    rng.setSeed(7);
+    assertArrayEquals(a, draw(rng));
+  }
+
+  /** testBounds */
+  @Test
+  public void testBounds() {
+    FastRandom rng = new FastRandom();
+    for (int i = 0; i < NUM_VALUES; i++) {
+      int v = rng.nextInt(10);
+      assertTrue(v >= 0 && v < 10);
+      double d = rng.nextDouble();
+      assertTrue(d >= 0.0 && d < 1.0);
+    }
+    assertEquals(0, rng.nextInt(1));
+  }
+}
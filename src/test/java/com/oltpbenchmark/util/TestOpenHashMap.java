@@ -0,0 +1,67 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class TestOpenHashMap {
+
+  /** testPutGet */
+  @Test
+  public void testPutGet() {
+    OpenHashMap<String, Integer> map = new OpenHashMap<>(2);
+    assertTrue(map.isEmpty());
+    assertNull(map.put("a", 1));
+    assertEquals(1, (int) map.put("a", 2));
+    assertEquals(2, (int) map.get("a"));
+    assertNull(map.get("b"));
+    assertFalse(map.containsKey("b"));
+    assertEquals(1, map.size());
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertNull(map.get("a"));
+  }
+
+  /** testMatchesHashMap */
+  @Test
+  public void testMatchesHashMap() {
+    Random rng = new Random(0);
+    OpenHashMap<Long, Long> map = new OpenHashMap<>();
+    Map<Long, Long> expected = new HashMap<>();
+    for (int i = 0; i < 10000; i++) {
+      // Keys that share their low bits collide, and must still be told apart
+      long key = (long) rng.nextInt(2000) << 32;
+      long value = rng.nextLong();
+      assertEquals(expected.put(key, value), map.put(key, value));
+    }
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Long, Long> e : expected.entrySet()) {
+      assertEquals(e.getValue(), map.get(e.getKey()));
+    }
+    assertNull(map.get(-1L));
+  }
+}
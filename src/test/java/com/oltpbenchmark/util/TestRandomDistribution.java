@@ -137,6 +137,52 @@ public class TestRandomDistribution {
     } // FOR
   }
 
+  /** testZipfLargeRange */
+  @Test
+  public void testZipfLargeRange() throws Exception {
+    // Large enough that the CDF is bucketed rather than one entry per value
+    long max = 1000000;
+    RandomDistribution.Zipf zipf = new RandomDistribution.Zipf(this.rand, 1, max, 1.0001d);
+    Histogram<Long> hist = new Histogram<Long>();
+    for (int i = 0; i < num_records; i++) {
+      long value = zipf.nextLong();
+      assertTrue(value >= 1 && value < max);
+      hist.put(value);
+    } // FOR
+    assertTrue(hist.get(1L) > hist.get(2L, 0));
+  }
+
+  /** testZipfGivenRandom */
+  @Test
+  public void testZipfGivenRandom() throws Exception {
+    // Drawing from a shared distribution with our own generator gives the same values as drawing
+    // from a distribution that was built with that generator
+    RandomDistribution.Zipf shared = new RandomDistribution.Zipf(this.rand, 1, 100000, 1.0001d);
+    RandomDistribution.Zipf own = new RandomDistribution.Zipf(new Random(7), 1, 100000, 1.0001d);
+    Random rng = new Random(7);
+    for (int i = 0; i < num_records; i++) {
+      assertEquals(own.nextLong(), shared.nextLong(rng));
+    } // FOR
+  }
+
+  /** testFlatHistogramGivenRandom */
+  @Test
+  public void testFlatHistogramGivenRandom() throws Exception {
+    Histogram<Integer> hist = new Histogram<Integer>();
+    for (int i = min; i < max; i++) {
+      hist.put(i, i + 1);
+    } // FOR
+
+    RandomDistribution.FlatHistogram<Integer> shared =
+        new RandomDistribution.FlatHistogram<Integer>(this.rand, hist);
+    RandomDistribution.FlatHistogram<Integer> own =
+        new RandomDistribution.FlatHistogram<Integer>(new Random(7), hist);
+    Random rng = new Random(7);
+    for (int i = 0; i < num_records; i++) {
+      assertEquals(own.nextValue(), shared.nextValue(rng));
+    } // FOR
+  }
+
   /** testFlatHistogramInt */
   @Test
   public void testFlatHistogramInt() throws Exception {
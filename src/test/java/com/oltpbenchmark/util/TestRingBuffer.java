@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020 by OLTPBenchmark Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.oltpbenchmark.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class TestRingBuffer {
+
+  /** testDeque */
+  @Test
+  public void testDeque() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(2);
+    assertNull(buffer.poll());
+    for (int i = 0; i < 10; i++) {
+      buffer.addLast(i);
+    }
+    buffer.addFirst(-1);
+    assertEquals(11, buffer.size());
+    assertEquals(-1, (int) buffer.getFirst());
+    assertEquals(-1, (int) buffer.removeFirst());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, (int) buffer.get(i));
+    }
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, (int) buffer.poll());
+    }
+    assertNull(buffer.poll());
+    assertEquals(0, buffer.size());
+  }
+
+  /** testMatchesArrayList */
+  @Test
+  public void testMatchesArrayList() {
+    Random rng = new Random(0);
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      int op = rng.nextInt(6);
+      if (op == 0 || expected.isEmpty()) {
+        int index = rng.nextInt(expected.size() + 1);
+        buffer.add(index, i);
+        expected.add(index, i);
+      } else if (op == 1) {
+        buffer.addLast(i);
+        expected.add(i);
+      } else if (op == 2) {
+        buffer.addFirst(i);
+        expected.add(0, i);
+      } else if (op == 3) {
+        int index = rng.nextInt(expected.size());
+        assertEquals(expected.remove(index), buffer.remove(index));
+      } else if (op == 4) {
+        assertEquals(expected.remove(0), buffer.removeFirst());
+      } else {
+        int index = rng.nextInt(expected.size());
+        assertEquals(expected.set(index, i), buffer.set(index, i));
+      }
+      assertEquals(expected.size(), buffer.size());
+    }
+    assertEquals(expected, buffer);
+    assertArrayEquals(expected.toArray(), buffer.toArray());
+  }
+
+  /** testIteratorRemove */
+  @Test
+  public void testIteratorRemove() {
+    RingBuffer<Integer> buffer = new RingBuffer<>(4);
+    for (int i = 0; i < 20; i++) {
+      buffer.addLast(i);
+    }
+    for (Iterator<Integer> it = buffer.iterator(); it.hasNext(); ) {
+      if (it.next() % 2 == 0) {
+        it.remove();
+      }
+    }
+    assertEquals(10, buffer.size());
+    for (int i = 0; i < buffer.size(); i++) {
+      assertEquals(2 * i + 1, (int) buffer.get(i));
+    }
+  }
+}